@@ -0,0 +1,58 @@
+package cn.cloudscope.oss.benchmark;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+
+/**
+ *  基准测试用图片生成
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 11:20
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+final class BenchmarkImages {
+
+    private BenchmarkImages() {
+    }
+
+    /**
+     * 生成带渐变与噪点的图片，避免编码器对纯色图片过度压缩
+     * @param width     宽
+     * @param height    高
+     * @param format    图片格式，如jpg/png
+     * @return 编码后的图片
+     **/
+    static byte[] render(int width, int height, String format) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setPaint(new GradientPaint(0, 0, Color.ORANGE, width, height, Color.BLUE));
+        g.fillRect(0, 0, width, height);
+        g.dispose();
+        Random random = new Random(width * 31L + height);
+        for (int i = 0; i < width * height / 16; i++) {
+            image.setRGB(random.nextInt(width), random.nextInt(height), random.nextInt());
+        }
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        ImageIO.write(image, format, os);
+        return os.toByteArray();
+    }
+
+    static File writeTemp(byte[] bytes, String suffix) throws IOException {
+        File file = File.createTempFile("oss-bench-", "." + suffix);
+        file.deleteOnExit();
+        Files.write(file.toPath(), bytes);
+        return file;
+    }
+}
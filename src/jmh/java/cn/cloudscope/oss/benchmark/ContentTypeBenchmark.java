@@ -0,0 +1,65 @@
+package cn.cloudscope.oss.benchmark;
+
+import cn.cloudscope.oss.config.properties.MemoryProperties;
+import cn.cloudscope.oss.service.StorageWorker;
+import cn.cloudscope.oss.service.impl.MemoryWorker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  文件后缀与Content-Type互查
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 11:20
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContentTypeBenchmark {
+
+    /** 后缀:Content-Type */
+    @Param({"jpg:image/jpeg", "PDF:application/pdf", "txt:text/plain; charset=UTF-8", "unknown:application/x-unknown"})
+    public String mapping;
+
+    private final StorageWorker worker = new MemoryWorker(new MemoryProperties());
+
+    private String fileName;
+
+    private String contentType;
+
+    @Setup
+    public void setUp() {
+        String[] pair = mapping.split(":");
+        fileName = "file." + pair[0];
+        contentType = pair[1];
+    }
+
+    @Benchmark
+    public String contentTypeByFileName() {
+        return worker.contentTypeByFileName(fileName);
+    }
+
+    @Benchmark
+    public String suffixByContentType() {
+        return worker.suffixByContentType(contentType);
+    }
+}
@@ -0,0 +1,94 @@
+package cn.cloudscope.oss.benchmark;
+
+import cn.cloudscope.oss.service.key.HashPrefixKeyStrategy;
+import cn.cloudscope.oss.service.key.KeyStrategy;
+import cn.cloudscope.oss.service.key.LegacyKeyStrategy;
+import cn.cloudscope.oss.service.key.TimeBucketKeyStrategy;
+import cn.cloudscope.oss.utils.UUIDUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  文件路径规则：生成速度，以及同一时间段内的写入在前缀上的分布。
+ *  分布在setUp中按固定时间生成SAMPLES个路径统计，随基准输出：
+ *  prefixes为不同目录（最后一个"/"之前）的个数，max/mean为最热目录相对平均值的倍数，越接近1越均匀
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 00:10
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyStrategyBenchmark {
+
+    private static final int SAMPLES = 1 << 20;
+
+    @Param({"legacy", "hash", "time"})
+    public String strategy;
+
+    /** 文件名：uuid为随机UUID，sequence为递增编号（如业务单号），检验hash对相近文件名的分散效果 */
+    @Param({"uuid", "sequence"})
+    public String names;
+
+    private KeyStrategy keyStrategy;
+
+    private String fileName;
+
+    @Setup
+    public void setUp() {
+        keyStrategy = create(Clock.systemDefaultZone());
+        fileName = name(0);
+        KeyStrategy fixed = create(Clock.fixed(Clock.systemDefaultZone().instant(), Clock.systemDefaultZone().getZone()));
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < SAMPLES; i++) {
+            String key = fixed.generate(name(i));
+            counts.merge(key.substring(0, key.lastIndexOf('/')), 1, Integer::sum);
+        }
+        int max = counts.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+        double mean = (double) SAMPLES / counts.size();
+        System.out.printf("%n%s/%s: %d keys, prefixes=%d, max/mean=%.3f, e.g. %s%n",
+                strategy, names, SAMPLES, counts.size(), max / mean, keyStrategy.generate(fileName));
+    }
+
+    @Benchmark
+    public String generate() {
+        return keyStrategy.generate(fileName);
+    }
+
+    private KeyStrategy create(Clock clock) {
+        switch (strategy) {
+            case "hash":
+                return new HashPrefixKeyStrategy(4, clock);
+            case "time":
+                return new TimeBucketKeyStrategy("yyyyMMdd", 4096, clock);
+            default:
+                return new LegacyKeyStrategy(clock);
+        }
+    }
+
+    private String name(int i) {
+        return ("uuid".equals(names) ? UUIDUtil.buildUuid() : String.format("%012d", i)) + ".jpg";
+    }
+}
@@ -0,0 +1,88 @@
+package cn.cloudscope.oss.benchmark;
+
+import cn.cloudscope.oss.config.properties.MemoryProperties;
+import cn.cloudscope.oss.service.StorageWorker;
+import cn.cloudscope.oss.service.impl.MemoryWorker;
+import cn.cloudscope.oss.utils.PathUtil;
+import cn.cloudscope.oss.utils.UUIDUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  路径与文件名生成
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 11:20
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathBenchmark {
+
+    private final StorageWorker worker = new MemoryWorker(new MemoryProperties());
+
+    private final String fileName = UUIDUtil.buildUuid() + ".jpg";
+
+    @Benchmark
+    public String buildUuid() {
+        return UUIDUtil.buildUuid();
+    }
+
+    @Benchmark
+    public String buildTimeOrderedUuid() {
+        return UUIDUtil.buildTimeOrderedUuid();
+    }
+
+    /** 此前的实现，作为对照 */
+    @Benchmark
+    public String jdkRandomUuid() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+
+    /** 多线程同时生成，UUID.randomUUID共享一个SecureRandom */
+    @Benchmark
+    @Threads(8)
+    public String buildUuidContended() {
+        return UUIDUtil.buildUuid();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String jdkRandomUuidContended() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+
+    @Benchmark
+    public String pathUtilGeneratePath() {
+        return PathUtil.generatePath(fileName);
+    }
+
+    @Benchmark
+    public String workerGeneratePath() {
+        return worker.generatePath(fileName);
+    }
+
+    @Benchmark
+    public String workerGenerateKey() {
+        return worker.generatePath(null, UUIDUtil.buildUuid() + ".jpg");
+    }
+}
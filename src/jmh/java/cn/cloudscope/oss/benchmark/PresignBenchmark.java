@@ -0,0 +1,81 @@
+package cn.cloudscope.oss.benchmark;
+
+import cn.cloudscope.oss.config.properties.CosProperties;
+import cn.cloudscope.oss.config.properties.OssProperties;
+import cn.cloudscope.oss.service.StorageWorker;
+import cn.cloudscope.oss.service.impl.AliyunWorker;
+import cn.cloudscope.oss.service.impl.TencentCosWorker;
+import cn.cloudscope.oss.utils.UUIDUtil;
+import io.minio.GetPresignedObjectUrlArgs;
+import io.minio.MinioClient;
+import io.minio.http.Method;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  预签名链接生成，签名均在本地完成，不访问网络
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 11:20
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PresignBenchmark {
+
+    private final String key = "202610/1/2/" + UUIDUtil.buildUuid() + ".jpg";
+
+    private MinioClient minioClient;
+
+    private StorageWorker aliyunWorker;
+
+    private StorageWorker cosWorker;
+
+    @Setup
+    public void setUp() {
+        // 指定region，避免签名前查询桶所在区域
+        minioClient = MinioClient.builder().endpoint("http://127.0.0.1:9000")
+                .credentials("minioadmin", "minioadmin").region("us-east-1").build();
+        OssProperties ossProperties = new OssProperties();
+        ossProperties.setEndPoint("https://oss-cn-hangzhou.aliyuncs.com");
+        aliyunWorker = new AliyunWorker(ossProperties);
+        CosProperties cosProperties = new CosProperties();
+        cosProperties.setRegion("ap-guangzhou");
+        cosProperties.setBucketName("basic-1250000000");
+        cosWorker = new TencentCosWorker(cosProperties);
+    }
+
+    @Benchmark
+    public String minio() throws Exception {
+        return minioClient.getPresignedObjectUrl(GetPresignedObjectUrlArgs.builder()
+                .bucket("basic").method(Method.GET).expiry(3600).object(key).build());
+    }
+
+    @Benchmark
+    public String aliyun() {
+        return aliyunWorker.crateFileExpireUrl(key, 3600);
+    }
+
+    @Benchmark
+    public String cos() {
+        return cosWorker.crateFileExpireUrl(key, 3600);
+    }
+}
@@ -0,0 +1,80 @@
+package cn.cloudscope.oss.benchmark;
+
+import cn.cloudscope.oss.utils.FileSignature;
+import cn.cloudscope.oss.utils.FileUtil;
+import cn.cloudscope.oss.utils.VideoUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  文件签名检测
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 11:20
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SignatureBenchmark {
+
+    @Param({"jpg", "png", "mp4", "mov", "pdf"})
+    public String type;
+
+    private byte[] header;
+
+    @Setup
+    public void setUp() {
+        header = Arrays.copyOf(header(type), 64);
+    }
+
+    static byte[] header(String type) {
+        switch (type) {
+            case "jpg":
+                return new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 0x00, 0x10, 'J', 'F', 'I', 'F'};
+            case "png":
+                return new byte[]{(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A};
+            case "mp4":
+                return new byte[]{0x00, 0x00, 0x00, 0x20, 'f', 't', 'y', 'p', 'i', 's', 'o', 'm'};
+            case "mov":
+                return new byte[]{0x00, 0x00, 0x00, 0x14, 'f', 't', 'y', 'p', 'q', 't', ' ', ' '};
+            default:
+                return new byte[]{'%', 'P', 'D', 'F', '-', '1', '.', '7'};
+        }
+    }
+
+    @Benchmark
+    public String getFileSignature() {
+        return FileUtil.getFileSignature(new ByteArrayInputStream(header));
+    }
+
+    @Benchmark
+    public FileSignature detect() {
+        return FileSignature.detect(header, header.length);
+    }
+
+    @Benchmark
+    public boolean isVideo() {
+        return VideoUtil.isVideo(new ByteArrayInputStream(header));
+    }
+}
@@ -0,0 +1,74 @@
+package cn.cloudscope.oss.benchmark;
+
+import cn.cloudscope.oss.utils.ImageUtil;
+import org.apache.commons.io.IOUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  缩略图生成，覆盖不同尺寸与格式
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 11:20
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ThumbnailBenchmark {
+
+    @Param({"640x480", "1920x1080", "4000x3000"})
+    public String size;
+
+    @Param({"jpg", "png"})
+    public String format;
+
+    private File image;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String[] dimension = size.split("x");
+        byte[] bytes = BenchmarkImages.render(Integer.parseInt(dimension[0]), Integer.parseInt(dimension[1]), format);
+        image = BenchmarkImages.writeTemp(bytes, format);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        image.delete();
+    }
+
+    @Benchmark
+    public byte[] buildThumbnail() throws IOException {
+        try (InputStream thumbnail = ImageUtil.buildThumbnail(image, format)) {
+            return IOUtils.toByteArray(thumbnail);
+        }
+    }
+
+    @Benchmark
+    public boolean isImage() {
+        return ImageUtil.isImage(image);
+    }
+}
@@ -0,0 +1,71 @@
+package cn.cloudscope.oss.benchmark;
+
+import cn.cloudscope.oss.bean.UploadResult;
+import cn.cloudscope.oss.config.properties.MemoryProperties;
+import cn.cloudscope.oss.service.impl.MemoryWorker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  完整上传流程（落盘、类型检测、缩略图、上传），存储使用{@link MemoryWorker}
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 11:20
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UploadPipelineBenchmark {
+
+    @Param({"image.jpg", "document.pdf"})
+    public String fileName;
+
+    private final MemoryWorker worker = new MemoryWorker(new MemoryProperties());
+
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        if (fileName.endsWith("jpg")) {
+            payload = BenchmarkImages.render(1920, 1080, "jpg");
+        } else {
+            payload = new byte[1024 * 1024];
+            new Random(7).nextBytes(payload);
+            System.arraycopy(SignatureBenchmark.header("pdf"), 0, payload, 0, 8);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void clear() {
+        worker.clear();
+    }
+
+    @Benchmark
+    public UploadResult upload() {
+        return worker.upload(new ByteArrayInputStream(payload), fileName, null, true);
+    }
+}
@@ -0,0 +1,48 @@
+package cn.cloudscope.oss.bean;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ *  存储客户端的连接池状态，无法获取的项为-1
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 16:40
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Data
+@AllArgsConstructor
+@Builder
+public class ConnectionPoolStats {
+
+    /** 池中连接数 */
+    @Builder.Default
+    private int connections = -1;
+    /** 空闲连接数 */
+    @Builder.Default
+    private int idle = -1;
+    /** 执行中的请求数 */
+    @Builder.Default
+    private int active = -1;
+    /** 排队等待的请求数 */
+    @Builder.Default
+    private int queued = -1;
+    /** 允许的最大并发请求数 */
+    @Builder.Default
+    private int max = -1;
+
+    /**
+     * @return 并发请求占用率，无法计算时为-1
+     **/
+    public double getSaturation() {
+        if (max <= 0 || active < 0) {
+            return -1;
+        }
+        return (double) (active + Math.max(queued, 0)) / max;
+    }
+}
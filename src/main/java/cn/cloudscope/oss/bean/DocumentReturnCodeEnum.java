@@ -21,11 +21,24 @@ public enum DocumentReturnCodeEnum {
 	/** explain as msg */
 	SERVER_UNAVAILABLE(6000, "文件服务不可用，请联系支持部门。"),
 	BACKUP_FAILED(6001, "无法备份文件。"),
+	CHECKSUM_MISMATCH(6002, "文件校验失败，传输过程中数据已损坏。"),
 	DOCUMENT_EMPTY(6101, "空文件，请重新上传。"),
+	DOCUMENT_NOT_IMAGE(6102, "文件不是图片。"),
+	IMAGE_SIZE_UNSUPPORTED(6103, "不支持的图片尺寸或格式。"),
+	NOT_FOUND(6104, "文件不存在。"),
 	;
 
 	private final Integer code;
 
 	private final String msg;
 
+	/**
+	 * 异常是否由此代码产生（以异常信息判断）
+	 * @param e	异常，可为null
+	 * @return boolean
+	 **/
+	public boolean matches(Throwable e) {
+		return null != e && msg.equals(e.getMessage());
+	}
+
 }
@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
+import java.util.List;
+
 /**
  *  上传结果
  *
@@ -26,4 +28,6 @@ public class DocumentUrlResult {
     private String thumbnail;
     /** 以秒计的过期时间 */
     private Integer expiresIn;
+    /** 若是图片，各尺寸衍生图的访问路径 */
+    private List<ImageVariant> variants;
 }
@@ -0,0 +1,62 @@
+package cn.cloudscope.oss.bean;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ *  图片的某一尺寸及格式的衍生图
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 20:10
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageVariant {
+
+    /** 宽度（像素），原图更窄时实际为原图宽度 */
+    private Integer width;
+    /** 格式，如jpg、webp */
+    private String format;
+    /** 文件路径 */
+    private String path;
+    /** 访问链接，仅在生成链接时返回 */
+    private String url;
+
+    /**
+     * 衍生图列表保存为用户元数据的形式，如"640.webp,640.jpg"
+     * @param variants  衍生图
+     * @return java.lang.String
+     **/
+    public static String toMetadata(List<ImageVariant> variants) {
+        return variants.stream().map(ImageVariant::id).collect(Collectors.joining(","));
+    }
+
+    /**
+     * 解析 {@link #toMetadata(List)} 保存的衍生图列表
+     * @param metadata  用户元数据的值
+     * @return 各衍生图的标识，见 {@link #id(ImageVariant)}
+     **/
+    public static Set<String> parseMetadata(String metadata) {
+        return Arrays.stream(metadata.split(",")).map(String::trim).collect(Collectors.toSet());
+    }
+
+    /**
+     * @param variant   衍生图
+     * @return 衍生图的标识：宽度.格式
+     **/
+    public static String id(ImageVariant variant) {
+        return variant.getWidth() + "." + variant.getFormat();
+    }
+}
@@ -0,0 +1,35 @@
+package cn.cloudscope.oss.bean;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ *  分片直传参数
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 19:20
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Data
+public class MultipartPreSignParam {
+
+    /** 文件名 */
+    private String filename;
+    /** 文件类型，为空时按文件名判断 */
+    private String contentType;
+    /** 文件大小 */
+    private long size;
+    /** 期望的分片大小，为空时为16MB；不小于5MB，文件超过1万个分片时自动增大 */
+    private Long partSize;
+    /** 首批签发的分片链接数，其余分片通过 preSignUploadParts 分批获取 */
+    private int batchSize = 100;
+    /** 分片链接有效期，为空时为1小时 */
+    private Duration expiresIn;
+    /** 是否公开文件 */
+    private boolean isPublic;
+}
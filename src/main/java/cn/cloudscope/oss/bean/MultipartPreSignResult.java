@@ -0,0 +1,35 @@
+package cn.cloudscope.oss.bean;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ *  分片直传凭证：客户端按分片大小切分文件，以PUT方式将各分片直接上传到对应链接，
+ *  全部完成后调用 completePreSignMultipart 合并
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 19:20
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Data
+public class MultipartPreSignResult {
+
+    /** 文件路径 */
+    private String key;
+    /** 分片上传ID */
+    private String uploadId;
+    /** 分片大小，最后一个分片可以更小 */
+    private long partSize;
+    /** 分片总数 */
+    private int partCount;
+    /** 链接有效期（秒） */
+    private long expiresIn;
+    /** 首批分片链接 */
+    private List<PartUploadUrl> parts = new ArrayList<>();
+}
@@ -0,0 +1,33 @@
+package cn.cloudscope.oss.bean;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ *  存储中尚未完成的分片上传
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 18:30
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MultipartUpload {
+
+    /** 桶 */
+    private String bucket;
+    /** 文件路径 */
+    private String path;
+    /** 分片上传ID */
+    private String uploadId;
+    /** 发起时间 */
+    private Instant initiated;
+}
@@ -0,0 +1,131 @@
+package cn.cloudscope.oss.bean;
+
+import lombok.Data;
+import org.apache.commons.codec.DecoderException;
+import org.apache.commons.codec.binary.Hex;
+
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ *  上传流水线落盘时得到的文件信息，随文件一起交给存储实现，用于设置请求头及校验写入结果
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 17:50
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Data
+public class ObjectMeta {
+
+    /** 用户元数据：文件内容的MD5，分片上传时ETag不是MD5，下载校验以此为准 */
+    public static final String USER_META_MD5 = "checksum-md5";
+
+    /** 用户元数据：由服务端生成的文件（缩略图、衍生图、视频封面等），后处理据此跳过 */
+    public static final String USER_META_DERIVED = "oss-derived";
+
+    /** 用户元数据：上传时已生成缩略图等衍生文件的原文件，后处理据此跳过 */
+    public static final String USER_META_PROCESSED = "oss-processed";
+
+    /** 用户元数据：启用去重时上传的文件内容的SHA-256，可能被多个上传结果共享，内容索引中没有记录时不能删除 */
+    public static final String USER_META_SHA256 = "content-sha256";
+
+    /** 用户元数据：上传时实际生成的衍生图，见 {@link ImageVariant#toMetadata(java.util.List)} */
+    public static final String USER_META_VARIANTS = "image-variants";
+
+    /** 存储事件中用户元数据的键带此前缀 */
+    private static final String AMZ_META_PREFIX = "x-amz-meta-";
+
+    /** 文件大小 */
+    private long size;
+    /** 文件类型 */
+    private String contentType;
+    /** MD5，小写十六进制 */
+    private String md5;
+    /** SHA-256，小写十六进制 */
+    private String sha256;
+    /** CRC-32C，8位十六进制 */
+    private String crc32c;
+    /** CRC-64/ECMA-182，无符号十进制 */
+    private String crc64;
+    /** 计算分片ETag时使用的分片大小 */
+    private long partSize;
+    /** 按partSize分片上传时服务端应返回的ETag，文件不超过一个分片时为null */
+    private String multipartEtag;
+    /** 用户元数据 */
+    private Map<String, String> userMetadata = new HashMap<>();
+
+    /**
+     * 用户元数据是否标记为生成的文件，键不区分大小写，可带x-amz-meta-前缀（存储事件中的形式）
+     * @param userMetadata  用户元数据，可为null
+     * @return boolean
+     **/
+    public static boolean isDerived(Map<String, String> userMetadata) {
+        return Boolean.parseBoolean(findUserMetadata(userMetadata, USER_META_DERIVED));
+    }
+
+    /**
+     * 用户元数据是否标记为上传时已处理的原文件，键的匹配规则同 {@link #isDerived(Map)}
+     * @param userMetadata  用户元数据，可为null
+     * @return boolean
+     **/
+    public static boolean isProcessed(Map<String, String> userMetadata) {
+        return Boolean.parseBoolean(findUserMetadata(userMetadata, USER_META_PROCESSED));
+    }
+
+    /**
+     * 查找用户元数据，键不区分大小写，可带x-amz-meta-前缀（存储事件中的形式）
+     * @param userMetadata  用户元数据，可为null
+     * @param name          键
+     * @return 值，没有时为null
+     **/
+    public static String findUserMetadata(Map<String, String> userMetadata, String name) {
+        if (null == userMetadata) {
+            return null;
+        }
+        for (Map.Entry<String, String> entry : userMetadata.entrySet()) {
+            String key = entry.getKey().toLowerCase(Locale.ROOT);
+            if (key.startsWith(AMZ_META_PREFIX)) {
+                key = key.substring(AMZ_META_PREFIX.length());
+            }
+            if (name.equals(key)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return Content-MD5请求头的值（Base64），未计算MD5时为null
+     **/
+    public String getContentMd5() {
+        return null == md5 ? null : Base64.getEncoder().encodeToString(decode(md5));
+    }
+
+    /**
+     * @return x-amz-checksum-crc32c请求头的值（Base64），未计算CRC32C时为null
+     **/
+    public String getCrc32cBase64() {
+        return null == crc32c ? null : Base64.getEncoder().encodeToString(decode(crc32c));
+    }
+
+    /**
+     * @return 服务端应返回的ETag：不超过一个分片时为MD5，否则为分片ETag
+     **/
+    public String getExpectedEtag() {
+        return null != multipartEtag ? multipartEtag : md5;
+    }
+
+    private static byte[] decode(String hex) {
+        try {
+            return Hex.decodeHex(hex);
+        } catch (DecoderException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
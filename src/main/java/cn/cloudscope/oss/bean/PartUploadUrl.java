@@ -0,0 +1,27 @@
+package cn.cloudscope.oss.bean;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ *  分片的预签名上传链接
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 19:20
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PartUploadUrl {
+
+    /** 分片序号，从1开始 */
+    private int partNumber;
+    /** PUT链接 */
+    private String url;
+}
@@ -0,0 +1,29 @@
+package cn.cloudscope.oss.bean;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ *  分片上传中已上传的分片
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 18:30
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadPart {
+
+    /** 分片序号，从1开始 */
+    private int partNumber;
+    /** 服务端返回的分片ETag，不含引号 */
+    private String etag;
+    /** 分片大小 */
+    private long size;
+}
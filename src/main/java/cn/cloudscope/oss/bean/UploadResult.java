@@ -3,6 +3,8 @@ package cn.cloudscope.oss.bean;
 import lombok.Data;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.List;
+
 /**
  * 上传文件后返回的结果
  * Created by wupanhua on 2018/9/11.
@@ -23,6 +25,26 @@ public class UploadResult {
      * 缩略图地址，如果当前文件为图片则有缩略图
      */
     private String thumbnail;
+    /**
+     * 文件内容的SHA-256，启用去重时返回
+     */
+    private String sha256;
+    /**
+     * 文件内容的MD5（小写十六进制）
+     */
+    private String md5;
+    /**
+     * 文件内容的CRC-32C（8位十六进制），存储实现需要时返回
+     */
+    private String crc32c;
+    /**
+     * 文件内容的CRC-64/ECMA-182（无符号十进制），存储实现需要时返回
+     */
+    private String crc64;
+    /**
+     * 上传时实际生成的图片衍生图，配置了衍生图时返回
+     */
+    private List<ImageVariant> variants;
 
     public UploadResult() {
     }
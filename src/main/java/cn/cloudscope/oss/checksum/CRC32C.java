@@ -0,0 +1,57 @@
+package cn.cloudscope.oss.checksum;
+
+import java.util.zip.Checksum;
+
+/**
+ *  CRC-32C（Castagnoli），即S3的x-amz-checksum-crc32c；Java 8中没有java.util.zip.CRC32C
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 17:50
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+public class CRC32C implements Checksum {
+
+    private static final int POLY = 0x82F63B78;
+
+    private static final int[] TABLE = new int[256];
+
+    static {
+        for (int i = 0; i < TABLE.length; i++) {
+            int crc = i;
+            for (int k = 0; k < 8; k++) {
+                crc = (crc & 1) != 0 ? (crc >>> 1) ^ POLY : crc >>> 1;
+            }
+            TABLE[i] = crc;
+        }
+    }
+
+    private int crc = -1;
+
+    @Override
+    public void update(int b) {
+        crc = TABLE[(crc ^ b) & 0xFF] ^ (crc >>> 8);
+    }
+
+    @Override
+    public void update(byte[] b, int off, int len) {
+        int value = crc;
+        for (int i = off, end = off + len; i < end; i++) {
+            value = TABLE[(value ^ b[i]) & 0xFF] ^ (value >>> 8);
+        }
+        crc = value;
+    }
+
+    @Override
+    public long getValue() {
+        return (~crc) & 0xFFFFFFFFL;
+    }
+
+    @Override
+    public void reset() {
+        crc = -1;
+    }
+}
@@ -0,0 +1,57 @@
+package cn.cloudscope.oss.checksum;
+
+import java.util.zip.Checksum;
+
+/**
+ *  CRC-64/ECMA-182（反射，初值及结果异或均为全1），即阿里云OSS的x-oss-hash-crc64ecma与腾讯COS的x-cos-hash-crc64ecma
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 17:50
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+public class CRC64 implements Checksum {
+
+    private static final long POLY = 0xC96C5795D7870F42L;
+
+    private static final long[] TABLE = new long[256];
+
+    static {
+        for (int i = 0; i < TABLE.length; i++) {
+            long crc = i;
+            for (int k = 0; k < 8; k++) {
+                crc = (crc & 1) != 0 ? (crc >>> 1) ^ POLY : crc >>> 1;
+            }
+            TABLE[i] = crc;
+        }
+    }
+
+    private long crc = -1L;
+
+    @Override
+    public void update(int b) {
+        crc = TABLE[(int) ((crc ^ b) & 0xFF)] ^ (crc >>> 8);
+    }
+
+    @Override
+    public void update(byte[] b, int off, int len) {
+        long value = crc;
+        for (int i = off, end = off + len; i < end; i++) {
+            value = TABLE[(int) ((value ^ b[i]) & 0xFF)] ^ (value >>> 8);
+        }
+        crc = value;
+    }
+
+    @Override
+    public long getValue() {
+        return ~crc;
+    }
+
+    @Override
+    public void reset() {
+        crc = -1L;
+    }
+}
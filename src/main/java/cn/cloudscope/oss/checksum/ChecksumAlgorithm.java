@@ -0,0 +1,93 @@
+package cn.cloudscope.oss.checksum;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.security.MessageDigest;
+import java.util.function.Supplier;
+import java.util.zip.Checksum;
+
+/**
+ *  校验算法，结果统一为字符串：摘要为小写十六进制，CRC32C为8位十六进制，CRC64为无符号十进制（与OSS/COS响应头一致）
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 17:50
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+public enum ChecksumAlgorithm {
+
+    MD5 {
+        @Override
+        public Accumulator create() {
+            return digest(DigestUtils.getMd5Digest());
+        }
+    },
+    SHA256 {
+        @Override
+        public Accumulator create() {
+            return digest(DigestUtils.getSha256Digest());
+        }
+    },
+    CRC32C {
+        @Override
+        public Accumulator create() {
+            Checksum checksum = new CRC32C();
+            return accumulator(checksum, () -> String.format("%08x", checksum.getValue()));
+        }
+    },
+    CRC64 {
+        @Override
+        public Accumulator create() {
+            Checksum checksum = new CRC64();
+            return accumulator(checksum, () -> Long.toUnsignedString(checksum.getValue()));
+        }
+    },
+    ;
+
+    /**
+     * @return 新的累加器
+     **/
+    public abstract Accumulator create();
+
+    /**
+     * 流式计算的累加器，value只能调用一次
+     **/
+    public interface Accumulator {
+
+        void update(byte[] b, int off, int len);
+
+        String value();
+    }
+
+    private static Accumulator digest(MessageDigest digest) {
+        return new Accumulator() {
+            @Override
+            public void update(byte[] b, int off, int len) {
+                digest.update(b, off, len);
+            }
+
+            @Override
+            public String value() {
+                return Hex.encodeHexString(digest.digest());
+            }
+        };
+    }
+
+    private static Accumulator accumulator(Checksum checksum, Supplier<String> value) {
+        return new Accumulator() {
+            @Override
+            public void update(byte[] b, int off, int len) {
+                checksum.update(b, off, len);
+            }
+
+            @Override
+            public String value() {
+                return value.get();
+            }
+        };
+    }
+}
@@ -0,0 +1,103 @@
+package cn.cloudscope.oss.checksum;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ *  读取的同时计算校验值，读到末尾时与期望值比较，不一致时抛出 {@link ChecksumMismatchException}，
+ *  调用方在拿到完整数据之前即可发现传输中损坏的文件
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 17:50
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+public class ChecksumInputStream extends FilterInputStream {
+
+    private final ChecksumAlgorithm algorithm;
+
+    private final ChecksumAlgorithm.Accumulator accumulator;
+
+    private final String expected;
+
+    private final byte[] single = new byte[1];
+
+    private boolean verified;
+
+    /**
+     * @param in        输入流
+     * @param algorithm 校验算法
+     * @param expected  期望的校验值，格式见 {@link ChecksumAlgorithm}
+     **/
+    public ChecksumInputStream(InputStream in, ChecksumAlgorithm algorithm, String expected) {
+        super(in);
+        this.algorithm = algorithm;
+        this.accumulator = algorithm.create();
+        this.expected = expected;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int read = read(single, 0, 1);
+        return read < 0 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = in.read(b, off, len);
+        if (read > 0) {
+            accumulator.update(b, off, read);
+        } else if (read < 0) {
+            verify();
+        }
+        return read;
+    }
+
+    /**
+     * 跳过的内容也需要参与计算
+     **/
+    @Override
+    public long skip(long n) throws IOException {
+        byte[] buffer = new byte[(int) Math.min(n, 8192)];
+        long skipped = 0;
+        while (skipped < n) {
+            int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+            if (read < 0) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    private void verify() throws IOException {
+        if (verified) {
+            return;
+        }
+        verified = true;
+        String actual = accumulator.value();
+        if (!StringUtils.equalsIgnoreCase(actual, expected)) {
+            throw new ChecksumMismatchException(algorithm, expected, actual);
+        }
+    }
+}
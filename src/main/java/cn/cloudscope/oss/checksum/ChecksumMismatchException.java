@@ -0,0 +1,25 @@
+package cn.cloudscope.oss.checksum;
+
+import cn.cloudscope.oss.bean.DocumentReturnCodeEnum;
+
+import java.io.IOException;
+
+/**
+ *  校验值不一致，数据在传输或存储过程中已损坏
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 17:50
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+public class ChecksumMismatchException extends IOException {
+
+    private static final long serialVersionUID = 3618940372185926473L;
+
+    public ChecksumMismatchException(ChecksumAlgorithm algorithm, String expected, String actual) {
+        super(DocumentReturnCodeEnum.CHECKSUM_MISMATCH.getMsg() + " " + algorithm + " expected: " + expected + ", actual: " + actual);
+    }
+}
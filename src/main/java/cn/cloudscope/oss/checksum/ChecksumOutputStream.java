@@ -0,0 +1,125 @@
+package cn.cloudscope.oss.checksum;
+
+import cn.cloudscope.oss.bean.ObjectMeta;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ *  写出的同时计算校验值，用于上传流水线落盘，不需要再读一遍文件。
+ *  指定分片大小时同时按分片计算MD5，得到分片上传后服务端返回的ETag（各分片MD5拼接后的MD5-分片数）
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 17:50
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+public class ChecksumOutputStream extends FilterOutputStream {
+
+    private final Map<ChecksumAlgorithm, ChecksumAlgorithm.Accumulator> accumulators = new EnumMap<>(ChecksumAlgorithm.class);
+
+    private final long partSize;
+
+    private final MessageDigest partDigest;
+
+    private final MessageDigest partsDigest;
+
+    private long partBytes;
+
+    private int partCount;
+
+    private long size;
+
+    /**
+     * @param out           输出流
+     * @param algorithms    需要计算的校验算法
+     * @param partSize      分片大小，不大于0时不计算分片ETag
+     **/
+    public ChecksumOutputStream(OutputStream out, Set<ChecksumAlgorithm> algorithms, long partSize) {
+        super(out);
+        algorithms.forEach(algorithm -> accumulators.put(algorithm, algorithm.create()));
+        this.partSize = partSize;
+        this.partDigest = partSize > 0 ? DigestUtils.getMd5Digest() : null;
+        this.partsDigest = partSize > 0 ? DigestUtils.getMd5Digest() : null;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        for (ChecksumAlgorithm.Accumulator accumulator : accumulators.values()) {
+            accumulator.update(b, off, len);
+        }
+        size += len;
+        if (null != partDigest) {
+            updateParts(b, off, len);
+        }
+    }
+
+    /**
+     * 结束计算，只能调用一次
+     * @return 文件大小及各项校验值
+     **/
+    public ObjectMeta toMeta() {
+        ObjectMeta meta = new ObjectMeta();
+        meta.setSize(size);
+        accumulators.forEach((algorithm, accumulator) -> {
+            switch (algorithm) {
+                case MD5:
+                    meta.setMd5(accumulator.value());
+                    break;
+                case SHA256:
+                    meta.setSha256(accumulator.value());
+                    break;
+                case CRC32C:
+                    meta.setCrc32c(accumulator.value());
+                    break;
+                case CRC64:
+                    meta.setCrc64(accumulator.value());
+                    break;
+                default:
+                    break;
+            }
+        });
+        if (null != partDigest) {
+            meta.setPartSize(partSize);
+            if (size > partSize) {
+                if (partBytes > 0) {
+                    partsDigest.update(partDigest.digest());
+                    partCount++;
+                }
+                meta.setMultipartEtag(Hex.encodeHexString(partsDigest.digest()) + "-" + partCount);
+            }
+        }
+        return meta;
+    }
+
+    private void updateParts(byte[] b, int off, int len) {
+        while (len > 0) {
+            int count = (int) Math.min(len, partSize - partBytes);
+            partDigest.update(b, off, count);
+            partBytes += count;
+            off += count;
+            len -= count;
+            if (partBytes == partSize) {
+                partsDigest.update(partDigest.digest());
+                partCount++;
+                partBytes = 0;
+            }
+        }
+    }
+}
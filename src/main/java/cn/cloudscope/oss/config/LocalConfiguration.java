@@ -0,0 +1,36 @@
+package cn.cloudscope.oss.config;
+
+import cn.cloudscope.oss.config.properties.LocalProperties;
+import cn.cloudscope.oss.service.StorageWorker;
+import cn.cloudscope.oss.service.impl.LocalWorker;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import javax.annotation.Resource;
+
+/**
+ *  本地文件系统存储配置
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 13:10
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Import(LocalProperties.class)
+@ConditionalOnProperty(prefix = "oss.storage", name = "provider", havingValue = "local")
+public class LocalConfiguration {
+
+    @Resource
+    private LocalProperties localProperties;
+
+    @Bean
+    @ConditionalOnMissingBean(StorageWorker.class)
+    public StorageWorker localWorker() {
+        return new LocalWorker(localProperties);
+    }
+}
@@ -0,0 +1,36 @@
+package cn.cloudscope.oss.config;
+
+import cn.cloudscope.oss.config.properties.MemoryProperties;
+import cn.cloudscope.oss.service.StorageWorker;
+import cn.cloudscope.oss.service.impl.MemoryWorker;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import javax.annotation.Resource;
+
+/**
+ *  内存存储配置
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 14:05
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Import(MemoryProperties.class)
+@ConditionalOnProperty(prefix = "oss.storage", name = "provider", havingValue = "memory")
+public class MemoryConfiguration {
+
+    @Resource
+    private MemoryProperties memoryProperties;
+
+    @Bean
+    @ConditionalOnMissingBean(StorageWorker.class)
+    public StorageWorker memoryWorker() {
+        return new MemoryWorker(memoryProperties);
+    }
+}
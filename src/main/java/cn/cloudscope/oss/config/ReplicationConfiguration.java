@@ -0,0 +1,77 @@
+package cn.cloudscope.oss.config;
+
+import cn.cloudscope.oss.config.properties.ReplicationProperties;
+import cn.cloudscope.oss.service.StorageWorker;
+import cn.cloudscope.oss.service.impl.AliyunWorker;
+import cn.cloudscope.oss.service.impl.LocalWorker;
+import cn.cloudscope.oss.service.impl.MinioWorker;
+import cn.cloudscope.oss.service.impl.ReplicatingWorker;
+import cn.cloudscope.oss.service.impl.TencentCosWorker;
+import cn.cloudscope.oss.service.replication.ReplicaNode;
+import cn.cloudscope.oss.service.replication.ReplicationMeterBinder;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ *  多副本存储配置
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 15:10
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Import({ReplicationProperties.class, ReplicationConfiguration.ReplicationMetricsConfiguration.class})
+@ConditionalOnProperty(prefix = "oss.storage", name = "provider", havingValue = "replication")
+public class ReplicationConfiguration {
+
+    @Resource
+    private ReplicationProperties replicationProperties;
+
+    @Bean
+    @ConditionalOnMissingBean(StorageWorker.class)
+    public StorageWorker replicatingWorker() {
+        List<ReplicaNode> nodes = new ArrayList<>();
+        List<ReplicationProperties.Replica> replicas = replicationProperties.getReplicas();
+        for (int i = 0; i < replicas.size(); i++) {
+            ReplicationProperties.Replica replica = replicas.get(i);
+            String name = StringUtils.defaultIfBlank(replica.getName(), replica.getProvider() + "-" + i);
+            nodes.add(new ReplicaNode(name, createWorker(replica)));
+        }
+        return new ReplicatingWorker(nodes, replicationProperties);
+    }
+
+    private StorageWorker createWorker(ReplicationProperties.Replica replica) {
+        switch (replica.getProvider()) {
+            case minio:
+                return new MinioWorker(replica.getMinio());
+            case aliyun:
+                return new AliyunWorker(replica.getAliyun());
+            case cos:
+                return new TencentCosWorker(replica.getCos());
+            case local:
+                return new LocalWorker(replica.getLocal());
+            default:
+                throw new IllegalArgumentException("不支持作为副本的存储方式: " + replica.getProvider());
+        }
+    }
+
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.binder.MeterBinder")
+    static class ReplicationMetricsConfiguration {
+
+        @Bean
+        public ReplicationMeterBinder replicationMeterBinder(StorageWorker storageWorker) {
+            return new ReplicationMeterBinder(storageWorker);
+        }
+    }
+}
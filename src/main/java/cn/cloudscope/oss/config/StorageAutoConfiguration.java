@@ -20,7 +20,11 @@ import org.springframework.context.annotation.Import;
 @Configuration
 @EnableConfigurationProperties(CommonProperties.class)
 @ConditionalOnProperty(prefix = "oss.storage", name = "enabled", havingValue = "true")
-@Import({MinioConfiguration.class, OssConfiguration.class, CosConfiguration.class})
+@Import({MinioConfiguration.class, OssConfiguration.class, CosConfiguration.class, LocalConfiguration.class,
+        MemoryConfiguration.class, ReplicationConfiguration.class, StorageTraceConfiguration.class,
+        StorageHealthConfiguration.class, StorageDedupConfiguration.class, StorageMultipartConfiguration.class,
+        StoragePostProcessConfiguration.class, StorageImageProxyConfiguration.class, StorageKeyConfiguration.class,
+        StorageSpoolConfiguration.class, StorageDerivativeConfiguration.class})
 public class StorageAutoConfiguration {
 
 }
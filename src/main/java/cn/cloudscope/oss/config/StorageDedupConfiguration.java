@@ -0,0 +1,27 @@
+package cn.cloudscope.oss.config;
+
+import cn.cloudscope.oss.service.dedup.ContentIndex;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+/**
+ *  内容去重配置。引用计数必须持久保存，不提供默认的 {@link ContentIndex}：
+ *  开启去重但没有注册ContentIndex Bean时启动失败，避免重启后去重文件无法删除
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 17:20
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@ConditionalOnProperty(prefix = "oss.storage", name = "dedup", havingValue = "true")
+public class StorageDedupConfiguration {
+
+    public StorageDedupConfiguration(ObjectProvider<ContentIndex> contentIndex) {
+        if (null == contentIndex.getIfAvailable()) {
+            throw new IllegalStateException("oss.storage.dedup=true时需要注册持久化的ContentIndex Bean（如基于数据库、Redis实现）");
+        }
+    }
+}
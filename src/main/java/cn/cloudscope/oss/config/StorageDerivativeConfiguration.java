@@ -0,0 +1,31 @@
+package cn.cloudscope.oss.config;
+
+import cn.cloudscope.oss.config.properties.CommonProperties;
+import cn.cloudscope.oss.service.derivative.DerivativeExecutor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+import javax.annotation.Resource;
+
+/**
+ *  衍生图线程池配置，按oss.storage.derivative.queue-capacity创建 {@link DerivativeExecutor}，容器关闭时停止
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 20:10
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+public class StorageDerivativeConfiguration {
+
+    @Resource
+    private CommonProperties commonProperties;
+
+    @Bean
+    @ConditionalOnMissingBean(DerivativeExecutor.class)
+    public DerivativeExecutor derivativeExecutor() {
+        return new DerivativeExecutor(commonProperties.getDerivative().getQueueCapacity());
+    }
+}
@@ -0,0 +1,59 @@
+package cn.cloudscope.oss.config;
+
+import cn.cloudscope.oss.config.properties.HealthProperties;
+import cn.cloudscope.oss.health.StorageHealthIndicator;
+import cn.cloudscope.oss.health.StorageProbe;
+import cn.cloudscope.oss.health.StorageWarmUp;
+import cn.cloudscope.oss.service.StorageWorker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import javax.annotation.Resource;
+
+/**
+ *  存储预热及健康检查配置，健康检查在引入spring-boot-actuator时生效
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 16:00
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Import(StorageHealthConfiguration.StorageHealthIndicatorConfiguration.class)
+public class StorageHealthConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(StorageWarmUp.class)
+    public StorageWarmUp storageWarmUp(StorageWorker storageWorker,
+                                       @Value("${oss.storage.warm-up:true}") boolean warmUp) {
+        return new StorageWarmUp(storageWorker, warmUp);
+    }
+
+    @Import(HealthProperties.class)
+    @ConditionalOnClass(name = "org.springframework.boot.actuate.health.HealthIndicator")
+    @ConditionalOnProperty(prefix = "management.health.oss", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static class StorageHealthIndicatorConfiguration {
+
+        @Resource
+        private HealthProperties healthProperties;
+
+        @Bean
+        @ConditionalOnMissingBean(StorageProbe.class)
+        public StorageProbe storageProbe(StorageWorker storageWorker) {
+            return new StorageProbe(storageWorker, healthProperties.getCacheTtl());
+        }
+
+        @Bean
+        @ConditionalOnMissingBean(name = "ossHealthIndicator")
+        public StorageHealthIndicator ossHealthIndicator(StorageWorker storageWorker, StorageWarmUp storageWarmUp,
+                                                         StorageProbe storageProbe) {
+            return new StorageHealthIndicator(storageWorker, storageWarmUp, storageProbe, healthProperties);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package cn.cloudscope.oss.config;
+
+import cn.cloudscope.oss.config.properties.ImageProxyProperties;
+import cn.cloudscope.oss.service.StorageWorker;
+import cn.cloudscope.oss.service.derivative.ImageProxy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import javax.annotation.Resource;
+
+/**
+ *  按需缩放图片配置
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 20:40
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Import(ImageProxyProperties.class)
+@ConditionalOnProperty(prefix = "oss.storage.image-proxy", name = "enabled", havingValue = "true")
+public class StorageImageProxyConfiguration {
+
+    @Resource
+    private ImageProxyProperties imageProxyProperties;
+
+    @Bean
+    @ConditionalOnMissingBean(ImageProxy.class)
+    public ImageProxy imageProxy(StorageWorker storageWorker) {
+        return new ImageProxy(storageWorker, imageProxyProperties);
+    }
+}
@@ -0,0 +1,46 @@
+package cn.cloudscope.oss.config;
+
+import cn.cloudscope.oss.config.properties.CommonProperties;
+import cn.cloudscope.oss.service.key.HashPrefixKeyStrategy;
+import cn.cloudscope.oss.service.key.KeyStrategy;
+import cn.cloudscope.oss.service.key.TimeBucketKeyStrategy;
+import cn.cloudscope.oss.service.key.TimeOrderedKeyStrategy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+import javax.annotation.Resource;
+
+/**
+ *  文件路径规则配置，按oss.storage.key选择内置规则，自定义 {@link KeyStrategy} 时使用自定义实现
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 00:10
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+public class StorageKeyConfiguration {
+
+    @Resource
+    private CommonProperties commonProperties;
+
+    @Bean
+    @ConditionalOnMissingBean(KeyStrategy.class)
+    public KeyStrategy keyStrategy() {
+        CommonProperties.Key key = commonProperties.getKey();
+        KeyStrategy strategy;
+        switch (key.getStrategy()) {
+            case hash:
+                strategy = new HashPrefixKeyStrategy(key.getPrefixLength());
+                break;
+            case time:
+                strategy = new TimeBucketKeyStrategy(key.getTimePattern(), key.getFanOut());
+                break;
+            default:
+                strategy = KeyStrategy.LEGACY;
+        }
+        return key.isTimeOrderedIds() ? new TimeOrderedKeyStrategy(strategy) : strategy;
+    }
+}
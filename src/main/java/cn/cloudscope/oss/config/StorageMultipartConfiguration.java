@@ -0,0 +1,53 @@
+package cn.cloudscope.oss.config;
+
+import cn.cloudscope.oss.config.properties.MultipartProperties;
+import cn.cloudscope.oss.service.StorageWorker;
+import cn.cloudscope.oss.service.multipart.CheckpointStore;
+import cn.cloudscope.oss.service.multipart.LocalFileCheckpointStore;
+import cn.cloudscope.oss.service.multipart.MultipartSweeper;
+import cn.cloudscope.oss.service.multipart.ResumableUploader;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import javax.annotation.Resource;
+import java.nio.file.Paths;
+
+/**
+ *  断点续传及遗留分片清理配置
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 18:30
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Import(MultipartProperties.class)
+public class StorageMultipartConfiguration {
+
+    @Resource
+    private MultipartProperties multipartProperties;
+
+    @Bean
+    @ConditionalOnMissingBean(CheckpointStore.class)
+    public CheckpointStore checkpointStore() {
+        return new LocalFileCheckpointStore(Paths.get(multipartProperties.getCheckpointDir()));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(ResumableUploader.class)
+    public ResumableUploader resumableUploader(StorageWorker storageWorker, CheckpointStore checkpointStore) {
+        return new ResumableUploader(storageWorker, checkpointStore, multipartProperties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(MultipartSweeper.class)
+    @ConditionalOnProperty(prefix = "oss.storage.multipart", name = "sweep", havingValue = "true")
+    public MultipartSweeper multipartSweeper(StorageWorker storageWorker, CheckpointStore checkpointStore) {
+        return new MultipartSweeper(storageWorker, checkpointStore,
+                multipartProperties.getOrphanTtl(), multipartProperties.getSweepInterval());
+    }
+}
@@ -0,0 +1,78 @@
+package cn.cloudscope.oss.config;
+
+import cn.cloudscope.oss.config.properties.PostProcessProperties;
+import cn.cloudscope.oss.service.StorageWorker;
+import cn.cloudscope.oss.service.derivative.PostUploadProcessor;
+import cn.cloudscope.oss.service.impl.MinioWorker;
+import cn.cloudscope.oss.service.notification.LocalNotificationSource;
+import cn.cloudscope.oss.service.notification.MinioNotificationSource;
+import cn.cloudscope.oss.service.notification.NotificationSource;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ *  直传文件后处理配置
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 19:30
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Import({PostProcessProperties.class, StoragePostProcessConfiguration.MinioNotificationConfiguration.class,
+        StoragePostProcessConfiguration.LocalNotificationConfiguration.class})
+public class StoragePostProcessConfiguration {
+
+    @Resource
+    private PostProcessProperties postProcessProperties;
+
+    @Bean
+    @ConditionalOnMissingBean(PostUploadProcessor.class)
+    public PostUploadProcessor postUploadProcessor(StorageWorker storageWorker, ObjectProvider<NotificationSource> notificationSource) {
+        return new PostUploadProcessor(storageWorker, notificationSource.getIfAvailable(),
+                postProcessProperties.getThreads(), postProcessProperties.getQueueCapacity(), postProcessProperties.getVideo());
+    }
+
+    @ConditionalOnProperty(prefix = "oss.storage.post-process", name = "notification", havingValue = "minio")
+    static class MinioNotificationConfiguration {
+
+        @Resource
+        private PostProcessProperties postProcessProperties;
+
+        @Bean
+        @ConditionalOnMissingBean(NotificationSource.class)
+        public NotificationSource minioNotificationSource(StorageWorker storageWorker) {
+            if (!(storageWorker instanceof MinioWorker)) {
+                throw new IllegalStateException("minio事件仅支持minio存储，当前为: " + storageWorker.getClass().getSimpleName());
+            }
+            Set<String> buckets = new LinkedHashSet<>();
+            buckets.add(storageWorker.getBucket(false));
+            buckets.add(storageWorker.getBucket(true));
+            buckets.removeIf(StringUtils::isBlank);
+            return new MinioNotificationSource((MinioWorker) storageWorker, new ArrayList<>(buckets),
+                    postProcessProperties.getPrefix(), postProcessProperties.getSuffix(),
+                    postProcessProperties.getReconnectInterval());
+        }
+    }
+
+    @ConditionalOnProperty(prefix = "oss.storage.post-process", name = "notification", havingValue = "local")
+    static class LocalNotificationConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(NotificationSource.class)
+        public LocalNotificationSource localNotificationSource() {
+            return new LocalNotificationSource();
+        }
+    }
+}
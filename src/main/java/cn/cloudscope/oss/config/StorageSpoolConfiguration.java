@@ -0,0 +1,38 @@
+package cn.cloudscope.oss.config;
+
+import cn.cloudscope.oss.config.properties.CommonProperties;
+import cn.cloudscope.oss.service.spool.SpoolManager;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+import javax.annotation.Resource;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ *  上传暂存配置，按oss.storage.spool创建 {@link SpoolManager}，创建时清理暂存目录中的遗留文件
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 01:10
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+public class StorageSpoolConfiguration {
+
+    @Resource
+    private CommonProperties commonProperties;
+
+    @Bean
+    @ConditionalOnMissingBean(SpoolManager.class)
+    public SpoolManager spoolManager() {
+        CommonProperties.Spool spool = commonProperties.getSpool();
+        Path directory = StringUtils.isBlank(spool.getDirectory())
+                ? Paths.get(System.getProperty("java.io.tmpdir"), "oss-spool") : Paths.get(spool.getDirectory());
+        return new SpoolManager(directory, spool.getMemoryThreshold().toBytes(), spool.getMemoryLimit().toBytes(),
+                spool.getDiskQuota().toBytes(), spool.getOrphanAge());
+    }
+}
@@ -0,0 +1,35 @@
+package cn.cloudscope.oss.config;
+
+import cn.cloudscope.oss.trace.ObservationStorageTracer;
+import cn.cloudscope.oss.trace.StorageTracer;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+/**
+ *  上传流水线追踪配置，classpath中存在Micrometer Observation且容器中有 {@link ObservationRegistry} 时生效。
+ *  Spring Boot 2.7不会自动配置ObservationRegistry，需自行声明并注册处理器（如micrometer-tracing的DefaultTracingObservationHandler），
+ *  否则不记录任何阶段
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 10:50
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@ConditionalOnClass(name = "io.micrometer.observation.ObservationRegistry")
+@ConditionalOnProperty(prefix = "oss.storage", name = "tracing", havingValue = "true", matchIfMissing = true)
+public class StorageTraceConfiguration {
+
+    @Bean
+    @ConditionalOnBean(ObservationRegistry.class)
+    @ConditionalOnMissingBean(StorageTracer.class)
+    public StorageTracer storageTracer(ObservationRegistry observationRegistry) {
+        return new ObservationStorageTracer(observationRegistry);
+    }
+}
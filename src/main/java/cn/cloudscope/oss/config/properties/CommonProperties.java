@@ -1,9 +1,15 @@
 package cn.cloudscope.oss.config.properties;
 
+import cn.cloudscope.oss.service.derivative.DerivativeExecutor;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  *  配置文件父类
@@ -20,22 +26,25 @@ import java.time.Duration;
 @ConfigurationProperties(prefix = "oss.storage")
 public class CommonProperties {
 
+    /** minio的默认账号及密钥，也是accessKey、secretKey的默认值 */
+    public static final String DEFAULT_CREDENTIAL = "minioadmin";
+
     /** 是否启用 */
     private boolean enabled = true;
     /**
-     * 存储方式（oss/minio),无配置，默认为minio
+     * 存储方式（minio/aliyun/cos/local/memory/replication),无配置，默认为minio
      */
     private Provider provider = Provider.minio;
 
     /**
      * 编号
      */
-    private String accessKey = "minioadmin";
+    private String accessKey = DEFAULT_CREDENTIAL;
 
     /**
      * 密钥
      */
-    private String secretKey = "minioadmin";
+    private String secretKey = DEFAULT_CREDENTIAL;
 
     /**
      * 应用名称
@@ -57,6 +66,51 @@ public class CommonProperties {
      */
     private Duration expiresIn;
 
+    /**
+     * 是否记录上传各阶段的追踪信息（需引入micrometer-observation并声明ObservationRegistry Bean）
+     */
+    private boolean tracing = true;
+
+    /**
+     * 应用就绪后在后台校验存储桶（minio不存在时创建），关闭时由首次健康检查触发。客户端均在首次使用时创建
+     */
+    private boolean warmUp = true;
+
+    /**
+     * 按内容（SHA-256）去重，相同内容的上传直接返回已有文件，删除时按引用计数；需要注册持久化的ContentIndex Bean
+     */
+    private boolean dedup = false;
+
+    /**
+     * 上传后校验服务端返回的ETag/CRC64，不一致时删除文件并报错。默认关闭；MinIO开启服务端加密时ETag不是MD5，不能开启
+     */
+    private boolean verifyUpload = false;
+
+    /**
+     * 下载时边读边校验（MinIO按上传时记录的MD5，OSS/COS按CRC64），读到末尾不一致时抛出异常
+     */
+    private boolean verifyDownload = false;
+
+    /**
+     * 图片的多尺寸衍生图，未配置宽度时只生成缩略图
+     */
+    private Derivative derivative = new Derivative();
+
+    /**
+     * 后缀与Content-Type的自定义映射（如 webmanifest: application/manifest+json），在Tika的MIME库之上追加或覆盖，后缀不区分大小写
+     */
+    private Map<String, String> contentTypes = new LinkedHashMap<>();
+
+    /**
+     * 未指定文件夹时的文件路径规则
+     */
+    private Key key = new Key();
+
+    /**
+     * 上传时的暂存
+     */
+    private Spool spool = new Spool();
+
     public enum Provider {
         /** 由minio提供存储服务 */
         minio,
@@ -64,9 +118,112 @@ public class CommonProperties {
         aliyun,
         /** 腾讯COS */
         cos,
+        /** 本地文件系统 */
+        local,
+        /** 内存，用于测试及压测 */
+        memory,
+        /** 多副本，见oss.storage.replication */
+        replication,
         ;
     }
 
+    @Data
+    public static class Derivative {
+
+        /** 与原图格式相同 */
+        public static final String FORMAT_ORIGINAL = "original";
+
+        /**
+         * 宽度（像素），按比例缩放，大于原图的按原图尺寸输出
+         */
+        private List<Integer> widths = new ArrayList<>();
+
+        /**
+         * 输出格式，如original、webp、jpg，为空时与原图相同。webp等格式需要引入对应的ImageIO插件，否则跳过
+         */
+        private List<String> formats = new ArrayList<>();
+
+        /**
+         * 有损格式（jpg、webp）的压缩质量，0~1
+         */
+        private float quality = 0.8f;
+
+        /**
+         * 衍生图线程池的等待队列长度，队列满时由上传线程自行生成。线程池由各存储共用，只取oss.storage.derivative下的配置
+         */
+        private int queueCapacity = DerivativeExecutor.DEFAULT_QUEUE_CAPACITY;
+    }
+
+    @Data
+    public static class Key {
+
+        /**
+         * legacy：年月/两级hash目录（256个）/文件名，与此前一致；
+         * hash：hash前缀/年月/文件名，第一段即分散；
+         * time：时间/桶编号/文件名，按时间归档，每个时间段下分散到fan-out个桶
+         */
+        private Strategy strategy = Strategy.legacy;
+
+        /**
+         * hash前缀的十六进制位数（1~8），前缀数为16的该次方
+         */
+        private int prefixLength = 4;
+
+        /**
+         * time规则的时间格式
+         */
+        private String timePattern = "yyyyMMdd";
+
+        /**
+         * time规则每个时间段下的桶数
+         */
+        private int fanOut = 4096;
+
+        /**
+         * 文件名使用按时间排序的UUID（版本7），同一目录下按名称列举即为上传顺序
+         */
+        private boolean timeOrderedIds = false;
+
+        public enum Strategy {
+            /** 年月/两级hash目录 */
+            legacy,
+            /** hash在前 */
+            hash,
+            /** 时间分桶 */
+            time,
+            ;
+        }
+    }
+
+    @Data
+    public static class Spool {
+
+        /**
+         * 暂存目录，建议配置为tmpfs或本地SSD，为空时为系统临时目录下的oss-spool
+         */
+        private String directory;
+
+        /**
+         * 不超过该大小的文件保存在内存中，不读写磁盘；为0时总是写入磁盘
+         */
+        private DataSize memoryThreshold = DataSize.ofMegabytes(1);
+
+        /**
+         * 所有暂存占用的内存上限，用尽后新的暂存写入磁盘
+         */
+        private DataSize memoryLimit = DataSize.ofMegabytes(64);
+
+        /**
+         * 暂存目录中文件的总大小上限，超出时上传失败；为0时不限制
+         */
+        private DataSize diskQuota = DataSize.ofBytes(0);
+
+        /**
+         * 启动时删除目录中超过该时长未修改的暂存文件（上次进程遗留），多个进程共用目录时应大于单个上传的耗时
+         */
+        private Duration orphanAge = Duration.ofHours(1);
+    }
+
 }
 
 
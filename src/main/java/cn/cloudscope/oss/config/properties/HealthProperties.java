@@ -0,0 +1,47 @@
+package cn.cloudscope.oss.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ *  存储健康检查配置
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 16:40
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "oss.storage.health")
+public class HealthProperties {
+
+    /**
+     * 探测结果的缓存时长，期间的健康检查不访问存储
+     */
+    private Duration cacheTtl = Duration.ofSeconds(10);
+
+    /**
+     * 单次探测的最长等待时间，超时视为不可用
+     */
+    private Duration timeout = Duration.ofSeconds(3);
+
+    /**
+     * 探测往返耗时超过该值时视为缓慢
+     */
+    private Duration slowThreshold = Duration.ofMillis(500);
+
+    /**
+     * 连接池（并发请求）占用率超过该值时视为饱和
+     */
+    private double saturationThreshold = 0.9;
+
+    /**
+     * 存储缓慢或连接池饱和时上报的状态，默认使就绪探针失败以便流量切走
+     */
+    private String degradedStatus = "OUT_OF_SERVICE";
+}
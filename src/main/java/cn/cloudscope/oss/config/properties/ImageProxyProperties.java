@@ -0,0 +1,54 @@
+package cn.cloudscope.oss.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ *  按需缩放图片配置
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 20:40
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "oss.storage.image-proxy")
+public class ImageProxyProperties {
+
+    /**
+     * 是否启用
+     */
+    private boolean enabled = false;
+
+    /**
+     * 允许的最大宽度，限制单次生成的解码及编码开销；上限内的每个尺寸都会写回存储，限制存储占用需配置sizes
+     */
+    private int maxWidth = 4096;
+
+    /**
+     * 允许的最大高度
+     */
+    private int maxHeight = 4096;
+
+    /**
+     * 允许的尺寸，写法与路径后缀相同（如 640、640x480、x480），不在其中的请求直接拒绝，不会生成及写回存储；为空时不限制
+     */
+    private List<String> sizes = new ArrayList<>();
+
+    /**
+     * 有损格式（jpg、webp）的压缩质量，0~1
+     */
+    private float quality = 0.8f;
+
+    /**
+     * 内存中缓存的最近使用的衍生图总大小，为0时不缓存
+     */
+    private DataSize cacheSize = DataSize.ofMegabytes(64);
+}
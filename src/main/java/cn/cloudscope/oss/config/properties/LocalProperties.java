@@ -0,0 +1,32 @@
+package cn.cloudscope.oss.config.properties;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ *  本地文件系统存储配置，signingSecret用于签名访问链接
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 13:10
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@EqualsAndHashCode(callSuper = true)
+@Data
+@ConfigurationProperties(prefix = "oss.storage.local")
+public class LocalProperties extends CommonProperties {
+
+    /**
+     * 存储根目录，通常为挂载的数据卷
+     */
+    private String root = "oss-data";
+
+    /**
+     * 访问链接的HMAC签名密钥，必须配置，不能使用默认的secretKey（minioadmin）
+     */
+    private String signingSecret;
+}
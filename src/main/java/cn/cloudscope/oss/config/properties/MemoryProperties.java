@@ -0,0 +1,81 @@
+package cn.cloudscope.oss.config.properties;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ *  内存存储配置，用于压测及测试环境，可按操作模拟延迟、带宽及错误率
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 14:05
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@EqualsAndHashCode(callSuper = true)
+@Data
+@ConfigurationProperties(prefix = "oss.storage.memory")
+public class MemoryProperties extends CommonProperties {
+
+    /**
+     * 分块大小，需小于G1大对象阈值（region的一半）以避免humongous分配
+     */
+    private int chunkSize = 64 * 1024;
+
+    /**
+     * 是否使用堆外内存保存文件内容
+     */
+    private boolean offHeap = false;
+
+    /**
+     * 按操作模拟的故障
+     */
+    private Map<Operation, Fault> faults = new EnumMap<>(Operation.class);
+
+    public enum Operation {
+        /** 上传 */
+        upload,
+        /** 下载 */
+        download,
+        /** 复制 */
+        copy,
+        /** 删除 */
+        delete,
+        /** 生成访问链接 */
+        presign,
+        /** 校验存储桶（健康检查探测） */
+        head,
+        ;
+    }
+
+    @Data
+    public static class Fault {
+
+        /**
+         * 固定延迟
+         */
+        private Duration latency = Duration.ZERO;
+
+        /**
+         * 在固定延迟基础上增加的随机延迟上限
+         */
+        private Duration jitter = Duration.ZERO;
+
+        /**
+         * 带宽限制（字节/秒），0为不限
+         */
+        private long bandwidth = 0;
+
+        /**
+         * 错误率，0~1
+         */
+        private double errorRate = 0;
+    }
+}
@@ -0,0 +1,64 @@
+package cn.cloudscope.oss.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ *  断点续传及遗留分片清理配置
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 18:30
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "oss.storage.multipart")
+public class MultipartProperties {
+
+    /**
+     * 分片大小，不小于5MB；文件超过1万个分片时自动增大。不超过该大小的文件直接上传
+     */
+    private DataSize partSize = DataSize.ofMegabytes(16);
+
+    /**
+     * 单个分片失败后的重试次数，仍失败时保留断点并抛出异常，再次上传同一文件时从断点继续
+     */
+    private int partRetries = 3;
+
+    /**
+     * 分片重试间隔，按重试次数递增
+     */
+    private Duration retryInterval = Duration.ofSeconds(1);
+
+    /**
+     * 以服务端返回的分片ETag校验分片MD5，启用服务端KMS加密时需关闭
+     */
+    private boolean verifyParts = true;
+
+    /**
+     * 断点目录
+     */
+    private String checkpointDir = "oss-checkpoints";
+
+    /**
+     * 定期取消遗留的分片上传，释放其占用的存储。会取消桶中所有没有断点的过期分片上传（包括其他应用或实例发起的），
+     * 默认关闭，仅在桶由本应用独占且断点存储为各实例共享时开启
+     */
+    private boolean sweep = false;
+
+    /**
+     * 清理间隔
+     */
+    private Duration sweepInterval = Duration.ofHours(1);
+
+    /**
+     * 超过该时长未更新的断点，以及发起超过该时长且没有断点的分片上传视为遗留
+     */
+    private Duration orphanTtl = Duration.ofHours(24);
+}
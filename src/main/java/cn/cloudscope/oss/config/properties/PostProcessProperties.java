@@ -0,0 +1,68 @@
+package cn.cloudscope.oss.config.properties;
+
+import cn.cloudscope.oss.utils.VideoUtil;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ *  直传文件的后处理（缩略图、视频预览）配置
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 19:30
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "oss.storage.post-process")
+public class PostProcessProperties {
+
+    /**
+     * 处理线程数
+     */
+    private int threads = 2;
+
+    /**
+     * 等待处理的文件数上限，队列已满时拒绝新的文件
+     */
+    private int queueCapacity = 100;
+
+    /**
+     * 存储事件来源，文件写入存储后自动处理
+     */
+    private Notification notification = Notification.none;
+
+    /**
+     * 只处理以此开头的文件，仅对minio事件生效
+     */
+    private String prefix = "";
+
+    /**
+     * 只处理以此结尾的文件，仅对minio事件生效
+     */
+    private String suffix = "";
+
+    /**
+     * 事件连接断开后的重连间隔
+     */
+    private Duration reconnectInterval = Duration.ofSeconds(5);
+
+    /**
+     * 视频预览：封面候选帧数、雪碧图行列及单个视频的处理时长、解码线程数、分辨率上限
+     */
+    private VideoUtil.PreviewSpec video = new VideoUtil.PreviewSpec();
+
+    public enum Notification {
+        /** 不订阅事件，只通过finalizeUpload处理 */
+        none,
+        /** 订阅minio的桶通知 */
+        minio,
+        /** 由应用自行发布事件，如webhook、消息队列的消费者或测试 */
+        local,
+        ;
+    }
+}
@@ -0,0 +1,71 @@
+package cn.cloudscope.oss.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ *  多副本存储配置，第一个副本为主副本，写入同步完成；其余副本经本地持久化队列异步复制
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 15:10
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "oss.storage.replication")
+public class ReplicationProperties {
+
+    /**
+     * 副本列表，第一个为主副本
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * 复制队列目录，进程重启后继续复制未完成的任务
+     */
+    private String queueDir = "oss-replication";
+
+    /**
+     * 复制失败后的重试间隔
+     */
+    private Duration retryInterval = Duration.ofSeconds(30);
+
+    /**
+     * 单个复制任务的最大尝试次数，达到后移入队列目录下的dead-letter目录，不再阻塞后续任务
+     */
+    private int maxAttempts = 10;
+
+    /**
+     * 读取失败后副本被视为不可用的时长
+     */
+    private Duration unhealthyCooldown = Duration.ofSeconds(30);
+
+    @Data
+    public static class Replica {
+
+        /**
+         * 副本名称，用于队列目录及监控指标，默认为 provider-序号
+         */
+        private String name;
+
+        /**
+         * 副本存储方式
+         */
+        private CommonProperties.Provider provider = CommonProperties.Provider.minio;
+
+        private MinioProperties minio = new MinioProperties();
+
+        private OssProperties aliyun = new OssProperties();
+
+        private CosProperties cos = new CosProperties();
+
+        private LocalProperties local = new LocalProperties();
+    }
+}
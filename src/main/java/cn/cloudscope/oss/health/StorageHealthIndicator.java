@@ -0,0 +1,83 @@
+package cn.cloudscope.oss.health;
+
+import cn.cloudscope.oss.bean.ConnectionPoolStats;
+import cn.cloudscope.oss.config.properties.HealthProperties;
+import cn.cloudscope.oss.service.StorageWorker;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+/**
+ *  存储健康检查：预热校验完成前为OUT_OF_SERVICE；之后按缓存的探测结果上报往返耗时及连接池状态，
+ *  存储缓慢或连接池饱和时上报降级状态（默认OUT_OF_SERVICE），就绪探针可据此在排队积压前切走流量
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 16:00
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+public class StorageHealthIndicator extends AbstractHealthIndicator {
+
+    private final StorageWorker storageWorker;
+
+    private final StorageWarmUp warmUp;
+
+    private final StorageProbe probe;
+
+    private final HealthProperties healthProperties;
+
+    public StorageHealthIndicator(StorageWorker storageWorker, StorageWarmUp warmUp, StorageProbe probe,
+                                  HealthProperties healthProperties) {
+        super("存储健康检查失败");
+        this.storageWorker = storageWorker;
+        this.warmUp = warmUp;
+        this.probe = probe;
+        this.healthProperties = healthProperties;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        builder.withDetail("provider", storageWorker.getClass().getSimpleName())
+                .withDetail("bucket", storageWorker.getBucket(false));
+        switch (warmUp.getState()) {
+            case UP:
+                checkProbe(builder);
+                break;
+            case DOWN:
+                warmUp.start();
+                builder.down(warmUp.getError());
+                break;
+            default:
+                warmUp.start();
+                builder.outOfService();
+                break;
+        }
+    }
+
+    private void checkProbe(Health.Builder builder) {
+        StorageProbe.Result result = probe.probe(healthProperties.getTimeout());
+        builder.withDetail("latencyMs", result.getLatency().toMillis())
+                .withDetail("checkedAt", result.getCheckedAt());
+        ConnectionPoolStats pool = storageWorker.getConnectionPoolStats();
+        if (null != pool) {
+            builder.withDetail("connectionPool", pool);
+        }
+        builder.withDetails(storageWorker.getHealthDetails());
+        if (!result.isAvailable()) {
+            builder.down(result.getError());
+            return;
+        }
+        boolean slow = result.getLatency().compareTo(healthProperties.getSlowThreshold()) > 0;
+        boolean saturated = null != pool && pool.getSaturation() >= healthProperties.getSaturationThreshold();
+        if (slow || saturated) {
+            builder.status(new Status(healthProperties.getDegradedStatus(), slow ? "存储响应缓慢" : "连接池已饱和"))
+                    .withDetail("slow", slow)
+                    .withDetail("saturated", saturated);
+        } else {
+            builder.up();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package cn.cloudscope.oss.health;
+
+import cn.cloudscope.oss.service.StorageWorker;
+import lombok.Getter;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ *  存储探测：调用 {@link StorageWorker#checkBucket()}（minio为HEAD Bucket，不创建桶）并记录往返耗时。
+ *  结果在有效期内缓存，并发的健康检查共用同一次探测；探测超时不会阻塞健康检查，探测本身在后台继续
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 16:40
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+public class StorageProbe implements Closeable {
+
+    private final StorageWorker storageWorker;
+
+    private final Duration cacheTtl;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "oss-health-probe");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicReference<CompletableFuture<Result>> inflight = new AtomicReference<>();
+
+    private volatile Result last;
+
+    public StorageProbe(StorageWorker storageWorker, Duration cacheTtl) {
+        this.storageWorker = storageWorker;
+        this.cacheTtl = cacheTtl;
+    }
+
+    /**
+     * 获取探测结果，缓存有效时直接返回
+     * @param timeout   最长等待时间
+     * @return 探测结果
+     **/
+    public Result probe(Duration timeout) {
+        Result cached = last;
+        if (null != cached && cached.getCheckedAt().plus(cacheTtl).isAfter(Instant.now())) {
+            return cached;
+        }
+        CompletableFuture<Result> future = inflight.get();
+        if (null == future) {
+            CompletableFuture<Result> created = new CompletableFuture<>();
+            if (inflight.compareAndSet(null, created)) {
+                executor.execute(() -> run(created));
+                future = created;
+            } else {
+                future = inflight.get();
+            }
+        }
+        if (null == future) {
+            return last;
+        }
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return new Result(false, timeout, new TimeoutException("存储探测超时: " + timeout), Instant.now());
+        } catch (ExecutionException e) {
+            return new Result(false, Duration.ZERO, e.getCause(), Instant.now());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Result(false, Duration.ZERO, e, Instant.now());
+        }
+    }
+
+    /**
+     * @return 最近一次完成的探测结果，未探测过时为null
+     **/
+    public Result getLast() {
+        return last;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void run(CompletableFuture<Result> future) {
+        long start = System.nanoTime();
+        Result result;
+        try {
+            storageWorker.checkBucket();
+            result = new Result(true, Duration.ofNanos(System.nanoTime() - start), null, Instant.now());
+        } catch (RuntimeException | LinkageError e) {
+            result = new Result(false, Duration.ofNanos(System.nanoTime() - start), e, Instant.now());
+        }
+        last = result;
+        inflight.set(null);
+        future.complete(result);
+    }
+
+    @Getter
+    public static class Result {
+
+        /** 存储是否可用 */
+        private final boolean available;
+
+        /** 往返耗时，超时时为等待时间 */
+        private final Duration latency;
+
+        /** 不可用的原因 */
+        private final Throwable error;
+
+        /** 探测完成时间 */
+        private final Instant checkedAt;
+
+        Result(boolean available, Duration latency, Throwable error, Instant checkedAt) {
+            this.available = available;
+            this.latency = latency;
+            this.error = error;
+            this.checkedAt = checkedAt;
+        }
+    }
+}
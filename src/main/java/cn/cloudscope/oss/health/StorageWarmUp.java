@@ -0,0 +1,127 @@
+package cn.cloudscope.oss.health;
+
+import cn.cloudscope.oss.service.StorageWorker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ *  存储预热：在后台线程中校验存储桶（见 {@link StorageWorker#verifyBucket()}），不阻塞应用启动。
+ *  启用时在应用就绪后执行，否则在首次健康检查时触发；校验失败后由下一次健康检查重新触发
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 16:00
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Slf4j
+public class StorageWarmUp implements ApplicationListener<ApplicationReadyEvent> {
+
+    public enum State {
+        /** 尚未校验 */
+        PENDING,
+        /** 校验通过 */
+        UP,
+        /** 校验失败 */
+        DOWN,
+        ;
+    }
+
+    private final StorageWorker storageWorker;
+
+    private final boolean startOnReady;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile State state = State.PENDING;
+
+    private volatile Throwable error;
+
+    private volatile Duration elapsed;
+
+    private volatile Instant checkedAt;
+
+    /**
+     * @param storageWorker 存储实现
+     * @param startOnReady  应用就绪后立即校验
+     **/
+    public StorageWarmUp(StorageWorker storageWorker, boolean startOnReady) {
+        this.storageWorker = storageWorker;
+        this.startOnReady = startOnReady;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (startOnReady) {
+            start();
+        }
+    }
+
+    /**
+     * 在后台开始校验，已通过或正在校验时忽略
+     * @return 是否启动了新的校验
+     **/
+    public boolean start() {
+        if (state == State.UP || !running.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread thread = new Thread(this::verify, "oss-warm-up");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * @return 最近一次校验失败的原因
+     **/
+    public Throwable getError() {
+        return error;
+    }
+
+    /**
+     * @return 最近一次校验的耗时
+     **/
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    /**
+     * @return 最近一次校验完成的时间
+     **/
+    public Instant getCheckedAt() {
+        return checkedAt;
+    }
+
+    private void verify() {
+        long start = System.nanoTime();
+        try {
+            storageWorker.verifyBucket();
+            error = null;
+            state = State.UP;
+            log.info("存储校验通过: {}", storageWorker.getBucket(false));
+        } catch (RuntimeException | LinkageError e) {
+            error = e;
+            state = State.DOWN;
+            log.warn("存储校验失败: {}", e.getMessage());
+        } finally {
+            elapsed = Duration.ofNanos(System.nanoTime() - start);
+            checkedAt = Instant.now();
+            running.set(false);
+        }
+    }
+}
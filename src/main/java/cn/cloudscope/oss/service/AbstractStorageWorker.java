@@ -0,0 +1,127 @@
+package cn.cloudscope.oss.service;
+
+import cn.cloudscope.oss.bean.ObjectMeta;
+import cn.cloudscope.oss.service.dedup.ContentIndex;
+import cn.cloudscope.oss.service.derivative.DerivativeExecutor;
+import cn.cloudscope.oss.service.key.KeyStrategy;
+import cn.cloudscope.oss.service.spool.SpoolManager;
+import cn.cloudscope.oss.trace.StorageTracer;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ *  存储实现基类，持有上传流水线所需的可选组件，组件存在时由容器自动注入
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 10:30
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+public abstract class AbstractStorageWorker implements StorageWorker {
+
+    private StorageTracer tracer = StorageTracer.NOOP;
+
+    private ContentIndex contentIndex;
+
+    private KeyStrategy keyStrategy = KeyStrategy.LEGACY;
+
+    private SpoolManager spoolManager;
+
+    private DerivativeExecutor derivativeExecutor;
+
+    @Override
+    public StorageTracer getTracer() {
+        return tracer;
+    }
+
+    @Autowired(required = false)
+    public void setTracer(StorageTracer tracer) {
+        this.tracer = null == tracer ? StorageTracer.NOOP : tracer;
+    }
+
+    @Override
+    public ContentIndex getContentIndex() {
+        return contentIndex;
+    }
+
+    @Autowired(required = false)
+    public void setContentIndex(ContentIndex contentIndex) {
+        this.contentIndex = contentIndex;
+    }
+
+    @Override
+    public KeyStrategy getKeyStrategy() {
+        return keyStrategy;
+    }
+
+    @Autowired(required = false)
+    public void setKeyStrategy(KeyStrategy keyStrategy) {
+        this.keyStrategy = null == keyStrategy ? KeyStrategy.LEGACY : keyStrategy;
+    }
+
+    @Override
+    public SpoolManager getSpoolManager() {
+        return null == spoolManager ? SpoolManager.getDefault() : spoolManager;
+    }
+
+    @Autowired(required = false)
+    public void setSpoolManager(SpoolManager spoolManager) {
+        this.spoolManager = spoolManager;
+    }
+
+    @Override
+    public DerivativeExecutor getDerivativeExecutor() {
+        return null == derivativeExecutor ? DerivativeExecutor.getDefault() : derivativeExecutor;
+    }
+
+    @Autowired(required = false)
+    public void setDerivativeExecutor(DerivativeExecutor derivativeExecutor) {
+        this.derivativeExecutor = derivativeExecutor;
+    }
+
+    /**
+     * 启用去重时先释放内容索引中的引用，仍有其他引用时保留文件。
+     * 索引中没有记录但带有内容摘要的文件（如索引重启后丢失）可能仍被引用，拒绝删除
+     **/
+    @Override
+    public boolean deleteFile(String path) {
+        if (null != contentIndex && StringUtils.isNotBlank(path)) {
+            String bucket = getBucket(false);
+            if (contentIndex.isRegistered(bucket, path)) {
+                if (!contentIndex.release(bucket, path)) {
+                    log.debug("文件仍被引用，保留: {}", path);
+                    return true;
+                }
+            } else if (isDeduplicated(path)) {
+                log.warn("去重文件未在内容索引中登记，无法确认是否仍被引用，拒绝删除: {}", path);
+                return false;
+            }
+        }
+        return doDelete(getBucket(false), path);
+    }
+
+    @Override
+    public boolean deleteObject(String bucket, String path) {
+        return doDelete(bucket, path);
+    }
+
+    /**
+     * @param path  文件路径
+     * @return 文件是否为去重上传，即带有用户元数据 {@link ObjectMeta#USER_META_SHA256}
+     **/
+    private boolean isDeduplicated(String path) {
+        ObjectMeta meta = stat(path, false);
+        return null != meta && null != ObjectMeta.findUserMetadata(meta.getUserMetadata(), ObjectMeta.USER_META_SHA256);
+    }
+
+    /**
+     * 删除文件
+     * @param bucket    桶
+     * @param path      文件路径
+     * @return 是否删除成功
+     **/
+    protected abstract boolean doDelete(String bucket, String path);
+}
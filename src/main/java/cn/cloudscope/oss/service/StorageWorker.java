@@ -1,41 +1,72 @@
 package cn.cloudscope.oss.service;
 
+import cn.cloudscope.oss.bean.ConnectionPoolStats;
 import cn.cloudscope.oss.bean.DocumentReturnCodeEnum;
 import cn.cloudscope.oss.bean.DocumentUrlResult;
+import cn.cloudscope.oss.bean.ImageVariant;
+import cn.cloudscope.oss.bean.MultipartPreSignParam;
+import cn.cloudscope.oss.bean.MultipartPreSignResult;
+import cn.cloudscope.oss.bean.MultipartUpload;
+import cn.cloudscope.oss.bean.ObjectMeta;
+import cn.cloudscope.oss.bean.PartUploadUrl;
 import cn.cloudscope.oss.bean.PreSingUploadParam;
+import cn.cloudscope.oss.bean.UploadPart;
 import cn.cloudscope.oss.bean.UploadResult;
+import cn.cloudscope.oss.checksum.ChecksumAlgorithm;
+import cn.cloudscope.oss.checksum.ChecksumOutputStream;
+import cn.cloudscope.oss.config.properties.CommonProperties;
+import cn.cloudscope.oss.service.dedup.ContentIndex;
+import cn.cloudscope.oss.service.key.KeyStrategy;
+import cn.cloudscope.oss.service.spool.Spool;
+import cn.cloudscope.oss.service.spool.SpoolManager;
+import cn.cloudscope.oss.service.derivative.DerivativeExecutor;
+import cn.cloudscope.oss.trace.StageSpan;
+import cn.cloudscope.oss.trace.StorageTracer;
+import cn.cloudscope.oss.trace.UploadStage;
 import cn.cloudscope.oss.utils.FileUtil;
+import cn.cloudscope.oss.utils.ImageCodec;
 import cn.cloudscope.oss.utils.ImageUtil;
-import cn.cloudscope.oss.utils.PathUtil;
+import cn.cloudscope.oss.utils.MimeRegistry;
+import cn.cloudscope.oss.utils.RangedInputStream;
 import cn.cloudscope.oss.utils.UUIDUtil;
 import cn.cloudscope.oss.utils.VideoUtil;
-import org.apache.commons.io.FileUtils;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpHeaders;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
-import org.apache.http.entity.ContentType;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.UUID;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
 /**
@@ -51,6 +82,15 @@ public interface StorageWorker {
 
     String SUFFIX_BACKUP = "-backup";
 
+    /** 分片上传中除最后一个分片外的最小分片大小 */
+    long MIN_PART_SIZE = 5L * 1024 * 1024;
+
+    /** 分片上传的默认分片大小 */
+    long DEFAULT_PART_SIZE = 16L * 1024 * 1024;
+
+    /** 分片上传的最大分片数 */
+    int MAX_PARTS = 10000;
+
     /**
      * 上传文件
      * @param inputStream       文件流
@@ -66,10 +106,10 @@ public interface StorageWorker {
     }
 
     /**
-     * 上传文件
+     * 上传文件。启用去重且内容已上传过时，直接返回已有文件，其路径不在本次指定的folder下
      * @param inputStream       文件流
      * @param fileName          文件名
-     * @param folder            目标文件夹
+     * @param folder            目标文件夹，去重命中时不使用
      * @param thumbnail         是否生成缩略图
      * @param isPublic  上传到公开库
      * @author wenxiaopeng
@@ -77,25 +117,123 @@ public interface StorageWorker {
      * @return 文件上传后的路径
      **/
     default UploadResult upload(InputStream inputStream, String fileName, String folder, boolean thumbnail, boolean isPublic)  {
-        String path = generatePath(folder, UUIDUtil.buildUuid() + "." + FileUtil.getFileSuffix(fileName));
+        String path = generatePath(folder, getKeyStrategy().generateId() + "." + FileUtil.getFileSuffix(fileName));
         String bucketName = getBucket(isPublic);
         UploadResult result = new UploadResult();
-        File temp = new File(UUIDUtil.buildUuid() + "." + FileUtil.getFileSuffix(fileName));
-        try(OutputStream outputStream = Files.newOutputStream(temp.toPath())) {
-            IOUtils.copyLarge(inputStream, outputStream);
-            String thumbnailUrl = buildThumbnail(path, bucketName, temp);
-            result.setThumbnail(thumbnailUrl);
-            String url = doUpload(Files.newInputStream(temp.toPath()), bucketName, path, fileName);
-            result.setFileName(fileName);
-            result.setPhyPath(url);
-        } catch (Exception e) {
-            log.error("无法生成缩略图: {}", e.getMessage());
-        } finally {
-                FileUtils.deleteQuietly(temp);
+        StorageTracer tracer = getTracer();
+        ContentIndex contentIndex = getContentIndex();
+        try(StageSpan uploadSpan = tracer.start(UploadStage.UPLOAD).tag(StageSpan.TAG_BUCKET, bucketName)) {
+            Spool spool = null;
+            try {
+                // 暂存失败（如超出配额、目录不可写）按上传失败记录，关闭暂存失败只影响临时文件的清理
+                spool = getSpoolManager().create(FileUtil.getFileSuffix(fileName));
+                // 暂存的同时计算校验值（启用去重时包括SHA-256），无需再次读取文件
+                Set<ChecksumAlgorithm> algorithms = EnumSet.noneOf(ChecksumAlgorithm.class);
+                algorithms.addAll(getChecksumAlgorithms());
+                if (null != contentIndex) {
+                    algorithms.add(ChecksumAlgorithm.SHA256);
+                }
+                ObjectMeta meta;
+                try(StageSpan spoolSpan = tracer.start(UploadStage.SPOOL);
+                    ChecksumOutputStream outputStream = new ChecksumOutputStream(
+                            spool.getOutputStream(), algorithms, getUploadPartSize())) {
+                    spoolSpan.bytes(IOUtils.copyLarge(inputStream, outputStream));
+                    meta = outputStream.toMeta();
+                }
+                meta.setContentType(contentTypeByFileName(fileName));
+                uploadSpan.bytes(meta.getSize());
+                String sha256 = meta.getSha256();
+                UploadResult existing = null == contentIndex ? null : contentIndex.acquire(bucketName, sha256);
+                if (null != existing) {
+                    uploadSpan.tag(StageSpan.TAG_DEDUP, "hit");
+                    existing.setFileName(fileName);
+                    return existing;
+                }
+                if (null != contentIndex) {
+                    // 随文件保存内容摘要，索引丢失（如进程重启）后仍能识别出可能被共享的文件
+                    meta.getUserMetadata().put(ObjectMeta.USER_META_SHA256, sha256);
+                }
+                if (VideoUtil.isVideoMediaType(meta.getContentType())) {
+                    // 视频信息随文件保存，之后stat即可取得，无需再读取视频
+                    try(StageSpan probeSpan = tracer.start(UploadStage.PROBE).tag(StageSpan.TAG_MEDIA_TYPE, meta.getContentType())) {
+                        VideoUtil.VideoInfo videoInfo = VideoUtil.probe(spool.toFile());
+                        if (null != videoInfo) {
+                            meta.getUserMetadata().putAll(videoInfo.toUserMetadata());
+                        }
+                    }
+                }
+                UploadResult preview = buildThumbnailResult(path, bucketName, spool);
+                result.setThumbnail(preview.getThumbnail());
+                if (null != preview.getVariants() && !preview.getVariants().isEmpty()) {
+                    // 随原图保存实际生成的衍生图，生成链接时只为这些衍生图签名
+                    result.setVariants(preview.getVariants());
+                    meta.getUserMetadata().put(ObjectMeta.USER_META_VARIANTS, ImageVariant.toMetadata(preview.getVariants()));
+                }
+                // 缩略图等已在上传时生成，存储事件触发的后处理跳过该文件
+                meta.getUserMetadata().put(ObjectMeta.USER_META_PROCESSED, Boolean.TRUE.toString());
+                try(StageSpan storeSpan = tracer.start(UploadStage.STORE).bytes(meta.getSize());
+                    InputStream stored = spool.openStream()) {
+                    String url = doUpload(stored, bucketName, path, fileName, meta);
+                    result.setFileName(fileName);
+                    result.setPhyPath(url);
+                    result.setSha256(sha256);
+                    result.setMd5(meta.getMd5());
+                    result.setCrc32c(meta.getCrc32c());
+                    result.setCrc64(meta.getCrc64());
+                }
+                if (null != contentIndex && UploadResult.ok(result)) {
+                    UploadResult registered = contentIndex.register(bucketName, sha256, result);
+                    if (null != registered) {
+                        // 相同内容的并发上传已先行登记：删除本次写入的文件，改为引用已登记的文件
+                        uploadSpan.tag(StageSpan.TAG_DEDUP, "hit");
+                        discardUpload(bucketName, result);
+                        registered.setFileName(fileName);
+                        return registered;
+                    }
+                    uploadSpan.tag(StageSpan.TAG_DEDUP, "miss");
+                }
+            } catch (Exception e) {
+                uploadSpan.error(e);
+                log.error("上传失败: {}, {}", fileName, e.getMessage(), e);
+            } finally {
+                if (null != spool) {
+                    try {
+                        spool.close();
+                    } catch (IOException e) {
+                        log.warn("删除暂存文件失败: {}", e.getMessage());
+                    }
+                }
+            }
         }
         return result;
     }
 
+    /**
+     * 删除上传过程中写入的文件及其缩略图、衍生图，删除失败时只记录日志
+     * @param bucket    桶
+     * @param result    上传结果
+     * @author wenxiaopeng
+     * @date 2026/10/19 15:10
+     **/
+    default void discardUpload(String bucket, UploadResult result) {
+        List<String> paths = new ArrayList<>();
+        paths.add(result.getPhyPath());
+        paths.add(result.getThumbnail());
+        if (null != result.getVariants()) {
+            result.getVariants().forEach(variant -> paths.add(variant.getPath()));
+        }
+        for (String path : paths) {
+            if (StringUtils.isBlank(path)) {
+                continue;
+            }
+            try {
+                deleteObject(bucket, path);
+            } catch (RuntimeException e) {
+                log.warn("无法删除多余的文件: {}", path, e);
+            }
+        }
+    }
+
     /**
      * 上传文件，若是图片的话，生成缩略图
      * @param inputStream       文件流
@@ -152,6 +290,62 @@ public interface StorageWorker {
      */
     String doUpload(InputStream stream, String bucket, String path, String originName);
 
+    /**
+     * 上传文件，附带上传流水线计算出的大小及校验值，实现可据此设置Content-Length、Content-MD5等请求头并校验写入结果。
+     * 默认忽略meta
+     *
+     * @param stream     文件流
+     * @param bucket     桶
+     * @param path       远程路径
+     * @param originName 原文件名
+     * @param meta       文件信息，可为null
+     * @return 远程文件路径
+     * @author wenxiaopeng
+     * @date 2026/10/19 17:50
+     */
+    default String doUpload(InputStream stream, String bucket, String path, String originName, ObjectMeta meta) {
+        return doUpload(stream, bucket, path, originName);
+    }
+
+    /**
+     * 上传服务端生成的文件（缩略图、衍生图、视频封面及抽帧等），以用户元数据 {@link ObjectMeta#USER_META_DERIVED} 标记，
+     * 后处理据此跳过这些文件的存储事件，不会对生成的文件再次生成
+     * @param data      文件内容
+     * @param bucket    桶
+     * @param path      远程路径
+     * @author wenxiaopeng
+     * @date 2026/10/19 09:30
+     * @return 远程文件路径
+     **/
+    default String uploadDerived(byte[] data, String bucket, String path) {
+        ObjectMeta meta = new ObjectMeta();
+        meta.setSize(data.length);
+        meta.setMd5(DigestUtils.md5Hex(data));
+        meta.setContentType(contentTypeByFileName(path));
+        meta.getUserMetadata().put(ObjectMeta.USER_META_DERIVED, Boolean.TRUE.toString());
+        return doUpload(new ByteArrayInputStream(data), bucket, path, null, meta);
+    }
+
+    /**
+     * 上传时需要计算的校验值，默认只计算MD5
+     * @author wenxiaopeng
+     * @date 2026/10/19 17:50
+     * @return java.util.Set<cn.cloudscope.oss.checksum.ChecksumAlgorithm>
+     **/
+    default Set<ChecksumAlgorithm> getChecksumAlgorithms() {
+        return EnumSet.of(ChecksumAlgorithm.MD5);
+    }
+
+    /**
+     * 实现按固定大小分片上传时的分片大小，用于在落盘时计算分片ETag；不分片时为0
+     * @author wenxiaopeng
+     * @date 2026/10/19 17:50
+     * @return long
+     **/
+    default long getUploadPartSize() {
+        return 0;
+    }
+
     /**
      * 待实现的文件上传接口
      * @param file    文件
@@ -214,30 +408,358 @@ public interface StorageWorker {
      * @return java.lang.String
      **/
     default String buildThumbnail(String path, String bucket, File file) {
+        try (Spool spool = Spool.of(file)) {
+            return buildThumbnail(path, bucket, spool);
+        } catch (IOException e) {
+            log.error("无法生成缩略图: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 以暂存内容创建缩略图，图片直接从暂存读取（内存中的暂存不经过磁盘），视频需要时写入暂存文件
+     * @param path      图片OSS地址
+     * @param spool     暂存的原文件
+     * @author wenxiaopeng
+     * @date 2026/10/19 01:10
+     * @return java.lang.String
+     **/
+    default String buildThumbnail(String path, String bucket, Spool spool) {
+        return buildThumbnailResult(path, bucket, spool).getThumbnail();
+    }
+
+    /**
+     * 以暂存内容创建缩略图及衍生图，见 {@link #buildThumbnail(String, String, Spool)}
+     * @param path      图片OSS地址
+     * @param spool     暂存的原文件
+     * @author wenxiaopeng
+     * @date 2026/10/19 01:10
+     * @return 缩略图路径及实际生成的衍生图（仅图片），无法生成时缩略图为null
+     **/
+    default UploadResult buildThumbnailResult(String path, String bucket, Spool spool) {
+        UploadResult result = new UploadResult();
+        StorageTracer tracer = getTracer();
         try {
-            String suffix = FileUtil.getFileSuffix(file.getName());
-            if(ImageUtil.isImage(file)) {
-                InputStream thumbnailStream = ImageUtil.buildThumbnail(file, suffix);
+            String suffix = spool.getSuffix();
+            String mediaType;
+            try(StageSpan detectSpan = tracer.start(UploadStage.DETECT).bytes(spool.size());
+                InputStream in = new BufferedInputStream(spool.openStream())) {
+                mediaType = ImageUtil.detectMediaType(in, spool.getName());
+                detectSpan.tag(StageSpan.TAG_MEDIA_TYPE, mediaType);
+            }
+            if(ImageUtil.isImageMediaType(mediaType)) {
+                // 缩略图与衍生图共用一次解码
+                BufferedImage image;
+                int orientation;
+                InputStream thumbnailStream;
+                try(StageSpan thumbnailSpan = tracer.start(UploadStage.THUMBNAIL)
+                        .tag(StageSpan.TAG_MEDIA_TYPE, mediaType).bytes(spool.size());
+                    BufferedInputStream in = new BufferedInputStream(spool.openStream())) {
+                    orientation = ImageUtil.getOrientation(in);
+                    image = ImageCodec.read(in);
+                    thumbnailStream = null == image ? null
+                            : ImageUtil.buildThumbnail(image, spool.size(), suffix, orientation);
+                }
+                String thumbnailPath = null;
                 if(null != thumbnailStream && thumbnailStream.available() > 0) {
-                    return this.doUpload(thumbnailStream, bucket, ImageUtil.appendSuffixHyphenThumbnail(path), null);
+                    try(StageSpan storeSpan = tracer.start(UploadStage.THUMBNAIL_UPLOAD)
+                            .tag(StageSpan.TAG_BUCKET, bucket).bytes(thumbnailStream.available())) {
+                        thumbnailPath = this.uploadDerived(IOUtils.toByteArray(thumbnailStream), bucket, ImageUtil.appendSuffixHyphenThumbnail(path));
+                    }
+                }
+                result.setThumbnail(thumbnailPath);
+                if (null != image) {
+                    result.setVariants(buildDerivatives(path, bucket, image, orientation));
                 }
+                return result;
 
             } else {
-                if (VideoUtil.isVideo(file)) {
-                    InputStream frameStream = VideoUtil.captureFrame(file, 20);
+                if (VideoUtil.isVideo(spool.openStream())) {
+                    InputStream frameStream;
+                    try(StageSpan thumbnailSpan = tracer.start(UploadStage.THUMBNAIL)
+                            .tag(StageSpan.TAG_MEDIA_TYPE, mediaType).bytes(spool.size())) {
+                        frameStream = VideoUtil.captureFrame(spool.toFile(), VideoUtil.POSTER_FRAME_NO);
+                    }
                     String framePath = StringUtils.substringBeforeLast(path, ".") + ".jpg";
                     if(null != frameStream) {
-                        this.doUpload(frameStream, bucket, framePath, null);
-                        return framePath;
+                        try(StageSpan storeSpan = tracer.start(UploadStage.THUMBNAIL_UPLOAD)
+                                .tag(StageSpan.TAG_BUCKET, bucket).bytes(frameStream.available())) {
+                            this.uploadDerived(IOUtils.toByteArray(frameStream), bucket, framePath);
+                        }
+                        result.setThumbnail(framePath);
                     }
                 }
             }
         } catch (Exception e){
             log.error("无法生成缩略图: {}", e.getMessage());
         }
+        return result;
+    }
+
+    /**
+     * 为已存储的视频截取封面并上传：按范围读取，只读取文件头及封面帧所在的部分，不下载整个视频
+     * @param path      视频路径
+     * @param isPublic  是否公开库
+     * @author wenxiaopeng
+     * @date 2026/10/19 22:10
+     * @return 封面路径，无法截取时为null
+     **/
+    default String buildVideoPoster(String path, boolean isPublic) {
+        ObjectMeta meta = stat(path, isPublic);
+        if (null == meta) {
+            return null;
+        }
+        StorageTracer tracer = getTracer();
+        String bucket = getBucket(isPublic);
+        try {
+            InputStream frameStream;
+            try(StageSpan thumbnailSpan = tracer.start(UploadStage.THUMBNAIL)
+                    .tag(StageSpan.TAG_MEDIA_TYPE, meta.getContentType());
+                RangedInputStream video = new RangedInputStream(meta.getSize(),
+                        (offset, length) -> download(path, isPublic, offset, length))) {
+                frameStream = VideoUtil.captureFrame(video, VideoUtil.POSTER_FRAME_NO);
+                thumbnailSpan.bytes(video.getBytesRead());
+                log.debug("截取视频封面: {}，读取{}/{}字节", path, video.getBytesRead(), video.getSize());
+            }
+            if (null == frameStream) {
+                return null;
+            }
+            String framePath = StringUtils.substringBeforeLast(path, ".") + ".jpg";
+            try(StageSpan storeSpan = tracer.start(UploadStage.THUMBNAIL_UPLOAD)
+                    .tag(StageSpan.TAG_BUCKET, bucket).bytes(frameStream.available())) {
+                this.uploadDerived(IOUtils.toByteArray(frameStream), bucket, framePath);
+            }
+            return framePath;
+        } catch (Exception e) {
+            log.error("无法生成视频封面: {} {}", path, e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * 为已存储的视频生成预览并上传：从均匀选取的关键帧中选出画面最丰富的一帧作为封面（与 {@link #buildVideoPoster(String, boolean)} 路径相同），
+     * 按配置生成雪碧图（文件名追加"-sprite"）。按范围读取，只读取文件头及选取的关键帧所在的部分
+     * @param path      视频路径
+     * @param isPublic  是否公开库
+     * @param spec      预览配置
+     * @author wenxiaopeng
+     * @date 2026/10/19 23:20
+     * @return 封面路径，无法生成时为null
+     **/
+    default String buildVideoPreview(String path, boolean isPublic, VideoUtil.PreviewSpec spec) {
+        return buildVideoPreview(path, isPublic, spec, null);
+    }
+
+    /**
+     * 为已存储的视频生成预览并上传，抓帧在指定的线程池中执行，见 {@link #buildVideoPreview(String, boolean, VideoUtil.PreviewSpec)}
+     * @param path      视频路径
+     * @param isPublic  是否公开库
+     * @param spec      预览配置
+     * @param executor  执行抓帧的有界线程池（见 {@link VideoUtil#newPreviewExecutor(int)}），为null时使用共享的线程池
+     * @author wenxiaopeng
+     * @date 2026/10/19 23:20
+     * @return 封面路径，无法生成或线程池已满时为null
+     **/
+    default String buildVideoPreview(String path, boolean isPublic, VideoUtil.PreviewSpec spec, ExecutorService executor) {
+        ObjectMeta meta = stat(path, isPublic);
+        if (null == meta) {
+            return null;
+        }
+        StorageTracer tracer = getTracer();
+        String bucket = getBucket(isPublic);
+        try {
+            VideoUtil.Preview preview;
+            try(StageSpan thumbnailSpan = tracer.start(UploadStage.THUMBNAIL)
+                    .tag(StageSpan.TAG_MEDIA_TYPE, meta.getContentType());
+                RangedInputStream video = new RangedInputStream(meta.getSize(),
+                        (offset, length) -> download(path, isPublic, offset, length))) {
+                preview = null == executor ? VideoUtil.buildPreview(video, spec) : VideoUtil.buildPreview(video, spec, executor);
+                thumbnailSpan.bytes(video.getBytesRead());
+                log.debug("生成视频预览: {}，读取{}/{}字节", path, video.getBytesRead(), video.getSize());
+            }
+            if (null == preview) {
+                return null;
+            }
+            String basePath = StringUtils.substringBeforeLast(path, ".");
+            String posterPath = basePath + ".jpg";
+            try(StageSpan storeSpan = tracer.start(UploadStage.THUMBNAIL_UPLOAD)
+                    .tag(StageSpan.TAG_BUCKET, bucket).bytes(preview.getPoster().length)) {
+                this.uploadDerived(preview.getPoster(), bucket, posterPath);
+                if (null != preview.getSprite()) {
+                    this.uploadDerived(preview.getSprite(), bucket, basePath + "-sprite.jpg");
+                }
+            }
+            return posterPath;
+        } catch (Exception e) {
+            log.error("无法生成视频预览: {} {}", path, e.getMessage());
+        }
         return null;
     }
 
+    /**
+     * 查询已存储视频的信息：上传时已保存在用户元数据中的直接返回，否则（如直传的视频）按范围只读取容器头
+     * @param path      视频路径
+     * @param isPublic  是否公开库
+     * @author wenxiaopeng
+     * @date 2026/10/19 23:00
+     * @return 无法识别时为null
+     **/
+    default VideoUtil.VideoInfo probeVideo(String path, boolean isPublic) {
+        ObjectMeta meta = stat(path, isPublic);
+        if (null == meta) {
+            throw new RuntimeException(DocumentReturnCodeEnum.NOT_FOUND.getMsg());
+        }
+        VideoUtil.VideoInfo videoInfo = VideoUtil.VideoInfo.fromUserMetadata(meta.getUserMetadata());
+        if (null != videoInfo) {
+            return videoInfo;
+        }
+        try (RangedInputStream video = new RangedInputStream(meta.getSize(),
+                (offset, length) -> download(path, isPublic, offset, length))) {
+            videoInfo = VideoUtil.probe(video);
+            log.debug("读取视频信息: {}，读取{}/{}字节", path, video.getBytesRead(), video.getSize());
+            return videoInfo;
+        } catch (IOException e) {
+            log.error("无法读取视频信息：{} {}", path, e.getMessage());
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        }
+    }
+
+    /**
+     * 按采样规则抽取已存储视频的帧并上传到指定文件夹（文件名为帧序号，如`00000025.jpg`）：
+     * 按范围顺序读取视频，解码在当前线程进行，帧的编码及上传在衍生图线程池中并发执行
+     * @param path      视频路径
+     * @param isPublic  是否公开库
+     * @param sampling  采样规则
+     * @param folder    帧图片文件夹
+     * @author wenxiaopeng
+     * @date 2026/10/19 22:40
+     * @return 视频信息，含抽取的帧数
+     **/
+    default VideoUtil.VideoInfo extractVideoFrames(String path, boolean isPublic, VideoUtil.FrameSampling sampling, String folder) {
+        ObjectMeta meta = stat(path, isPublic);
+        if (null == meta) {
+            throw new RuntimeException(DocumentReturnCodeEnum.NOT_FOUND.getMsg());
+        }
+        String bucket = getBucket(isPublic);
+        try (RangedInputStream video = new RangedInputStream(meta.getSize(),
+                (offset, length) -> download(path, isPublic, offset, length))) {
+            VideoUtil.VideoInfo videoInfo = VideoUtil.extractFrames(video, sampling, getDerivativeExecutor(),
+                    (index, timestamp, jpg) -> this.uploadDerived(jpg, bucket,
+                            generatePath(folder, String.format("%08d.jpg", index))));
+            log.debug("视频抽帧: {}，{}帧，读取{}/{}字节", path, videoInfo.getExtracted(), video.getBytesRead(), video.getSize());
+            return videoInfo;
+        } catch (IOException e) {
+            log.error("视频抽帧异常：{} {}", path, e.getMessage());
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        }
+    }
+
+    /**
+     * 多尺寸衍生图配置
+     * @author wenxiaopeng
+     * @date 2026/10/19 20:10
+     * @return 未配置时为null
+     **/
+    default CommonProperties.Derivative getDerivative() {
+        return null;
+    }
+
+    /**
+     * 按衍生图配置列出图片各尺寸及格式的文件路径：文件名追加"-宽度"（见 {@link #variantPath(String, String, String)}），
+     * 如 a.png 对应 a-640.png、a-640.webp。没有编码器的格式不在其中
+     * @param path  原图路径
+     * @author wenxiaopeng
+     * @date 2026/10/19 20:10
+     * @return 从大到小排列的衍生图，未配置时为空
+     **/
+    default List<ImageVariant> listImageVariants(String path) {
+        CommonProperties.Derivative derivative = getDerivative();
+        List<ImageVariant> variants = new ArrayList<>();
+        if (null == derivative || derivative.getWidths().isEmpty() || StringUtils.isBlank(path)) {
+            return variants;
+        }
+        String suffix = FileUtil.getFileSuffix(path);
+        Set<String> formats = new LinkedHashSet<>();
+        for (String format : derivative.getFormats()) {
+            formats.add(CommonProperties.Derivative.FORMAT_ORIGINAL.equalsIgnoreCase(format) ? suffix : format.toLowerCase());
+        }
+        if (formats.isEmpty()) {
+            formats.add(suffix);
+        }
+        formats.removeIf(format -> StringUtils.isBlank(format) || !ImageUtil.canEncode(format));
+        List<Integer> widths = new ArrayList<>(new TreeSet<>(derivative.getWidths()));
+        Collections.reverse(widths);
+        for (Integer width : widths) {
+            for (String format : formats) {
+                variants.add(new ImageVariant(width, format, variantPath(path, "-" + width, format), null));
+            }
+        }
+        return variants;
+    }
+
+    /**
+     * 衍生图路径：文件名追加后缀（见 {@link #appendSuffix(String, String)}），格式与原图不同时替换扩展名
+     * @param path      原图路径
+     * @param suffix    追加的后缀，如"-640"
+     * @param format    衍生图格式，为空时与原图相同
+     * @author wenxiaopeng
+     * @date 2026/10/19 20:40
+     * @return java.lang.String
+     **/
+    default String variantPath(String path, String suffix, String format) {
+        String sized = appendSuffix(path, suffix);
+        String original = FileUtil.getFileSuffix(path);
+        if (StringUtils.isBlank(format) || format.equalsIgnoreCase(original)) {
+            return sized;
+        }
+        return (StringUtils.isBlank(original) ? sized : StringUtils.removeEnd(sized, "." + original)) + "." + format;
+    }
+
+    /**
+     * 按衍生图配置生成并上传图片的各尺寸：逐级缩放出各宽度后，各格式的编码及上传并发执行
+     * @param path      原图路径
+     * @param bucket    桶
+     * @param image     已解码的原图，未转正
+     * @param orientation   原图的EXIF方向，缩放后转正
+     * @author wenxiaopeng
+     * @date 2026/10/19 20:10
+     * @return 上传成功的衍生图
+     **/
+    default List<ImageVariant> buildDerivatives(String path, String bucket, BufferedImage image, int orientation) {
+        List<ImageVariant> variants = listImageVariants(path);
+        if (variants.isEmpty()) {
+            return variants;
+        }
+        float quality = getDerivative().getQuality();
+        try(StageSpan span = getTracer().start(UploadStage.DERIVATIVE).tag(StageSpan.TAG_BUCKET, bucket)) {
+            Map<Integer, BufferedImage> resized = ImageUtil.resizeCascade(image,
+                    variants.stream().map(ImageVariant::getWidth).collect(Collectors.toSet()), orientation);
+            List<CompletableFuture<ImageVariant>> futures = new ArrayList<>();
+            for (ImageVariant variant : variants) {
+                futures.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        byte[] data = ImageUtil.encode(resized.get(variant.getWidth()), variant.getFormat(), quality);
+                        if (null == data) {
+                            return null;
+                        }
+                        uploadDerived(data, bucket, variant.getPath());
+                        return variant;
+                    } catch (Exception e) {
+                        log.error("无法生成衍生图: {} {}", variant.getPath(), e.getMessage());
+                        return null;
+                    }
+                }, getDerivativeExecutor()));
+            }
+            List<ImageVariant> built = futures.stream().map(CompletableFuture::join).filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+            span.tag(StageSpan.TAG_VARIANTS, String.valueOf(built.size()));
+            return built;
+        } catch (IOException e) {
+            log.error("无法生成衍生图: {}", e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
     /**
      * 
      * <添加文件后缀>
@@ -272,6 +794,96 @@ public interface StorageWorker {
      **/
     InputStream download(String key);
 
+    /**
+     * 下载指定库中的文件
+     * @param key       文件路径
+     * @param isPublic  是否公开库
+     * @author wenxiaopeng
+     * @date 2026/10/19 15:00
+     * @return java.io.InputStream
+     **/
+    default InputStream download(String key, boolean isPublic) {
+        if (isPublic) {
+            throw new UnsupportedOperationException("public download is not supported by " + getClass().getSimpleName());
+        }
+        return download(key);
+    }
+
+    /**
+     * 下载指定库中的文件，可在读取的同时校验内容，读到末尾时校验值不一致会抛出IOException。
+     * 默认不校验
+     * @param key       文件路径
+     * @param isPublic  是否公开库
+     * @param verify    是否校验
+     * @author wenxiaopeng
+     * @date 2026/10/19 17:50
+     * @return java.io.InputStream
+     **/
+    default InputStream download(String key, boolean isPublic, boolean verify) {
+        return download(key, isPublic);
+    }
+
+    /**
+     * 按范围下载指定库中的文件，不做校验。默认下载后跳过起始位置之前的内容，各实现以Range请求覆盖
+     * @param key       文件路径
+     * @param isPublic  是否公开库
+     * @param offset    起始位置
+     * @param length    长度，小于0时到文件末尾
+     * @author wenxiaopeng
+     * @date 2026/10/19 22:10
+     * @return java.io.InputStream
+     **/
+    default InputStream download(String key, boolean isPublic, long offset, long length) {
+        InputStream stream = download(key, isPublic, false);
+        try {
+            IOUtils.skipFully(stream, offset);
+        } catch (IOException e) {
+            IOUtils.closeQuietly(stream);
+            log.error("下载失败: {} {}", key, e.getMessage());
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg(), e);
+        }
+        return length < 0 ? stream : new BoundedInputStream(stream, length);
+    }
+
+    /**
+     * 查询文件信息：大小、类型及用户元数据。默认以下载计算大小，各实现以HEAD请求等方式覆盖
+     * @param key       文件路径
+     * @param isPublic  是否公开库
+     * @author wenxiaopeng
+     * @date 2026/10/19 22:10
+     * @return 文件不存在时为null
+     **/
+    default ObjectMeta stat(String key, boolean isPublic) {
+        if (!exists(key, isPublic)) {
+            return null;
+        }
+        ObjectMeta meta = new ObjectMeta();
+        try (InputStream in = download(key, isPublic, false)) {
+            meta.setSize(IOUtils.consume(in));
+        } catch (IOException e) {
+            log.error("无法查询文件: {} {}", key, e.getMessage());
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg(), e);
+        }
+        meta.setContentType(contentTypeByFileName(key));
+        return meta;
+    }
+
+    /**
+     * 文件是否存在，默认以下载判断，各实现以HEAD请求等方式覆盖
+     * @param key       文件路径
+     * @param isPublic  是否公开库
+     * @author wenxiaopeng
+     * @date 2026/10/19 20:40
+     * @return boolean
+     **/
+    default boolean exists(String key, boolean isPublic) {
+        try (InputStream ignored = download(key, isPublic)) {
+            return true;
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+    }
+
     /**
      * 下载文件到指定输出流
      * @param key   文件minio路径
@@ -288,6 +900,17 @@ public interface StorageWorker {
         }
     }
 
+    /**
+     * 下载文件到指定通道，默认经输出流拷贝；本地存储由文件通道直接传输，目标为FileChannel或SocketChannel时可零拷贝
+     * @param key       文件路径
+     * @param target    目标通道，由调用方关闭
+     * @author wenxiaopeng
+     * @date 2026/10/19 16:50
+     **/
+    default void download(String key, WritableByteChannel target) {
+        download(key, Channels.newOutputStream(target));
+    }
+
     /**
      * 复制文件
      *
@@ -324,7 +947,7 @@ public interface StorageWorker {
     String copyObject(String source, String target, boolean isPublic);
 
     /**
-     * 根据路径删除文件
+     * 根据路径删除文件；启用去重时，文件仍被其他上传引用则只释放引用
      * @author songcx
      * @date 14:31 2021/2/2
      * @param path 1
@@ -332,6 +955,16 @@ public interface StorageWorker {
      **/
     boolean deleteFile(String path);
 
+    /**
+     * 删除指定桶中的文件，不经过去重的引用计数；用于清理上传过程中产生的多余文件
+     * @param bucket    桶
+     * @param path      文件路径
+     * @author wenxiaopeng
+     * @date 2026/10/19 15:10
+     * @return 是否删除成功
+     **/
+    boolean deleteObject(String bucket, String path);
+
 
     /**
      * 上传多个文件
@@ -363,6 +996,214 @@ public interface StorageWorker {
     default Map<String, String> preSignUpload(PreSingUploadParam param) {
         return null;
     }
+
+    /**
+     * 是否支持分片上传，不支持时以下分片接口均抛出UnsupportedOperationException
+     * @author wenxiaopeng
+     * @date 2026/10/19 18:30
+     * @return boolean
+     **/
+    default boolean isMultipartSupported() {
+        return false;
+    }
+
+    /**
+     * 发起分片上传
+     * @param bucket    桶
+     * @param path      文件路径
+     * @param meta      文件信息（内容类型、用户元数据），可为null
+     * @author wenxiaopeng
+     * @date 2026/10/19 18:30
+     * @return 分片上传ID
+     **/
+    default String initiateMultipart(String bucket, String path, ObjectMeta meta) {
+        throw new UnsupportedOperationException("multipart upload is not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * 上传一个分片，除最后一个分片外大小不得小于5MiB
+     * @param bucket        桶
+     * @param path          文件路径
+     * @param uploadId      分片上传ID
+     * @param partNumber    分片序号，从1开始
+     * @param stream        分片内容，由调用方关闭
+     * @param size          分片大小
+     * @author wenxiaopeng
+     * @date 2026/10/19 18:30
+     * @return 已上传的分片
+     **/
+    default UploadPart uploadPart(String bucket, String path, String uploadId, int partNumber, InputStream stream, long size) {
+        throw new UnsupportedOperationException("multipart upload is not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * 查询已上传的分片
+     * @param bucket    桶
+     * @param path      文件路径
+     * @param uploadId  分片上传ID
+     * @author wenxiaopeng
+     * @date 2026/10/19 18:30
+     * @return 按序号排列的分片，分片上传已完成、已取消或不存在时为null
+     **/
+    default List<UploadPart> listParts(String bucket, String path, String uploadId) {
+        throw new UnsupportedOperationException("multipart upload is not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * 合并分片完成上传
+     * @param bucket    桶
+     * @param path      文件路径
+     * @param uploadId  分片上传ID
+     * @param parts     全部分片，按序号排列
+     * @author wenxiaopeng
+     * @date 2026/10/19 18:30
+     * @return 远程文件路径
+     **/
+    default String completeMultipart(String bucket, String path, String uploadId, List<UploadPart> parts) {
+        throw new UnsupportedOperationException("multipart upload is not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * 取消分片上传并释放已上传的分片
+     * @param bucket    桶
+     * @param path      文件路径
+     * @param uploadId  分片上传ID
+     * @author wenxiaopeng
+     * @date 2026/10/19 18:30
+     **/
+    default void abortMultipart(String bucket, String path, String uploadId) {
+        throw new UnsupportedOperationException("multipart upload is not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * 列出桶中尚未完成的分片上传，供清理遗留分片使用
+     * @param bucket    桶
+     * @author wenxiaopeng
+     * @date 2026/10/19 18:30
+     * @return java.util.List<cn.cloudscope.oss.bean.MultipartUpload>
+     **/
+    default List<MultipartUpload> listMultipartUploads(String bucket) {
+        throw new UnsupportedOperationException("multipart upload is not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * 签发单个分片的PUT上传链接
+     * @param bucket        桶
+     * @param path          文件路径
+     * @param uploadId      分片上传ID
+     * @param partNumber    分片序号
+     * @param expiresIn     有效期
+     * @author wenxiaopeng
+     * @date 2026/10/19 19:20
+     * @return 预签名链接
+     **/
+    default String preSignUploadPart(String bucket, String path, String uploadId, int partNumber, Duration expiresIn) {
+        throw new UnsupportedOperationException("multipart pre-sign is not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * 分片直传：发起分片上传并签发首批分片链接，浏览器可并行将分片直接上传到存储，无需经过应用
+     * @param param 直传参数
+     * @author wenxiaopeng
+     * @date 2026/10/19 19:20
+     * @return cn.cloudscope.oss.bean.MultipartPreSignResult
+     **/
+    default MultipartPreSignResult preSignMultipartUpload(MultipartPreSignParam param) {
+        if (param.getSize() <= 0) {
+            throw new RuntimeException(DocumentReturnCodeEnum.DOCUMENT_EMPTY.getMsg());
+        }
+        String bucket = getBucket(param.isPublic());
+        String path = generatePath(getKeyStrategy().generateId() + "." + FileUtil.getFileSuffix(param.getFilename()));
+        Duration expiresIn = null == param.getExpiresIn() ? Duration.ofHours(1) : param.getExpiresIn();
+        long partSize = multipartPartSize(param.getSize(), null == param.getPartSize() ? DEFAULT_PART_SIZE : param.getPartSize());
+        ObjectMeta meta = new ObjectMeta();
+        meta.setContentType(StringUtils.defaultIfBlank(param.getContentType(), contentTypeByFileName(param.getFilename())));
+        String uploadId = initiateMultipart(bucket, path, meta);
+        MultipartPreSignResult result = new MultipartPreSignResult();
+        result.setKey(path);
+        result.setUploadId(uploadId);
+        result.setPartSize(partSize);
+        result.setPartCount((int) ((param.getSize() + partSize - 1) / partSize));
+        result.setExpiresIn(expiresIn.getSeconds());
+        result.setParts(preSignUploadParts(path, uploadId, param.isPublic(), 1,
+                Math.min(param.getBatchSize(), result.getPartCount()), expiresIn));
+        return result;
+    }
+
+    /**
+     * 分批签发后续分片的上传链接，也可用于重新签发已过期的链接
+     * @param path          文件路径
+     * @param uploadId      分片上传ID
+     * @param isPublic      是否公开库
+     * @param firstPart     起始分片序号
+     * @param count         分片数，单次最多1000个
+     * @param expiresIn     有效期
+     * @author wenxiaopeng
+     * @date 2026/10/19 19:20
+     * @return java.util.List<cn.cloudscope.oss.bean.PartUploadUrl>
+     **/
+    default List<PartUploadUrl> preSignUploadParts(String path, String uploadId, boolean isPublic, int firstPart, int count,
+                                                   Duration expiresIn) {
+        if (firstPart < 1 || count < 0 || count > 1000 || firstPart + count - 1 > MAX_PARTS) {
+            throw new IllegalArgumentException("分片序号超出范围: " + firstPart + "+" + count);
+        }
+        String bucket = getBucket(isPublic);
+        List<PartUploadUrl> urls = new ArrayList<>(count);
+        for (int partNumber = firstPart; partNumber < firstPart + count; partNumber++) {
+            urls.add(new PartUploadUrl(partNumber, preSignUploadPart(bucket, path, uploadId, partNumber, expiresIn)));
+        }
+        return urls;
+    }
+
+    /**
+     * 合并直传的分片完成上传
+     * @param path      文件路径
+     * @param uploadId  分片上传ID
+     * @param isPublic  是否公开库
+     * @param parts     客户端记录的分片ETag；为空时以服务端已上传的分片为准（浏览器通常无法读取ETag响应头）
+     * @author wenxiaopeng
+     * @date 2026/10/19 19:20
+     * @return cn.cloudscope.oss.bean.UploadResult
+     **/
+    default UploadResult completePreSignMultipart(String path, String uploadId, boolean isPublic, List<UploadPart> parts) {
+        String bucket = getBucket(isPublic);
+        List<UploadPart> completed = parts;
+        if (null == completed || completed.isEmpty()) {
+            completed = listParts(bucket, path, uploadId);
+            if (null == completed || completed.isEmpty()) {
+                throw new RuntimeException(DocumentReturnCodeEnum.DOCUMENT_EMPTY.getMsg());
+            }
+        }
+        completed = completed.stream().sorted(Comparator.comparingInt(UploadPart::getPartNumber)).collect(Collectors.toList());
+        UploadResult result = new UploadResult();
+        result.setPhyPath(completeMultipart(bucket, path, uploadId, completed));
+        return result;
+    }
+
+    /**
+     * 取消直传并释放已上传的分片
+     * @param path      文件路径
+     * @param uploadId  分片上传ID
+     * @param isPublic  是否公开库
+     * @author wenxiaopeng
+     * @date 2026/10/19 19:20
+     **/
+    default void abortPreSignMultipart(String path, String uploadId, boolean isPublic) {
+        abortMultipart(getBucket(isPublic), path, uploadId);
+    }
+
+    /**
+     * 计算分片大小：不小于5MB，且分片数不超过1万
+     * @param size      文件大小
+     * @param preferred 期望的分片大小
+     * @author wenxiaopeng
+     * @date 2026/10/19 19:20
+     * @return long
+     **/
+    static long multipartPartSize(long size, long preferred) {
+        return Math.max(Math.max(preferred, MIN_PART_SIZE), (size + MAX_PARTS - 1) / MAX_PARTS);
+    }
+
     /**
      * 
      * <创建一个指定有效期的图片访问链接>
@@ -376,7 +1217,9 @@ public interface StorageWorker {
         String originalImgUrl = this.crateFileExpireUrl(path, expire);
         String hyphenThumbnail = appendSuffix(path, SUFFIX_THUMBNAIL);
         String thumbnailUrl = this.crateFileExpireUrl(hyphenThumbnail, expire);
-        return UploadResult.createThumbnailResult(originalImgUrl, thumbnailUrl);
+        UploadResult result = UploadResult.createThumbnailResult(originalImgUrl, thumbnailUrl);
+        result.setVariants(signImageVariants(path, expire));
+        return result;
     }
 
     /**
@@ -395,18 +1238,63 @@ public interface StorageWorker {
         String originalImgUrl = this.crateFileExpireUrl(path, expire);
         String hyphenThumbnail = appendSuffix(path, SUFFIX_THUMBNAIL);
         String thumbnailUrl = this.crateFileExpireUrl(hyphenThumbnail, expire);
-        return DocumentUrlResult.builder().url(originalImgUrl).thumbnail(thumbnailUrl).expiresIn(expire).build();
+        return DocumentUrlResult.builder().url(originalImgUrl).thumbnail(thumbnailUrl).expiresIn(expire)
+                .variants(signImageVariants(path, expire)).build();
     }
 
     /**
-     * 按规则生成文件路径（年月及文件名hash）
+     * 为图片的各衍生图生成指定有效期的访问链接
+     * @param path      原图路径
+     * @param expire    有效时间（s）
+     * @author wenxiaopeng
+     * @date 2026/10/19 20:10
+     * @return 含访问链接的衍生图，未配置时为空
+     **/
+    default List<ImageVariant> signImageVariants(String path, int expire) {
+        List<ImageVariant> variants = listBuiltImageVariants(path, false);
+        for (ImageVariant variant : variants) {
+            variant.setUrl(this.crateFileExpireUrl(variant.getPath(), expire));
+        }
+        return variants;
+    }
+
+    /**
+     * 列出已生成的衍生图：非图片没有衍生图；原图带有 {@link ObjectMeta#USER_META_VARIANTS} 时以此为准，
+     * 否则（如直传文件的后处理生成的衍生图）逐个查询是否存在
+     * @param path      原图路径
+     * @param isPublic  是否公开库
+     * @author wenxiaopeng
+     * @date 2026/10/19 20:10
+     * @return 已生成的衍生图，原图不存在时为空
+     **/
+    default List<ImageVariant> listBuiltImageVariants(String path, boolean isPublic) {
+        List<ImageVariant> variants = listImageVariants(path);
+        if (variants.isEmpty() || !ImageUtil.isImageMediaType(contentTypeByFileName(path))) {
+            return Collections.emptyList();
+        }
+        ObjectMeta meta = stat(path, isPublic);
+        if (null == meta) {
+            return Collections.emptyList();
+        }
+        String built = ObjectMeta.findUserMetadata(meta.getUserMetadata(), ObjectMeta.USER_META_VARIANTS);
+        if (null != built) {
+            Set<String> ids = ImageVariant.parseMetadata(built);
+            variants.removeIf(variant -> !ids.contains(ImageVariant.id(variant)));
+        } else {
+            variants.removeIf(variant -> !exists(variant.getPath(), isPublic));
+        }
+        return variants;
+    }
+
+    /**
+     * 按规则生成文件路径，规则见 {@link #getKeyStrategy()}
      * @param fileName  文件名
      * @author wenxiaopeng
      * @date 2023/9/16 14:45
      * @return java.lang.String
      **/
     default String generatePath(String fileName) {
-        return LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMM")) + "/" + PathUtil.generatePath(fileName) + "/" + fileName;
+        return getKeyStrategy().generate(fileName);
     }
 
     default UploadResult uploadFromUri(String uri, boolean keepPublic, boolean thumbnail) {
@@ -420,29 +1308,130 @@ public interface StorageWorker {
                 fileSuffix = suffixByContentType(headers[0].getValue());
             }
             HttpEntity entity = response.getEntity();
-            return this.upload(entity.getContent(), UUID.randomUUID() + "." + fileSuffix, null, thumbnail);
+            return this.upload(entity.getContent(), UUIDUtil.buildUuid() + "." + fileSuffix, null, thumbnail);
         } catch (Exception e) {
             log.error("download from uri: {} error.", uri, e);
         }
         return null;
     }
 
+    /**
+     * 文件后缀与Content-Type的映射
+     * @deprecated 改用 {@link #getMimeRegistry()}。此处保留一个版本，为默认映射的只读视图，不含各存储配置的映射，修改时抛出UnsupportedOperationException
+     **/
+    @Deprecated
+    Map<String, String> TYPE_CACHE = MimeRegistry.getDefault().asMap();
+
+    /**
+     * 文件后缀与Content-Type的映射，默认为Tika的MIME库，各实现追加配置的映射（oss.storage.*.content-types）
+     * @author wenxiaopeng
+     * @date 2026/10/19 23:40
+     * @return cn.cloudscope.oss.utils.MimeRegistry
+     **/
+    default MimeRegistry getMimeRegistry() {
+        return MimeRegistry.getDefault();
+    }
+
     default String contentTypeByFileName(String name) {
-        return TYPE_CACHE.getOrDefault(FileUtil.getFileSuffix(name), ContentType.APPLICATION_OCTET_STREAM.getMimeType());
+        return getMimeRegistry().contentTypeByFileName(name);
     }
 
     default String suffixByContentType(String contentType) {
-        AtomicReference<String> suffix = new AtomicReference<>(null);
-        TYPE_CACHE.forEach((k, v) -> {
-            if(v.equals(contentType)) {
-                suffix.set(k);
-            }
-        });
-        return suffix.get();
+        return getMimeRegistry().suffix(contentType);
     }
 
     String getEndpoint();
 
+    /**
+     * 上传流水线的追踪实现，默认不记录
+     * @author wenxiaopeng
+     * @date 2026/10/19 10:30
+     * @return cn.cloudscope.oss.trace.StorageTracer
+     **/
+    default StorageTracer getTracer() {
+        return StorageTracer.NOOP;
+    }
+
+    /**
+     * 校验存储桶可访问，需要时创建；由启动预热及健康检查调用，会产生网络请求
+     * @author wenxiaopeng
+     * @date 2026/10/19 16:00
+     * @throws RuntimeException 存储不可用或桶不存在
+     **/
+    default void verifyBucket() {
+    }
+
+    /**
+     * 只读地检查存储桶可访问（如HEAD Bucket），不创建桶或目录；由健康检查周期调用，会产生网络请求。
+     * 默认与 {@link #verifyBucket()} 相同，verifyBucket有副作用的实现需要覆盖
+     * @author wenxiaopeng
+     * @date 2026/10/19 10:10
+     * @throws RuntimeException 存储不可用或桶不存在
+     **/
+    default void checkBucket() {
+        verifyBucket();
+    }
+
+    /**
+     * 未指定文件夹时的路径生成规则，默认为年月及文件名hash
+     * @author wenxiaopeng
+     * @date 2026/10/19 00:10
+     * @return cn.cloudscope.oss.service.key.KeyStrategy
+     **/
+    default KeyStrategy getKeyStrategy() {
+        return KeyStrategy.LEGACY;
+    }
+
+    /**
+     * 上传时的暂存，默认为系统临时目录，1MB以内的文件保存在内存中
+     * @author wenxiaopeng
+     * @date 2026/10/19 01:10
+     * @return cn.cloudscope.oss.service.spool.SpoolManager
+     **/
+    default SpoolManager getSpoolManager() {
+        return SpoolManager.getDefault();
+    }
+
+    /**
+     * 衍生图编码、视频抽帧编码使用的线程池，默认为 {@link DerivativeExecutor#getDefault()}
+     * @author wenxiaopeng
+     * @date 2026/10/19 20:10
+     * @return cn.cloudscope.oss.service.derivative.DerivativeExecutor
+     **/
+    default DerivativeExecutor getDerivativeExecutor() {
+        return DerivativeExecutor.getDefault();
+    }
+
+    /**
+     * 去重使用的内容索引，默认不去重
+     * @author wenxiaopeng
+     * @date 2026/10/19 17:20
+     * @return 内容索引，未启用去重时为null
+     **/
+    default ContentIndex getContentIndex() {
+        return null;
+    }
+
+    /**
+     * 客户端连接池状态，供健康检查判断是否饱和
+     * @author wenxiaopeng
+     * @date 2026/10/19 16:40
+     * @return 连接池状态，客户端尚未创建或无法获取时为null
+     **/
+    default ConnectionPoolStats getConnectionPoolStats() {
+        return null;
+    }
+
+    /**
+     * 实现相关的运行状态（如副本熔断状态），附加到健康检查详情中
+     * @author wenxiaopeng
+     * @date 2026/10/19 16:40
+     * @return java.util.Map<java.lang.String,java.lang.Object>
+     **/
+    default Map<String, Object> getHealthDetails() {
+        return Collections.emptyMap();
+    }
+
     default String getPublicBucket() {
         return getBucket(true);
     }
@@ -460,26 +1449,17 @@ public interface StorageWorker {
         if(StringUtils.isNotBlank(key)) {
             String endpoint = getEndpoint();
             String url = endpoint + "/" + getPublicBucket() + "/" + key;
+            List<ImageVariant> variants = listBuiltImageVariants(key, true);
+            for (ImageVariant variant : variants) {
+                variant.setUrl(endpoint + "/" + getPublicBucket() + "/" + variant.getPath());
+            }
             return DocumentUrlResult.builder()
                     .url(url)
                     .thumbnail(ImageUtil.appendSuffixHyphenThumbnail(url))
+                    .variants(variants)
                     .build();
         }
         return DocumentUrlResult.builder().build();
     }
 
-    Map<String, String> TYPE_CACHE = new HashMap<String, String>(){
-        {
-            put("png", ContentType.IMAGE_PNG.getMimeType());
-            put("jpg", ContentType.IMAGE_JPEG.getMimeType());
-            put("jpeg", ContentType.IMAGE_JPEG.getMimeType());
-            put("gif", ContentType.IMAGE_GIF.getMimeType());
-            put("mp4", "video/mp4");
-            put("markdown", "text/markdown");
-            put("pdf", "application/pdf");
-            put("doc", "application/msword");
-            put("docx", "application/msword");
-        }
-    };
-
 }
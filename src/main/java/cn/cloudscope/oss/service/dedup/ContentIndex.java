@@ -0,0 +1,54 @@
+package cn.cloudscope.oss.service.dedup;
+
+import cn.cloudscope.oss.bean.UploadResult;
+
+/**
+ *  内容索引：以文件内容的SHA-256查找已上传的文件，并按引用计数决定文件能否删除。
+ *  引用计数必须持久保存，应基于数据库、Redis等持久存储实现并注册为Bean，开启去重而未注册时启动失败。
+ *  去重上传的文件带有用户元数据 {@link cn.cloudscope.oss.bean.ObjectMeta#USER_META_SHA256}，
+ *  索引中没有记录的此类文件不会被删除
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 17:20
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+public interface ContentIndex {
+
+    /**
+     * 查找内容相同的文件，命中时引用数加一
+     * @param bucket    桶
+     * @param sha256    文件内容的SHA-256（小写十六进制）
+     * @return 已有文件的上传结果，未命中时为null
+     **/
+    UploadResult acquire(String bucket, String sha256);
+
+    /**
+     * 登记新上传的文件，引用数为1。相同内容的并发上传都未命中时，只有先登记的文件生效，
+     * 后登记的不登记，改为对已登记文件的一次引用（引用数加一），由调用方删除其写入的文件
+     * @param bucket    桶
+     * @param sha256    文件内容的SHA-256
+     * @param result    上传结果
+     * @return 内容已被其他上传登记时为已登记文件的上传结果，否则为null
+     **/
+    UploadResult register(String bucket, String sha256, UploadResult result);
+
+    /**
+     * 文件是否已在索引中登记
+     * @param bucket    桶
+     * @param path      文件路径
+     * @return boolean
+     **/
+    boolean isRegistered(String bucket, String path);
+
+    /**
+     * 释放文件的一次引用
+     * @param bucket    桶
+     * @param path      文件路径
+     * @return 已无引用，可以删除文件；未登记时为false，无法确认文件是否被共享
+     **/
+    boolean release(String bucket, String path);
+}
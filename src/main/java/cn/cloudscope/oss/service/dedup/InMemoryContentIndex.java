@@ -0,0 +1,102 @@
+package cn.cloudscope.oss.service.dedup;
+
+import cn.cloudscope.oss.bean.UploadResult;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ *  基于内存的内容索引，进程重启后清空，此后重启前上传的去重文件都不能再删除。
+ *  不会自动注册，仅供测试或开发环境显式声明为Bean
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 17:20
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+public class InMemoryContentIndex implements ContentIndex {
+
+    private final Map<String, Entry> byDigest = new HashMap<>();
+
+    private final Map<String, String> digestByPath = new HashMap<>();
+
+    @Override
+    public synchronized UploadResult acquire(String bucket, String sha256) {
+        Entry entry = byDigest.get(key(bucket, sha256));
+        if (null == entry) {
+            return null;
+        }
+        entry.references++;
+        return copy(entry.result);
+    }
+
+    @Override
+    public synchronized UploadResult register(String bucket, String sha256, UploadResult result) {
+        String key = key(bucket, sha256);
+        Entry entry = byDigest.get(key);
+        if (null != entry) {
+            entry.references++;
+            return copy(entry.result);
+        }
+        byDigest.put(key, new Entry(copy(result)));
+        digestByPath.put(key(bucket, result.getPhyPath()), key);
+        return null;
+    }
+
+    @Override
+    public synchronized boolean isRegistered(String bucket, String path) {
+        return digestByPath.containsKey(key(bucket, path));
+    }
+
+    @Override
+    public synchronized boolean release(String bucket, String path) {
+        String pathKey = key(bucket, path);
+        String key = digestByPath.get(pathKey);
+        if (null == key) {
+            return false;
+        }
+        Entry entry = byDigest.get(key);
+        if (--entry.references > 0) {
+            return false;
+        }
+        byDigest.remove(key);
+        digestByPath.remove(pathKey);
+        return true;
+    }
+
+    /**
+     * @return 已登记的文件数
+     **/
+    public synchronized int size() {
+        return byDigest.size();
+    }
+
+    private static String key(String bucket, String value) {
+        return bucket + "/" + value;
+    }
+
+    private static UploadResult copy(UploadResult source) {
+        UploadResult result = UploadResult.createThumbnailResult(source.getPhyPath(), source.getThumbnail());
+        result.setFileName(source.getFileName());
+        result.setSha256(source.getSha256());
+        result.setMd5(source.getMd5());
+        result.setCrc32c(source.getCrc32c());
+        result.setCrc64(source.getCrc64());
+        result.setVariants(source.getVariants());
+        return result;
+    }
+
+    private static class Entry {
+
+        private final UploadResult result;
+
+        private int references = 1;
+
+        Entry(UploadResult result) {
+            this.result = result;
+        }
+    }
+}
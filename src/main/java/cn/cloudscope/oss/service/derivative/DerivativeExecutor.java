@@ -0,0 +1,78 @@
+package cn.cloudscope.oss.service.derivative;
+
+import java.io.Closeable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ *  衍生图编码及上传的线程池，线程数与CPU核数相同，空闲时回收。
+ *  等待队列有界，队列满时由提交任务的线程自行执行（CallerRunsPolicy），上传线程随之放慢，不会无限堆积
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 20:10
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+public class DerivativeExecutor implements Executor, Closeable {
+
+    /** 默认的等待队列长度 */
+    public static final int DEFAULT_QUEUE_CAPACITY = 256;
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * @param queueCapacity 等待队列长度
+     **/
+    public DerivativeExecutor(int queueCapacity) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("queue capacity must be positive");
+        }
+        int threads = Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "oss-derivative-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * @return 容器外使用的线程池，等待队列长度为 {@link #DEFAULT_QUEUE_CAPACITY}，首次使用时创建
+     **/
+    public static DerivativeExecutor getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        executor.execute(command);
+    }
+
+    /**
+     * @return 等待中的任务数
+     **/
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * 不再接受新任务，已提交的任务继续执行
+     **/
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private static class DefaultHolder {
+
+        private static final DerivativeExecutor INSTANCE = new DerivativeExecutor(DEFAULT_QUEUE_CAPACITY);
+    }
+}
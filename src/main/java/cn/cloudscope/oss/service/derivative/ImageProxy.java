@@ -0,0 +1,210 @@
+package cn.cloudscope.oss.service.derivative;
+
+import cn.cloudscope.oss.bean.DocumentReturnCodeEnum;
+import cn.cloudscope.oss.config.properties.ImageProxyProperties;
+import cn.cloudscope.oss.service.StorageWorker;
+import cn.cloudscope.oss.utils.FileUtil;
+import cn.cloudscope.oss.utils.ImageCodec;
+import cn.cloudscope.oss.utils.ImageUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ *  按需缩放图片：按原图路径及宽高、格式取衍生图，存储中已有时直接读取，否则由原图生成并写回存储，
+ *  之后的请求不再生成。同一衍生图的并发请求只生成一次，最近使用的衍生图缓存在内存中，返回给调用方的是副本。
+ *  配置了允许的尺寸时，其他尺寸的请求直接拒绝，存储中的衍生图数量因此有上限。
+ *  衍生图路径与上传时生成的一致（如 a-640.webp），两者可以共用
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 20:40
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Slf4j
+public class ImageProxy {
+
+    private final StorageWorker storageWorker;
+
+    private final ImageProxyProperties properties;
+
+    /** 允许的尺寸，为空时不限制 */
+    private final Set<String> sizes;
+
+    /** 正在读取或生成的衍生图 */
+    private final Map<String, CompletableFuture<byte[]>> loading = new ConcurrentHashMap<>();
+
+    /** 按访问顺序排列，超出容量时移除最久未使用的 */
+    private final LinkedHashMap<String, byte[]> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long cachedBytes;
+
+    public ImageProxy(StorageWorker storageWorker, ImageProxyProperties properties) {
+        this.storageWorker = storageWorker;
+        this.properties = properties;
+        this.sizes = properties.getSizes().stream().map(size -> StringUtils.lowerCase(StringUtils.trim(size)))
+                .filter(StringUtils::isNotEmpty).collect(Collectors.toSet());
+    }
+
+    /**
+     * 获取衍生图内容
+     * @param key       原图路径
+     * @param width     最大宽度，为空时不限制
+     * @param height    最大高度，为空时不限制
+     * @param format    格式，为空时与原图相同
+     * @param isPublic  是否公开库
+     * @author wenxiaopeng
+     * @date 2026/10/19 20:40
+     * @return 衍生图内容，调用方可以修改
+     **/
+    public byte[] getImage(String key, Integer width, Integer height, String format, boolean isPublic) {
+        String path = derivativePath(key, width, height, format);
+        String id = storageWorker.getBucket(isPublic) + "/" + path;
+        byte[] data = getCached(id);
+        if (null == data) {
+            data = load(id, () -> storageWorker.exists(path, isPublic) ? read(path, isPublic)
+                    : generate(key, width, height, format, isPublic, path));
+        }
+        // 缓存中的数组与其他请求共用
+        return data.clone();
+    }
+
+    /**
+     * 确保衍生图已在存储中，用于生成访问链接后重定向
+     * @param key       原图路径
+     * @param width     最大宽度，为空时不限制
+     * @param height    最大高度，为空时不限制
+     * @param format    格式，为空时与原图相同
+     * @param isPublic  是否公开库
+     * @author wenxiaopeng
+     * @date 2026/10/19 20:40
+     * @return 衍生图路径
+     **/
+    public String resolve(String key, Integer width, Integer height, String format, boolean isPublic) {
+        String path = derivativePath(key, width, height, format);
+        String id = storageWorker.getBucket(isPublic) + "/" + path;
+        if (null == getCached(id) && !storageWorker.exists(path, isPublic)) {
+            load(id, () -> generate(key, width, height, format, isPublic, path));
+        }
+        return path;
+    }
+
+    /**
+     * 衍生图路径：文件名追加"-宽x高"，只限制宽度时为"-宽"，只限制高度时为"-x高"
+     * @param key       原图路径
+     * @param width     最大宽度，为空时不限制
+     * @param height    最大高度，为空时不限制
+     * @param format    格式，为空时与原图相同
+     * @author wenxiaopeng
+     * @date 2026/10/19 20:40
+     * @return java.lang.String
+     * @throws RuntimeException 尺寸超出限制、不在允许的尺寸中或格式没有编码器
+     **/
+    public String derivativePath(String key, Integer width, Integer height, String format) {
+        boolean hasWidth = null != width && width > 0;
+        boolean hasHeight = null != height && height > 0;
+        String size = (hasWidth ? String.valueOf(width) : "") + (hasHeight ? "x" + height : "");
+        if ((!hasWidth && !hasHeight) || (hasWidth && width > properties.getMaxWidth())
+                || (hasHeight && height > properties.getMaxHeight())
+                || (!sizes.isEmpty() && !sizes.contains(size))
+                || (StringUtils.isNotBlank(format) && !ImageUtil.canEncode(format))) {
+            throw new RuntimeException(DocumentReturnCodeEnum.IMAGE_SIZE_UNSUPPORTED.getMsg());
+        }
+        return storageWorker.variantPath(key, "-" + size, StringUtils.lowerCase(format));
+    }
+
+    /**
+     * 同一衍生图只由第一个请求读取或生成，其余请求等待其结果
+     **/
+    private byte[] load(String id, Supplier<byte[]> loader) {
+        CompletableFuture<byte[]> future = new CompletableFuture<>();
+        CompletableFuture<byte[]> existing = loading.putIfAbsent(id, future);
+        if (null != existing) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+        try {
+            byte[] data = loader.get();
+            putCached(id, data);
+            future.complete(data);
+            return data;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(id, future);
+        }
+    }
+
+    private byte[] read(String path, boolean isPublic) {
+        try (InputStream in = storageWorker.download(path, isPublic)) {
+            return IOUtils.toByteArray(in);
+        } catch (IOException e) {
+            log.error("读取衍生图失败: {} {}", path, e.getMessage());
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg(), e);
+        }
+    }
+
+    private byte[] generate(String key, Integer width, Integer height, String format, boolean isPublic, String path) {
+        try {
+            BufferedImage image;
+            int orientation;
+            try (BufferedInputStream in = new BufferedInputStream(storageWorker.download(key, isPublic))) {
+                orientation = ImageUtil.getOrientation(in);
+                image = ImageCodec.read(in);
+            }
+            if (null == image) {
+                throw new RuntimeException(DocumentReturnCodeEnum.DOCUMENT_NOT_IMAGE.getMsg());
+            }
+            String target = StringUtils.defaultIfBlank(format, FileUtil.getFileSuffix(key));
+            byte[] data = ImageUtil.encode(ImageUtil.resize(image, width, height, orientation), target, properties.getQuality());
+            if (null == data) {
+                throw new RuntimeException(DocumentReturnCodeEnum.IMAGE_SIZE_UNSUPPORTED.getMsg());
+            }
+            storageWorker.uploadDerived(data, storageWorker.getBucket(isPublic), path);
+            log.debug("已生成衍生图: {}", path);
+            return data;
+        } catch (IOException e) {
+            log.error("生成衍生图失败: {} {}", path, e.getMessage());
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg(), e);
+        }
+    }
+
+    private synchronized byte[] getCached(String id) {
+        return cache.get(id);
+    }
+
+    private synchronized void putCached(String id, byte[] data) {
+        long capacity = properties.getCacheSize().toBytes();
+        if (data.length > capacity) {
+            return;
+        }
+        byte[] previous = cache.put(id, data);
+        cachedBytes += data.length - (null == previous ? 0 : previous.length);
+        Iterator<byte[]> eldest = cache.values().iterator();
+        while (cachedBytes > capacity && eldest.hasNext()) {
+            cachedBytes -= eldest.next().length;
+            eldest.remove();
+        }
+    }
+}
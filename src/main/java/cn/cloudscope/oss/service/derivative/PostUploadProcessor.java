@@ -0,0 +1,220 @@
+package cn.cloudscope.oss.service.derivative;
+
+import cn.cloudscope.oss.bean.DocumentReturnCodeEnum;
+import cn.cloudscope.oss.bean.ObjectMeta;
+import cn.cloudscope.oss.service.StorageWorker;
+import cn.cloudscope.oss.service.notification.NotificationSource;
+import cn.cloudscope.oss.service.spool.Spool;
+import cn.cloudscope.oss.utils.FileUtil;
+import cn.cloudscope.oss.utils.ImageUtil;
+import cn.cloudscope.oss.utils.VideoUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ *  直传文件的后处理：文件通过预签名链接直接写入存储后，由服务端下载并生成缩略图或视频预览（封面及雪碧图）。
+ *  文件在有限的线程及队列中处理，队列已满时拒绝；先按范围读取文件开头检测媒体类型，只有图片才下载整个文件，视频按范围读取截帧。
+ *  可由前端上传完成后调用 {@link #finalizeUpload(String, boolean)} 触发，也可订阅存储事件自动触发（见 {@link NotificationSource}）
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 19:30
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Slf4j
+public class PostUploadProcessor implements ApplicationListener<ApplicationReadyEvent>, Closeable {
+
+    /** 检测媒体类型时读取的文件开头长度 */
+    private static final int DETECT_LENGTH = 64 * 1024;
+
+    private final StorageWorker storageWorker;
+
+    private final NotificationSource notificationSource;
+
+    private final ThreadPoolExecutor executor;
+
+    /** 视频预览配置，为null时截取固定帧作为封面 */
+    private final VideoUtil.PreviewSpec previewSpec;
+
+    /** 视频预览的抓帧线程，与处理线程数相同，被超时的抓帧占满时跳过预览 */
+    private final ExecutorService previewExecutor;
+
+    /** 正在处理或等待处理的文件，重复提交时返回同一结果 */
+    private final Map<String, CompletableFuture<String>> processing = new ConcurrentHashMap<>();
+
+    /**
+     * @param storageWorker         存储实现
+     * @param notificationSource    存储事件来源，可为null
+     * @param threads               处理线程数
+     * @param queueCapacity         等待处理的文件数上限
+     **/
+    public PostUploadProcessor(StorageWorker storageWorker, NotificationSource notificationSource, int threads, int queueCapacity) {
+        this(storageWorker, notificationSource, threads, queueCapacity, null);
+    }
+
+    /**
+     * @param storageWorker         存储实现
+     * @param notificationSource    存储事件来源，可为null
+     * @param threads               处理线程数
+     * @param queueCapacity         等待处理的文件数上限
+     * @param previewSpec           视频预览配置，为null时截取固定帧作为封面
+     **/
+    public PostUploadProcessor(StorageWorker storageWorker, NotificationSource notificationSource, int threads, int queueCapacity,
+                               VideoUtil.PreviewSpec previewSpec) {
+        this.storageWorker = storageWorker;
+        this.notificationSource = notificationSource;
+        this.previewSpec = previewSpec;
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "oss-post-process-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+        this.previewExecutor = null == previewSpec ? null : VideoUtil.newPreviewExecutor(threads);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (null != notificationSource) {
+            notificationSource.start(this::onObjectCreated);
+        }
+    }
+
+    /**
+     * 直传完成后提交文件，在后台生成缩略图或视频封面
+     * @param key       文件路径
+     * @param isPublic  是否公开库
+     * @author wenxiaopeng
+     * @date 2026/10/19 19:30
+     * @return 缩略图或视频封面路径，不是图片或视频时为null；队列已满时以RejectedExecutionException结束
+     **/
+    public CompletableFuture<String> finalizeUpload(String key, boolean isPublic) {
+        String id = storageWorker.getBucket(isPublic) + "/" + key;
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletableFuture<String> existing = processing.putIfAbsent(id, future);
+        if (null != existing) {
+            return existing;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(process(key, isPublic));
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    processing.remove(id, future);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            processing.remove(id, future);
+            log.warn("后处理队列已满，拒绝: {}", id);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * 在当前线程中生成缩略图或视频封面
+     * @param key       文件路径
+     * @param isPublic  是否公开库
+     * @author wenxiaopeng
+     * @date 2026/10/19 19:30
+     * @return 缩略图或视频封面路径，不是图片或视频时为null
+     **/
+    public String process(String key, boolean isPublic) {
+        if (ImageUtil.isThumbnail(key)) {
+            return null;
+        }
+        ObjectMeta meta = storageWorker.stat(key, isPublic);
+        if (null == meta || meta.getSize() <= 0 || ObjectMeta.isDerived(meta.getUserMetadata())
+                || ObjectMeta.isProcessed(meta.getUserMetadata())) {
+            log.debug("无需后处理: {}", key);
+            return null;
+        }
+        String mediaType;
+        try (InputStream in = new BufferedInputStream(storageWorker.download(key, isPublic, 0, Math.min(DETECT_LENGTH, meta.getSize())))) {
+            mediaType = ImageUtil.detectMediaType(in, key);
+        } catch (IOException e) {
+            log.error("下载文件失败: {} {}", key, e.getMessage());
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg(), e);
+        }
+        if (VideoUtil.isVideoMediaType(mediaType)) {
+            // 视频按范围读取截帧，不下载到本地
+            return null == previewSpec ? storageWorker.buildVideoPoster(key, isPublic)
+                    : storageWorker.buildVideoPreview(key, isPublic, previewSpec, previewExecutor);
+        }
+        if (!ImageUtil.isImageMediaType(mediaType)) {
+            log.debug("无需后处理: {} {}", key, mediaType);
+            return null;
+        }
+        try (Spool spool = storageWorker.getSpoolManager().create(FileUtil.getFileSuffix(key))) {
+            try (InputStream in = storageWorker.download(key, isPublic);
+                 OutputStream out = spool.getOutputStream()) {
+                IOUtils.copyLarge(in, out);
+            }
+            return storageWorker.buildThumbnail(key, storageWorker.getBucket(isPublic), spool);
+        } catch (IOException e) {
+            log.error("下载文件失败: {} {}", key, e.getMessage());
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg(), e);
+        }
+    }
+
+    /**
+     * @return 等待处理的文件数
+     **/
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void close() {
+        if (null != notificationSource) {
+            notificationSource.close();
+        }
+        executor.shutdownNow();
+        if (null != previewExecutor) {
+            previewExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * 存储事件只包含桶名，以此判断是否公开库；其他桶的事件，以及缩略图、衍生图等生成的文件自身的事件忽略
+     **/
+    private void onObjectCreated(String bucket, String key, Map<String, String> userMetadata) {
+        if (ImageUtil.isThumbnail(key) || ObjectMeta.isDerived(userMetadata) || ObjectMeta.isProcessed(userMetadata)) {
+            return;
+        }
+        boolean isPublic;
+        if (bucket.equals(storageWorker.getBucket(false))) {
+            isPublic = false;
+        } else if (bucket.equals(storageWorker.getBucket(true))) {
+            isPublic = true;
+        } else {
+            log.debug("忽略其他桶的事件: {}/{}", bucket, key);
+            return;
+        }
+        finalizeUpload(key, isPublic);
+    }
+}
@@ -1,22 +1,47 @@
 package cn.cloudscope.oss.service.impl;
 
+import cn.cloudscope.oss.bean.ConnectionPoolStats;
 import cn.cloudscope.oss.bean.DocumentReturnCodeEnum;
+import cn.cloudscope.oss.bean.MultipartUpload;
+import cn.cloudscope.oss.bean.ObjectMeta;
+import cn.cloudscope.oss.bean.UploadPart;
 import cn.cloudscope.oss.bean.UploadResult;
+import cn.cloudscope.oss.checksum.ChecksumAlgorithm;
+import cn.cloudscope.oss.checksum.ChecksumInputStream;
+import cn.cloudscope.oss.checksum.ChecksumMismatchException;
+import cn.cloudscope.oss.config.properties.CommonProperties;
 import cn.cloudscope.oss.config.properties.OssProperties;
-import cn.cloudscope.oss.service.StorageWorker;
+import cn.cloudscope.oss.service.AbstractStorageWorker;
 import cn.cloudscope.oss.utils.ImageUtil;
+import cn.cloudscope.oss.utils.Lazy;
+import cn.cloudscope.oss.utils.MimeRegistry;
+import com.aliyun.oss.ClientException;
+import com.aliyun.oss.HttpMethod;
 import com.aliyun.oss.OSSClient;
 import com.aliyun.oss.OSSClientBuilder;
+import com.aliyun.oss.OSSErrorCode;
+import com.aliyun.oss.OSSException;
+import com.aliyun.oss.model.AbortMultipartUploadRequest;
+import com.aliyun.oss.model.CompleteMultipartUploadRequest;
 import com.aliyun.oss.model.CopyObjectRequest;
 import com.aliyun.oss.model.CopyObjectResult;
+import com.aliyun.oss.model.GeneratePresignedUrlRequest;
+import com.aliyun.oss.model.GetObjectRequest;
+import com.aliyun.oss.model.InitiateMultipartUploadRequest;
+import com.aliyun.oss.model.ListMultipartUploadsRequest;
+import com.aliyun.oss.model.ListPartsRequest;
+import com.aliyun.oss.model.MultipartUploadListing;
 import com.aliyun.oss.model.OSSObject;
 import com.aliyun.oss.model.ObjectMetadata;
+import com.aliyun.oss.model.PartETag;
+import com.aliyun.oss.model.PartListing;
+import com.aliyun.oss.model.PartSummary;
 import com.aliyun.oss.model.PutObjectResult;
+import com.aliyun.oss.model.UploadPartRequest;
+import com.aliyun.oss.model.UploadPartResult;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.http.HttpStatus;
-import org.apache.http.entity.ContentType;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -27,47 +52,287 @@ import java.net.URLEncoder;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /**
  * @author wkp
  */
 @Slf4j
-public class AliyunWorker implements StorageWorker {
+public class AliyunWorker extends AbstractStorageWorker {
 
-    private final OSSClient ossClient;
+    /** httpclient连接池状态，如 [leased: 1; pending: 0; available: 2; max: 1024] */
+    private static final Pattern POOL_STATS = Pattern.compile(
+            "leased: (\\d+); pending: (\\d+); available: (\\d+); max: (\\d+)");
+
+    private static final String PARAM_UPLOAD_ID = "uploadId";
+
+    private static final String PARAM_PART_NUMBER = "partNumber";
+
+    /** 首次使用时才创建客户端 */
+    private final Lazy<OSSClient> ossClient;
     private final OssProperties ossProperties;
 
+    private final MimeRegistry mimeRegistry;
+
     public AliyunWorker(OssProperties ossProperties) {
         this.ossProperties = ossProperties;
-        this.ossClient = (OSSClient) new OSSClientBuilder()
-                .build(ossProperties.getEndPoint(), ossProperties.getAccessKey(), ossProperties.getSecretKey());
+        this.mimeRegistry = MimeRegistry.withOverrides(ossProperties.getContentTypes());
+        this.ossClient = Lazy.of(() -> (OSSClient) new OSSClientBuilder()
+                .build(ossProperties.getEndPoint(), ossProperties.getAccessKey(), ossProperties.getSecretKey()));
+    }
+
+    @Override
+    public void verifyBucket() {
+        if (!ossClient.get().doesBucketExist(ossProperties.getBucketName())) {
+            throw new RuntimeException("桶不存在: " + ossProperties.getBucketName());
+        }
+    }
+
+    @Override
+    public ConnectionPoolStats getConnectionPoolStats() {
+        OSSClient client = ossClient.getIfCreated();
+        if (null == client) {
+            return null;
+        }
+        Matcher matcher = POOL_STATS.matcher(client.getConnectionPoolStats());
+        if (!matcher.find()) {
+            return ConnectionPoolStats.builder().max(client.getClientConfiguration().getMaxConnections()).build();
+        }
+        int leased = Integer.parseInt(matcher.group(1));
+        int available = Integer.parseInt(matcher.group(3));
+        return ConnectionPoolStats.builder()
+                .connections(leased + available)
+                .idle(available)
+                .active(leased)
+                .queued(Integer.parseInt(matcher.group(2)))
+                .max(Integer.parseInt(matcher.group(4)))
+                .build();
     }
 
     @Override
     public String doUpload(InputStream stream, String bucket, String path, String originName) {
+        return doUpload(stream, bucket, path, originName, null);
+    }
+
+    /**
+     * 带上Content-MD5由服务端校验，并核对服务端返回的CRC64
+     **/
+    @Override
+    public String doUpload(InputStream stream, String bucket, String path, String originName, ObjectMeta meta) {
+        PutObjectResult putObjectResult;
         try {
             if (null == stream) {
                 return null;
             }
             ObjectMetadata metadata = new ObjectMetadata();
-            metadata.setContentLength(stream.available());
+            metadata.setContentLength(null == meta ? stream.available() : meta.getSize());
             metadata.setCacheControl("no-cache");
             metadata.setHeader("Pragma", "no-cache");
             metadata.setContentEncoding("utf-8");
-//            metadata.setContentType(ContentType.APPLICATION_OCTET_STREAM.getMimeType());
+            metadata.setContentType(null != meta && null != meta.getContentType() ? meta.getContentType() : contentTypeByFileName(path));
             if (StringUtils.isNotBlank(originName)) {
                 metadata.setHeader("filename", URLEncoder.encode(originName, "utf-8"));
             }
-            PutObjectResult putObjectResult = ossClient.putObject(ossProperties.getBucketName(), path, stream, metadata);
+            if (null != meta) {
+                metadata.setContentMD5(meta.getContentMd5());
+                meta.getUserMetadata().forEach(metadata::addUserMetadata);
+            }
+            putObjectResult = ossClient.get().putObject(bucket, path, stream, metadata);
             log.info("文件上传完成: {}", putObjectResult.getETag());
-            return path;
         } catch (Exception e) {
             log.error("上传失败：{}", e.getMessage(), e);
             throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
         } finally {
             IOUtils.closeQuietly(stream);
         }
+        if (null != meta && ossProperties.isVerifyUpload() && null != meta.getCrc64() && null != putObjectResult.getServerCRC()
+                && !meta.getCrc64().equals(Long.toUnsignedString(putObjectResult.getServerCRC()))) {
+            log.error("文件校验失败: {}, CRC64: {}, 期望: {}", path, Long.toUnsignedString(putObjectResult.getServerCRC()), meta.getCrc64());
+            ossClient.get().deleteObject(bucket, path);
+            throw new RuntimeException(DocumentReturnCodeEnum.CHECKSUM_MISMATCH.getMsg());
+        }
+        return path;
+    }
+
+    @Override
+    public Set<ChecksumAlgorithm> getChecksumAlgorithms() {
+        return EnumSet.of(ChecksumAlgorithm.MD5, ChecksumAlgorithm.CRC64);
+    }
+
+    @Override
+    public boolean exists(String key, boolean isPublic) {
+        try {
+            return ossClient.get().doesObjectExist(getBucket(isPublic), key);
+        } catch (OSSException | ClientException e) {
+            log.error("无法查询文件: {} {}", key, e.getMessage());
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        }
+    }
+
+    @Override
+    public ObjectMeta stat(String key, boolean isPublic) {
+        ObjectMetadata metadata;
+        try {
+            metadata = ossClient.get().getObjectMetadata(getBucket(isPublic), key);
+        } catch (OSSException e) {
+            if (OSSErrorCode.NO_SUCH_KEY.equals(e.getErrorCode())) {
+                return null;
+            }
+            log.error("无法查询文件: {} {}", key, e.getMessage());
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        } catch (ClientException e) {
+            log.error("无法查询文件: {} {}", key, e.getMessage());
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        }
+        ObjectMeta meta = new ObjectMeta();
+        meta.setSize(metadata.getContentLength());
+        meta.setContentType(metadata.getContentType());
+        meta.getUserMetadata().putAll(metadata.getUserMetadata());
+        return meta;
+    }
+
+    @Override
+    public InputStream download(String key, boolean isPublic, long offset, long length) {
+        GetObjectRequest request = new GetObjectRequest(getBucket(isPublic), key);
+        request.setRange(offset, length < 0 ? -1 : offset + length - 1);
+        try {
+            return ossClient.get().getObject(request).getObjectContent();
+        } catch (OSSException e) {
+            if (OSSErrorCode.NO_SUCH_KEY.equals(e.getErrorCode())) {
+                throw new RuntimeException(DocumentReturnCodeEnum.NOT_FOUND.getMsg());
+            }
+            log.error("下载失败: {} {}", key, e.getMessage());
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        } catch (ClientException e) {
+            log.error("下载失败: {} {}", key, e.getMessage());
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        }
+    }
+
+    @Override
+    public boolean isMultipartSupported() {
+        return true;
+    }
+
+    @Override
+    public String initiateMultipart(String bucket, String path, ObjectMeta meta) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(null == meta || null == meta.getContentType() ? contentTypeByFileName(path) : meta.getContentType());
+        if (null != meta) {
+            meta.getUserMetadata().forEach(metadata::addUserMetadata);
+        }
+        try {
+            return ossClient.get().initiateMultipartUpload(new InitiateMultipartUploadRequest(bucket, path, metadata)).getUploadId();
+        } catch (OSSException | ClientException e) {
+            log.error("无法发起分片上传: {}", path, e);
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        }
+    }
+
+    @Override
+    public UploadPart uploadPart(String bucket, String path, String uploadId, int partNumber, InputStream stream, long size) {
+        try {
+            UploadPartResult result = ossClient.get().uploadPart(
+                    new UploadPartRequest(bucket, path, uploadId, partNumber, stream, size));
+            return new UploadPart(partNumber, StringUtils.strip(result.getETag(), "\""), size);
+        } catch (OSSException | ClientException e) {
+            log.error("分片上传失败: {} #{}", path, partNumber, e);
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        }
+    }
+
+    @Override
+    public List<UploadPart> listParts(String bucket, String path, String uploadId) {
+        List<UploadPart> parts = new ArrayList<>();
+        ListPartsRequest request = new ListPartsRequest(bucket, path, uploadId);
+        try {
+            PartListing listing;
+            do {
+                listing = ossClient.get().listParts(request);
+                for (PartSummary part : listing.getParts()) {
+                    parts.add(new UploadPart(part.getPartNumber(), StringUtils.strip(part.getETag(), "\""), part.getSize()));
+                }
+                request.setPartNumberMarker(listing.getNextPartNumberMarker());
+            } while (listing.isTruncated());
+            return parts;
+        } catch (OSSException e) {
+            if (OSSErrorCode.NO_SUCH_UPLOAD.equals(e.getErrorCode())) {
+                return null;
+            }
+            log.error("无法查询已上传分片: {}", path, e);
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        } catch (ClientException e) {
+            log.error("无法查询已上传分片: {}", path, e);
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        }
+    }
+
+    @Override
+    public String completeMultipart(String bucket, String path, String uploadId, List<UploadPart> parts) {
+        List<PartETag> etags = parts.stream()
+                .map(part -> new PartETag(part.getPartNumber(), part.getEtag()))
+                .collect(Collectors.toList());
+        try {
+            ossClient.get().completeMultipartUpload(new CompleteMultipartUploadRequest(bucket, path, uploadId, etags));
+            return path;
+        } catch (OSSException | ClientException e) {
+            log.error("无法完成分片上传: {}", path, e);
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        }
+    }
+
+    @Override
+    public void abortMultipart(String bucket, String path, String uploadId) {
+        try {
+            ossClient.get().abortMultipartUpload(new AbortMultipartUploadRequest(bucket, path, uploadId));
+        } catch (OSSException e) {
+            if (!OSSErrorCode.NO_SUCH_UPLOAD.equals(e.getErrorCode())) {
+                log.error("无法取消分片上传: {}", path, e);
+                throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+            }
+        } catch (ClientException e) {
+            log.error("无法取消分片上传: {}", path, e);
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        }
+    }
+
+    @Override
+    public List<MultipartUpload> listMultipartUploads(String bucket) {
+        List<MultipartUpload> uploads = new ArrayList<>();
+        ListMultipartUploadsRequest request = new ListMultipartUploadsRequest(bucket);
+        try {
+            MultipartUploadListing listing;
+            do {
+                listing = ossClient.get().listMultipartUploads(request);
+                for (com.aliyun.oss.model.MultipartUpload upload : listing.getMultipartUploads()) {
+                    uploads.add(new MultipartUpload(bucket, upload.getKey(), upload.getUploadId(),
+                            null == upload.getInitiated() ? null : upload.getInitiated().toInstant()));
+                }
+                request.setKeyMarker(listing.getNextKeyMarker());
+                request.setUploadIdMarker(listing.getNextUploadIdMarker());
+            } while (listing.isTruncated());
+            return uploads;
+        } catch (OSSException | ClientException e) {
+            log.error("无法列出分片上传: {}", bucket, e);
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        }
+    }
+
+    @Override
+    public String preSignUploadPart(String bucket, String path, String uploadId, int partNumber, Duration expiresIn) {
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucket, path, HttpMethod.PUT);
+        request.setExpiration(new Date(System.currentTimeMillis() + expiresIn.toMillis()));
+        request.addQueryParameter(PARAM_UPLOAD_ID, uploadId);
+        request.addQueryParameter(PARAM_PART_NUMBER, String.valueOf(partNumber));
+        return ossClient.get().generatePresignedUrl(request).toString();
     }
 
     @Override
@@ -75,7 +340,7 @@ public class AliyunWorker implements StorageWorker {
         try {
             String bucket = getBucket(isPublic);
             CopyObjectResult copyObjectResult =
-                    ossClient.copyObject(new CopyObjectRequest(bucket, originPath, bucket, target));
+                    ossClient.get().copyObject(new CopyObjectRequest(bucket, originPath, bucket, target));
             if (null != copyObjectResult && copyObjectResult.getResponse().isSuccessful()) {
                 return target;
             }
@@ -92,25 +357,46 @@ public class AliyunWorker implements StorageWorker {
     }
 
     @Override
-    public boolean deleteFile(String path) {
-        ossClient.deleteObject(ossProperties.getBucketName(), path);
+    protected boolean doDelete(String bucket, String path) {
+        ossClient.get().deleteObject(bucket, path);
         return true;
     }
 
     @Override
     public InputStream download(String key) {
-        if (!ossClient.doesObjectExist(ossProperties.getBucketName(), key)) {
-            throw new RuntimeException(String.valueOf(HttpStatus.SC_NOT_FOUND));
+        return download(key, false);
+    }
+
+    @Override
+    public InputStream download(String key, boolean isPublic) {
+        return download(key, isPublic, ossProperties.isVerifyDownload());
+    }
+
+    /**
+     * 按服务端返回的CRC64校验
+     **/
+    @Override
+    public InputStream download(String key, boolean isPublic, boolean verify) {
+        String bucket = getBucket(isPublic);
+        if (!ossClient.get().doesObjectExist(bucket, key)) {
+            throw new RuntimeException(DocumentReturnCodeEnum.NOT_FOUND.getMsg());
         }
-        OSSObject ossObject = ossClient.getObject(ossProperties.getBucketName(), key);
+        OSSObject ossObject = ossClient.get().getObject(bucket, key);
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
         if (ossObject != null) {
-            try (InputStream inputStream = ossObject.getObjectContent()) {
+            Long serverCrc = ossObject.getObjectMetadata().getServerCRC();
+            InputStream content = verify && null != serverCrc
+                    ? new ChecksumInputStream(ossObject.getObjectContent(), ChecksumAlgorithm.CRC64, Long.toUnsignedString(serverCrc))
+                    : ossObject.getObjectContent();
+            try (InputStream inputStream = content) {
                 byte[] buffer = new byte[1024];
                 int length;
                 while ((length = inputStream.read(buffer)) != -1) {
                     outputStream.write(buffer, 0, length);
                 }
+            } catch (ChecksumMismatchException e) {
+                log.error("文件校验失败: {}, {}", key, e.getMessage());
+                throw new RuntimeException(DocumentReturnCodeEnum.CHECKSUM_MISMATCH.getMsg());
             } catch (IOException e) {
                 log.error("error info ", e);
             } finally {
@@ -128,10 +414,20 @@ public class AliyunWorker implements StorageWorker {
     @Override
     public String crateFileExpireUrl(String path, int expire) {
         Date expiresIn = new Date(System.currentTimeMillis() + (expire * 1000L));
-        String url = ossClient.generatePresignedUrl(ossProperties.getBucketName(), path, expiresIn).toString();
+        String url = ossClient.get().generatePresignedUrl(ossProperties.getBucketName(), path, expiresIn).toString();
         return url;
     }
 
+    @Override
+    public CommonProperties.Derivative getDerivative() {
+        return ossProperties.getDerivative();
+    }
+
+    @Override
+    public MimeRegistry getMimeRegistry() {
+        return mimeRegistry;
+    }
+
     @Override
     public String getBucket(boolean isPublic) {
         return isPublic ? ossProperties.getBucketPublic() : ossProperties.getBucketName();
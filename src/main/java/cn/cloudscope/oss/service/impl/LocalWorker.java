@@ -0,0 +1,693 @@
+package cn.cloudscope.oss.service.impl;
+
+import cn.cloudscope.oss.bean.DocumentReturnCodeEnum;
+import cn.cloudscope.oss.bean.MultipartUpload;
+import cn.cloudscope.oss.bean.ObjectMeta;
+import cn.cloudscope.oss.bean.UploadPart;
+import cn.cloudscope.oss.checksum.ChecksumAlgorithm;
+import cn.cloudscope.oss.checksum.ChecksumInputStream;
+import cn.cloudscope.oss.checksum.ChecksumMismatchException;
+import cn.cloudscope.oss.config.properties.CommonProperties;
+import cn.cloudscope.oss.config.properties.LocalProperties;
+import cn.cloudscope.oss.service.AbstractStorageWorker;
+import cn.cloudscope.oss.utils.MimeRegistry;
+import cn.cloudscope.oss.utils.UUIDUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.io.UnsupportedEncodingException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * 本地文件系统实现，对象存放于 {root}/{bucket}/{key}，元数据存放于 {root}/.meta/{bucket}/{key}.properties。
+ * 写入先落到 {root}/.tmp 再原子移动，读取方不会看到写了一半的文件；访问链接以signingSecret做HMAC签名
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 13:10
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Slf4j
+public class LocalWorker extends AbstractStorageWorker {
+
+    public static final String META_CONTENT_TYPE = "content-type";
+
+    public static final String META_ORIGIN_NAME = "origin-name";
+
+    public static final String META_SIZE = "size";
+
+    public static final String META_CREATED = "created";
+
+    public static final String PARAM_EXPIRES = "expires";
+
+    public static final String PARAM_SIGNATURE = "signature";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private static final String DIR_META = ".meta";
+
+    private static final String DIR_TEMP = ".tmp";
+
+    private static final String SUFFIX_META = ".properties";
+
+    private static final String DIR_MULTIPART = "multipart";
+
+    private static final String MULTIPART_UPLOAD = "upload.properties";
+
+    private static final String MULTIPART_BUCKET = "bucket";
+
+    private static final String MULTIPART_PATH = "path";
+
+    private static final String MULTIPART_USER_META = "meta.";
+
+    private static final String SUFFIX_PART = ".part";
+
+    private static final String SUFFIX_ETAG = ".etag";
+
+    private final LocalProperties localProperties;
+
+    private final MimeRegistry mimeRegistry;
+
+    private final Path root;
+
+    private final Path tempDir;
+
+    private final Path multipartDir;
+
+    private final ThreadLocal<Mac> macs;
+
+    public LocalWorker(LocalProperties localProperties) {
+        this.localProperties = localProperties;
+        this.mimeRegistry = MimeRegistry.withOverrides(localProperties.getContentTypes());
+        this.root = Paths.get(localProperties.getRoot()).toAbsolutePath().normalize();
+        this.tempDir = root.resolve(DIR_TEMP);
+        this.multipartDir = tempDir.resolve(DIR_MULTIPART);
+        String signingSecret = localProperties.getSigningSecret();
+        if (StringUtils.isBlank(signingSecret) || CommonProperties.DEFAULT_CREDENTIAL.equals(signingSecret)) {
+            throw new IllegalStateException("oss.storage.local.signing-secret未配置或使用了默认值，访问链接签名可被伪造");
+        }
+        byte[] secret = signingSecret.getBytes(StandardCharsets.UTF_8);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+                mac.init(new SecretKeySpec(secret, HMAC_ALGORITHM));
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        try {
+            Files.createDirectories(tempDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("无法创建存储目录: " + root, e);
+        }
+    }
+
+    @Override
+    public String doUpload(InputStream stream, String bucket, String path, String originName) {
+        return doUpload(stream, bucket, path, originName, null);
+    }
+
+    /**
+     * 写入临时文件时校验MD5，校验值随元数据保存供下载校验
+     **/
+    @Override
+    public String doUpload(InputStream stream, String bucket, String path, String originName, ObjectMeta meta) {
+        if (null == stream) {
+            return null;
+        }
+        Path temp = tempDir.resolve(UUIDUtil.buildUuid());
+        try {
+            long size;
+            InputStream source = null != meta && null != meta.getMd5() && localProperties.isVerifyUpload()
+                    ? new ChecksumInputStream(stream, ChecksumAlgorithm.MD5, meta.getMd5()) : stream;
+            try (InputStream in = source; OutputStream out = Files.newOutputStream(temp, StandardOpenOption.CREATE_NEW)) {
+                size = IOUtils.copyLarge(in, out);
+            }
+            Map<String, String> metadata = new HashMap<>(8);
+            if (null != meta) {
+                metadata.putAll(meta.getUserMetadata());
+                if (null != meta.getMd5()) {
+                    metadata.put(ObjectMeta.USER_META_MD5, meta.getMd5());
+                }
+            }
+            metadata.put(META_CONTENT_TYPE, null != meta && null != meta.getContentType() ? meta.getContentType()
+                    : contentTypeByFileName(StringUtils.defaultIfBlank(originName, path)));
+            metadata.put(META_SIZE, String.valueOf(size));
+            metadata.put(META_CREATED, String.valueOf(System.currentTimeMillis()));
+            if (StringUtils.isNotBlank(originName)) {
+                metadata.put(META_ORIGIN_NAME, URLEncoder.encode(originName, "utf-8"));
+            }
+            moveAtomically(temp, resolve(bucket, path));
+            writeMetadata(bucket, path, metadata);
+            log.debug("文件写入完成: {}/{}", bucket, path);
+            return path;
+        } catch (ChecksumMismatchException e) {
+            log.error("文件校验失败: {}, {}", path, e.getMessage());
+            throw new RuntimeException(DocumentReturnCodeEnum.CHECKSUM_MISMATCH.getMsg());
+        } catch (IOException e) {
+            log.error("上传失败：{}", e.getMessage(), e);
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    @Override
+    public InputStream download(String key) {
+        return download(key, false);
+    }
+
+    @Override
+    public InputStream download(String key, boolean isPublic) {
+        return download(key, isPublic, localProperties.isVerifyDownload());
+    }
+
+    /**
+     * 按元数据中记录的MD5校验
+     **/
+    @Override
+    public InputStream download(String key, boolean isPublic, boolean verify) {
+        String bucket = getBucket(isPublic);
+        try {
+            InputStream stream = Files.newInputStream(resolve(bucket, key));
+            String md5 = verify ? readMetadata(bucket, key).get(ObjectMeta.USER_META_MD5) : null;
+            return null == md5 ? stream : new ChecksumInputStream(stream, ChecksumAlgorithm.MD5, md5);
+        } catch (NoSuchFileException e) {
+            throw new RuntimeException(DocumentReturnCodeEnum.NOT_FOUND.getMsg());
+        } catch (IOException e) {
+            log.error("下载失败", e);
+            throw new RuntimeException(e.getMessage() + key);
+        }
+    }
+
+    /**
+     * 由文件通道写出，不做校验。输出流经 {@link Channels#newChannel} 包装后仍按缓冲区逐段拷贝，
+     * 只是省去了调用方的读写循环，并非零拷贝；需要零拷贝时使用 {@link #download(String, WritableByteChannel)}
+     * @param key       文件路径
+     * @param response  输出流
+     **/
+    @Override
+    public void download(String key, OutputStream response) {
+        download(key, Channels.newChannel(response));
+    }
+
+    /**
+     * 由文件通道transferTo写出，不做校验。目标为FileChannel或SocketChannel时由操作系统直接传输（sendfile），不经用户态缓冲区
+     * @param key       文件路径
+     * @param target    目标通道
+     **/
+    @Override
+    public void download(String key, WritableByteChannel target) {
+        try (FileChannel channel = FileChannel.open(resolve(getBucket(false), key), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+        } catch (NoSuchFileException e) {
+            throw new RuntimeException(DocumentReturnCodeEnum.NOT_FOUND.getMsg());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public boolean exists(String key, boolean isPublic) {
+        return Files.isRegularFile(resolve(getBucket(isPublic), key));
+    }
+
+    /**
+     * 元数据文件中除内部字段外均为用户元数据
+     **/
+    @Override
+    public ObjectMeta stat(String key, boolean isPublic) {
+        String bucket = getBucket(isPublic);
+        Path file = resolve(bucket, key);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            Map<String, String> metadata = readMetadata(bucket, key);
+            ObjectMeta meta = new ObjectMeta();
+            meta.setSize(Files.size(file));
+            meta.setContentType(StringUtils.defaultIfBlank(metadata.remove(META_CONTENT_TYPE), contentTypeByFileName(key)));
+            metadata.remove(META_SIZE);
+            metadata.remove(META_CREATED);
+            metadata.remove(META_ORIGIN_NAME);
+            meta.getUserMetadata().putAll(metadata);
+            return meta;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.error("无法查询文件: {} {}", key, e.getMessage());
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        }
+    }
+
+    @Override
+    public InputStream download(String key, boolean isPublic, long offset, long length) {
+        try {
+            FileChannel channel = FileChannel.open(resolve(getBucket(isPublic), key), StandardOpenOption.READ);
+            channel.position(offset);
+            InputStream stream = Channels.newInputStream(channel);
+            return length < 0 ? stream : new BoundedInputStream(stream, length);
+        } catch (NoSuchFileException e) {
+            throw new RuntimeException(DocumentReturnCodeEnum.NOT_FOUND.getMsg());
+        } catch (IOException e) {
+            log.error("下载失败", e);
+            throw new RuntimeException(e.getMessage() + key);
+        }
+    }
+
+    @Override
+    public boolean isMultipartSupported() {
+        return true;
+    }
+
+    /**
+     * 分片存放于 {root}/.tmp/multipart/{uploadId}，完成时按序拼接后与普通上传一样写入
+     **/
+    @Override
+    public String initiateMultipart(String bucket, String path, ObjectMeta meta) {
+        resolve(bucket, path);
+        String uploadId = UUIDUtil.buildUuid();
+        Properties properties = new Properties();
+        properties.setProperty(MULTIPART_BUCKET, bucket);
+        properties.setProperty(MULTIPART_PATH, path);
+        properties.setProperty(META_CREATED, String.valueOf(System.currentTimeMillis()));
+        if (null != meta) {
+            meta.getUserMetadata().forEach((key, value) -> properties.setProperty(MULTIPART_USER_META + key, value));
+        }
+        Path dir = multipartDir.resolve(uploadId);
+        try {
+            Files.createDirectories(dir);
+            try (OutputStream out = Files.newOutputStream(dir.resolve(MULTIPART_UPLOAD))) {
+                properties.store(out, null);
+            }
+            return uploadId;
+        } catch (IOException e) {
+            log.error("无法发起分片上传: {}", path, e);
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        }
+    }
+
+    @Override
+    public UploadPart uploadPart(String bucket, String path, String uploadId, int partNumber, InputStream stream, long size) {
+        Path dir = multipartDir(bucket, path, uploadId);
+        if (null == dir) {
+            throw new RuntimeException(DocumentReturnCodeEnum.NOT_FOUND.getMsg());
+        }
+        Path temp = tempDir.resolve(UUIDUtil.buildUuid());
+        try {
+            MessageDigest md5 = DigestUtils.getMd5Digest();
+            long written;
+            try (OutputStream out = Files.newOutputStream(temp, StandardOpenOption.CREATE_NEW)) {
+                written = IOUtils.copyLarge(new DigestInputStream(stream, md5), out);
+            }
+            if (written != size) {
+                throw new IOException("分片大小不一致: " + written + " != " + size);
+            }
+            String etag = Hex.encodeHexString(md5.digest());
+            Files.write(dir.resolve(partNumber + SUFFIX_ETAG), etag.getBytes(StandardCharsets.US_ASCII));
+            moveAtomically(temp, dir.resolve(partNumber + SUFFIX_PART));
+            return new UploadPart(partNumber, etag, written);
+        } catch (IOException e) {
+            log.error("分片上传失败: {} #{}", path, partNumber, e);
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    @Override
+    public List<UploadPart> listParts(String bucket, String path, String uploadId) {
+        Path dir = multipartDir(bucket, path, uploadId);
+        if (null == dir) {
+            return null;
+        }
+        List<UploadPart> parts = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + SUFFIX_PART)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                int partNumber = Integer.parseInt(name.substring(0, name.length() - SUFFIX_PART.length()));
+                String etag = readPartEtag(dir, partNumber, file);
+                parts.add(new UploadPart(partNumber, etag, Files.size(file)));
+            }
+        } catch (IOException e) {
+            log.error("无法查询已上传分片: {}", path, e);
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        }
+        parts.sort(Comparator.comparingInt(UploadPart::getPartNumber));
+        return parts;
+    }
+
+    @Override
+    public String completeMultipart(String bucket, String path, String uploadId, List<UploadPart> parts) {
+        Path dir = multipartDir(bucket, path, uploadId);
+        if (null == dir) {
+            throw new RuntimeException(DocumentReturnCodeEnum.NOT_FOUND.getMsg());
+        }
+        try {
+            Properties properties = readMultipart(dir);
+            ObjectMeta meta = new ObjectMeta();
+            properties.stringPropertyNames().stream()
+                    .filter(name -> name.startsWith(MULTIPART_USER_META))
+                    .forEach(name -> meta.getUserMetadata().put(name.substring(MULTIPART_USER_META.length()), properties.getProperty(name)));
+            List<InputStream> streams = new ArrayList<>(parts.size());
+            try {
+                for (UploadPart part : parts) {
+                    streams.add(Files.newInputStream(dir.resolve(part.getPartNumber() + SUFFIX_PART)));
+                }
+                try (InputStream in = new SequenceInputStream(Collections.enumeration(streams))) {
+                    doUpload(in, bucket, path, null, meta);
+                }
+            } finally {
+                streams.forEach(IOUtils::closeQuietly);
+            }
+            FileUtils.deleteDirectory(dir.toFile());
+            return path;
+        } catch (NoSuchFileException e) {
+            log.error("分片不存在: {}", e.getFile());
+            throw new RuntimeException(DocumentReturnCodeEnum.NOT_FOUND.getMsg());
+        } catch (IOException e) {
+            log.error("无法完成分片上传: {}", path, e);
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        }
+    }
+
+    @Override
+    public void abortMultipart(String bucket, String path, String uploadId) {
+        Path dir = multipartDir(bucket, path, uploadId);
+        if (null != dir) {
+            FileUtils.deleteQuietly(dir.toFile());
+        }
+    }
+
+    @Override
+    public List<MultipartUpload> listMultipartUploads(String bucket) {
+        List<MultipartUpload> uploads = new ArrayList<>();
+        if (!Files.isDirectory(multipartDir)) {
+            return uploads;
+        }
+        try (DirectoryStream<Path> dirs = Files.newDirectoryStream(multipartDir)) {
+            for (Path dir : dirs) {
+                Properties properties = readMultipart(dir);
+                if (bucket.equals(properties.getProperty(MULTIPART_BUCKET))) {
+                    uploads.add(new MultipartUpload(bucket, properties.getProperty(MULTIPART_PATH), dir.getFileName().toString(),
+                            Instant.ofEpochMilli(Long.parseLong(properties.getProperty(META_CREATED)))));
+                }
+            }
+        } catch (IOException e) {
+            log.error("无法列出分片上传: {}", bucket, e);
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        }
+        return uploads;
+    }
+
+    @Override
+    public String copyObject(String source, String target, boolean isPublic) {
+        String bucket = getBucket(isPublic);
+        Path temp = tempDir.resolve(UUIDUtil.buildUuid());
+        try {
+            Files.copy(resolve(bucket, source), temp);
+            Map<String, String> metadata = readMetadata(bucket, source);
+            moveAtomically(temp, resolve(bucket, target));
+            if (!metadata.isEmpty()) {
+                metadata.put(META_CREATED, String.valueOf(System.currentTimeMillis()));
+                writeMetadata(bucket, target, metadata);
+            }
+            return target;
+        } catch (IOException e) {
+            log.error("复制失败", e);
+            throw new RuntimeException(DocumentReturnCodeEnum.BACKUP_FAILED.getMsg());
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    @Override
+    protected boolean doDelete(String bucket, String path) {
+        if (StringUtils.isBlank(path)) {
+            return true;
+        }
+        try {
+            Files.deleteIfExists(resolve(bucket, path));
+            Files.deleteIfExists(resolveMetadata(bucket, path));
+            return true;
+        } catch (IOException e) {
+            log.error("删除失败", e);
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        }
+    }
+
+    @Override
+    public String crateFileExpireUrl(String path, int expire) {
+        if (StringUtils.isBlank(path)) {
+            return null;
+        }
+        String bucket = getBucket(false);
+        long expires = System.currentTimeMillis() / 1000 + expire;
+        return getEndpoint() + "/" + bucket + "/" + encodePath(path)
+                + "?" + PARAM_EXPIRES + "=" + expires
+                + "&" + PARAM_SIGNATURE + "=" + sign(bucket, path, expires);
+    }
+
+    /**
+     * 校验访问链接签名，供文件访问接口使用
+     * @param bucket    桶
+     * @param key       文件路径（URL解码后）
+     * @param expires   过期时间（epoch秒）
+     * @param signature 链接中的签名
+     * @author wenxiaopeng
+     * @date 2026/10/19 13:10
+     * @return 签名有效且未过期
+     **/
+    public boolean verifySignature(String bucket, String key, long expires, String signature) {
+        if (StringUtils.isBlank(signature) || expires < System.currentTimeMillis() / 1000) {
+            return false;
+        }
+        byte[] expected = sign(bucket, key, expires).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * 读取文件元数据
+     * @param bucket    桶
+     * @param key       文件路径
+     * @return 元数据，不存在时为空
+     **/
+    public Map<String, String> readMetadata(String bucket, String key) throws IOException {
+        Map<String, String> metadata = new HashMap<>(4);
+        Path meta = resolveMetadata(bucket, key);
+        if (Files.exists(meta)) {
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(meta)) {
+                properties.load(in);
+            }
+            properties.stringPropertyNames().forEach(name -> metadata.put(name, properties.getProperty(name)));
+        }
+        return metadata;
+    }
+
+    /**
+     * 解析文件在本地的存储位置，拒绝越出根目录的路径
+     * @param bucket    桶
+     * @param key       文件路径
+     * @return 文件路径
+     **/
+    public Path resolve(String bucket, String key) {
+        Path bucketDir = root.resolve(bucket).normalize();
+        Path target = bucketDir.resolve(key).normalize();
+        if (!bucketDir.startsWith(root) || !target.startsWith(bucketDir) || target.equals(bucketDir)) {
+            throw new IllegalArgumentException("非法的文件路径: " + key);
+        }
+        return target;
+    }
+
+    @Override
+    public void verifyBucket() {
+        Path bucketDir = root.resolve(getBucket(false));
+        try {
+            Files.createDirectories(bucketDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("无法创建存储目录: " + bucketDir, e);
+        }
+        if (!Files.isWritable(bucketDir)) {
+            throw new IllegalStateException("存储目录不可写: " + bucketDir);
+        }
+    }
+
+    @Override
+    public void checkBucket() {
+        Path bucketDir = root.resolve(getBucket(false));
+        if (!Files.isDirectory(bucketDir)) {
+            throw new IllegalStateException("存储目录不存在: " + bucketDir);
+        }
+        if (!Files.isWritable(bucketDir)) {
+            throw new IllegalStateException("存储目录不可写: " + bucketDir);
+        }
+    }
+
+    @Override
+    public String getEndpoint() {
+        return localProperties.getEndPoint();
+    }
+
+    @Override
+    public CommonProperties.Derivative getDerivative() {
+        return localProperties.getDerivative();
+    }
+
+    @Override
+    public MimeRegistry getMimeRegistry() {
+        return mimeRegistry;
+    }
+
+    @Override
+    public String getBucket(boolean isPublic) {
+        return isPublic ? localProperties.getBucketPublic() : localProperties.getBucketName();
+    }
+
+    /**
+     * @return 分片上传目录，不存在或与文件不符时为null
+     **/
+    private Path multipartDir(String bucket, String path, String uploadId) {
+        Path dir = multipartDir.resolve(uploadId).normalize();
+        if (!dir.getParent().equals(multipartDir) || !Files.isDirectory(dir)) {
+            return null;
+        }
+        try {
+            Properties properties = readMultipart(dir);
+            return bucket.equals(properties.getProperty(MULTIPART_BUCKET)) && path.equals(properties.getProperty(MULTIPART_PATH))
+                    ? dir : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static Properties readMultipart(Path dir) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(dir.resolve(MULTIPART_UPLOAD))) {
+            properties.load(in);
+        }
+        return properties;
+    }
+
+    private Path resolveMetadata(String bucket, String key) {
+        Path data = resolve(bucket, key);
+        return root.resolve(DIR_META).resolve(root.relativize(data) + SUFFIX_META);
+    }
+
+    private void writeMetadata(String bucket, String key, Map<String, String> metadata) throws IOException {
+        Properties properties = new Properties();
+        properties.putAll(metadata);
+        Path temp = tempDir.resolve(UUIDUtil.buildUuid() + SUFFIX_META);
+        try {
+            try (OutputStream out = Files.newOutputStream(temp, StandardOpenOption.CREATE_NEW)) {
+                properties.store(out, null);
+            }
+            moveAtomically(temp, resolveMetadata(bucket, key));
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    /**
+     * 读取分片写入时保存的ETag，缺失时（旧版本写入的分片）重新计算
+     * @param dir           分片上传目录
+     * @param partNumber    分片序号
+     * @param file          分片文件
+     * @author wenxiaopeng
+     * @date 2026/10/19 14:20
+     * @return java.lang.String
+     **/
+    private static String readPartEtag(Path dir, int partNumber, Path file) throws IOException {
+        try {
+            return new String(Files.readAllBytes(dir.resolve(partNumber + SUFFIX_ETAG)), StandardCharsets.US_ASCII).trim();
+        } catch (NoSuchFileException e) {
+            try (InputStream in = Files.newInputStream(file)) {
+                return DigestUtils.md5Hex(in);
+            }
+        }
+    }
+
+    /**
+     * 按路径段做URL编码，保留分隔符"/"；签名仍以原始路径计算
+     **/
+    private static String encodePath(String path) {
+        String[] segments = path.split("/", -1);
+        StringBuilder encoded = new StringBuilder(path.length() + 16);
+        try {
+            for (int i = 0; i < segments.length; i++) {
+                if (i > 0) {
+                    encoded.append('/');
+                }
+                encoded.append(URLEncoder.encode(segments[i], StandardCharsets.UTF_8.name()).replace("+", "%20"));
+            }
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+        return encoded.toString();
+    }
+
+    private String sign(String bucket, String key, long expires) {
+        Mac mac = macs.get();
+        byte[] digest = mac.doFinal((bucket + "/" + key + "\n" + expires).getBytes(StandardCharsets.UTF_8));
+        return Hex.encodeHexString(digest);
+    }
+
+    private static void moveAtomically(Path source, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+        }
+    }
+}
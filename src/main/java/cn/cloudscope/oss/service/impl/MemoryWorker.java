@@ -0,0 +1,391 @@
+package cn.cloudscope.oss.service.impl;
+
+import cn.cloudscope.oss.bean.DocumentReturnCodeEnum;
+import cn.cloudscope.oss.bean.ObjectMeta;
+import cn.cloudscope.oss.config.properties.CommonProperties;
+import cn.cloudscope.oss.config.properties.MemoryProperties;
+import cn.cloudscope.oss.config.properties.MemoryProperties.Fault;
+import cn.cloudscope.oss.config.properties.MemoryProperties.Operation;
+import cn.cloudscope.oss.service.AbstractStorageWorker;
+import cn.cloudscope.oss.utils.MimeRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 内存实现，文件内容按固定大小分块保存（可放在堆外），避免大文件产生humongous对象。
+ * 可按操作注入延迟、带宽限制及随机错误，用于在没有真实对象存储时压测上层服务
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 14:05
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Slf4j
+public class MemoryWorker extends AbstractStorageWorker {
+
+    private static final Fault NO_FAULT = new Fault();
+
+    private final MemoryProperties memoryProperties;
+
+    private final MimeRegistry mimeRegistry;
+
+    private final Map<String, StoredObject> objects = new ConcurrentHashMap<>();
+
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    public MemoryWorker(MemoryProperties memoryProperties) {
+        this.memoryProperties = memoryProperties;
+        this.mimeRegistry = MimeRegistry.withOverrides(memoryProperties.getContentTypes());
+    }
+
+    @Override
+    public String doUpload(InputStream stream, String bucket, String path, String originName) {
+        return doUpload(stream, bucket, path, originName, null);
+    }
+
+    @Override
+    public String doUpload(InputStream stream, String bucket, String path, String originName, ObjectMeta meta) {
+        if (null == stream) {
+            return null;
+        }
+        try (InputStream in = stream) {
+            Fault fault = inject(Operation.upload);
+            StoredObject object = new StoredObject(null != meta && null != meta.getContentType() ? meta.getContentType()
+                    : contentTypeByFileName(StringUtils.defaultIfBlank(originName, path)));
+            if (null != meta) {
+                object.userMetadata.putAll(meta.getUserMetadata());
+            }
+            Throttle throttle = new Throttle(fault.getBandwidth());
+            byte[] buffer = new byte[memoryProperties.getChunkSize()];
+            int read;
+            while ((read = IOUtils.read(in, buffer)) > 0) {
+                object.append(buffer, read, memoryProperties.isOffHeap());
+                throttle.acquire(read);
+            }
+            release(objects.put(key(bucket, path), object));
+            usedBytes.addAndGet(object.size);
+            return path;
+        } catch (IOException e) {
+            log.error("上传失败：{}", e.getMessage());
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        }
+    }
+
+    @Override
+    public InputStream download(String key) {
+        return download(key, false);
+    }
+
+    @Override
+    public InputStream download(String key, boolean isPublic) {
+        Fault fault = inject(Operation.download);
+        StoredObject object = objects.get(key(getBucket(isPublic), key));
+        if (null == object) {
+            throw new RuntimeException(DocumentReturnCodeEnum.NOT_FOUND.getMsg());
+        }
+        return new ChunkInputStream(object.chunks, new Throttle(fault.getBandwidth()));
+    }
+
+    @Override
+    public boolean exists(String key, boolean isPublic) {
+        return objects.containsKey(key(getBucket(isPublic), key));
+    }
+
+    @Override
+    public ObjectMeta stat(String key, boolean isPublic) {
+        StoredObject object = objects.get(key(getBucket(isPublic), key));
+        if (null == object) {
+            return null;
+        }
+        ObjectMeta meta = new ObjectMeta();
+        meta.setSize(object.size);
+        meta.setContentType(object.contentType);
+        meta.getUserMetadata().putAll(object.userMetadata);
+        return meta;
+    }
+
+    @Override
+    public String copyObject(String source, String target, boolean isPublic) {
+        Fault fault = inject(Operation.copy);
+        String bucket = getBucket(isPublic);
+        StoredObject object = objects.get(key(bucket, source));
+        if (null == object) {
+            return null;
+        }
+        // 分块内容不会被修改，复制时共享即可
+        new Throttle(fault.getBandwidth()).acquire(object.size);
+        release(objects.put(key(bucket, target), object));
+        usedBytes.addAndGet(object.size);
+        return target;
+    }
+
+    @Override
+    protected boolean doDelete(String bucket, String path) {
+        inject(Operation.delete);
+        if (StringUtils.isNotBlank(path)) {
+            release(objects.remove(key(bucket, path)));
+        }
+        return true;
+    }
+
+    @Override
+    public String crateFileExpireUrl(String path, int expire) {
+        inject(Operation.presign);
+        if (StringUtils.isBlank(path)) {
+            return null;
+        }
+        long expires = System.currentTimeMillis() / 1000 + expire;
+        return getEndpoint() + "/" + getBucket(false) + "/" + path + "?expires=" + expires;
+    }
+
+    @Override
+    public String getEndpoint() {
+        return memoryProperties.getEndPoint();
+    }
+
+    @Override
+    public CommonProperties.Derivative getDerivative() {
+        return memoryProperties.getDerivative();
+    }
+
+    @Override
+    public MimeRegistry getMimeRegistry() {
+        return mimeRegistry;
+    }
+
+    @Override
+    public String getBucket(boolean isPublic) {
+        return isPublic ? memoryProperties.getBucketPublic() : memoryProperties.getBucketName();
+    }
+
+    @Override
+    public void verifyBucket() {
+        inject(Operation.head);
+    }
+
+    @Override
+    public Map<String, Object> getHealthDetails() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("objects", objects.size());
+        details.put("usedBytes", usedBytes.get());
+        details.put("faults", memoryProperties.getFaults().keySet());
+        return details;
+    }
+
+    /**
+     * 文件是否存在
+     * @param bucket    桶
+     * @param key       文件路径
+     * @return boolean
+     **/
+    public boolean contains(String bucket, String key) {
+        return objects.containsKey(key(bucket, key));
+    }
+
+    /**
+     * 文件类型
+     * @param bucket    桶
+     * @param key       文件路径
+     * @return Content-Type，文件不存在时为null
+     **/
+    public String getContentType(String bucket, String key) {
+        StoredObject object = objects.get(key(bucket, key));
+        return null == object ? null : object.contentType;
+    }
+
+    /**
+     * @return 当前保存的文件数
+     **/
+    public int getObjectCount() {
+        return objects.size();
+    }
+
+    /**
+     * @return 当前保存的文件总字节数，共享分块的复制文件重复计算
+     **/
+    public long getUsedBytes() {
+        return usedBytes.get();
+    }
+
+    /**
+     * 清空所有文件
+     **/
+    public void clear() {
+        objects.clear();
+        usedBytes.set(0);
+    }
+
+    private void release(StoredObject replaced) {
+        if (null != replaced) {
+            usedBytes.addAndGet(-replaced.size);
+        }
+    }
+
+    private Fault inject(Operation operation) {
+        Fault fault = memoryProperties.getFaults().getOrDefault(operation, NO_FAULT);
+        long latency = fault.getLatency().toNanos();
+        long jitter = fault.getJitter().toNanos();
+        if (jitter > 0) {
+            latency += ThreadLocalRandom.current().nextLong(jitter);
+        }
+        sleep(latency);
+        if (fault.getErrorRate() > 0 && ThreadLocalRandom.current().nextDouble() < fault.getErrorRate()) {
+            log.debug("模拟{}失败", operation);
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        }
+        return fault;
+    }
+
+    private static String key(String bucket, String path) {
+        return bucket + "/" + path;
+    }
+
+    private static void sleep(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        }
+    }
+
+    /**
+     * 按固定带宽放行字节，超前时休眠
+     **/
+    private static class Throttle {
+
+        private final long bandwidth;
+
+        private final long start = System.nanoTime();
+
+        private long bytes;
+
+        Throttle(long bandwidth) {
+            this.bandwidth = bandwidth;
+        }
+
+        void acquire(long count) {
+            if (bandwidth <= 0) {
+                return;
+            }
+            bytes += count;
+            long expected = TimeUnit.SECONDS.toNanos(bytes) / bandwidth;
+            sleep(expected - (System.nanoTime() - start));
+        }
+    }
+
+    private static class StoredObject {
+
+        private final String contentType;
+
+        private final List<ByteBuffer> chunks = new ArrayList<>();
+
+        private final Map<String, String> userMetadata = new HashMap<>();
+
+        private long size;
+
+        StoredObject(String contentType) {
+            this.contentType = contentType;
+        }
+
+        void append(byte[] buffer, int length, boolean offHeap) {
+            ByteBuffer chunk = offHeap ? ByteBuffer.allocateDirect(length) : ByteBuffer.allocate(length);
+            chunk.put(buffer, 0, length).flip();
+            chunks.add(chunk.asReadOnlyBuffer());
+            size += length;
+        }
+    }
+
+    private static class ChunkInputStream extends InputStream {
+
+        private final List<ByteBuffer> chunks;
+
+        private final Throttle throttle;
+
+        private int index;
+
+        private ByteBuffer current;
+
+        ChunkInputStream(List<ByteBuffer> chunks, Throttle throttle) {
+            this.chunks = Collections.unmodifiableList(chunks);
+            this.throttle = throttle;
+        }
+
+        @Override
+        public int read() {
+            ByteBuffer buffer = current();
+            if (null == buffer) {
+                return -1;
+            }
+            throttle.acquire(1);
+            return buffer.get() & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            ByteBuffer buffer = current();
+            if (null == buffer) {
+                return -1;
+            }
+            int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            throttle.acquire(count);
+            return count;
+        }
+
+        /**
+         * 跳过的内容不计入带宽，与按范围下载一致
+         **/
+        @Override
+        public long skip(long n) {
+            long skipped = 0;
+            ByteBuffer buffer;
+            while (skipped < n && null != (buffer = current())) {
+                int count = (int) Math.min(n - skipped, buffer.remaining());
+                buffer.position(buffer.position() + count);
+                skipped += count;
+            }
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            ByteBuffer buffer = current();
+            return null == buffer ? 0 : buffer.remaining();
+        }
+
+        private ByteBuffer current() {
+            while (null == current || !current.hasRemaining()) {
+                if (index >= chunks.size()) {
+                    return null;
+                }
+                current = chunks.get(index++).duplicate();
+            }
+            return current;
+        }
+    }
+}
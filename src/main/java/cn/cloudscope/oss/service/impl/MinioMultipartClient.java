@@ -0,0 +1,155 @@
+package cn.cloudscope.oss.service.impl;
+
+import cn.cloudscope.oss.bean.MultipartUpload;
+import cn.cloudscope.oss.bean.UploadPart;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
+import io.minio.MinioAsyncClient;
+import io.minio.ObjectWriteResponse;
+import io.minio.errors.ErrorResponseException;
+import io.minio.errors.MinioException;
+import io.minio.messages.ListMultipartUploadsResult;
+import io.minio.messages.ListPartsResult;
+import io.minio.messages.Part;
+import io.minio.messages.Upload;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ *  公开minio客户端中受保护的分片上传接口（异步版本，在调用线程中等待结果），供断点续传及分片直传使用
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 18:30
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+class MinioMultipartClient extends MinioAsyncClient {
+
+    private static final String NO_SUCH_UPLOAD = "NoSuchUpload";
+
+    MinioMultipartClient(MinioAsyncClient client) {
+        super(client);
+    }
+
+    String initiate(String bucket, String path, Map<String, String> headers)
+            throws MinioException, GeneralSecurityException, IOException {
+        Multimap<String, String> headerMap = HashMultimap.create();
+        headers.forEach(headerMap::put);
+        return join(createMultipartUploadAsync(bucket, null, path, headerMap, null)).result().uploadId();
+    }
+
+    UploadPart uploadPart(String bucket, String path, String uploadId, int partNumber, InputStream stream, long size)
+            throws MinioException, GeneralSecurityException, IOException {
+        String etag = join(uploadPartAsync(bucket, null, path, stream, size, uploadId, partNumber, null, null)).etag();
+        return new UploadPart(partNumber, StringUtils.strip(etag, "\""), size);
+    }
+
+    /**
+     * @return 分片上传不存在时为null
+     **/
+    List<UploadPart> listParts(String bucket, String path, String uploadId)
+            throws MinioException, GeneralSecurityException, IOException {
+        List<UploadPart> parts = new ArrayList<>();
+        Integer marker = null;
+        try {
+            while (true) {
+                ListPartsResult result = join(listPartsAsync(bucket, null, path, null, marker, uploadId, null, null)).result();
+                for (Part part : result.partList()) {
+                    parts.add(new UploadPart(part.partNumber(), StringUtils.strip(part.etag(), "\""), part.partSize()));
+                }
+                if (!result.isTruncated()) {
+                    return parts;
+                }
+                marker = result.nextPartNumberMarker();
+            }
+        } catch (ErrorResponseException e) {
+            if (NO_SUCH_UPLOAD.equals(e.errorResponse().code())) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    String complete(String bucket, String path, String uploadId, List<UploadPart> parts)
+            throws MinioException, GeneralSecurityException, IOException {
+        Part[] completed = parts.stream().map(part -> new Part(part.getPartNumber(), part.getEtag())).toArray(Part[]::new);
+        ObjectWriteResponse response = join(completeMultipartUploadAsync(bucket, null, path, uploadId, completed, null, null));
+        return response.object();
+    }
+
+    void abort(String bucket, String path, String uploadId) throws MinioException, GeneralSecurityException, IOException {
+        try {
+            join(abortMultipartUploadAsync(bucket, null, path, uploadId, null, null));
+        } catch (ErrorResponseException e) {
+            if (!NO_SUCH_UPLOAD.equals(e.errorResponse().code())) {
+                throw e;
+            }
+        }
+    }
+
+    List<MultipartUpload> listUploads(String bucket) throws MinioException, GeneralSecurityException, IOException {
+        List<MultipartUpload> uploads = new ArrayList<>();
+        String keyMarker = null;
+        String uploadIdMarker = null;
+        while (true) {
+            ListMultipartUploadsResult result = join(listMultipartUploadsAsync(bucket, null, null, null,
+                    keyMarker, null, null, uploadIdMarker, null, null)).result();
+            for (Upload upload : result.uploads()) {
+                uploads.add(new MultipartUpload(bucket, upload.objectName(), upload.uploadId(),
+                        null == upload.initiated() ? null : upload.initiated().toInstant()));
+            }
+            if (!result.isTruncated()) {
+                return uploads;
+            }
+            keyMarker = result.nextKeyMarker();
+            uploadIdMarker = result.nextUploadIdMarker();
+        }
+    }
+
+    /**
+     * 等待异步请求完成，还原请求抛出的异常
+     **/
+    private static <T> T join(CompletableFuture<T> future) throws MinioException, GeneralSecurityException, IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("分片上传请求被中断");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            while (cause instanceof CompletionException && null != cause.getCause()) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof MinioException) {
+                throw (MinioException) cause;
+            }
+            if (cause instanceof GeneralSecurityException) {
+                throw (GeneralSecurityException) cause;
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
@@ -1,23 +1,38 @@
 package cn.cloudscope.oss.service.impl;
 
+import cn.cloudscope.oss.bean.ConnectionPoolStats;
 import cn.cloudscope.oss.bean.DocumentReturnCodeEnum;
+import cn.cloudscope.oss.bean.MultipartUpload;
+import cn.cloudscope.oss.bean.ObjectMeta;
 import cn.cloudscope.oss.bean.PreSingUploadParam;
+import cn.cloudscope.oss.bean.UploadPart;
+import cn.cloudscope.oss.checksum.ChecksumAlgorithm;
+import cn.cloudscope.oss.checksum.ChecksumInputStream;
+import cn.cloudscope.oss.config.properties.CommonProperties;
 import cn.cloudscope.oss.config.properties.MinioProperties;
-import cn.cloudscope.oss.service.StorageWorker;
+import cn.cloudscope.oss.service.AbstractStorageWorker;
 import cn.cloudscope.oss.utils.FileUtil;
-import cn.cloudscope.oss.utils.UUIDUtil;
+import cn.cloudscope.oss.utils.Lazy;
+import cn.cloudscope.oss.utils.MimeRegistry;
 import com.google.common.collect.Maps;
 import io.minio.BucketExistsArgs;
+import io.minio.CloseableIterator;
 import io.minio.CopyObjectArgs;
 import io.minio.CopySource;
 import io.minio.GetObjectArgs;
+import io.minio.GetObjectResponse;
 import io.minio.GetPresignedObjectUrlArgs;
+import io.minio.ListenBucketNotificationArgs;
 import io.minio.MakeBucketArgs;
+import io.minio.MinioAsyncClient;
 import io.minio.MinioClient;
 import io.minio.ObjectWriteResponse;
 import io.minio.PostPolicy;
 import io.minio.PutObjectArgs;
 import io.minio.RemoveObjectArgs;
+import io.minio.Result;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
 import io.minio.UploadObjectArgs;
 import io.minio.errors.ErrorResponseException;
 import io.minio.errors.InsufficientDataException;
@@ -26,10 +41,15 @@ import io.minio.errors.InvalidResponseException;
 import io.minio.errors.MinioException;
 import io.minio.errors.ServerException;
 import io.minio.errors.XmlParserException;
+import io.minio.http.HttpUtils;
 import io.minio.http.Method;
+import io.minio.messages.NotificationRecords;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpHeaders;
 import org.apache.http.entity.ContentType;
 
 import java.io.File;
@@ -41,9 +61,15 @@ import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
 import static io.minio.ObjectWriteArgs.MIN_MULTIPART_SIZE;
 
@@ -60,56 +86,198 @@ import static io.minio.ObjectWriteArgs.MIN_MULTIPART_SIZE;
  * </pre>
  */
 @Slf4j
-public class MinioWorker implements StorageWorker {
+public class MinioWorker extends AbstractStorageWorker {
 
-	private final MinioClient minioClient;
+	/** 分片上传的分片大小 */
+	private static final long PART_SIZE = MIN_MULTIPART_SIZE * 10;
+
+	private static final String HEADER_CHECKSUM_CRC32C = "x-amz-checksum-crc32c";
+
+	private static final String USER_META_PREFIX = "x-amz-meta-";
+
+	private static final Pattern MD5_HEX = Pattern.compile("[0-9a-fA-F]{32}");
+
+	private static final String PARAM_UPLOAD_ID = "uploadId";
+
+	private static final String PARAM_PART_NUMBER = "partNumber";
+
+	private static final String EVENT_OBJECT_CREATED = "s3:ObjectCreated:*";
+
+	private static final String NO_SUCH_KEY = "NoSuchKey";
+
+	/** 与minio默认值一致 */
+	private static final long HTTP_TIMEOUT = TimeUnit.MINUTES.toMillis(5);
+
+	/** 自行创建以便读取连接池状态，ignoreCertCheck派生的客户端共享同一连接池及调度器 */
+	private final Lazy<OkHttpClient> httpClient;
+
+	/** 首次使用时才创建客户端，启动阶段不产生任何网络请求 */
+	private final Lazy<MinioClient> minioClient;
+
+	/** 分片上传接口，与minioClient共享http客户端 */
+	private final Lazy<MinioMultipartClient> multipartClient;
 
 	private final MinioProperties minioProperties;
 
+	private final MimeRegistry mimeRegistry;
+
 	public MinioWorker(MinioProperties minioProperties) {
 
 		this.minioProperties = minioProperties;
-		this.minioClient = MinioClient.builder().credentials(minioProperties.getAccessKey(),minioProperties.getSecretKey())
-				.endpoint(minioProperties.getEndPoint()).build();
-		try {
+		this.mimeRegistry = MimeRegistry.withOverrides(minioProperties.getContentTypes());
+		this.httpClient = Lazy.of(() -> HttpUtils.newDefaultHttpClient(HTTP_TIMEOUT, HTTP_TIMEOUT, HTTP_TIMEOUT));
+		this.minioClient = Lazy.of(() -> {
+			MinioClient client = MinioClient.builder().credentials(minioProperties.getAccessKey(), minioProperties.getSecretKey())
+					.endpoint(minioProperties.getEndPoint()).httpClient(httpClient.get()).build();
+			if (minioProperties.getEndPoint().startsWith("https")) {
+				try {
+					client.ignoreCertCheck();
+				} catch (GeneralSecurityException e) {
+					log.error("初始化minio worker异常", e);
+				}
+			}
+			return client;
+		});
+		this.multipartClient = Lazy.of(() -> {
+			MinioMultipartClient client = new MinioMultipartClient(MinioAsyncClient.builder()
+					.credentials(minioProperties.getAccessKey(), minioProperties.getSecretKey())
+					.endpoint(minioProperties.getEndPoint()).httpClient(httpClient.get()).build());
 			if (minioProperties.getEndPoint().startsWith("https")) {
-				this.minioClient.ignoreCertCheck();
+				try {
+					client.ignoreCertCheck();
+				} catch (GeneralSecurityException e) {
+					log.error("初始化minio worker异常", e);
+				}
 			}
+			return client;
+		});
+	}
+
+	/**
+	 * 校验桶是否存在，不存在时创建
+	 **/
+	@Override
+	public void verifyBucket() {
+		try {
 			BucketExistsArgs bucketExistsArgs = BucketExistsArgs.builder().bucket(minioProperties.getBucketName()).build();
-			if (!minioClient.bucketExists(bucketExistsArgs)) {
+			if (!minioClient.get().bucketExists(bucketExistsArgs)) {
 				MakeBucketArgs bucketArgs = MakeBucketArgs.builder().bucket(minioProperties.getBucketName()).build();
-				minioClient.makeBucket(bucketArgs);
+				minioClient.get().makeBucket(bucketArgs);
+				log.info("已创建桶: {}", minioProperties.getBucketName());
 			}
-		} catch (Exception e) {
-			log.error("初始化minio worker异常", e);
+		} catch (MinioException | GeneralSecurityException | IOException e) {
+			throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg(), e);
+		}
+	}
+
+	/**
+	 * 只校验桶是否存在，不存在时报错，不创建
+	 **/
+	@Override
+	public void checkBucket() {
+		boolean exists;
+		try {
+			exists = minioClient.get().bucketExists(BucketExistsArgs.builder().bucket(minioProperties.getBucketName()).build());
+		} catch (MinioException | GeneralSecurityException | IOException e) {
+			throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg(), e);
+		}
+		if (!exists) {
+			throw new RuntimeException("桶不存在: " + minioProperties.getBucketName());
+		}
+	}
+
+	/**
+	 * 订阅桶中文件写入事件（包括分片上传合并），minio扩展接口，连接保持直至关闭返回的迭代器
+	 * @param bucket	桶
+	 * @param prefix	文件路径前缀，可为空
+	 * @param suffix	文件路径后缀，可为空
+	 * @author wenxiaopeng
+	 * @date 2026/10/19 19:30
+	 * @return 事件迭代器，没有事件时阻塞
+	 **/
+	public CloseableIterator<Result<NotificationRecords>> listenObjectCreated(String bucket, String prefix, String suffix) {
+		try {
+			return minioClient.get().listenBucketNotification(ListenBucketNotificationArgs.builder().bucket(bucket)
+					.prefix(StringUtils.defaultString(prefix)).suffix(StringUtils.defaultString(suffix))
+					.events(new String[]{EVENT_OBJECT_CREATED}).build());
+		} catch (MinioException | GeneralSecurityException | IOException e) {
+			log.error("订阅minio事件失败: {}", e.getMessage());
+			throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg(), e);
+		}
+	}
+
+	/**
+	 * minio通过异步调度器发出请求，单个主机的并发上限即为连接池上限
+	 **/
+	@Override
+	public ConnectionPoolStats getConnectionPoolStats() {
+		OkHttpClient client = httpClient.getIfCreated();
+		if (null == client) {
+			return null;
 		}
+		Dispatcher dispatcher = client.dispatcher();
+		return ConnectionPoolStats.builder()
+				.connections(client.connectionPool().connectionCount())
+				.idle(client.connectionPool().idleConnectionCount())
+				.active(dispatcher.runningCallsCount())
+				.queued(dispatcher.queuedCallsCount())
+				.max(dispatcher.getMaxRequestsPerHost())
+				.build();
 	}
 
 	@Override
 	public String doUpload(InputStream stream, String bucket, String path, String originName) {
+		return doUpload(stream, bucket, path, originName, null);
+	}
+
+	/**
+	 * 已知大小时按固定分片上传，便于在落盘时算出分片ETag；内容MD5记录在用户元数据中供下载校验
+	 **/
+	@Override
+	public String doUpload(InputStream stream, String bucket, String path, String originName, ObjectMeta meta) {
 		if (null != stream) {
+			ObjectWriteResponse response;
 			try {
 //				HashMap<String, String> header = Maps.newHashMap();
 //				if (StringUtils.isNotBlank(originName)) {
 ////					header.put("Content-Disposition", "attachment;filename=" + originName);
 //				}
-				log.info("开始上传文件(by stream)，stream size: {}", stream.available());
-				PutObjectArgs args = PutObjectArgs.builder()
+				log.info("开始上传文件(by stream)，stream size: {}", null == meta ? stream.available() : meta.getSize());
+				PutObjectArgs.Builder builder = PutObjectArgs.builder()
 						.bucket(bucket)
-						.contentType(TYPE_CACHE.getOrDefault(FileUtil.getFileSuffix(originName), ContentType.APPLICATION_OCTET_STREAM.getMimeType()))
+						.contentType(null != meta && null != meta.getContentType() ? meta.getContentType()
+								: contentTypeByFileName(StringUtils.defaultIfBlank(originName, path)))
 //						.extraHeaders(header)
 						.object(path)
-						.stream(stream, -1, MIN_MULTIPART_SIZE * 10)
-						.build();
-				ObjectWriteResponse response = minioClient.putObject(args);
-				log.info("文件上传完成(by stream): {}", response.object());
-				return response.object();
+						.stream(stream, null == meta ? -1 : meta.getSize(), PART_SIZE);
+				if (null != meta) {
+					Map<String, String> userMetadata = new HashMap<>(meta.getUserMetadata());
+					if (null != meta.getMd5()) {
+						userMetadata.put(ObjectMeta.USER_META_MD5, meta.getMd5());
+					}
+					builder.userMetadata(userMetadata);
+					// 单次PUT时由服务端校验CRC32C；SDK分片上传时不能为各分片附带校验值，只能由verifyUpload比对分片ETag
+					if (null != meta.getCrc32c() && meta.getSize() <= PART_SIZE) {
+						builder.extraHeaders(Collections.singletonMap(HEADER_CHECKSUM_CRC32C, meta.getCrc32cBase64()));
+					}
+				}
+				response = minioClient.get().putObject(builder.build());
 			} catch (Exception e) {
 				log.error("上传失败：{}", e.getMessage());
 				throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
 			} finally {
 				IOUtils.closeQuietly(stream);
 			}
+			if (null != meta && minioProperties.isVerifyUpload() && null != meta.getMd5()) {
+				String etag = StringUtils.strip(response.etag(), "\"");
+				if (!StringUtils.equalsIgnoreCase(etag, meta.getExpectedEtag())) {
+					log.error("文件校验失败: {}, ETag: {}, 期望: {}", path, etag, meta.getExpectedEtag());
+					removeQuietly(bucket, path);
+					throw new RuntimeException(DocumentReturnCodeEnum.CHECKSUM_MISMATCH.getMsg());
+				}
+			}
+			log.info("文件上传完成(by stream): {}", response.object());
+			return response.object();
 		}
 		return null;
 	}
@@ -123,7 +291,7 @@ public class MinioWorker implements StorageWorker {
 					.object(path)
 					.filename(file.getAbsolutePath())
 					.build();
-			ObjectWriteResponse response = minioClient.uploadObject(args);
+			ObjectWriteResponse response = minioClient.get().uploadObject(args);
 			log.info("文件上传完成(by file): {}", response.object());
 			return response.object();
 		} catch (Exception e) {
@@ -134,24 +302,205 @@ public class MinioWorker implements StorageWorker {
 
 	@Override
 	public InputStream download(String key) {
+		return download(key, false);
+	}
+
+	@Override
+	public InputStream download(String key, boolean isPublic) {
+		return download(key, isPublic, minioProperties.isVerifyDownload());
+	}
+
+	/**
+	 * 以上传时记录的MD5校验，没有记录时退回到非分片上传的ETag
+	 **/
+	@Override
+	public InputStream download(String key, boolean isPublic, boolean verify) {
 		GetObjectArgs getArgs = GetObjectArgs.builder()
-				.bucket(minioProperties.getBucketName())
+				.bucket(getBucket(isPublic))
 				.object(key)
 				.build();
+		GetObjectResponse response;
+		try {
+			response = minioClient.get().getObject(getArgs);
+		} catch (ErrorResponseException e) {
+			if (NO_SUCH_KEY.equals(e.errorResponse().code())) {
+				throw new RuntimeException(DocumentReturnCodeEnum.NOT_FOUND.getMsg());
+			}
+			log.error("下载失败", e);
+			throw new RuntimeException(e.getMessage() + key);
+		} catch (Exception e) {
+			log.error("下载失败", e);
+			throw new RuntimeException(e.getMessage() + key);
+		}
+		if (!verify) {
+			return response;
+		}
+		String md5 = response.headers().get(USER_META_PREFIX + ObjectMeta.USER_META_MD5);
+		if (null == md5) {
+			md5 = StringUtils.strip(response.headers().get(HttpHeaders.ETAG), "\"");
+		}
+		if (null == md5 || !MD5_HEX.matcher(md5).matches()) {
+			log.debug("文件缺少MD5，跳过校验: {}", key);
+			return response;
+		}
+		return new ChecksumInputStream(response, ChecksumAlgorithm.MD5, md5);
+	}
+
+	@Override
+	public Set<ChecksumAlgorithm> getChecksumAlgorithms() {
+		return EnumSet.of(ChecksumAlgorithm.MD5, ChecksumAlgorithm.CRC32C);
+	}
+
+	@Override
+	public long getUploadPartSize() {
+		return PART_SIZE;
+	}
+
+	@Override
+	public boolean exists(String key, boolean isPublic) {
+		return null != stat(key, isPublic);
+	}
+
+	@Override
+	public ObjectMeta stat(String key, boolean isPublic) {
+		StatObjectResponse response;
+		try {
+			response = minioClient.get().statObject(StatObjectArgs.builder().bucket(getBucket(isPublic)).object(key).build());
+		} catch (ErrorResponseException e) {
+			if (NO_SUCH_KEY.equals(e.errorResponse().code())) {
+				return null;
+			}
+			log.error("无法查询文件: {} {}", key, e.getMessage());
+			throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+		} catch (MinioException | GeneralSecurityException | IOException e) {
+			log.error("无法查询文件: {} {}", key, e.getMessage());
+			throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+		}
+		ObjectMeta meta = new ObjectMeta();
+		meta.setSize(response.size());
+		meta.setContentType(response.contentType());
+		meta.getUserMetadata().putAll(response.userMetadata());
+		return meta;
+	}
+
+	@Override
+	public InputStream download(String key, boolean isPublic, long offset, long length) {
+		GetObjectArgs.Builder builder = GetObjectArgs.builder()
+				.bucket(getBucket(isPublic))
+				.object(key)
+				.offset(offset);
+		if (length >= 0) {
+			builder.length(length);
+		}
 		try {
-			return minioClient.getObject(getArgs);
+			return minioClient.get().getObject(builder.build());
+		} catch (ErrorResponseException e) {
+			if (NO_SUCH_KEY.equals(e.errorResponse().code())) {
+				throw new RuntimeException(DocumentReturnCodeEnum.NOT_FOUND.getMsg());
+			}
+			log.error("下载失败", e);
+			throw new RuntimeException(e.getMessage() + key);
 		} catch (Exception e) {
 			log.error("下载失败", e);
 			throw new RuntimeException(e.getMessage() + key);
 		}
 	}
 
+	@Override
+	public boolean isMultipartSupported() {
+		return true;
+	}
+
+	@Override
+	public String initiateMultipart(String bucket, String path, ObjectMeta meta) {
+		Map<String, String> headers = new HashMap<>(4);
+		headers.put(HttpHeaders.CONTENT_TYPE, null == meta || null == meta.getContentType()
+				? contentTypeByFileName(path) : meta.getContentType());
+		if (null != meta) {
+			meta.getUserMetadata().forEach((key, value) -> headers.put(USER_META_PREFIX + key, value));
+		}
+		try {
+			return multipartClient.get().initiate(bucket, path, headers);
+		} catch (MinioException | GeneralSecurityException | IOException e) {
+			log.error("无法发起分片上传: {}", path, e);
+			throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+		}
+	}
+
+	@Override
+	public UploadPart uploadPart(String bucket, String path, String uploadId, int partNumber, InputStream stream, long size) {
+		try {
+			return multipartClient.get().uploadPart(bucket, path, uploadId, partNumber, stream, size);
+		} catch (MinioException | GeneralSecurityException | IOException e) {
+			log.error("分片上传失败: {} #{}", path, partNumber, e);
+			throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+		}
+	}
+
+	@Override
+	public List<UploadPart> listParts(String bucket, String path, String uploadId) {
+		try {
+			return multipartClient.get().listParts(bucket, path, uploadId);
+		} catch (MinioException | GeneralSecurityException | IOException e) {
+			log.error("无法查询已上传分片: {}", path, e);
+			throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+		}
+	}
+
+	@Override
+	public String completeMultipart(String bucket, String path, String uploadId, List<UploadPart> parts) {
+		try {
+			return multipartClient.get().complete(bucket, path, uploadId, parts);
+		} catch (MinioException | GeneralSecurityException | IOException e) {
+			log.error("无法完成分片上传: {}", path, e);
+			throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+		}
+	}
+
+	@Override
+	public void abortMultipart(String bucket, String path, String uploadId) {
+		try {
+			multipartClient.get().abort(bucket, path, uploadId);
+		} catch (MinioException | GeneralSecurityException | IOException e) {
+			log.error("无法取消分片上传: {}", path, e);
+			throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+		}
+	}
+
+	@Override
+	public List<MultipartUpload> listMultipartUploads(String bucket) {
+		try {
+			return multipartClient.get().listUploads(bucket);
+		} catch (MinioException | GeneralSecurityException | IOException e) {
+			log.error("无法列出分片上传: {}", bucket, e);
+			throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+		}
+	}
+
+	@Override
+	public String preSignUploadPart(String bucket, String path, String uploadId, int partNumber, Duration expiresIn) {
+		Map<String, String> params = new HashMap<>(2);
+		params.put(PARAM_UPLOAD_ID, uploadId);
+		params.put(PARAM_PART_NUMBER, String.valueOf(partNumber));
+		GetPresignedObjectUrlArgs args = GetPresignedObjectUrlArgs.builder()
+				.bucket(bucket)
+				.method(Method.PUT)
+				.expiry((int) expiresIn.getSeconds())
+				.object(path)
+				.extraQueryParams(params).build();
+		try {
+			return minioClient.get().getPresignedObjectUrl(args);
+		} catch (MinioException | GeneralSecurityException | IOException e) {
+			log.error("无法签发分片上传链接: {} #{}", path, partNumber, e);
+			throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+		}
+	}
 
 	@Override
 	public String copyObject(String originPath, String target, boolean isPublic) {
 		try {
 			String bucket = getBucket(isPublic);
-			ObjectWriteResponse response = minioClient.copyObject(
+			ObjectWriteResponse response = minioClient.get().copyObject(
 					CopyObjectArgs.builder().bucket(bucket)
 							.object(target)
 							.source(CopySource.builder().bucket(bucket).object(originPath).build())
@@ -173,7 +522,7 @@ public class MinioWorker implements StorageWorker {
 				.method(Method.GET)
 				.expiry(expiresIn)
 				.object(key).build();
-		return minioClient.getPresignedObjectUrl(originArgs);
+		return minioClient.get().getPresignedObjectUrl(originArgs);
 	}
 
 	@Override
@@ -181,6 +530,16 @@ public class MinioWorker implements StorageWorker {
 		return minioProperties.getEndPoint();
 	}
 
+	@Override
+	public CommonProperties.Derivative getDerivative() {
+		return minioProperties.getDerivative();
+	}
+
+	@Override
+	public MimeRegistry getMimeRegistry() {
+		return mimeRegistry;
+	}
+
 	@Override
 	public String getBucket(boolean isPublic) {
 		return isPublic ? minioProperties.getBucketPublic() : minioProperties.getBucketName();
@@ -197,7 +556,7 @@ public class MinioWorker implements StorageWorker {
 				.expiry(expire)
 				.object(path).build();
 		try {
-			return minioClient.getPresignedObjectUrl(originArgs);
+			return minioClient.get().getPresignedObjectUrl(originArgs);
 		} catch (InsufficientDataException | ErrorResponseException | InternalException | InvalidKeyException |
 		         InvalidResponseException | IOException | NoSuchAlgorithmException | XmlParserException |
 		         ServerException e) {
@@ -210,7 +569,7 @@ public class MinioWorker implements StorageWorker {
 	public Map<String, String> preSignUpload(PreSingUploadParam param) {
 		String bucket = getBucket(param.isPublic());
 		String suffix = FileUtil.getFileSuffix(param.getFilename());
-		String path = generatePath(UUIDUtil.buildUuid() + "." + suffix);
+		String path = generatePath(getKeyStrategy().generateId() + "." + suffix);
 		// 设置凭证过期时间
 		if(null != param.getExpiresIn()) {
 			param.setExpiresIn(Duration.ofMinutes(10));
@@ -230,7 +589,7 @@ public class MinioWorker implements StorageWorker {
 		policy.addEqualsCondition("success_action_status", String.valueOf(200));
 		try {
 			// 生成凭证并返回
-			final Map<String, String> map = minioClient.getPresignedPostFormData(policy);
+			final Map<String, String> map = minioClient.get().getPresignedPostFormData(policy);
 			map.put("key", path);
 			return map;
 		} catch (MinioException | InvalidKeyException | IOException | NoSuchAlgorithmException e) {
@@ -241,10 +600,10 @@ public class MinioWorker implements StorageWorker {
 	}
 
 	@Override
-	public boolean deleteFile(String path) {
+	protected boolean doDelete(String bucket, String path) {
 		try {
 			if (StringUtils.isNotBlank(path)) {
-				minioClient.removeObject(RemoveObjectArgs.builder().bucket(minioProperties.getBucketName()).object(path).build());
+				minioClient.get().removeObject(RemoveObjectArgs.builder().bucket(bucket).object(path).build());
 			}
 		} catch (MinioException | GeneralSecurityException | IOException e) {
 			log.error("下载失败", e);
@@ -253,4 +612,11 @@ public class MinioWorker implements StorageWorker {
 		return true;
 	}
 
+	private void removeQuietly(String bucket, String path) {
+		try {
+			minioClient.get().removeObject(RemoveObjectArgs.builder().bucket(bucket).object(path).build());
+		} catch (Exception e) {
+			log.warn("无法删除校验失败的文件: {}", path, e);
+		}
+	}
 }
@@ -0,0 +1,455 @@
+package cn.cloudscope.oss.service.impl;
+
+import cn.cloudscope.oss.bean.ConnectionPoolStats;
+import cn.cloudscope.oss.bean.DocumentReturnCodeEnum;
+import cn.cloudscope.oss.bean.MultipartUpload;
+import cn.cloudscope.oss.bean.ObjectMeta;
+import cn.cloudscope.oss.bean.PreSingUploadParam;
+import cn.cloudscope.oss.bean.UploadPart;
+import cn.cloudscope.oss.checksum.ChecksumAlgorithm;
+import cn.cloudscope.oss.config.properties.CommonProperties;
+import cn.cloudscope.oss.config.properties.ReplicationProperties;
+import cn.cloudscope.oss.service.AbstractStorageWorker;
+import cn.cloudscope.oss.service.StorageWorker;
+import cn.cloudscope.oss.service.replication.ReplicaNode;
+import cn.cloudscope.oss.service.replication.ReplicationQueue;
+import cn.cloudscope.oss.service.replication.ReplicationTask;
+import cn.cloudscope.oss.utils.MimeRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 多副本存储：写入主副本成功后返回，其余副本经持久化队列异步复制；
+ * 读取时优先选择延迟最低的可用副本，失败后依次切换到其他副本
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 15:10
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Slf4j
+public class ReplicatingWorker extends AbstractStorageWorker implements Closeable {
+
+    private final ReplicaNode primary;
+
+    private final List<ReplicaNode> replicas;
+
+    private final Map<String, ReplicationQueue> queues = new LinkedHashMap<>();
+
+    private final Duration unhealthyCooldown;
+
+    /**
+     * @param replicas  副本，第一个为主副本
+     * @param properties 复制配置
+     **/
+    public ReplicatingWorker(List<ReplicaNode> replicas, ReplicationProperties properties) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("至少需要配置一个副本");
+        }
+        this.replicas = Collections.unmodifiableList(new ArrayList<>(replicas));
+        this.primary = replicas.get(0);
+        this.unhealthyCooldown = properties.getUnhealthyCooldown();
+        for (ReplicaNode node : replicas.subList(1, replicas.size())) {
+            queues.put(node.getName(), new ReplicationQueue(node.getName(),
+                    Paths.get(properties.getQueueDir(), node.getName()),
+                    properties.getRetryInterval(), properties.getMaxAttempts(), task -> replicate(node, task)));
+        }
+    }
+
+    @Override
+    public String doUpload(InputStream stream, String bucket, String path, String originName) {
+        return doUpload(stream, bucket, path, originName, null);
+    }
+
+    @Override
+    public String doUpload(InputStream stream, String bucket, String path, String originName, ObjectMeta meta) {
+        String result = primary.getWorker().doUpload(stream, bucket, path, originName, meta);
+        if (null != result) {
+            ReplicationTask task = ReplicationTask.of(ReplicationTask.Operation.PUT, path, isPublicBucket(bucket));
+            task.setOriginName(originName);
+            if (null != meta) {
+                task.setContentType(meta.getContentType());
+                task.getUserMetadata().putAll(meta.getUserMetadata());
+            }
+            enqueue(task);
+        }
+        return result;
+    }
+
+    @Override
+    public InputStream download(String key) {
+        return download(key, false);
+    }
+
+    @Override
+    public InputStream download(String key, boolean isPublic) {
+        return download(key, isPublic, false);
+    }
+
+    @Override
+    public InputStream download(String key, boolean isPublic, boolean verify) {
+        return read(key, worker -> worker.download(key, isPublic, verify));
+    }
+
+    /**
+     * 写入均先到达主副本，以主副本为准
+     **/
+    @Override
+    public boolean exists(String key, boolean isPublic) {
+        return primary.getWorker().exists(key, isPublic);
+    }
+
+    @Override
+    public ObjectMeta stat(String key, boolean isPublic) {
+        return primary.getWorker().stat(key, isPublic);
+    }
+
+    @Override
+    public InputStream download(String key, boolean isPublic, long offset, long length) {
+        return read(key, worker -> worker.download(key, isPublic, offset, length));
+    }
+
+    @Override
+    public String copyObject(String source, String target, boolean isPublic) {
+        String result = primary.getWorker().copyObject(source, target, isPublic);
+        if (null != result) {
+            ReplicationTask task = ReplicationTask.of(ReplicationTask.Operation.COPY, source, isPublic);
+            task.setTarget(target);
+            enqueue(task);
+        }
+        return result;
+    }
+
+    @Override
+    protected boolean doDelete(String bucket, String path) {
+        boolean deleted = primary.getWorker().deleteObject(bucket, path);
+        enqueue(ReplicationTask.of(ReplicationTask.Operation.DELETE, path, isPublicBucket(bucket)));
+        return deleted;
+    }
+
+    /**
+     * 访问链接无法在失败后切换，因此始终优先使用主副本；主副本不可用时，只使用已确认存在该文件的可用副本
+     **/
+    @Override
+    public String crateFileExpireUrl(String path, int expire) {
+        if (!primary.isHealthy()) {
+            for (ReplicaNode node : readOrder(path)) {
+                if (node != primary && node.isHealthy() && isReplicated(node, path)) {
+                    return node.getWorker().crateFileExpireUrl(path, expire);
+                }
+            }
+        }
+        return primary.getWorker().crateFileExpireUrl(path, expire);
+    }
+
+    /**
+     * 直传文件仅写入主副本
+     **/
+    @Override
+    public Map<String, String> preSignUpload(PreSingUploadParam param) {
+        return primary.getWorker().preSignUpload(param);
+    }
+
+    @Override
+    public boolean isMultipartSupported() {
+        return primary.getWorker().isMultipartSupported();
+    }
+
+    /**
+     * 分片上传在主副本上进行，完成后整体复制到其他副本
+     **/
+    @Override
+    public String initiateMultipart(String bucket, String path, ObjectMeta meta) {
+        return primary.getWorker().initiateMultipart(bucket, path, meta);
+    }
+
+    @Override
+    public UploadPart uploadPart(String bucket, String path, String uploadId, int partNumber, InputStream stream, long size) {
+        return primary.getWorker().uploadPart(bucket, path, uploadId, partNumber, stream, size);
+    }
+
+    @Override
+    public List<UploadPart> listParts(String bucket, String path, String uploadId) {
+        return primary.getWorker().listParts(bucket, path, uploadId);
+    }
+
+    @Override
+    public String completeMultipart(String bucket, String path, String uploadId, List<UploadPart> parts) {
+        String result = primary.getWorker().completeMultipart(bucket, path, uploadId, parts);
+        if (null != result) {
+            enqueue(ReplicationTask.of(ReplicationTask.Operation.PUT, path, isPublicBucket(bucket)));
+        }
+        return result;
+    }
+
+    @Override
+    public void abortMultipart(String bucket, String path, String uploadId) {
+        primary.getWorker().abortMultipart(bucket, path, uploadId);
+    }
+
+    @Override
+    public List<MultipartUpload> listMultipartUploads(String bucket) {
+        return primary.getWorker().listMultipartUploads(bucket);
+    }
+
+    @Override
+    public String preSignUploadPart(String bucket, String path, String uploadId, int partNumber, Duration expiresIn) {
+        return primary.getWorker().preSignUploadPart(bucket, path, uploadId, partNumber, expiresIn);
+    }
+
+    /**
+     * 主副本不可用时失败；从副本不可用仅标记，待恢复后由复制队列补齐
+     **/
+    @Override
+    public void verifyBucket() {
+        primary.getWorker().verifyBucket();
+        for (ReplicaNode node : replicas.subList(1, replicas.size())) {
+            try {
+                node.getWorker().verifyBucket();
+            } catch (RuntimeException e) {
+                log.warn("副本[{}]不可用: {}", node.getName(), e.getMessage());
+                node.markUnhealthy(unhealthyCooldown);
+            }
+        }
+    }
+
+    @Override
+    public void checkBucket() {
+        primary.getWorker().checkBucket();
+        for (ReplicaNode node : replicas.subList(1, replicas.size())) {
+            try {
+                node.getWorker().checkBucket();
+            } catch (RuntimeException e) {
+                log.warn("副本[{}]不可用: {}", node.getName(), e.getMessage());
+                node.markUnhealthy(unhealthyCooldown);
+            }
+        }
+    }
+
+    @Override
+    public Set<ChecksumAlgorithm> getChecksumAlgorithms() {
+        return primary.getWorker().getChecksumAlgorithms();
+    }
+
+    @Override
+    public long getUploadPartSize() {
+        return primary.getWorker().getUploadPartSize();
+    }
+
+    @Override
+    public ConnectionPoolStats getConnectionPoolStats() {
+        return primary.getWorker().getConnectionPoolStats();
+    }
+
+    /**
+     * 各副本的可用状态、读取延迟及待复制任务数
+     **/
+    @Override
+    public Map<String, Object> getHealthDetails() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        for (ReplicaNode node : replicas) {
+            Map<String, Object> replica = new LinkedHashMap<>();
+            replica.put("primary", node == primary);
+            replica.put("healthy", node.isHealthy());
+            replica.put("latencyMs", node.getLatency().toMillis());
+            ReplicationQueue queue = queues.get(node.getName());
+            if (null != queue) {
+                replica.put("queueDepth", queue.size());
+                replica.put("lagMs", queue.lag().toMillis());
+                replica.put("deadLetters", queue.getDeadLetterCount());
+            }
+            details.put(node.getName(), replica);
+        }
+        return Collections.singletonMap("replicas", details);
+    }
+
+    @Override
+    public String getEndpoint() {
+        return primary.getWorker().getEndpoint();
+    }
+
+    @Override
+    public CommonProperties.Derivative getDerivative() {
+        return primary.getWorker().getDerivative();
+    }
+
+    @Override
+    public MimeRegistry getMimeRegistry() {
+        return primary.getWorker().getMimeRegistry();
+    }
+
+    @Override
+    public String getBucket(boolean isPublic) {
+        return primary.getWorker().getBucket(isPublic);
+    }
+
+    /**
+     * @return 所有副本，第一个为主副本
+     **/
+    public List<ReplicaNode> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * @return 各从副本的复制队列
+     **/
+    public Map<String, ReplicationQueue> getQueues() {
+        return Collections.unmodifiableMap(queues);
+    }
+
+    /**
+     * @return 所有副本待复制的任务总数
+     **/
+    public int getQueueDepth() {
+        return queues.values().stream().mapToInt(ReplicationQueue::size).sum();
+    }
+
+    /**
+     * @return 所有副本中最大的复制延迟
+     **/
+    public Duration getReplicationLag() {
+        return queues.values().stream().map(ReplicationQueue::lag).max(Comparator.naturalOrder()).orElse(Duration.ZERO);
+    }
+
+    @Override
+    public void close() {
+        queues.values().forEach(ReplicationQueue::close);
+    }
+
+    /**
+     * 按读取顺序依次尝试各副本。文件不存在不是副本故障，不标记不可用也不再切换：
+     * 主副本上不存在时直接抛出；从副本上不存在（如复制任务已移入死信目录）时以主副本为准。
+     * 校验失败只说明该副本上的文件已损坏，切换副本但不标记不可用；其余异常（连接失败、服务端错误）标记不可用后切换
+     **/
+    private InputStream read(String key, Function<StorageWorker, InputStream> reader) {
+        RuntimeException failure = null;
+        for (ReplicaNode node : readOrder(key)) {
+            long start = System.nanoTime();
+            try {
+                InputStream stream = reader.apply(node.getWorker());
+                node.recordLatency(System.nanoTime() - start);
+                return stream;
+            } catch (RuntimeException e) {
+                if (DocumentReturnCodeEnum.NOT_FOUND.matches(e)) {
+                    if (node == primary) {
+                        throw e;
+                    }
+                    log.warn("副本[{}]缺少文件，改从主副本读取: {}", node.getName(), key);
+                    return reader.apply(primary.getWorker());
+                }
+                log.warn("副本[{}]读取失败，切换副本: {}", node.getName(), e.getMessage());
+                if (!DocumentReturnCodeEnum.CHECKSUM_MISMATCH.matches(e)) {
+                    node.markUnhealthy(unhealthyCooldown);
+                }
+                failure = e;
+            }
+        }
+        throw null != failure ? failure : new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+    }
+
+    /**
+     * 读取顺序：可用且已完成复制的副本按延迟排序，其后是不可用的副本；尚未复制到的副本不参与
+     **/
+    private List<ReplicaNode> readOrder(String key) {
+        List<ReplicaNode> healthy = new ArrayList<>(replicas.size());
+        List<ReplicaNode> unhealthy = new ArrayList<>(replicas.size());
+        for (ReplicaNode node : replicas) {
+            ReplicationQueue queue = queues.get(node.getName());
+            if (node != primary && null != queue && queue.isPending(key)) {
+                continue;
+            }
+            (node.isHealthy() ? healthy : unhealthy).add(node);
+        }
+        healthy.sort(Comparator.comparing(ReplicaNode::getLatency));
+        healthy.addAll(unhealthy);
+        return healthy;
+    }
+
+    private void enqueue(ReplicationTask template) {
+        for (ReplicationQueue queue : queues.values()) {
+            ReplicationTask task = ReplicationTask.of(template.getOperation(), template.getKey(), template.isPublic());
+            task.setTarget(template.getTarget());
+            task.setOriginName(template.getOriginName());
+            task.setContentType(template.getContentType());
+            task.getUserMetadata().putAll(template.getUserMetadata());
+            task.setCreated(template.getCreated());
+            queue.offer(task);
+        }
+    }
+
+    /**
+     * 副本上是否已有该文件（HEAD请求），仅在主副本不可用时调用
+     **/
+    private boolean isReplicated(ReplicaNode node, String key) {
+        try {
+            return node.getWorker().exists(key, false);
+        } catch (RuntimeException e) {
+            log.warn("副本[{}]不可用: {}", node.getName(), e.getMessage());
+            node.markUnhealthy(unhealthyCooldown);
+            return false;
+        }
+    }
+
+    private boolean isPublicBucket(String bucket) {
+        return !primary.getWorker().getBucket(false).equals(bucket)
+                && primary.getWorker().getBucket(true).equals(bucket);
+    }
+
+    private void replicate(ReplicaNode node, ReplicationTask task) throws IOException {
+        StorageWorker target = node.getWorker();
+        switch (task.getOperation()) {
+            case PUT:
+                put(target, task.getKey(), task);
+                break;
+            case COPY:
+                if (null == target.copyObject(task.getKey(), task.getTarget(), task.isPublic())) {
+                    // 副本上缺少源文件时，直接从主副本复制目标文件
+                    put(target, task.getTarget(), task);
+                }
+                break;
+            case DELETE:
+                target.deleteObject(target.getBucket(task.isPublic()), task.getKey());
+                break;
+            default:
+                break;
+        }
+        log.debug("副本[{}]复制完成: {} {}", node.getName(), task.getOperation(), task.getKey());
+    }
+
+    /**
+     * 从主副本读取文件写入副本。主副本上的文件已不存在（被其他实例或生命周期规则删除）时视为完成，
+     * 此时副本不应再有该文件
+     **/
+    private void put(StorageWorker target, String key, ReplicationTask task) throws IOException {
+        ObjectMeta source = primary.getWorker().stat(key, task.isPublic());
+        if (null == source) {
+            log.info("主副本文件已不存在，跳过复制: {}", key);
+            return;
+        }
+        ObjectMeta meta = new ObjectMeta();
+        meta.setSize(source.getSize());
+        meta.setContentType(StringUtils.defaultIfBlank(task.getContentType(), source.getContentType()));
+        meta.getUserMetadata().putAll(source.getUserMetadata());
+        meta.getUserMetadata().putAll(task.getUserMetadata());
+        try (InputStream stream = primary.getWorker().download(key, task.isPublic())) {
+            target.doUpload(stream, target.getBucket(task.isPublic()), key, task.getOriginName(), meta);
+        }
+    }
+}
@@ -1,8 +1,18 @@
 package cn.cloudscope.oss.service.impl;
 
+import cn.cloudscope.oss.bean.ConnectionPoolStats;
+import cn.cloudscope.oss.bean.DocumentReturnCodeEnum;
+import cn.cloudscope.oss.bean.MultipartUpload;
+import cn.cloudscope.oss.bean.ObjectMeta;
+import cn.cloudscope.oss.bean.UploadPart;
 import cn.cloudscope.oss.bean.UploadResult;
+import cn.cloudscope.oss.checksum.ChecksumAlgorithm;
+import cn.cloudscope.oss.checksum.ChecksumInputStream;
+import cn.cloudscope.oss.config.properties.CommonProperties;
 import cn.cloudscope.oss.config.properties.CosProperties;
-import cn.cloudscope.oss.service.StorageWorker;
+import cn.cloudscope.oss.service.AbstractStorageWorker;
+import cn.cloudscope.oss.utils.Lazy;
+import cn.cloudscope.oss.utils.MimeRegistry;
 import com.aliyun.oss.OSSClient;
 import com.aliyun.oss.OSSClientBuilder;
 import com.aliyun.oss.model.OSSObject;
@@ -11,22 +21,43 @@ import com.qcloud.cos.COSClient;
 import com.qcloud.cos.ClientConfig;
 import com.qcloud.cos.auth.BasicCOSCredentials;
 import com.qcloud.cos.auth.COSCredentials;
+import com.qcloud.cos.exception.CosClientException;
+import com.qcloud.cos.exception.CosServiceException;
+import com.qcloud.cos.http.HttpMethodName;
 import com.qcloud.cos.http.HttpProtocol;
+import com.qcloud.cos.model.AbortMultipartUploadRequest;
 import com.qcloud.cos.model.COSObject;
+import com.qcloud.cos.model.CompleteMultipartUploadRequest;
 import com.qcloud.cos.model.CopyObjectResult;
 import com.qcloud.cos.model.GeneratePresignedUrlRequest;
+import com.qcloud.cos.model.GetObjectRequest;
+import com.qcloud.cos.model.InitiateMultipartUploadRequest;
+import com.qcloud.cos.model.ListMultipartUploadsRequest;
+import com.qcloud.cos.model.ListPartsRequest;
+import com.qcloud.cos.model.MultipartUploadListing;
 import com.qcloud.cos.model.ObjectMetadata;
+import com.qcloud.cos.model.PartETag;
+import com.qcloud.cos.model.PartListing;
+import com.qcloud.cos.model.PartSummary;
 import com.qcloud.cos.model.PutObjectResult;
+import com.qcloud.cos.model.UploadPartRequest;
+import com.qcloud.cos.model.UploadPartResult;
 import com.qcloud.cos.region.Region;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.http.entity.ContentType;
+import org.apache.http.HttpStatus;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * 腾讯COS实现
@@ -40,54 +71,307 @@ import java.util.concurrent.TimeUnit;
  * </pre>
  */
 @Slf4j
-public class TencentCosWorker implements StorageWorker {
+public class TencentCosWorker extends AbstractStorageWorker {
+
+    private static final String NO_SUCH_UPLOAD = "NoSuchUpload";
+
+    private static final String PARAM_UPLOAD_ID = "uploadId";
+
+    private static final String PARAM_PART_NUMBER = "partNumber";
 
     private final CosProperties cosProperties;
 
-    private final COSClient cosClient;
+    private final MimeRegistry mimeRegistry;
+
+    /** 首次使用时才创建客户端 */
+    private final Lazy<COSClient> cosClient;
 
     public TencentCosWorker(CosProperties cosProperties) {
         this.cosProperties = cosProperties;
-        COSCredentials cred = new BasicCOSCredentials(cosProperties.getAccessKey()
-                , cosProperties.getSecretKey());
-        ClientConfig clientConfig = new ClientConfig(new Region(cosProperties.getRegion()));
-        clientConfig.setHttpProtocol(HttpProtocol.https);
-        cosClient = new COSClient(cred, clientConfig);
+        this.mimeRegistry = MimeRegistry.withOverrides(cosProperties.getContentTypes());
+        this.cosClient = Lazy.of(() -> {
+            COSCredentials cred = new BasicCOSCredentials(cosProperties.getAccessKey()
+                    , cosProperties.getSecretKey());
+            ClientConfig clientConfig = new ClientConfig(new Region(cosProperties.getRegion()));
+            clientConfig.setHttpProtocol(HttpProtocol.https);
+            return new COSClient(cred, clientConfig);
+        });
+    }
+
+    @Override
+    public void verifyBucket() {
+        if (!cosClient.get().doesBucketExist(cosProperties.getBucketName())) {
+            throw new RuntimeException("桶不存在: " + cosProperties.getBucketName());
+        }
+    }
+
+    /**
+     * COS客户端未公开连接池，仅能给出配置的上限
+     **/
+    @Override
+    public ConnectionPoolStats getConnectionPoolStats() {
+        COSClient client = cosClient.getIfCreated();
+        if (null == client) {
+            return null;
+        }
+        return ConnectionPoolStats.builder().max(client.getClientConfig().getMaxConnectionsCount()).build();
     }
 
     @Override
     public String doUpload(InputStream stream, String bucket, String path, String originName) {
+        return doUpload(stream, bucket, path, originName, null);
+    }
+
+    /**
+     * 带上Content-MD5由服务端校验，并核对服务端返回的CRC64
+     **/
+    @Override
+    public String doUpload(InputStream stream, String bucket, String path, String originName, ObjectMeta meta) {
 
+        PutObjectResult result;
         try {
             ObjectMetadata metadata = new ObjectMetadata();
-            metadata.setContentLength(stream.available());
+            metadata.setContentLength(null == meta ? stream.available() : meta.getSize());
             metadata.setCacheControl("no-cache");
             metadata.setHeader("Pragma", "no-cache");
             metadata.setContentEncoding("utf-8");
-//            metadata.setContentType(ContentType.APPLICATION_OCTET_STREAM.getMimeType());
+            metadata.setContentType(null != meta && null != meta.getContentType() ? meta.getContentType() : contentTypeByFileName(path));
             if (StringUtils.isNotBlank(originName)) {
                 metadata.setContentDisposition("attachment;filename=" + originName);
             }
-            PutObjectResult result = cosClient.putObject(bucket, path, stream, metadata);
+            if (null != meta) {
+                metadata.setContentMD5(meta.getContentMd5());
+                meta.getUserMetadata().forEach(metadata::addUserMetadata);
+            }
+            result = cosClient.get().putObject(bucket, path, stream, metadata);
             if(log.isDebugEnabled()) {
                 log.debug("cos upload success: {}", result);
             }
-            return path;
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
+        if (null != meta && cosProperties.isVerifyUpload() && null != meta.getCrc64() && null != result.getCrc64Ecma()
+                && !meta.getCrc64().equals(result.getCrc64Ecma())) {
+            log.error("文件校验失败: {}, CRC64: {}, 期望: {}", path, result.getCrc64Ecma(), meta.getCrc64());
+            cosClient.get().deleteObject(bucket, path);
+            throw new RuntimeException(DocumentReturnCodeEnum.CHECKSUM_MISMATCH.getMsg());
+        }
+        return path;
+    }
+
+    @Override
+    public Set<ChecksumAlgorithm> getChecksumAlgorithms() {
+        return EnumSet.of(ChecksumAlgorithm.MD5, ChecksumAlgorithm.CRC64);
     }
 
     @Override
     public InputStream download(String key) {
-        COSObject object = cosClient.getObject(cosProperties.getBucketName(), key);
+        return download(key, false);
+    }
+
+    @Override
+    public InputStream download(String key, boolean isPublic) {
+        return download(key, isPublic, cosProperties.isVerifyDownload());
+    }
+
+    /**
+     * 按服务端返回的CRC64校验
+     **/
+    @Override
+    public InputStream download(String key, boolean isPublic, boolean verify) {
+        COSObject object;
+        try {
+            object = cosClient.get().getObject(getBucket(isPublic), key);
+        } catch (CosServiceException e) {
+            if (e.getStatusCode() == HttpStatus.SC_NOT_FOUND) {
+                throw new RuntimeException(DocumentReturnCodeEnum.NOT_FOUND.getMsg());
+            }
+            log.error("下载失败: {} {}", key, e.getMessage());
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        } catch (CosClientException e) {
+            log.error("下载失败: {} {}", key, e.getMessage());
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        }
+        String crc64 = object.getObjectMetadata().getCrc64Ecma();
+        if (verify && null != crc64) {
+            return new ChecksumInputStream(object.getObjectContent(), ChecksumAlgorithm.CRC64, crc64);
+        }
         return object.getObjectContent();
     }
 
+    @Override
+    public boolean exists(String key, boolean isPublic) {
+        try {
+            return cosClient.get().doesObjectExist(getBucket(isPublic), key);
+        } catch (CosClientException e) {
+            log.error("无法查询文件: {} {}", key, e.getMessage());
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        }
+    }
+
+    @Override
+    public ObjectMeta stat(String key, boolean isPublic) {
+        ObjectMetadata metadata;
+        try {
+            metadata = cosClient.get().getObjectMetadata(getBucket(isPublic), key);
+        } catch (CosServiceException e) {
+            if (e.getStatusCode() == HttpStatus.SC_NOT_FOUND) {
+                return null;
+            }
+            log.error("无法查询文件: {} {}", key, e.getMessage());
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        } catch (CosClientException e) {
+            log.error("无法查询文件: {} {}", key, e.getMessage());
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        }
+        ObjectMeta meta = new ObjectMeta();
+        meta.setSize(metadata.getContentLength());
+        meta.setContentType(metadata.getContentType());
+        meta.getUserMetadata().putAll(metadata.getUserMetadata());
+        return meta;
+    }
+
+    @Override
+    public InputStream download(String key, boolean isPublic, long offset, long length) {
+        GetObjectRequest request = new GetObjectRequest(getBucket(isPublic), key);
+        request.setRange(offset, length < 0 ? -1 : offset + length - 1);
+        try {
+            return cosClient.get().getObject(request).getObjectContent();
+        } catch (CosServiceException e) {
+            if (e.getStatusCode() == HttpStatus.SC_NOT_FOUND) {
+                throw new RuntimeException(DocumentReturnCodeEnum.NOT_FOUND.getMsg());
+            }
+            log.error("下载失败: {} {}", key, e.getMessage());
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        } catch (CosClientException e) {
+            log.error("下载失败: {} {}", key, e.getMessage());
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        }
+    }
+
+    @Override
+    public boolean isMultipartSupported() {
+        return true;
+    }
+
+    @Override
+    public String initiateMultipart(String bucket, String path, ObjectMeta meta) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(null == meta || null == meta.getContentType() ? contentTypeByFileName(path) : meta.getContentType());
+        if (null != meta) {
+            meta.getUserMetadata().forEach(metadata::addUserMetadata);
+        }
+        try {
+            return cosClient.get().initiateMultipartUpload(new InitiateMultipartUploadRequest(bucket, path, metadata)).getUploadId();
+        } catch (CosClientException e) {
+            log.error("无法发起分片上传: {}", path, e);
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        }
+    }
+
+    @Override
+    public UploadPart uploadPart(String bucket, String path, String uploadId, int partNumber, InputStream stream, long size) {
+        UploadPartRequest request = new UploadPartRequest().withBucketName(bucket).withKey(path).withUploadId(uploadId)
+                .withPartNumber(partNumber).withInputStream(stream).withPartSize(size);
+        try {
+            UploadPartResult result = cosClient.get().uploadPart(request);
+            return new UploadPart(partNumber, StringUtils.strip(result.getETag(), "\""), size);
+        } catch (CosClientException e) {
+            log.error("分片上传失败: {} #{}", path, partNumber, e);
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        }
+    }
+
+    @Override
+    public List<UploadPart> listParts(String bucket, String path, String uploadId) {
+        List<UploadPart> parts = new ArrayList<>();
+        ListPartsRequest request = new ListPartsRequest(bucket, path, uploadId);
+        try {
+            PartListing listing;
+            do {
+                listing = cosClient.get().listParts(request);
+                for (PartSummary part : listing.getParts()) {
+                    parts.add(new UploadPart(part.getPartNumber(), StringUtils.strip(part.getETag(), "\""), part.getSize()));
+                }
+                request.setPartNumberMarker(listing.getNextPartNumberMarker());
+            } while (listing.isTruncated());
+            return parts;
+        } catch (CosServiceException e) {
+            if (NO_SUCH_UPLOAD.equals(e.getErrorCode())) {
+                return null;
+            }
+            log.error("无法查询已上传分片: {}", path, e);
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        } catch (CosClientException e) {
+            log.error("无法查询已上传分片: {}", path, e);
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        }
+    }
+
+    @Override
+    public String completeMultipart(String bucket, String path, String uploadId, List<UploadPart> parts) {
+        List<PartETag> etags = parts.stream()
+                .map(part -> new PartETag(part.getPartNumber(), part.getEtag()))
+                .collect(Collectors.toList());
+        try {
+            cosClient.get().completeMultipartUpload(new CompleteMultipartUploadRequest(bucket, path, uploadId, etags));
+            return path;
+        } catch (CosClientException e) {
+            log.error("无法完成分片上传: {}", path, e);
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        }
+    }
+
+    @Override
+    public void abortMultipart(String bucket, String path, String uploadId) {
+        try {
+            cosClient.get().abortMultipartUpload(new AbortMultipartUploadRequest(bucket, path, uploadId));
+        } catch (CosServiceException e) {
+            if (!NO_SUCH_UPLOAD.equals(e.getErrorCode())) {
+                log.error("无法取消分片上传: {}", path, e);
+                throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+            }
+        } catch (CosClientException e) {
+            log.error("无法取消分片上传: {}", path, e);
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        }
+    }
+
+    @Override
+    public List<MultipartUpload> listMultipartUploads(String bucket) {
+        List<MultipartUpload> uploads = new ArrayList<>();
+        ListMultipartUploadsRequest request = new ListMultipartUploadsRequest(bucket);
+        try {
+            MultipartUploadListing listing;
+            do {
+                listing = cosClient.get().listMultipartUploads(request);
+                for (com.qcloud.cos.model.MultipartUpload upload : listing.getMultipartUploads()) {
+                    uploads.add(new MultipartUpload(bucket, upload.getKey(), upload.getUploadId(),
+                            null == upload.getInitiated() ? null : upload.getInitiated().toInstant()));
+                }
+                request.setKeyMarker(listing.getNextKeyMarker());
+                request.setUploadIdMarker(listing.getNextUploadIdMarker());
+            } while (listing.isTruncated());
+            return uploads;
+        } catch (CosClientException e) {
+            log.error("无法列出分片上传: {}", bucket, e);
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+        }
+    }
+
+    @Override
+    public String preSignUploadPart(String bucket, String path, String uploadId, int partNumber, Duration expiresIn) {
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucket, path, HttpMethodName.PUT);
+        request.setExpiration(new Date(System.currentTimeMillis() + expiresIn.toMillis()));
+        request.addRequestParameter(PARAM_UPLOAD_ID, uploadId);
+        request.addRequestParameter(PARAM_PART_NUMBER, String.valueOf(partNumber));
+        return cosClient.get().generatePresignedUrl(request).toString();
+    }
+
     @Override
     public String copyObject(String source, String target, boolean isPublic) {
         String bucket = getBucket(isPublic);
-        CopyObjectResult result = cosClient.copyObject(bucket, source, bucket, target);
+        CopyObjectResult result = cosClient.get().copyObject(bucket, source, bucket, target);
         if(null != result && result.getETag() != null) {
             return target;
         }
@@ -95,9 +379,9 @@ public class TencentCosWorker implements StorageWorker {
     }
 
     @Override
-    public boolean deleteFile(String path) {
-        cosClient.deleteObject(cosProperties.getBucketName(), path);
-        return !cosClient.doesObjectExist(cosProperties.getBucketName(), path);
+    protected boolean doDelete(String bucket, String path) {
+        cosClient.get().deleteObject(bucket, path);
+        return !cosClient.get().doesObjectExist(bucket, path);
     }
 
     @Override
@@ -105,7 +389,7 @@ public class TencentCosWorker implements StorageWorker {
         GeneratePresignedUrlRequest generatePresignedUrlRequest = new GeneratePresignedUrlRequest(cosProperties.getBucketName(), path);
         long time = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(expire);
         generatePresignedUrlRequest.setExpiration(new Date(time));
-        URL url = cosClient.generatePresignedUrl(generatePresignedUrlRequest);
+        URL url = cosClient.get().generatePresignedUrl(generatePresignedUrlRequest);
         return url.toString();
     }
 
@@ -114,6 +398,16 @@ public class TencentCosWorker implements StorageWorker {
         return cosProperties.getEndPoint();
     }
 
+    @Override
+    public CommonProperties.Derivative getDerivative() {
+        return cosProperties.getDerivative();
+    }
+
+    @Override
+    public MimeRegistry getMimeRegistry() {
+        return mimeRegistry;
+    }
+
     @Override
     public String getBucket(boolean isPublic) {
         return isPublic ? cosProperties.getBucketPublic() : cosProperties.getBucketName();
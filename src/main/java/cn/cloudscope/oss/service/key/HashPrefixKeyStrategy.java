@@ -0,0 +1,50 @@
+package cn.cloudscope.oss.service.key;
+
+import java.time.Clock;
+
+/**
+ *  hash在前：hash前缀/年月/文件名，如 3fa2/202610/uuid.jpg。路径的第一段即均匀分散，
+ *  写入分布在16^prefixLength个前缀上，适合写入量大的场景；按月份列举文件需要遍历所有前缀
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 00:10
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+public class HashPrefixKeyStrategy implements KeyStrategy {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final int prefixLength;
+
+    private final TimeFormat month;
+
+    /**
+     * @param prefixLength  hash前缀的十六进制位数，1~8
+     **/
+    public HashPrefixKeyStrategy(int prefixLength) {
+        this(prefixLength, Clock.systemDefaultZone());
+    }
+
+    public HashPrefixKeyStrategy(int prefixLength, Clock clock) {
+        if (prefixLength < 1 || prefixLength > 8) {
+            throw new IllegalArgumentException("prefixLength应为1~8: " + prefixLength);
+        }
+        this.prefixLength = prefixLength;
+        this.month = new TimeFormat("yyyyMM", clock);
+    }
+
+    @Override
+    public String generate(String fileName) {
+        String time = month.current();
+        int hash = KeyStrategy.hash(fileName);
+        StringBuilder key = new StringBuilder(prefixLength + time.length() + fileName.length() + 2);
+        for (int shift = 28; shift > 28 - prefixLength * 4; shift -= 4) {
+            key.append(HEX_DIGITS[(hash >>> shift) & 0xF]);
+        }
+        return key.append('/').append(time).append('/').append(fileName).toString();
+    }
+}
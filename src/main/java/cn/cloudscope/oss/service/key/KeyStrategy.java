@@ -0,0 +1,50 @@
+package cn.cloudscope.oss.service.key;
+
+import cn.cloudscope.oss.utils.UUIDUtil;
+
+/**
+ *  未指定文件夹时的文件路径（对象键）生成规则。S3兼容的存储按键的前缀划分分区，同一前缀的写入集中在一个分区上，
+ *  大量写入时应让新文件分散到足够多的前缀下
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 00:10
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+public interface KeyStrategy {
+
+    /**
+     * 生成文件路径
+     * @param fileName  文件名，通常为随机UUID加后缀
+     * @return 不以"/"开头的完整路径，以文件名结尾
+     **/
+    String generate(String fileName);
+
+    /**
+     * 生成文件名（不含后缀）
+     * @return 默认为随机UUID
+     **/
+    default String generateId() {
+        return UUIDUtil.buildUuid();
+    }
+
+    /** 年月/两级hash目录/文件名，与此前的路径一致 */
+    KeyStrategy LEGACY = new LegacyKeyStrategy();
+
+    /**
+     * 文件名的hash，String.hashCode经过混合，文件名相近（如递增编号）时也能均匀分布
+     * @param fileName  文件名
+     * @return int
+     **/
+    static int hash(String fileName) {
+        int h = fileName.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,35 @@
+package cn.cloudscope.oss.service.key;
+
+import cn.cloudscope.oss.utils.PathUtil;
+
+import java.time.Clock;
+
+/**
+ *  年月/两级hash目录/文件名，如 202610/3/12/uuid.jpg。每月的写入共用同一个年月前缀，其下只有256个目录，
+ *  仅为兼容已有路径保留
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 00:10
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+public class LegacyKeyStrategy implements KeyStrategy {
+
+    private final TimeFormat month;
+
+    public LegacyKeyStrategy() {
+        this(Clock.systemDefaultZone());
+    }
+
+    public LegacyKeyStrategy(Clock clock) {
+        this.month = new TimeFormat("yyyyMM", clock);
+    }
+
+    @Override
+    public String generate(String fileName) {
+        return month.current() + "/" + PathUtil.generatePath(fileName) + "/" + fileName;
+    }
+}
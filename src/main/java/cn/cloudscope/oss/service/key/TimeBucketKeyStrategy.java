@@ -0,0 +1,56 @@
+package cn.cloudscope.oss.service.key;
+
+import java.time.Clock;
+
+/**
+ *  时间分桶：时间/桶编号/文件名，如 20261019/0a3/uuid.jpg。保留按时间列举及按时间设置生命周期的便利，
+ *  同一时间段的写入按文件名hash分散到fanOut个桶（前缀）中，存储按前缀拆分分区后并发写入不再集中在一处
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 00:10
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+public class TimeBucketKeyStrategy implements KeyStrategy {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final TimeFormat time;
+
+    private final int fanOut;
+
+    /** 桶编号的十六进制位数，按fanOut补零，保持同一层路径等长 */
+    private final int width;
+
+    /**
+     * @param pattern   时间格式，如yyyyMM、yyyyMMdd
+     * @param fanOut    每个时间段下的桶数
+     **/
+    public TimeBucketKeyStrategy(String pattern, int fanOut) {
+        this(pattern, fanOut, Clock.systemDefaultZone());
+    }
+
+    public TimeBucketKeyStrategy(String pattern, int fanOut, Clock clock) {
+        if (fanOut < 1) {
+            throw new IllegalArgumentException("fanOut应大于0: " + fanOut);
+        }
+        this.time = new TimeFormat(pattern, clock);
+        this.fanOut = fanOut;
+        this.width = Math.max(1, (35 - Integer.numberOfLeadingZeros(fanOut - 1)) / 4);
+    }
+
+    @Override
+    public String generate(String fileName) {
+        String current = time.current();
+        // 无符号乘法取高位得到0~fanOut-1，分布与hash的高位一致，不受fanOut是否为2的幂影响
+        int bucket = (int) (((KeyStrategy.hash(fileName) & 0xFFFFFFFFL) * fanOut) >>> 32);
+        StringBuilder key = new StringBuilder(current.length() + width + fileName.length() + 2).append(current).append('/');
+        for (int shift = (width - 1) * 4; shift >= 0; shift -= 4) {
+            key.append(HEX_DIGITS[(bucket >>> shift) & 0xF]);
+        }
+        return key.append('/').append(fileName).toString();
+    }
+}
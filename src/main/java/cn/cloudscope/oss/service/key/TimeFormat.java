@@ -0,0 +1,52 @@
+package cn.cloudscope.oss.service.key;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+
+/**
+ *  当前时间的格式化结果，同一秒内复用，路径生成时不再每次创建格式化器及格式化
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 00:10
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+final class TimeFormat {
+
+    private final DateTimeFormatter formatter;
+
+    private final Clock clock;
+
+    private volatile Cached cached = new Cached(Long.MIN_VALUE, null);
+
+    TimeFormat(String pattern, Clock clock) {
+        this.formatter = DateTimeFormatter.ofPattern(pattern).withZone(clock.getZone());
+        this.clock = clock;
+    }
+
+    String current() {
+        long second = Math.floorDiv(clock.millis(), 1000);
+        Cached current = cached;
+        if (current.second != second) {
+            current = new Cached(second, formatter.format(Instant.ofEpochSecond(second)));
+            cached = current;
+        }
+        return current.text;
+    }
+
+    private static final class Cached {
+
+        private final long second;
+
+        private final String text;
+
+        private Cached(long second, String text) {
+            this.second = second;
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package cn.cloudscope.oss.service.key;
+
+import cn.cloudscope.oss.utils.UUIDUtil;
+
+/**
+ *  路径规则不变，文件名改用按时间排序的UUID（版本7）
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 00:40
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+public class TimeOrderedKeyStrategy implements KeyStrategy {
+
+    private final KeyStrategy delegate;
+
+    public TimeOrderedKeyStrategy(KeyStrategy delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String generate(String fileName) {
+        return delegate.generate(fileName);
+    }
+
+    @Override
+    public String generateId() {
+        return UUIDUtil.buildTimeOrderedUuid();
+    }
+}
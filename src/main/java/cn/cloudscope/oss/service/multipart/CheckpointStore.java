@@ -0,0 +1,42 @@
+package cn.cloudscope.oss.service.multipart;
+
+import java.util.List;
+
+/**
+ *  断点存储，默认保存在本地目录（见 {@link LocalFileCheckpointStore}）；
+ *  多实例部署且需要跨实例续传时，可实现该接口（如保存到数据库）并注册为Bean
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 18:30
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+public interface CheckpointStore {
+
+    /**
+     * 读取断点
+     * @param id    断点ID
+     * @return 不存在时为null
+     **/
+    UploadCheckpoint load(String id);
+
+    /**
+     * 保存断点，返回时应已持久化
+     * @param checkpoint    断点
+     **/
+    void save(UploadCheckpoint checkpoint);
+
+    /**
+     * 删除断点
+     * @param id    断点ID
+     **/
+    void remove(String id);
+
+    /**
+     * @return 全部断点，供清理遗留分片使用
+     **/
+    List<UploadCheckpoint> list();
+}
@@ -0,0 +1,113 @@
+package cn.cloudscope.oss.service.multipart;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ *  本地目录断点存储，每个断点保存为一个文件，先写临时文件再原子替换，进程中断时不会留下写了一半的断点
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 18:30
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Slf4j
+public class LocalFileCheckpointStore implements CheckpointStore {
+
+    private static final String SUFFIX_CHECKPOINT = ".checkpoint";
+
+    private static final String SUFFIX_TEMP = ".tmp";
+
+    private final Path dir;
+
+    /**
+     * @param dir   断点目录，首次保存时创建
+     **/
+    public LocalFileCheckpointStore(Path dir) {
+        this.dir = dir;
+    }
+
+    @Override
+    public UploadCheckpoint load(String id) {
+        try {
+            return read(id, dir.resolve(id + SUFFIX_CHECKPOINT));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("无法读取断点: " + id, e);
+        }
+    }
+
+    @Override
+    public void save(UploadCheckpoint checkpoint) {
+        Path temp = dir.resolve(checkpoint.getId() + SUFFIX_TEMP);
+        try {
+            Files.createDirectories(dir);
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                checkpoint.toProperties().store(out, null);
+            }
+            Path target = dir.resolve(checkpoint.getId() + SUFFIX_CHECKPOINT);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("无法保存断点: " + checkpoint.getId(), e);
+        }
+    }
+
+    @Override
+    public void remove(String id) {
+        try {
+            Files.deleteIfExists(dir.resolve(id + SUFFIX_CHECKPOINT));
+        } catch (IOException e) {
+            log.warn("无法删除断点: {}", id, e);
+        }
+    }
+
+    @Override
+    public List<UploadCheckpoint> list() {
+        List<UploadCheckpoint> checkpoints = new ArrayList<>();
+        if (!Files.isDirectory(dir)) {
+            return checkpoints;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + SUFFIX_CHECKPOINT)) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                try {
+                    checkpoints.add(read(fileName.substring(0, fileName.length() - SUFFIX_CHECKPOINT.length()), file));
+                } catch (IOException | RuntimeException e) {
+                    log.warn("无法读取断点: {}", file, e);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("无法读取断点目录: " + dir, e);
+        }
+        return checkpoints;
+    }
+
+    private static UploadCheckpoint read(String id, Path file) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        }
+        return UploadCheckpoint.fromProperties(id, properties);
+    }
+}
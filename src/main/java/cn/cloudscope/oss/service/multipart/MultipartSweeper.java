@@ -0,0 +1,123 @@
+package cn.cloudscope.oss.service.multipart;
+
+import cn.cloudscope.oss.bean.MultipartUpload;
+import cn.cloudscope.oss.service.StorageWorker;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  遗留分片清理：定期取消超时未更新的断点对应的分片上传，以及发起已久且没有断点的分片上传
+ *  （如断点文件丢失、直传客户端中途放弃），避免未完成的分片长期占用存储
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 18:30
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Slf4j
+public class MultipartSweeper implements Closeable {
+
+    private final StorageWorker storageWorker;
+
+    private final CheckpointStore checkpointStore;
+
+    private final Duration orphanTtl;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "oss-multipart-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param storageWorker     存储实现
+     * @param checkpointStore   断点存储
+     * @param orphanTtl         遗留判定时长
+     * @param interval          清理间隔，首次清理在一个间隔后执行
+     **/
+    public MultipartSweeper(StorageWorker storageWorker, CheckpointStore checkpointStore, Duration orphanTtl, Duration interval) {
+        this.storageWorker = storageWorker;
+        this.checkpointStore = checkpointStore;
+        this.orphanTtl = orphanTtl;
+        executor.scheduleWithFixedDelay(this::sweepQuietly, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 立即执行一次清理
+     * @return 取消的分片上传数
+     **/
+    public int sweep() {
+        Instant deadline = Instant.now().minus(orphanTtl);
+        Set<String> active = new HashSet<>();
+        int aborted = 0;
+        for (UploadCheckpoint checkpoint : checkpointStore.list()) {
+            if (Instant.ofEpochMilli(checkpoint.getUpdated()).isBefore(deadline)) {
+                if (abort(checkpoint.getBucket(), checkpoint.getPath(), checkpoint.getUploadId())) {
+                    checkpointStore.remove(checkpoint.getId());
+                    aborted++;
+                }
+            } else {
+                active.add(checkpoint.getUploadId());
+            }
+        }
+        if (!storageWorker.isMultipartSupported()) {
+            return aborted;
+        }
+        Set<String> buckets = new LinkedHashSet<>();
+        buckets.add(storageWorker.getBucket(false));
+        buckets.add(storageWorker.getBucket(true));
+        for (String bucket : buckets) {
+            if (StringUtils.isBlank(bucket)) {
+                continue;
+            }
+            for (MultipartUpload upload : storageWorker.listMultipartUploads(bucket)) {
+                if (!active.contains(upload.getUploadId()) && null != upload.getInitiated()
+                        && upload.getInitiated().isBefore(deadline)
+                        && abort(bucket, upload.getPath(), upload.getUploadId())) {
+                    aborted++;
+                }
+            }
+        }
+        if (aborted > 0) {
+            log.info("已取消{}个遗留的分片上传", aborted);
+        }
+        return aborted;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void sweepQuietly() {
+        try {
+            sweep();
+        } catch (RuntimeException e) {
+            log.warn("清理遗留分片失败: {}", e.getMessage());
+        }
+    }
+
+    private boolean abort(String bucket, String path, String uploadId) {
+        try {
+            storageWorker.abortMultipart(bucket, path, uploadId);
+            log.debug("已取消分片上传: {}/{} {}", bucket, path, uploadId);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("无法取消分片上传: {}/{} {}", bucket, path, e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package cn.cloudscope.oss.service.multipart;
+
+import cn.cloudscope.oss.bean.DocumentReturnCodeEnum;
+import cn.cloudscope.oss.bean.ObjectMeta;
+import cn.cloudscope.oss.bean.UploadPart;
+import cn.cloudscope.oss.bean.UploadResult;
+import cn.cloudscope.oss.config.properties.MultipartProperties;
+import cn.cloudscope.oss.service.StorageWorker;
+import cn.cloudscope.oss.utils.FileUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.apache.commons.io.input.CountingInputStream;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ *  断点续传：大文件按分片上传，每完成一个分片即保存断点（分片上传ID及分片ETag）。
+ *  上传失败或进程重启后再次上传同一文件时，与服务端已有分片核对后从断点继续，不再从头上传
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 18:30
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Slf4j
+public class ResumableUploader {
+
+    private final StorageWorker storageWorker;
+
+    private final CheckpointStore checkpointStore;
+
+    private final MultipartProperties properties;
+
+    /** 正在上传的断点，避免同一文件并发上传时互相覆盖断点 */
+    private final Map<String, Boolean> uploading = new ConcurrentHashMap<>();
+
+    public ResumableUploader(StorageWorker storageWorker, CheckpointStore checkpointStore, MultipartProperties properties) {
+        this.storageWorker = storageWorker;
+        this.checkpointStore = checkpointStore;
+        this.properties = properties;
+    }
+
+    /**
+     * 上传文件，失败后再次调用即可续传
+     * @param file      文件
+     * @param folder    目标文件夹，可为空
+     * @author wenxiaopeng
+     * @date 2026/10/19 18:30
+     * @return cn.cloudscope.oss.bean.UploadResult
+     **/
+    public UploadResult upload(File file, String folder) {
+        return upload(file, file.getName(), folder, false);
+    }
+
+    /**
+     * 上传文件，失败后以相同参数再次调用即可续传；不生成缩略图，也不参与去重
+     * @param file      文件
+     * @param fileName  文件名
+     * @param folder    目标文件夹，可为空
+     * @param isPublic  上传到公开库
+     * @author wenxiaopeng
+     * @date 2026/10/19 18:30
+     * @return cn.cloudscope.oss.bean.UploadResult
+     * @throws RuntimeException 上传失败，断点已保存
+     **/
+    public UploadResult upload(File file, String fileName, String folder, boolean isPublic) {
+        Path source = file.toPath().toAbsolutePath();
+        long size = file.length();
+        if (!storageWorker.isMultipartSupported() || size <= properties.getPartSize().toBytes()) {
+            try (InputStream in = Files.newInputStream(source)) {
+                return storageWorker.upload(in, fileName, folder, false, isPublic);
+            } catch (IOException e) {
+                log.error("文件上传失败：{}", e.getMessage());
+                throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+            }
+        }
+        String bucket = storageWorker.getBucket(isPublic);
+        String id = DigestUtils.md5Hex(bucket + "\n" + StringUtils.defaultString(folder) + "\n" + source + "\n"
+                + size + "\n" + file.lastModified());
+        if (null != uploading.putIfAbsent(id, Boolean.TRUE)) {
+            throw new IllegalStateException("文件正在上传: " + source);
+        }
+        try {
+            UploadCheckpoint checkpoint = resume(id, source);
+            if (null == checkpoint) {
+                checkpoint = initiate(id, bucket, folder, fileName, source, size);
+            } else {
+                log.info("从断点继续上传: {}，已完成{}/{}个分片", checkpoint.getPath(),
+                        checkpoint.getParts().size(), checkpoint.getPartCount());
+            }
+            for (int partNumber = 1; partNumber <= checkpoint.getPartCount(); partNumber++) {
+                if (!checkpoint.getParts().containsKey(partNumber)) {
+                    checkpoint.getParts().put(partNumber, uploadPart(checkpoint, source, partNumber));
+                    checkpoint.setUpdated(System.currentTimeMillis());
+                    checkpointStore.save(checkpoint);
+                }
+            }
+            String path = storageWorker.completeMultipart(checkpoint.getBucket(), checkpoint.getPath(),
+                    checkpoint.getUploadId(), new ArrayList<>(checkpoint.getParts().values()));
+            checkpointStore.remove(id);
+            UploadResult result = new UploadResult();
+            result.setFileName(fileName);
+            result.setPhyPath(path);
+            return result;
+        } finally {
+            uploading.remove(id);
+        }
+    }
+
+    /**
+     * 读取断点并与服务端已有分片核对：服务端不存在的分片重新上传，
+     * 断点中没有记录的分片（保存断点前中断）以本地内容的MD5核对
+     * @return 无法续传时为null
+     **/
+    private UploadCheckpoint resume(String id, Path source) {
+        UploadCheckpoint checkpoint = checkpointStore.load(id);
+        if (null == checkpoint) {
+            return null;
+        }
+        List<UploadPart> uploaded = storageWorker.listParts(checkpoint.getBucket(), checkpoint.getPath(), checkpoint.getUploadId());
+        if (null == uploaded) {
+            log.info("分片上传已失效，重新上传: {}", checkpoint.getPath());
+            checkpointStore.remove(id);
+            return null;
+        }
+        SortedMap<Integer, UploadPart> confirmed = new TreeMap<>();
+        for (UploadPart part : uploaded) {
+            int partNumber = part.getPartNumber();
+            if (partNumber > checkpoint.getPartCount() || part.getSize() != partLength(checkpoint, partNumber)) {
+                continue;
+            }
+            UploadPart recorded = checkpoint.getParts().get(partNumber);
+            String etag = null == recorded ? md5(source, checkpoint, partNumber) : recorded.getEtag();
+            if (StringUtils.equalsIgnoreCase(etag, part.getEtag())) {
+                confirmed.put(partNumber, part);
+            }
+        }
+        checkpoint.setParts(confirmed);
+        return checkpoint;
+    }
+
+    private UploadCheckpoint initiate(String id, String bucket, String folder, String fileName, Path source, long size) {
+        String path = storageWorker.generatePath(folder, storageWorker.getKeyStrategy().generateId() + "." + FileUtil.getFileSuffix(fileName));
+        ObjectMeta meta = new ObjectMeta();
+        meta.setContentType(storageWorker.contentTypeByFileName(fileName));
+        UploadCheckpoint checkpoint = new UploadCheckpoint();
+        checkpoint.setId(id);
+        checkpoint.setBucket(bucket);
+        checkpoint.setPath(path);
+        checkpoint.setFileName(fileName);
+        checkpoint.setSource(source.toString());
+        checkpoint.setSize(size);
+        checkpoint.setPartSize(StorageWorker.multipartPartSize(size, properties.getPartSize().toBytes()));
+        checkpoint.setUploadId(storageWorker.initiateMultipart(bucket, path, meta));
+        checkpoint.setCreated(System.currentTimeMillis());
+        checkpoint.setUpdated(checkpoint.getCreated());
+        checkpointStore.save(checkpoint);
+        log.info("开始分片上传: {}，共{}个分片", path, checkpoint.getPartCount());
+        return checkpoint;
+    }
+
+    /**
+     * 上传单个分片，失败时按递增间隔重试
+     **/
+    private UploadPart uploadPart(UploadCheckpoint checkpoint, Path source, int partNumber) {
+        long length = partLength(checkpoint, partNumber);
+        RuntimeException failure = null;
+        for (int attempt = 0; attempt <= properties.getPartRetries(); attempt++) {
+            if (attempt > 0) {
+                sleep(properties.getRetryInterval().toMillis() * attempt);
+            }
+            try {
+                MessageDigest digest = properties.isVerifyParts() ? DigestUtils.getMd5Digest() : null;
+                UploadPart part;
+                long read;
+                try (CountingInputStream in = new CountingInputStream(null == digest
+                        ? openPart(source, checkpoint, partNumber)
+                        : new DigestInputStream(openPart(source, checkpoint, partNumber), digest))) {
+                    part = storageWorker.uploadPart(checkpoint.getBucket(), checkpoint.getPath(),
+                            checkpoint.getUploadId(), partNumber, in, length);
+                    read = in.getByteCount();
+                }
+                // 上传时顺带计算MD5，SDK未读完整个分片时才重新读取
+                String md5 = null == digest ? null
+                        : read == length ? Hex.encodeHexString(digest.digest()) : md5(source, checkpoint, partNumber);
+                if (null != md5 && !StringUtils.equalsIgnoreCase(md5, part.getEtag())) {
+                    log.warn("分片校验失败: {} #{}，ETag: {}，期望: {}", checkpoint.getPath(), partNumber, part.getEtag(), md5);
+                    throw new RuntimeException(DocumentReturnCodeEnum.CHECKSUM_MISMATCH.getMsg());
+                }
+                return part;
+            } catch (IOException e) {
+                failure = new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg(), e);
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+            log.warn("分片上传失败: {} #{}，第{}次", checkpoint.getPath(), partNumber, attempt + 1);
+        }
+        log.error("分片上传失败，已保存断点，再次上传时从第{}个分片继续: {}", partNumber, checkpoint.getPath());
+        throw failure;
+    }
+
+    private static long partLength(UploadCheckpoint checkpoint, int partNumber) {
+        long offset = (partNumber - 1) * checkpoint.getPartSize();
+        return Math.min(checkpoint.getPartSize(), checkpoint.getSize() - offset);
+    }
+
+    private static InputStream openPart(Path source, UploadCheckpoint checkpoint, int partNumber) throws IOException {
+        FileChannel channel = FileChannel.open(source, StandardOpenOption.READ);
+        channel.position((partNumber - 1) * checkpoint.getPartSize());
+        return new BoundedInputStream(Channels.newInputStream(channel), partLength(checkpoint, partNumber));
+    }
+
+    private static String md5(Path source, UploadCheckpoint checkpoint, int partNumber) {
+        try (InputStream in = openPart(source, checkpoint, partNumber)) {
+            return DigestUtils.md5Hex(in);
+        } catch (IOException e) {
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg(), e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg(), e);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package cn.cloudscope.oss.service.multipart;
+
+import cn.cloudscope.oss.bean.UploadPart;
+import lombok.Data;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Properties;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ *  断点续传的断点：分片上传ID及已完成的分片，每完成一个分片保存一次
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 18:30
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Data
+public class UploadCheckpoint {
+
+    private static final String PREFIX_PART = "part.";
+
+    /** 由桶、目标文件夹及源文件（路径、大小、修改时间）生成，源文件变化后不会续传 */
+    private String id;
+
+    private String bucket;
+
+    /** 远程文件路径 */
+    private String path;
+
+    private String uploadId;
+
+    private String fileName;
+
+    /** 源文件绝对路径 */
+    private String source;
+
+    private long size;
+
+    private long partSize;
+
+    /** 创建时间（毫秒） */
+    private long created;
+
+    /** 最近一次保存的时间（毫秒），超过遗留时长未更新的断点会被清理 */
+    private long updated;
+
+    /** 已完成的分片，按序号排列 */
+    private SortedMap<Integer, UploadPart> parts = new TreeMap<>();
+
+    /**
+     * @return 分片总数
+     **/
+    public int getPartCount() {
+        return (int) ((size + partSize - 1) / partSize);
+    }
+
+    public Properties toProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("bucket", bucket);
+        properties.setProperty("path", path);
+        properties.setProperty("uploadId", uploadId);
+        properties.setProperty("source", source);
+        properties.setProperty("size", String.valueOf(size));
+        properties.setProperty("partSize", String.valueOf(partSize));
+        properties.setProperty("created", String.valueOf(created));
+        properties.setProperty("updated", String.valueOf(updated));
+        if (StringUtils.isNotBlank(fileName)) {
+            properties.setProperty("fileName", fileName);
+        }
+        parts.values().forEach(part ->
+                properties.setProperty(PREFIX_PART + part.getPartNumber(), part.getEtag() + "," + part.getSize()));
+        return properties;
+    }
+
+    public static UploadCheckpoint fromProperties(String id, Properties properties) {
+        UploadCheckpoint checkpoint = new UploadCheckpoint();
+        checkpoint.setId(id);
+        checkpoint.setBucket(properties.getProperty("bucket"));
+        checkpoint.setPath(properties.getProperty("path"));
+        checkpoint.setUploadId(properties.getProperty("uploadId"));
+        checkpoint.setSource(properties.getProperty("source"));
+        checkpoint.setFileName(properties.getProperty("fileName"));
+        checkpoint.setSize(Long.parseLong(properties.getProperty("size")));
+        checkpoint.setPartSize(Long.parseLong(properties.getProperty("partSize")));
+        checkpoint.setCreated(Long.parseLong(properties.getProperty("created")));
+        checkpoint.setUpdated(Long.parseLong(properties.getProperty("updated")));
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(PREFIX_PART)) {
+                int partNumber = Integer.parseInt(name.substring(PREFIX_PART.length()));
+                String value = properties.getProperty(name);
+                checkpoint.getParts().put(partNumber, new UploadPart(partNumber,
+                        StringUtils.substringBeforeLast(value, ","), Long.parseLong(StringUtils.substringAfterLast(value, ","))));
+            }
+        }
+        return checkpoint;
+    }
+}
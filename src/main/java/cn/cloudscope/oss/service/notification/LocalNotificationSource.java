@@ -0,0 +1,60 @@
+package cn.cloudscope.oss.service.notification;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ *  由应用自行发布的存储事件，用于接入webhook、消息队列（如minio的AMQP通知）的消费者，或在测试中代替真实的事件
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 19:30
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Slf4j
+public class LocalNotificationSource implements NotificationSource {
+
+    private volatile Listener listener;
+
+    @Override
+    public void start(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * 发布文件写入事件，在调用线程中通知监听者
+     * @param bucket    桶
+     * @param key       文件路径
+     * @return 是否有监听者
+     **/
+    public boolean publish(String bucket, String key) {
+        return publish(bucket, key, Collections.emptyMap());
+    }
+
+    /**
+     * 发布文件写入事件，在调用线程中通知监听者
+     * @param bucket        桶
+     * @param key           文件路径
+     * @param userMetadata  文件的用户元数据
+     * @return 是否有监听者
+     **/
+    public boolean publish(String bucket, String key, Map<String, String> userMetadata) {
+        Listener current = listener;
+        if (null == current) {
+            log.debug("尚未开始接收事件，忽略: {}/{}", bucket, key);
+            return false;
+        }
+        current.onObjectCreated(bucket, key, userMetadata);
+        return true;
+    }
+
+    @Override
+    public void close() {
+        listener = null;
+    }
+}
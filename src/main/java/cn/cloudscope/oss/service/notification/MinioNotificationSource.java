@@ -0,0 +1,135 @@
+package cn.cloudscope.oss.service.notification;
+
+import cn.cloudscope.oss.service.impl.MinioWorker;
+import io.minio.CloseableIterator;
+import io.minio.Result;
+import io.minio.messages.Event;
+import io.minio.messages.NotificationRecords;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ *  minio桶通知：每个桶一个后台线程保持订阅连接，连接断开后按间隔重连。
+ *  断开期间写入的文件不会收到事件，可通过finalizeUpload补充处理
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 19:30
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Slf4j
+public class MinioNotificationSource implements NotificationSource {
+
+    private final MinioWorker minioWorker;
+
+    private final List<String> buckets;
+
+    private final String prefix;
+
+    private final String suffix;
+
+    private final Duration reconnectInterval;
+
+    private final List<Thread> threads = new ArrayList<>();
+
+    /** 当前的订阅连接，关闭时断开以结束阻塞的读取 */
+    private final Map<String, CloseableIterator<Result<NotificationRecords>>> connections = new ConcurrentHashMap<>();
+
+    private volatile Listener listener;
+
+    private volatile boolean closed;
+
+    /**
+     * @param minioWorker       minio存储
+     * @param buckets           订阅的桶
+     * @param prefix            文件路径前缀，可为空
+     * @param suffix            文件路径后缀，可为空
+     * @param reconnectInterval 重连间隔
+     **/
+    public MinioNotificationSource(MinioWorker minioWorker, List<String> buckets, String prefix, String suffix,
+                                   Duration reconnectInterval) {
+        this.minioWorker = minioWorker;
+        this.buckets = buckets;
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.reconnectInterval = reconnectInterval;
+    }
+
+    @Override
+    public synchronized void start(Listener listener) {
+        this.listener = listener;
+        if (!threads.isEmpty() || closed) {
+            return;
+        }
+        for (String bucket : buckets) {
+            Thread thread = new Thread(() -> listen(bucket), "oss-notification-" + bucket);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        for (CloseableIterator<Result<NotificationRecords>> connection : connections.values()) {
+            try {
+                connection.close();
+            } catch (IOException ignored) {
+            }
+        }
+        threads.forEach(Thread::interrupt);
+        threads.clear();
+    }
+
+    private void listen(String bucket) {
+        while (!closed) {
+            try (CloseableIterator<Result<NotificationRecords>> events = minioWorker.listenObjectCreated(bucket, prefix, suffix)) {
+                connections.put(bucket, events);
+                log.info("已订阅minio事件: {}", bucket);
+                while (!closed && events.hasNext()) {
+                    for (Event event : events.next().get().events()) {
+                        dispatch(event);
+                    }
+                }
+            } catch (Exception e) {
+                if (!closed) {
+                    log.warn("minio事件连接断开，{}ms后重连: {} {}", reconnectInterval.toMillis(), bucket, e.getMessage());
+                }
+            } finally {
+                connections.remove(bucket);
+            }
+            if (!closed) {
+                try {
+                    Thread.sleep(reconnectInterval.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void dispatch(Event event) {
+        try {
+            // 事件中的文件路径经过URL编码
+            listener.onObjectCreated(event.bucketName(), URLDecoder.decode(event.objectName(), StandardCharsets.UTF_8.name()),
+                    null == event.userMetadata() ? Collections.emptyMap() : event.userMetadata());
+        } catch (UnsupportedEncodingException | RuntimeException e) {
+            log.warn("处理minio事件失败: {}/{} {}", event.bucketName(), event.objectName(), e.getMessage());
+        }
+    }
+}
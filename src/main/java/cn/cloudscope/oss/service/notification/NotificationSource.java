@@ -0,0 +1,42 @@
+package cn.cloudscope.oss.service.notification;
+
+import java.io.Closeable;
+import java.util.Map;
+
+/**
+ *  存储事件来源，文件写入存储后通知监听者
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 19:30
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+public interface NotificationSource extends Closeable {
+
+    /**
+     * 开始接收事件，重复调用时替换监听者
+     * @param listener  监听者
+     **/
+    void start(Listener listener);
+
+    /**
+     * 停止接收事件
+     **/
+    @Override
+    void close();
+
+    @FunctionalInterface
+    interface Listener {
+
+        /**
+         * 文件已写入存储
+         * @param bucket        桶
+         * @param key           文件路径
+         * @param userMetadata  事件携带的用户元数据，键可能带x-amz-meta-前缀，没有时为空
+         **/
+        void onObjectCreated(String bucket, String key, Map<String, String> userMetadata);
+    }
+}
@@ -0,0 +1,58 @@
+package cn.cloudscope.oss.service.replication;
+
+import cn.cloudscope.oss.service.StorageWorker;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ *  副本节点，记录读取延迟（指数加权平均）及健康状态
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 15:10
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+public class ReplicaNode {
+
+    private static final double EWMA_WEIGHT = 0.2;
+
+    @Getter
+    private final String name;
+
+    @Getter
+    private final StorageWorker worker;
+
+    private volatile double latencyNanos;
+
+    private volatile long unhealthyUntil;
+
+    public ReplicaNode(String name, StorageWorker worker) {
+        this.name = name;
+        this.worker = worker;
+    }
+
+    public boolean isHealthy() {
+        return System.currentTimeMillis() >= unhealthyUntil;
+    }
+
+    public void markUnhealthy(Duration cooldown) {
+        unhealthyUntil = System.currentTimeMillis() + cooldown.toMillis();
+    }
+
+    public void recordLatency(long nanos) {
+        double current = latencyNanos;
+        latencyNanos = current == 0 ? nanos : current + EWMA_WEIGHT * (nanos - current);
+        unhealthyUntil = 0;
+    }
+
+    /**
+     * @return 平均读取延迟，未读取过时为0
+     **/
+    public Duration getLatency() {
+        return Duration.ofNanos((long) latencyNanos);
+    }
+}
@@ -0,0 +1,58 @@
+package cn.cloudscope.oss.service.replication;
+
+import cn.cloudscope.oss.service.StorageWorker;
+import cn.cloudscope.oss.service.impl.ReplicatingWorker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  复制相关指标：各副本队列长度、复制延迟及读取延迟
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 15:10
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+public class ReplicationMeterBinder implements MeterBinder {
+
+    private final StorageWorker storageWorker;
+
+    public ReplicationMeterBinder(StorageWorker storageWorker) {
+        this.storageWorker = storageWorker;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(storageWorker instanceof ReplicatingWorker)) {
+            return;
+        }
+        ReplicatingWorker worker = (ReplicatingWorker) storageWorker;
+        worker.getQueues().forEach((name, queue) -> {
+            Gauge.builder("oss.replication.queue.depth", queue, ReplicationQueue::size)
+                    .description("待复制的任务数")
+                    .tag("replica", name)
+                    .register(registry);
+            TimeGauge.builder("oss.replication.lag", queue, TimeUnit.MILLISECONDS, q -> q.lag().toMillis())
+                    .description("最早的待复制任务已等待的时长")
+                    .tag("replica", name)
+                    .register(registry);
+            Gauge.builder("oss.replication.dead.letters", queue, ReplicationQueue::getDeadLetterCount)
+                    .description("失败次数达到上限、移入死信目录的任务数")
+                    .tag("replica", name)
+                    .register(registry);
+        });
+        for (ReplicaNode node : worker.getReplicas()) {
+            TimeGauge.builder("oss.replication.read.latency", node, TimeUnit.NANOSECONDS, n -> n.getLatency().toNanos())
+                    .description("副本平均读取延迟")
+                    .tag("replica", node.getName())
+                    .register(registry);
+        }
+    }
+}
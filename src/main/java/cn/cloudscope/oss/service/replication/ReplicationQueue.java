@@ -0,0 +1,322 @@
+package cn.cloudscope.oss.service.replication;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 单个副本的持久化复制队列。每个任务保存为目录下的一个文件，由单线程按顺序执行，
+ * 执行失败时队首任务保留并在重试间隔后再次执行，保证同一副本上的操作顺序与主副本一致；
+ * 失败次数达到上限的任务移入死信目录，需人工处理，不再阻塞后续任务
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 15:10
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Slf4j
+public class ReplicationQueue implements Closeable {
+
+    private static final String SUFFIX_TASK = ".task";
+
+    private static final String SUFFIX_TEMP = ".tmp";
+
+    private static final String DEAD_LETTER_DIR = "dead-letter";
+
+    private final String name;
+
+    private final Path dir;
+
+    private final Duration retryInterval;
+
+    private final int maxAttempts;
+
+    private final ReplicationTask.Handler handler;
+
+    private final ConcurrentSkipListMap<String, ReplicationTask> pending = new ConcurrentSkipListMap<>();
+
+    /** 尚未写入该副本的文件路径及对应的任务数 */
+    private final Map<String, Integer> pendingKeys = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    /** 下一个任务的序号，启动时从已有任务（含死信）的最大序号继续，保证任务ID单调递增 */
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final AtomicInteger deadLetters = new AtomicInteger();
+
+    private final ScheduledExecutorService executor;
+
+    public ReplicationQueue(String name, Path dir, Duration retryInterval, int maxAttempts, ReplicationTask.Handler handler) {
+        this.name = name;
+        this.dir = dir;
+        this.retryInterval = retryInterval;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.handler = handler;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "oss-replication-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        load();
+    }
+
+    /**
+     * 任务入队，写入磁盘后返回
+     * @param task  复制任务
+     **/
+    public void offer(ReplicationTask task) {
+        task.setId(String.format("%019d", sequence.getAndIncrement()));
+        try {
+            write(task);
+        } catch (IOException e) {
+            throw new UncheckedIOException("无法写入复制队列: " + name, e);
+        }
+        add(task);
+        trigger();
+    }
+
+    /**
+     * 文件是否仍在等待写入该副本
+     * @param key   文件路径
+     * @return boolean
+     **/
+    public boolean isPending(String key) {
+        return pendingKeys.containsKey(key);
+    }
+
+    /**
+     * @return 待复制任务数
+     **/
+    public int size() {
+        return pending.size();
+    }
+
+    /**
+     * @return 最早的待复制任务已等待的时长
+     **/
+    public Duration lag() {
+        Map.Entry<String, ReplicationTask> first = pending.firstEntry();
+        if (null == first) {
+            return Duration.ZERO;
+        }
+        return Duration.ofMillis(Math.max(0, System.currentTimeMillis() - first.getValue().getCreated()));
+    }
+
+    /**
+     * @return 移入死信目录的任务数（本次启动以来）
+     **/
+    public int getDeadLetterCount() {
+        return deadLetters.get();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void load() {
+        long last = -1;
+        try {
+            Files.createDirectories(dir);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + SUFFIX_TASK)) {
+                for (Path file : files) {
+                    String id = taskId(file);
+                    Properties properties = new Properties();
+                    try (InputStream in = Files.newInputStream(file)) {
+                        properties.load(in);
+                    }
+                    add(ReplicationTask.fromProperties(id, properties));
+                    last = Math.max(last, sequenceOf(id));
+                }
+            }
+            // 死信任务可能被手工移回队列目录，新任务不能与其重名
+            Path deadLetterDir = dir.resolve(DEAD_LETTER_DIR);
+            if (Files.isDirectory(deadLetterDir)) {
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(deadLetterDir, "*" + SUFFIX_TASK)) {
+                    for (Path file : files) {
+                        last = Math.max(last, sequenceOf(taskId(file)));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("无法加载复制队列: " + name, e);
+        }
+        sequence.set(last + 1);
+        if (!pending.isEmpty()) {
+            log.info("副本[{}]有{}个未完成的复制任务", name, pending.size());
+            trigger();
+        }
+    }
+
+    private static String taskId(Path file) {
+        String fileName = file.getFileName().toString();
+        return fileName.substring(0, fileName.length() - SUFFIX_TASK.length());
+    }
+
+    /**
+     * 任务ID中的序号，兼容旧版本“创建时间-序号”格式的ID（取创建时间）
+     * @return 无法解析时为-1
+     **/
+    private static long sequenceOf(String id) {
+        int separator = id.indexOf('-');
+        try {
+            return Long.parseLong(separator < 0 ? id : id.substring(0, separator));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void write(ReplicationTask task) throws IOException {
+        Path temp = dir.resolve(task.getId() + SUFFIX_TEMP);
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            task.toProperties().store(out, null);
+        }
+        Path file = dir.resolve(task.getId() + SUFFIX_TASK);
+        try {
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void add(ReplicationTask task) {
+        pending.put(task.getId(), task);
+        String written = writtenKey(task);
+        if (null != written) {
+            pendingKeys.merge(written, 1, Integer::sum);
+        }
+    }
+
+    private void remove(ReplicationTask task) {
+        pending.remove(task.getId());
+        String written = writtenKey(task);
+        if (null != written) {
+            pendingKeys.computeIfPresent(written, (key, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private static String writtenKey(ReplicationTask task) {
+        switch (task.getOperation()) {
+            case PUT:
+                return task.getKey();
+            case COPY:
+                return task.getTarget();
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 之后已有删除同一文件的任务时，写入类任务无需执行（主副本上的文件可能已不存在）
+     **/
+    private boolean isSuperseded(ReplicationTask task) {
+        String written = writtenKey(task);
+        if (null == written) {
+            return false;
+        }
+        for (ReplicationTask later : pending.tailMap(task.getId(), false).values()) {
+            if (later.getOperation() == ReplicationTask.Operation.DELETE && written.equals(later.getKey())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void trigger() {
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            Map.Entry<String, ReplicationTask> first = pending.firstEntry();
+            if (null == first) {
+                draining.set(false);
+                // 释放标记后可能有新任务入队但未触发
+                if (pending.isEmpty() || !draining.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            ReplicationTask task = first.getValue();
+            try {
+                if (!isSuperseded(task)) {
+                    handler.replicate(task);
+                }
+            } catch (Exception e) {
+                task.setAttempts(task.getAttempts() + 1);
+                if (task.getAttempts() < maxAttempts) {
+                    log.warn("副本[{}]复制失败（第{}次），{}后重试: {} {}", name, task.getAttempts(), retryInterval,
+                            task.getOperation(), task.getKey(), e);
+                    try {
+                        write(task);
+                    } catch (IOException ex) {
+                        log.warn("无法记录复制任务的失败次数: {}", first.getKey(), ex);
+                    }
+                    executor.schedule(this::drain, retryInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    return;
+                }
+                log.error("副本[{}]复制失败{}次，移入死信目录: {} {}", name, task.getAttempts(), task.getOperation(), task.getKey(), e);
+                park(task);
+                remove(task);
+                continue;
+            }
+            try {
+                Files.deleteIfExists(dir.resolve(first.getKey() + SUFFIX_TASK));
+            } catch (IOException e) {
+                log.warn("无法删除已完成的复制任务: {}", first.getKey(), e);
+            }
+            remove(task);
+        }
+    }
+
+    /**
+     * 任务移入死信目录，保留任务文件供排查或手工移回队列目录重新执行
+     **/
+    private void park(ReplicationTask task) {
+        deadLetters.incrementAndGet();
+        Path deadLetterDir = dir.resolve(DEAD_LETTER_DIR);
+        try {
+            Files.createDirectories(deadLetterDir);
+            write(task);
+            Files.move(dir.resolve(task.getId() + SUFFIX_TASK), deadLetterDir.resolve(task.getId() + SUFFIX_TASK),
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.error("无法移动复制任务到死信目录，删除任务: {}", task.getId(), e);
+            try {
+                Files.deleteIfExists(dir.resolve(task.getId() + SUFFIX_TASK));
+            } catch (IOException ex) {
+                log.warn("无法删除复制任务: {}", task.getId(), ex);
+            }
+        }
+    }
+}
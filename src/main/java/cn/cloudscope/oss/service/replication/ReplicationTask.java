@@ -0,0 +1,120 @@
+package cn.cloudscope.oss.service.replication;
+
+import lombok.Data;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ *  复制任务，记录操作、文件路径及上传时的Content-Type和用户元数据，文件内容在执行时从主副本读取
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 15:10
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Data
+public class ReplicationTask {
+
+    /** 用户元数据在任务文件中的前缀 */
+    private static final String PROPERTY_USER_META = "meta.";
+
+    /** 队列中的文件名，同时决定执行顺序 */
+    private String id;
+
+    private Operation operation;
+
+    /** 文件路径，复制操作时为源路径 */
+    private String key;
+
+    /** 复制操作的目标路径 */
+    private String target;
+
+    private String originName;
+
+    private boolean isPublic;
+
+    /** 上传时指定的Content-Type，为空时取主副本上的 */
+    private String contentType;
+
+    /** 上传时的用户元数据，与主副本上的合并后写入 */
+    private Map<String, String> userMetadata = new LinkedHashMap<>();
+
+    /** 任务创建时间（毫秒） */
+    private long created;
+
+    /** 已失败的次数 */
+    private int attempts;
+
+    public enum Operation {
+        /** 上传 */
+        PUT,
+        /** 复制 */
+        COPY,
+        /** 删除 */
+        DELETE,
+        ;
+    }
+
+    public static ReplicationTask of(Operation operation, String key, boolean isPublic) {
+        ReplicationTask task = new ReplicationTask();
+        task.setOperation(operation);
+        task.setKey(key);
+        task.setPublic(isPublic);
+        task.setCreated(System.currentTimeMillis());
+        return task;
+    }
+
+    Properties toProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("operation", operation.name());
+        properties.setProperty("key", key);
+        properties.setProperty("public", String.valueOf(isPublic));
+        properties.setProperty("created", String.valueOf(created));
+        properties.setProperty("attempts", String.valueOf(attempts));
+        if (StringUtils.isNotBlank(target)) {
+            properties.setProperty("target", target);
+        }
+        if (StringUtils.isNotBlank(originName)) {
+            properties.setProperty("originName", originName);
+        }
+        if (StringUtils.isNotBlank(contentType)) {
+            properties.setProperty("contentType", contentType);
+        }
+        userMetadata.forEach((name, value) -> properties.setProperty(PROPERTY_USER_META + name, value));
+        return properties;
+    }
+
+    static ReplicationTask fromProperties(String id, Properties properties) {
+        ReplicationTask task = of(Operation.valueOf(properties.getProperty("operation")),
+                properties.getProperty("key"), Boolean.parseBoolean(properties.getProperty("public")));
+        task.setId(id);
+        task.setCreated(Long.parseLong(properties.getProperty("created")));
+        task.setAttempts(Integer.parseInt(properties.getProperty("attempts", "0")));
+        task.setTarget(properties.getProperty("target"));
+        task.setOriginName(properties.getProperty("originName"));
+        task.setContentType(properties.getProperty("contentType"));
+        properties.stringPropertyNames().stream().filter(name -> name.startsWith(PROPERTY_USER_META))
+                .forEach(name -> task.getUserMetadata().put(name.substring(PROPERTY_USER_META.length()), properties.getProperty(name)));
+        return task;
+    }
+
+    /**
+     * 任务执行器
+     **/
+    @FunctionalInterface
+    public interface Handler {
+
+        /**
+         * 执行复制，抛出异常时任务保留在队列中稍后重试，失败次数达到上限后移入死信目录
+         * @param task  任务
+         * @throws Exception 复制失败
+         **/
+        void replicate(ReplicationTask task) throws Exception;
+    }
+}
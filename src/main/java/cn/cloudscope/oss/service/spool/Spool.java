@@ -0,0 +1,359 @@
+package cn.cloudscope.oss.service.spool;
+
+import cn.cloudscope.oss.utils.FileUtil;
+import cn.cloudscope.oss.utils.UUIDUtil;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ *  一次上传的暂存内容：先写入 {@link #getOutputStream()}，关闭输出流后可多次读取。
+ *  内容在内存块中时读取不经过磁盘；需要文件的处理（如视频解码）调用 {@link #toFile()} 时才写入暂存目录。
+ *  单个暂存只在一个线程中使用，关闭时归还内存块并删除暂存文件
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 01:10
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+public final class Spool implements Closeable {
+
+    private static final String FILE_NAME_IN_MEMORY = "spool";
+
+    private final SpoolManager manager;
+
+    private final String suffix;
+
+    private final List<byte[]> chunks = new ArrayList<>();
+
+    private final OutputStream output = new SpoolOutputStream();
+
+    private long size;
+
+    private Path file;
+
+    /** 写入中的暂存文件 */
+    private FileChannel channel;
+
+    /** 写入文件的缓冲，小块写入合并为整块，减少系统调用 */
+    private ByteBuffer pending;
+
+    /** 文件由暂存创建，关闭时删除 */
+    private boolean owned;
+
+    private boolean sealed;
+
+    private boolean closed;
+
+    Spool(SpoolManager manager, String suffix) {
+        this.manager = manager;
+        this.suffix = StringUtils.defaultString(suffix);
+    }
+
+    /**
+     * 以已有文件作为暂存，关闭时不删除文件
+     * @param file  文件
+     * @author wenxiaopeng
+     * @date 2026/10/19 01:10
+     * @return cn.cloudscope.oss.service.spool.Spool
+     **/
+    public static Spool of(File file) {
+        Spool spool = new Spool(null, FileUtil.getFileSuffix(file.getName()));
+        spool.file = file.toPath();
+        spool.size = file.length();
+        spool.sealed = true;
+        return spool;
+    }
+
+    /**
+     * 写入内容的输出流，关闭后内容不可再修改
+     * @return java.io.OutputStream
+     **/
+    public OutputStream getOutputStream() {
+        return output;
+    }
+
+    /**
+     * 读取内容，可多次打开；内存中的内容支持mark
+     * @author wenxiaopeng
+     * @date 2026/10/19 01:10
+     * @return 使用后需关闭
+     **/
+    public InputStream openStream() throws IOException {
+        checkReadable();
+        return null == file ? new ChunkInputStream(chunks, size) : Files.newInputStream(file);
+    }
+
+    /**
+     * 以文件形式取得内容，内容在内存中时写入暂存目录（占用磁盘配额），之后的读取均使用该文件，此前打开的流不能再读取
+     * @author wenxiaopeng
+     * @date 2026/10/19 01:10
+     * @return 文件在暂存关闭前有效
+     **/
+    public File toFile() throws IOException {
+        checkReadable();
+        if (null == file) {
+            spill();
+            closeChannel();
+        }
+        return file.toFile();
+    }
+
+    /**
+     * @return 内容大小
+     **/
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return 内容是否在内存中
+     **/
+    public boolean inMemory() {
+        return null == file;
+    }
+
+    /**
+     * @return 文件后缀，不含"."
+     **/
+    public String getSuffix() {
+        return suffix;
+    }
+
+    /**
+     * @return 文件名，用于按名称辅助识别类型
+     **/
+    public String getName() {
+        return null == file ? FILE_NAME_IN_MEMORY + (suffix.isEmpty() ? "" : "." + suffix) : file.getFileName().toString();
+    }
+
+    /**
+     * 归还内存块，删除暂存文件
+     **/
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        releaseChunks();
+        try {
+            closeChannel();
+        } finally {
+            if (owned) {
+                manager.releaseDisk(size);
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private void write(byte[] b, int off, int len) throws IOException {
+        if (sealed) {
+            throw new IOException("暂存已写入完成");
+        }
+        if (null == file && size + len > manager.getMemoryThreshold()) {
+            spill();
+        }
+        if (null != file) {
+            manager.reserveDisk(len);
+            size += len;
+            if (pending.remaining() < len) {
+                flushPending();
+            }
+            if (len >= pending.capacity()) {
+                writeFully(ByteBuffer.wrap(b, off, len));
+            } else {
+                pending.put(b, off, len);
+            }
+            return;
+        }
+        while (len > 0) {
+            int offset = (int) (size % SpoolManager.CHUNK_SIZE);
+            if (offset == 0 && size / SpoolManager.CHUNK_SIZE == chunks.size()) {
+                byte[] chunk = manager.borrowChunk();
+                if (null == chunk) {
+                    // 内存块用尽，余下内容写入磁盘
+                    spill();
+                    write(b, off, len);
+                    return;
+                }
+                chunks.add(chunk);
+            }
+            int count = Math.min(len, SpoolManager.CHUNK_SIZE - offset);
+            System.arraycopy(b, off, chunks.get(chunks.size() - 1), offset, count);
+            size += count;
+            off += count;
+            len -= count;
+        }
+    }
+
+    /**
+     * 已有内容写入暂存文件，归还内存块
+     **/
+    private void spill() throws IOException {
+        Path path = manager.createFile(SpoolManager.FILE_PREFIX + UUIDUtil.buildUuid() + (suffix.isEmpty() ? "" : "." + suffix));
+        manager.reserveDisk(size);
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            manager.releaseDisk(size);
+            throw e;
+        }
+        file = path;
+        owned = true;
+        pending = ByteBuffer.allocate(SpoolManager.CHUNK_SIZE);
+        long remaining = size;
+        for (byte[] chunk : chunks) {
+            int length = (int) Math.min(remaining, chunk.length);
+            writeFully(ByteBuffer.wrap(chunk, 0, length));
+            remaining -= length;
+        }
+        releaseChunks();
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void releaseChunks() {
+        for (byte[] chunk : chunks) {
+            manager.returnChunk(chunk);
+        }
+        chunks.clear();
+    }
+
+    private void flushPending() throws IOException {
+        pending.flip();
+        writeFully(pending);
+        pending.clear();
+    }
+
+    private void closeChannel() throws IOException {
+        if (null != channel) {
+            FileChannel current = channel;
+            try {
+                flushPending();
+            } finally {
+                channel = null;
+                current.close();
+            }
+        }
+    }
+
+    private void checkReadable() throws IOException {
+        if (closed) {
+            throw new IOException("暂存已关闭");
+        }
+        if (!sealed) {
+            throw new IOException("暂存尚未写入完成");
+        }
+    }
+
+    private class SpoolOutputStream extends OutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            Spool.this.write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            Spool.this.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!sealed) {
+                sealed = true;
+                closeChannel();
+            }
+        }
+    }
+
+    /**
+     * 按内存块读取
+     **/
+    private static final class ChunkInputStream extends InputStream {
+
+        private final List<byte[]> chunks;
+
+        private final long size;
+
+        private long position;
+
+        private long mark;
+
+        private ChunkInputStream(List<byte[]> chunks, long size) {
+            this.chunks = chunks;
+            this.size = size;
+        }
+
+        @Override
+        public int read() {
+            if (position >= size) {
+                return -1;
+            }
+            byte value = chunks.get((int) (position / SpoolManager.CHUNK_SIZE))[(int) (position % SpoolManager.CHUNK_SIZE)];
+            position++;
+            return value & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (position >= size) {
+                return -1;
+            }
+            int offset = (int) (position % SpoolManager.CHUNK_SIZE);
+            int count = (int) Math.min(Math.min(len, SpoolManager.CHUNK_SIZE - offset), size - position);
+            System.arraycopy(chunks.get((int) (position / SpoolManager.CHUNK_SIZE)), offset, b, off, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            long skipped = Math.max(0, Math.min(n, size - position));
+            position += skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, size - position);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public void mark(int readLimit) {
+            mark = position;
+        }
+
+        @Override
+        public void reset() {
+            position = mark;
+        }
+    }
+}
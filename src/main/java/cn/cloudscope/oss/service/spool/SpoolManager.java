@@ -0,0 +1,195 @@
+package cn.cloudscope.oss.service.spool;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *  上传暂存：不超过内存阈值的文件保存在池化的堆内存块中，不产生磁盘读写；超过阈值或内存块用尽时写入暂存目录
+ *  （可配置为tmpfs或本地NVMe），目录总大小受配额限制。启动时清理上次进程遗留的暂存文件
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 01:10
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Slf4j
+public class SpoolManager implements Closeable {
+
+    /** 暂存文件名前缀，清理时只处理该前缀的文件 */
+    public static final String FILE_PREFIX = "oss-spool-";
+
+    /** 内存块大小 */
+    static final int CHUNK_SIZE = 64 * 1024;
+
+    private final Path directory;
+
+    private final long memoryThreshold;
+
+    private final long memoryLimit;
+
+    private final long diskQuota;
+
+    /** 空闲的内存块，总数不超过memoryLimit / CHUNK_SIZE */
+    private final ConcurrentLinkedQueue<byte[]> freeChunks = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong memoryUsed = new AtomicLong();
+
+    private final AtomicLong diskUsed = new AtomicLong();
+
+    /**
+     * @param directory         暂存目录，不存在时创建
+     * @param memoryThreshold   不超过该大小的文件保存在内存中，为0时总是写入磁盘
+     * @param memoryLimit       所有暂存占用的内存上限，用尽后新的暂存直接写入磁盘
+     * @param diskQuota         暂存目录中文件的总大小上限，为0时不限制
+     * @param orphanAge         目录中超过该时长未修改的暂存文件视为遗留文件，创建时清理，为null时不清理
+     **/
+    public SpoolManager(Path directory, long memoryThreshold, long memoryLimit, long diskQuota, Duration orphanAge) {
+        this.directory = directory;
+        this.memoryThreshold = Math.max(0, memoryThreshold);
+        this.memoryLimit = Math.max(0, memoryLimit);
+        this.diskQuota = Math.max(0, diskQuota);
+        if (null != orphanAge) {
+            cleanOrphans(orphanAge);
+        }
+    }
+
+    /**
+     * @return 系统临时目录下oss-spool，内存阈值1MB，内存上限64MB，不限制磁盘，清理1小时前的遗留文件
+     **/
+    public static SpoolManager getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * 创建暂存，写入前不占用内存及磁盘
+     * @param suffix    文件后缀，写入磁盘时作为文件名后缀
+     * @author wenxiaopeng
+     * @date 2026/10/19 01:10
+     * @return 使用后需关闭
+     **/
+    public Spool create(String suffix) {
+        return new Spool(this, suffix);
+    }
+
+    /**
+     * 删除目录中超过指定时长未修改的暂存文件。多个进程共用目录时，时长应大于单个上传的耗时
+     * @param orphanAge 未修改的时长
+     * @author wenxiaopeng
+     * @date 2026/10/19 01:10
+     * @return 删除的文件数
+     **/
+    public int cleanOrphans(Duration orphanAge) {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        long before = System.currentTimeMillis() - orphanAge.toMillis();
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*")) {
+            for (Path file : files) {
+                try {
+                    if (Files.isRegularFile(file) && Files.getLastModifiedTime(file).toMillis() < before) {
+                        Files.deleteIfExists(file);
+                        deleted++;
+                    }
+                } catch (IOException e) {
+                    log.debug("删除遗留暂存文件失败: {} {}", file, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("清理暂存目录失败: {} {}", directory, e.getMessage());
+        }
+        if (deleted > 0) {
+            log.info("已清理遗留暂存文件{}个: {}", deleted, directory);
+        }
+        return deleted;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public long getMemoryThreshold() {
+        return memoryThreshold;
+    }
+
+    /**
+     * @return 暂存当前占用的内存
+     **/
+    public long getMemoryUsed() {
+        return memoryUsed.get();
+    }
+
+    /**
+     * @return 暂存文件当前的总大小
+     **/
+    public long getDiskUsed() {
+        return diskUsed.get();
+    }
+
+    /**
+     * 释放空闲的内存块
+     **/
+    @Override
+    public void close() {
+        freeChunks.clear();
+    }
+
+    /**
+     * 借出一个内存块，超过内存上限时为null
+     **/
+    byte[] borrowChunk() {
+        long used;
+        do {
+            used = memoryUsed.get();
+            if (used + CHUNK_SIZE > memoryLimit) {
+                return null;
+            }
+        } while (!memoryUsed.compareAndSet(used, used + CHUNK_SIZE));
+        byte[] chunk = freeChunks.poll();
+        return null == chunk ? new byte[CHUNK_SIZE] : chunk;
+    }
+
+    void returnChunk(byte[] chunk) {
+        freeChunks.offer(chunk);
+        memoryUsed.addAndGet(-CHUNK_SIZE);
+    }
+
+    /**
+     * 占用磁盘配额
+     * @throws IOException 超出配额
+     **/
+    void reserveDisk(long length) throws IOException {
+        long used = diskUsed.addAndGet(length);
+        if (diskQuota > 0 && used > diskQuota) {
+            diskUsed.addAndGet(-length);
+            throw new IOException("暂存目录超出配额: " + directory + " " + (used - length) + "+" + length + "/" + diskQuota);
+        }
+    }
+
+    void releaseDisk(long length) {
+        diskUsed.addAndGet(-length);
+    }
+
+    Path createFile(String name) throws IOException {
+        Files.createDirectories(directory);
+        return directory.resolve(name);
+    }
+
+    private static class DefaultHolder {
+
+        private static final SpoolManager INSTANCE = new SpoolManager(
+                Paths.get(System.getProperty("java.io.tmpdir"), "oss-spool"), 1024 * 1024, 64L * 1024 * 1024, 0, Duration.ofHours(1));
+    }
+}
@@ -0,0 +1,74 @@
+package cn.cloudscope.oss.trace;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ *  基于Micrometer Observation的追踪实现，每个阶段对应一个Observation，
+ *  阶段之间通过当前作用域形成父子关系
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 10:12
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+public class ObservationStorageTracer implements StorageTracer {
+
+    private final ObservationRegistry registry;
+
+    public ObservationStorageTracer(ObservationRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public StageSpan start(UploadStage stage) {
+        if (registry.isNoop()) {
+            return StageSpan.NOOP;
+        }
+        Observation observation = Observation.createNotStarted(stage.getSpanName(), registry)
+                .parentObservation(registry.getCurrentObservation())
+                .start();
+        return new ObservationSpan(observation, observation.openScope());
+    }
+
+    private static class ObservationSpan implements StageSpan {
+
+        private final Observation observation;
+
+        private final Observation.Scope scope;
+
+        ObservationSpan(Observation observation, Observation.Scope scope) {
+            this.observation = observation;
+            this.scope = scope;
+        }
+
+        @Override
+        public StageSpan tag(String key, String value) {
+            if (StringUtils.isNotBlank(value)) {
+                observation.lowCardinalityKeyValue(key, value);
+            }
+            return this;
+        }
+
+        @Override
+        public StageSpan bytes(long bytes) {
+            observation.highCardinalityKeyValue(TAG_BYTES, String.valueOf(bytes));
+            return this;
+        }
+
+        @Override
+        public void error(Throwable error) {
+            observation.error(error);
+        }
+
+        @Override
+        public void close() {
+            scope.close();
+            observation.stop();
+        }
+    }
+}
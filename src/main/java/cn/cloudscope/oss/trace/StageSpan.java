@@ -0,0 +1,77 @@
+package cn.cloudscope.oss.trace;
+
+/**
+ *  上传流水线中单个阶段的追踪片段
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 10:12
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+public interface StageSpan extends AutoCloseable {
+
+    /** 属性：处理的字节数 */
+    String TAG_BYTES = "oss.bytes";
+
+    /** 属性：媒体类型 */
+    String TAG_MEDIA_TYPE = "oss.media.type";
+
+    /** 属性：目标桶 */
+    String TAG_BUCKET = "oss.bucket";
+
+    /** 属性：去重结果（hit/miss） */
+    String TAG_DEDUP = "oss.dedup";
+
+    /** 属性：生成的衍生图数 */
+    String TAG_VARIANTS = "oss.variants";
+
+    /**
+     * 添加属性
+     * @param key   属性名
+     * @param value 属性值，为空时忽略
+     * @return 当前片段
+     **/
+    StageSpan tag(String key, String value);
+
+    /**
+     * 记录处理的字节数
+     * @param bytes 字节数
+     * @return 当前片段
+     **/
+    StageSpan bytes(long bytes);
+
+    /**
+     * 记录异常
+     * @param error 异常
+     **/
+    void error(Throwable error);
+
+    /**
+     * 结束当前阶段
+     **/
+    @Override
+    void close();
+
+    StageSpan NOOP = new StageSpan() {
+        @Override
+        public StageSpan tag(String key, String value) {
+            return this;
+        }
+
+        @Override
+        public StageSpan bytes(long bytes) {
+            return this;
+        }
+
+        @Override
+        public void error(Throwable error) {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+}
@@ -0,0 +1,24 @@
+package cn.cloudscope.oss.trace;
+
+/**
+ *  存储操作追踪，默认不做任何记录
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 10:12
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+public interface StorageTracer {
+
+    /**
+     * 开始一个阶段，需在结束时关闭返回的片段
+     * @param stage 阶段
+     * @return 阶段片段
+     **/
+    StageSpan start(UploadStage stage);
+
+    StorageTracer NOOP = stage -> StageSpan.NOOP;
+}
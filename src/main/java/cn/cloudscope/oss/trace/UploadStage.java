@@ -0,0 +1,40 @@
+package cn.cloudscope.oss.trace;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ *  上传流水线阶段
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 10:12
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Getter
+@AllArgsConstructor
+public enum UploadStage {
+
+    /** 整个上传过程 */
+    UPLOAD("oss.upload"),
+    /** 写入临时文件 */
+    SPOOL("oss.upload.spool"),
+    /** 文件类型检测 */
+    DETECT("oss.upload.detect"),
+    /** 读取视频信息 */
+    PROBE("oss.upload.probe"),
+    /** 生成缩略图 */
+    THUMBNAIL("oss.upload.thumbnail"),
+    /** 上传缩略图 */
+    THUMBNAIL_UPLOAD("oss.upload.thumbnail.store"),
+    /** 生成并上传多尺寸衍生图 */
+    DERIVATIVE("oss.upload.derivative"),
+    /** 上传源文件 */
+    STORE("oss.upload.store"),
+    ;
+
+    private final String spanName;
+}
@@ -0,0 +1,269 @@
+package cn.cloudscope.oss.utils;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ *  文件签名（文件头的魔数）。所有签名在类加载时编译为一棵字节前缀树，按文件头逐字节匹配一次即得到类型，
+ *  不转换十六进制字符串，也不创建对象；签名可带通配字节，用于ftyp、RIFF等不在文件开头或中间有长度字段的格式，
+ *  同时命中多个签名时取最长的一个（如ftyp后的品牌区分MP4、MOV、HEIC及M4A）。
+ *  <a href="https://filesignatures.net/index.php?page=all">文件签名列表</a>
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 23:50
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Getter
+public enum FileSignature {
+
+    JPEG(Category.IMAGE, "jpg", "FFD8FF"),
+    PNG(Category.IMAGE, "png", "89504E470D0A1A0A"),
+    GIF(Category.IMAGE, "gif", "47494638"),
+    TIFF(Category.IMAGE, "tiff", "49492A00", "4D4D002A"),
+    BMP(Category.IMAGE, "bmp", "424D"),
+    PSD(Category.IMAGE, "psd", "38425053"),
+    WEBP(Category.IMAGE, "webp", "52494646????????57454250"),
+    /** ISO媒体文件，品牌heic、heix、mif1、msf1 */
+    HEIC(Category.IMAGE, "heic", "????????6674797068656963", "????????6674797068656978",
+            "????????667479706D696631", "????????667479706D736631"),
+    AVIF(Category.IMAGE, "avif", "????????6674797061766966"),
+
+    /** ISO媒体文件，未单独列出的品牌（isom、mp41、mp42、M4V、3gp等）均视为MP4 */
+    MP4(Category.VIDEO, "mp4", "????????66747970"),
+    /**
+     * 品牌qt；没有ftyp的旧格式以moov、mdat开头，或以8字节的wide、free、skip占位原子开头且紧跟moov、mdat。
+     * 只看占位原子不足以判断，其他格式同样可能在第4字节出现这些字符
+     */
+    MOV(Category.VIDEO, "mov", "????????6674797071742020", "????????6D6F6F76", "????????6D646174",
+            "0000000877696465????????6D646174", "0000000877696465????????6D6F6F76",
+            "0000000866726565????????6D646174", "0000000866726565????????6D6F6F76",
+            "00000008736B6970????????6D646174", "00000008736B6970????????6D6F6F76"),
+    AVI(Category.VIDEO, "avi", "52494646????????41564920"),
+    FOUR_XM(Category.VIDEO, "4xm", "52494646????????34584D56"),
+    /** Matroska，含webm */
+    MKV(Category.VIDEO, "mkv", "1A45DFA3"),
+    FLV(Category.VIDEO, "flv", "464C5601"),
+    MPEG(Category.VIDEO, "mpg", "000001BA", "000001B3"),
+    /** Windows Media */
+    ASF(Category.VIDEO, "wmv", "3026B2758E66CF11"),
+    /** Real Media */
+    RM(Category.VIDEO, "rmvb", "2E524D46"),
+
+    WAV(Category.AUDIO, "wav", "52494646????????57415645"),
+    M4A(Category.AUDIO, "m4a", "????????667479704D344120"),
+    MP3(Category.AUDIO, "mp3", "494433"),
+    FLAC(Category.AUDIO, "flac", "664C6143"),
+    OGG(Category.AUDIO, "ogg", "4F676753"),
+    MID(Category.AUDIO, "mid", "4D546864"),
+    /** Real Audio */
+    RAM(Category.AUDIO, "ram", "2E7261FD"),
+
+    PDF(Category.DOCUMENT, "pdf", "255044462D"),
+    RTF(Category.DOCUMENT, "rtf", "7B5C727466"),
+    XML(Category.DOCUMENT, "xml", "3C3F786D6C"),
+    HTML(Category.DOCUMENT, "html", "68746D6C3E"),
+    /** doc;xls;dot;ppt;xla;ppa;pps;pot;msi;sdw;db */
+    OLE2(Category.DOCUMENT, "doc", "D0CF11E0A1B11AE1"),
+    /** Microsoft Access */
+    MDB(Category.DOCUMENT, "mdb", "5374616E64617264204A"),
+    /** Word Perfect */
+    WPD(Category.DOCUMENT, "wpd", "FF575043"),
+    /** Postscript */
+    EPS(Category.DOCUMENT, "eps", "252150532D41646F6265"),
+    /** CAD */
+    DWG(Category.DOCUMENT, "dwg", "41433130"),
+    /** Outlook */
+    PST(Category.DOCUMENT, "pst", "2142444E"),
+    /** Outlook Express */
+    DBX(Category.DOCUMENT, "dbx", "CFAD12FEC5FD746F"),
+    /** Windows Password */
+    PWL(Category.DOCUMENT, "pwl", "E3828596"),
+
+    /** ZIP，含docx、xlsx、jar等 */
+    ZIP(Category.ARCHIVE, "zip", "504B0304"),
+    RAR(Category.ARCHIVE, "rar", "52617221"),
+    GZIP(Category.ARCHIVE, "gz", "1F8B08"),
+    SEVEN_ZIP(Category.ARCHIVE, "7z", "377ABCAF271C"),
+    ;
+
+    /** 匹配所需的文件头长度 */
+    public static final int HEADER_LENGTH;
+
+    private static final Node ROOT = new Node(0);
+
+    private static final ThreadLocal<byte[]> HEADERS;
+
+    static {
+        int length = 0;
+        for (FileSignature signature : values()) {
+            for (String pattern : signature.patterns) {
+                length = Math.max(length, pattern.length() / 2);
+                ROOT.insert(pattern, signature);
+            }
+        }
+        HEADER_LENGTH = length;
+        HEADERS = ThreadLocal.withInitial(() -> new byte[HEADER_LENGTH]);
+    }
+
+    private final Category category;
+
+    /** 常用后缀 */
+    private final String ext;
+
+    /** 十六进制，"??"为通配字节 */
+    @Getter(AccessLevel.NONE)
+    private final String[] patterns;
+
+    FileSignature(Category category, String ext, String... patterns) {
+        this.category = category;
+        this.ext = ext;
+        this.patterns = patterns;
+    }
+
+    /**
+     * @return 第一个签名的十六进制形式，"??"为通配字节
+     **/
+    public String getValue() {
+        return patterns[0];
+    }
+
+    /**
+     * 按文件头识别类型
+     * @param header    文件头，取前 {@link #HEADER_LENGTH} 字节即可
+     * @param length    文件头的有效长度
+     * @author wenxiaopeng
+     * @date 2026/10/19 23:50
+     * @return 无法识别时为null
+     **/
+    public static FileSignature detect(byte[] header, int length) {
+        Node matched = ROOT.match(header, Math.min(length, header.length));
+        return null == matched ? null : matched.signature;
+    }
+
+    /**
+     * 读取流的文件头识别类型，不关闭流；支持mark的流读取后回到原位置
+     * @param stream    文件流
+     * @author wenxiaopeng
+     * @date 2026/10/19 23:50
+     * @return 无法识别时为null
+     **/
+    public static FileSignature detect(InputStream stream) throws IOException {
+        byte[] header = HEADERS.get();
+        boolean marked = stream.markSupported();
+        if (marked) {
+            stream.mark(HEADER_LENGTH);
+        }
+        try {
+            int length = 0;
+            int count;
+            while (length < HEADER_LENGTH && (count = stream.read(header, length, HEADER_LENGTH - length)) > 0) {
+                length += count;
+            }
+            return detect(header, length);
+        } finally {
+            if (marked) {
+                stream.reset();
+            }
+        }
+    }
+
+    /**
+     * 读取文件头识别类型
+     * @param file  文件
+     * @author wenxiaopeng
+     * @date 2026/10/19 23:50
+     * @return 无法识别时为null
+     **/
+    public static FileSignature detect(File file) throws IOException {
+        try (InputStream stream = Files.newInputStream(file.toPath())) {
+            return detect(stream);
+        }
+    }
+
+    public enum Category {
+        IMAGE, VIDEO, AUDIO, DOCUMENT, ARCHIVE,
+    }
+
+    /**
+     * 前缀树节点，子节点按字节值线性查找（每层只有少数分支），另有一个通配子节点
+     **/
+    private static final class Node {
+
+        private final int depth;
+
+        private byte[] keys = new byte[0];
+
+        private Node[] children = new Node[0];
+
+        private Node any;
+
+        private FileSignature signature;
+
+        private Node(int depth) {
+            this.depth = depth;
+        }
+
+        private void insert(String pattern, FileSignature signature) {
+            Node node = this;
+            for (int i = 0; i < pattern.length(); i += 2) {
+                String hex = pattern.substring(i, i + 2);
+                node = "??".equals(hex) ? node.anyChild() : node.child((byte) Integer.parseInt(hex, 16));
+            }
+            if (null != node.signature && node.signature != signature) {
+                throw new IllegalStateException("文件签名重复: " + pattern);
+            }
+            node.signature = signature;
+        }
+
+        private Node child(byte key) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) {
+                    return children[i];
+                }
+            }
+            keys = Arrays.copyOf(keys, keys.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            keys[keys.length - 1] = key;
+            return children[children.length - 1] = new Node(depth + 1);
+        }
+
+        private Node anyChild() {
+            if (null == any) {
+                any = new Node(depth + 1);
+            }
+            return any;
+        }
+
+        /**
+         * @return 匹配到的最深的签名节点，精确字节优先于通配
+         **/
+        private Node match(byte[] header, int length) {
+            Node best = null == signature ? null : this;
+            if (depth >= length) {
+                return best;
+            }
+            byte value = header[depth];
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == value) {
+                    best = deeper(best, children[i].match(header, length));
+                    break;
+                }
+            }
+            return null == any ? best : deeper(best, any.match(header, length));
+        }
+
+        private static Node deeper(Node current, Node candidate) {
+            return null == candidate || (null != current && current.depth >= candidate.depth) ? current : candidate;
+        }
+    }
+}
@@ -23,6 +23,8 @@ import java.io.InputStream;
 @Slf4j
 public class FileUtil {
 
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
     /**
      * 获取文件签名，用于判断文件类型
      * @param file   文件
@@ -39,7 +41,7 @@ public class FileUtil {
     }
 
     /**
-     * 获取文件签名，用于判断文件类型
+     * 获取文件签名（文件头28字节的大写十六进制），读取后关闭流。判断文件类型使用 {@link FileSignature#detect(InputStream)}
      * @param stream   文件流
      * @author wenxiaopeng
      * @date 2022/7/26 18:03
@@ -52,16 +54,12 @@ public class FileUtil {
             if (size <= 0) {
                 return null;
             }
-            StringBuilder stringBuilder = new StringBuilder();
-            for (byte b : src) {
-                int v = b & 0xFF;
-                String hv = Integer.toHexString(v).toUpperCase();
-                if (hv.length() < 2) {
-                    stringBuilder.append(0);
-                }
-                stringBuilder.append(hv);
+            char[] hex = new char[src.length * 2];
+            for (int i = 0; i < src.length; i++) {
+                hex[i * 2] = HEX_DIGITS[(src[i] >> 4) & 0x0F];
+                hex[i * 2 + 1] = HEX_DIGITS[src[i] & 0x0F];
             }
-            return stringBuilder.toString();
+            return new String(hex);
         } catch (Exception e) {
             log.error("获取文件签名异常：{}", e.getMessage());
         } finally {
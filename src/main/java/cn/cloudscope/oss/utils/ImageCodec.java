@@ -0,0 +1,244 @@
+package cn.cloudscope.oss.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.spi.IIORegistry;
+import javax.imageio.spi.ImageReaderSpi;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ *  图片编解码：每个线程复用各格式的ImageReader/ImageWriter，不再每次读写都创建并加载编解码器；
+ *  关闭ImageIO的磁盘缓存，流在内存中缓冲，不产生临时文件。
+ *  中间结果所需的画布按尺寸档位在线程内复用，减少大数组分配带来的GC
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 21:10
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Slf4j
+public class ImageCodec {
+
+    /** 画布尺寸档位（像素），宽高向上取整到该值的倍数 */
+    private static final int CANVAS_STEP = 256;
+
+    /** 超过该像素数的画布不复用，避免线程长期持有过大的内存 */
+    private static final long CANVAS_MAX_PIXELS = 2048L * 2048;
+
+    /** 每个线程复用的画布数 */
+    private static final int CANVAS_PER_THREAD = 4;
+
+    private static final ThreadLocal<Map<ImageReaderSpi, ImageReader>> READERS = ThreadLocal.withInitial(HashMap::new);
+
+    private static final ThreadLocal<Map<String, ImageWriter>> WRITERS = ThreadLocal.withInitial(HashMap::new);
+
+    private static final ThreadLocal<Map<Long, BufferedImage>> CANVASES = ThreadLocal.withInitial(
+            () -> new LinkedHashMap<Long, BufferedImage>(CANVAS_PER_THREAD, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, BufferedImage> eldest) {
+                    return size() > CANVAS_PER_THREAD;
+                }
+            });
+
+    static {
+        ImageIO.setUseCache(false);
+    }
+
+    private ImageCodec() {
+    }
+
+    /**
+     * 解码图片文件
+     * @param file  图片文件
+     * @author wenxiaopeng
+     * @date 2026/10/19 21:10
+     * @return 无法识别格式时为null
+     **/
+    public static BufferedImage read(File file) throws IOException {
+        try (ImageInputStream iis = ImageIO.createImageInputStream(file)) {
+            return read(iis);
+        }
+    }
+
+    /**
+     * 解码图片流，不关闭传入的流
+     * @param stream    图片流
+     * @author wenxiaopeng
+     * @date 2026/10/19 21:10
+     * @return 无法识别格式时为null
+     **/
+    public static BufferedImage read(InputStream stream) throws IOException {
+        try (ImageInputStream iis = ImageIO.createImageInputStream(stream)) {
+            return read(iis);
+        }
+    }
+
+    /**
+     * 是否有指定格式的编码器
+     * @param format    格式，如jpg、webp
+     * @author wenxiaopeng
+     * @date 2026/10/19 21:10
+     * @return boolean
+     **/
+    public static boolean canWrite(String format) {
+        return WRITERS.get().containsKey(format.toLowerCase()) || ImageIO.getImageWritersByFormatName(format).hasNext();
+    }
+
+    /**
+     * 按指定格式编码图片
+     * @param image     图片
+     * @param format    格式，如jpg、png、webp
+     * @param quality   压缩质量0~1，小于0时使用编码器的默认质量
+     * @param out       输出流，不会关闭
+     * @author wenxiaopeng
+     * @date 2026/10/19 21:10
+     * @return 没有对应编码器时为false
+     **/
+    public static boolean write(BufferedImage image, String format, float quality, OutputStream out) throws IOException {
+        String name = format.toLowerCase();
+        Map<String, ImageWriter> writers = WRITERS.get();
+        ImageWriter writer = writers.get(name);
+        if (null == writer) {
+            Iterator<ImageWriter> candidates = ImageIO.getImageWritersByFormatName(name);
+            if (!candidates.hasNext()) {
+                return false;
+            }
+            writer = candidates.next();
+            writers.put(name, writer);
+        }
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (quality >= 0 && param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                String[] types = param.getCompressionTypes();
+                if (null != types && types.length > 0) {
+                    param.setCompressionType(Arrays.stream(types).filter("Lossy"::equalsIgnoreCase).findFirst().orElse(types[0]));
+                }
+                param.setCompressionQuality(quality);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+            ios.flush();
+            return true;
+        } catch (IOException | RuntimeException e) {
+            discard(writers.remove(name));
+            writer = null;
+            throw e;
+        } finally {
+            if (null != writer) {
+                writer.reset();
+            }
+        }
+    }
+
+    /**
+     * 借用一块画布，内容已清空。画布在当前线程下次借用前有效，不能返回给调用方长期持有
+     * @param width     宽度
+     * @param height    高度
+     * @param type      图片类型，如 {@link BufferedImage#TYPE_INT_RGB}
+     * @author wenxiaopeng
+     * @date 2026/10/19 21:10
+     * @return java.awt.image.BufferedImage
+     **/
+    public static BufferedImage borrowCanvas(int width, int height, int type) {
+        if ((long) width * height > CANVAS_MAX_PIXELS) {
+            return new BufferedImage(width, height, type);
+        }
+        int pooledWidth = (width + CANVAS_STEP - 1) / CANVAS_STEP * CANVAS_STEP;
+        int pooledHeight = (height + CANVAS_STEP - 1) / CANVAS_STEP * CANVAS_STEP;
+        long key = ((long) type << 40) | ((long) pooledWidth << 20) | pooledHeight;
+        BufferedImage canvas = CANVASES.get().computeIfAbsent(key, k -> new BufferedImage(pooledWidth, pooledHeight, type))
+                .getSubimage(0, 0, width, height);
+        Graphics2D graphics = canvas.createGraphics();
+        graphics.setComposite(AlphaComposite.Clear);
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+        return canvas;
+    }
+
+    private static BufferedImage read(ImageInputStream iis) throws IOException {
+        if (null == iis) {
+            return null;
+        }
+        ImageReaderSpi spi = findReader(iis);
+        if (null == spi) {
+            return null;
+        }
+        Map<ImageReaderSpi, ImageReader> readers = READERS.get();
+        ImageReader reader = readers.get(spi);
+        if (null == reader) {
+            reader = spi.createReaderInstance();
+            readers.put(spi, reader);
+        }
+        try {
+            reader.setInput(iis, true, true);
+            return reader.read(0, reader.getDefaultReadParam());
+        } catch (IOException | RuntimeException e) {
+            discard(readers.remove(spi));
+            reader = null;
+            throw e;
+        } finally {
+            if (null != reader) {
+                reader.reset();
+            }
+        }
+    }
+
+    /**
+     * 按内容查找解码器，只检查文件头，不创建解码器实例
+     **/
+    private static ImageReaderSpi findReader(ImageInputStream iis) throws IOException {
+        Iterator<ImageReaderSpi> providers = IIORegistry.getDefaultInstance().getServiceProviders(ImageReaderSpi.class, true);
+        while (providers.hasNext()) {
+            ImageReaderSpi spi = providers.next();
+            iis.mark();
+            try {
+                if (spi.canDecodeInput(iis)) {
+                    return spi;
+                }
+            } catch (IOException e) {
+                // 内容过短等情况，与ImageIO一致视为不能解码
+                log.trace("{}无法识别: {}", spi.getFormatNames()[0], e.getMessage());
+            } finally {
+                iis.reset();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 出错的编解码器状态不确定，释放后下次重新创建
+     **/
+    private static void discard(Object codec) {
+        try {
+            if (codec instanceof ImageReader) {
+                ((ImageReader) codec).dispose();
+            } else if (codec instanceof ImageWriter) {
+                ((ImageWriter) codec).dispose();
+            }
+        } catch (RuntimeException e) {
+            log.debug("释放编解码器失败: {}", e.getMessage());
+        }
+    }
+}
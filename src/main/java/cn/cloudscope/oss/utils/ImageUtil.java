@@ -1,29 +1,40 @@
 package cn.cloudscope.oss.utils;
 
-import com.drew.imaging.ImageMetadataReader;
-import com.drew.metadata.Directory;
+import com.drew.imaging.jpeg.JpegMetadataReader;
 import com.drew.metadata.Metadata;
-import com.drew.metadata.Tag;
+import com.drew.metadata.exif.ExifIFD0Directory;
+import com.drew.metadata.exif.ExifReader;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.coobird.thumbnailator.Thumbnails;
-import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.tika.Tika;
 import org.apache.tika.mime.MediaType;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
 import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-
-import static com.drew.metadata.eps.EpsDirectory.TAG_ORIENTATION;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  *  图片工具
@@ -41,6 +52,27 @@ public class ImageUtil {
 
     private static final String SUFFIX_THUMBNAIL = "-thumbnail";
 
+    /** EXIF方向：无需旋转 */
+    public static final int ORIENTATION_NORMAL = 1;
+
+    /** 读取EXIF方向时最多读取的文件头字节数，APP1段不超过64KB */
+    private static final int ORIENTATION_HEADER_LIMIT = 256 * 1024;
+
+    /** 顺时针旋转0、90、180、270度对应的EXIF方向 */
+    private static final int[] ORIENTATION_BY_QUARTER = {ORIENTATION_NORMAL, 6, 3, 8};
+
+    /** 按质量压缩的格式 */
+    private static final Set<String> FORMATS_LOSSY = new HashSet<>(Arrays.asList("jpg", "jpeg", "webp"));
+
+    /** 支持透明的格式 */
+    private static final Set<String> FORMATS_ALPHA = new HashSet<>(Arrays.asList("png", "gif", "webp"));
+
+    /** 已提示过缺少编码器的格式 */
+    private static final Set<String> MISSING_WRITERS = ConcurrentHashMap.newKeySet();
+
+    /** Tika实例线程安全，避免每次检测都重新加载类型库 */
+    private static final Tika TIKA = new Tika();
+
     private ImageUtil() {
     }
 
@@ -52,53 +84,110 @@ public class ImageUtil {
      * @return java.lang.Double 图片拍摄角度
      **/
     public static Double getRotate(BufferedInputStream inputStream) {
+        switch (getOrientation(inputStream)) {
+            case 3:
+                return 180d;
+            case 6:
+                return 90d;
+            case 8:
+                return 270d;
+            default:
+                return 0d;
+        }
+    }
+
+    /**
+     * 从已缓冲的文件头读取EXIF方向（1~8），读取后流回到原位置，可继续用于解码。
+     * 只解析JPEG的APP1段，最多读取 {@link #ORIENTATION_HEADER_LIMIT} 字节
+     * @param inputStream   图片流
+     * @author wenxiaopeng
+     * @date 2026/10/19 21:40
+     * @return 没有方向信息时为 {@link #ORIENTATION_NORMAL}
+     **/
+    public static int getOrientation(BufferedInputStream inputStream) {
+        inputStream.mark(ORIENTATION_HEADER_LIMIT);
         try {
-            inputStream.mark(inputStream.available() + 1);
-            Metadata metadata = ImageMetadataReader.readMetadata(inputStream);
-            Iterable<Directory> directories = metadata.getDirectories();
-            for (Directory directory : directories) {
-                if ("Exif IFD0".equals(directory.getName())) {
-                    Collection<Tag> tags = directory.getTags();
-                    for (Tag tag : tags) {
-                        if (tag.getTagType() == TAG_ORIENTATION) {
-                            return getRealRotate(tag.getDescription());
-                        }
-                    }
-                }
+            if (inputStream.read() != 0xFF || inputStream.read() != 0xD8) {
+                return ORIENTATION_NORMAL;
+            }
+            inputStream.reset();
+            // 限定读取长度，保证能回到标记位置
+            Metadata metadata = JpegMetadataReader.readMetadata(new BoundedInputStream(inputStream, ORIENTATION_HEADER_LIMIT),
+                    Collections.singletonList(new ExifReader()));
+            ExifIFD0Directory directory = metadata.getFirstDirectoryOfType(ExifIFD0Directory.class);
+            if (null != directory && directory.containsTag(ExifIFD0Directory.TAG_ORIENTATION)) {
+                int orientation = directory.getInt(ExifIFD0Directory.TAG_ORIENTATION);
+                return orientation >= ORIENTATION_NORMAL && orientation <= 8 ? orientation : ORIENTATION_NORMAL;
             }
         } catch (Exception e) {
-            log.error("获取图片角度异常: {}", e.getMessage());
+            log.debug("获取图片方向异常: {}", e.getMessage());
         } finally {
             try {
                 inputStream.reset();
             } catch (IOException ignored) {
             }
         }
-        return 0d;
+        return ORIENTATION_NORMAL;
     }
 
     /**
-     * 获取真实角度
-     * @param description   角度描述
+     * 按EXIF方向将图片转正。旋转与翻转均为整像素搬移，不重新采样；
+     * 应在缩小之后调用，搬移的像素更少
+     * @param image         图片
+     * @param orientation   EXIF方向，1~8
      * @author wenxiaopeng
-     * @date 2022/8/2 15:55
-     * @return java.lang.Double
+     * @date 2026/10/19 21:40
+     * @return 转正后的图片，无需转换时为原图片
      **/
-    private static Double getRealRotate(String description) {
-        // Right side, top (Rotate 90 CW)
-        // Top, left side (Horizontal / normal)
-        // Bottom, right side (Rotate 180)
-        // Right side, bottom (Mirror horizontal and rotate 90 CW)
-        if(description.startsWith("Right side")) {
-            return 90d;
-        }
-        if(description.startsWith("Bottom, right side")) {
-            return 180d;
+    public static BufferedImage orient(BufferedImage image, int orientation) {
+        return orient(image, orientation, false);
+    }
+
+    /**
+     * 按EXIF方向将图片转正
+     * @param borrowed  结果使用借用的画布（见 {@link ImageCodec#borrowCanvas(int, int, int)}），仅用于转换后立即编码的场景
+     **/
+    static BufferedImage orient(BufferedImage image, int orientation, boolean borrowed) {
+        if (orientation <= ORIENTATION_NORMAL || orientation > 8) {
+            return image;
         }
-        if(description.startsWith("Right side, bottom")) {
-            return -90d;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        boolean transposed = isTransposed(orientation);
+        int targetWidth = transposed ? height : width;
+        int targetHeight = transposed ? width : height;
+        // 源图第y行按方向写入目标的一行（2~4）或一列（5~8），必要时倒序；逐行写入目标画布，不额外分配整图像素数组
+        boolean reversed = orientation == 2 || orientation == 3 || orientation == 7 || orientation == 8;
+        boolean flipped = orientation == 3 || orientation == 4 || orientation == 6 || orientation == 7;
+        int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage target = borrowed ? ImageCodec.borrowCanvas(targetWidth, targetHeight, type)
+                : new BufferedImage(targetWidth, targetHeight, type);
+        WritableRaster raster = target.getRaster();
+        int[] row = new int[width];
+        for (int y = 0; y < height; y++) {
+            image.getRGB(0, y, width, 1, row, 0, width);
+            if (reversed) {
+                ArrayUtils.reverse(row);
+            }
+            int line = flipped ? height - 1 - y : y;
+            if (transposed) {
+                raster.setDataElements(line, 0, 1, width, row);
+            } else {
+                raster.setDataElements(0, line, width, 1, row);
+            }
         }
-        return 0d;
+        return target;
+    }
+
+    /**
+     * EXIF方向是否需要交换宽高（5~8）
+     * @param orientation   EXIF方向
+     * @author wenxiaopeng
+     * @date 2026/10/19 21:40
+     * @return boolean
+     **/
+    public static boolean isTransposed(int orientation) {
+        return orientation >= 5 && orientation <= 8;
     }
 
     /**
@@ -129,21 +218,181 @@ public class ImageUtil {
      * @return java.io.InputStream
      **/
     public static InputStream buildThumbnail(File file, String suffix) {
+        try (BufferedInputStream in = new BufferedInputStream(Files.newInputStream(file.toPath()))) {
+            int orientation = getOrientation(in);
+            BufferedImage image = ImageCodec.read(in);
+            return null == image ? null : buildThumbnail(image, file.length(), suffix, orientation);
+        } catch (Exception e) {
+            log.error("创建缩略图异常: {}", e.getMessage(), e);
+        }
+        return null;
+    }
 
-        try(ByteArrayOutputStream os = new ByteArrayOutputStream()) {
-            BufferedImage bufferedImage = ImageIO.read(file);
+    /**
+     * 以已解码的图片获取缩略图
+     * @param image     原图片
+     * @param length    原图片文件大小，按此计算缩放比例
+     * @param suffix    输出格式
+     * @author wenxiaopeng
+     * @date 2026/10/19 20:10
+     * @return java.io.InputStream
+     **/
+    public static InputStream buildThumbnail(BufferedImage image, long length, String suffix) {
+        return buildThumbnail(image, length, suffix, ORIENTATION_NORMAL);
+    }
+
+    /**
+     * 以已解码的图片获取缩略图，缩小后按EXIF方向转正
+     * @param image         原图片
+     * @param length        原图片文件大小，按此计算缩放比例
+     * @param suffix        输出格式
+     * @param orientation   EXIF方向，见 {@link #getOrientation(BufferedInputStream)}
+     * @author wenxiaopeng
+     * @date 2026/10/19 21:40
+     * @return java.io.InputStream
+     **/
+    public static InputStream buildThumbnail(BufferedImage image, long length, String suffix, int orientation) {
+
+        try {
             // 将图片进行缩小处理, 并对文件加入后缀名"-thumbnail"
-            Thumbnails.of(bufferedImage)
-                    .scale(Math.min(1, 200 * 1024F / file.length()))
-                    .outputFormat(suffix)
-                    .toOutputStream(os);
-            return new ByteArrayInputStream(os.toByteArray());
+            BufferedImage thumbnail = orient(Thumbnails.of(image)
+                    .scale(Math.min(1, 200 * 1024F / length))
+                    .asBufferedImage(), orientation);
+            byte[] data = encode(thumbnail, suffix, -1);
+            return null == data ? null : new ByteArrayInputStream(data);
         } catch (Exception e) {
             log.error("创建缩略图异常: {}", e.getMessage(), e);
         }
         return null;
     }
 
+    /**
+     * 逐级缩放出多个宽度的图片：从大到小依次以上一级的结果为源缩放（每级内部按一半逐步缩小），
+     * 原图只解码一次，较小尺寸不必从原图缩放。宽度不小于原图的直接使用原图
+     * @param image     原图片
+     * @param widths    宽度
+     * @author wenxiaopeng
+     * @date 2026/10/19 20:10
+     * @return 宽度与对应图片
+     **/
+    public static Map<Integer, BufferedImage> resizeCascade(BufferedImage image, Collection<Integer> widths) throws IOException {
+        return resizeCascade(image, widths, ORIENTATION_NORMAL);
+    }
+
+    /**
+     * 逐级缩放出多个宽度的图片，宽度指转正后的宽度；各级缩放完成后再按EXIF方向转正
+     * @param image         未转正的原图片
+     * @param widths        宽度
+     * @param orientation   EXIF方向
+     * @author wenxiaopeng
+     * @date 2026/10/19 21:40
+     * @return 宽度与对应的已转正图片
+     **/
+    public static Map<Integer, BufferedImage> resizeCascade(BufferedImage image, Collection<Integer> widths,
+                                                            int orientation) throws IOException {
+        boolean transposed = isTransposed(orientation);
+        List<Integer> sorted = new ArrayList<>(new TreeSet<>(widths));
+        Collections.reverse(sorted);
+        Map<Integer, BufferedImage> result = new HashMap<>();
+        // 宽度不小于原图时多个宽度共用同一图片，只转正一次
+        Map<BufferedImage, BufferedImage> oriented = new IdentityHashMap<>();
+        BufferedImage current = image;
+        for (Integer width : sorted) {
+            if (width < (transposed ? current.getHeight() : current.getWidth())) {
+                current = transposed ? Thumbnails.of(current).height(width).asBufferedImage()
+                        : Thumbnails.of(current).width(width).asBufferedImage();
+            }
+            result.put(width, oriented.computeIfAbsent(current, source -> orient(source, orientation)));
+        }
+        return result;
+    }
+
+    /**
+     * 按比例缩小到指定宽高以内，不放大
+     * @param image     原图片
+     * @param width     最大宽度，为空时不限制
+     * @param height    最大高度，为空时不限制
+     * @author wenxiaopeng
+     * @date 2026/10/19 20:40
+     * @return 缩小后的图片，无需缩小时为原图片
+     **/
+    public static BufferedImage resize(BufferedImage image, Integer width, Integer height) throws IOException {
+        return resize(image, width, height, ORIENTATION_NORMAL);
+    }
+
+    /**
+     * 按比例缩小到指定宽高（转正后）以内，不放大，缩小后按EXIF方向转正
+     * @param image         未转正的原图片
+     * @param width         最大宽度，为空时不限制
+     * @param height        最大高度，为空时不限制
+     * @param orientation   EXIF方向
+     * @author wenxiaopeng
+     * @date 2026/10/19 21:40
+     * @return 缩小并转正后的图片
+     **/
+    public static BufferedImage resize(BufferedImage image, Integer width, Integer height, int orientation) throws IOException {
+        if (isTransposed(orientation)) {
+            Integer swapped = width;
+            width = height;
+            height = swapped;
+        }
+        return orient(scaleWithin(image, width, height), orientation);
+    }
+
+    private static BufferedImage scaleWithin(BufferedImage image, Integer width, Integer height) throws IOException {
+        int maxWidth = null == width ? Integer.MAX_VALUE : width;
+        int maxHeight = null == height ? Integer.MAX_VALUE : height;
+        if (image.getWidth() <= maxWidth && image.getHeight() <= maxHeight) {
+            return image;
+        }
+        double scale = Math.min((double) maxWidth / image.getWidth(), (double) maxHeight / image.getHeight());
+        return Thumbnails.of(image).scale(scale).asBufferedImage();
+    }
+
+    /**
+     * 是否有指定格式的图片编码器
+     * @param format    格式，如jpg、webp
+     * @author wenxiaopeng
+     * @date 2026/10/19 20:10
+     * @return boolean
+     **/
+    public static boolean canEncode(String format) {
+        if (ImageCodec.canWrite(format)) {
+            return true;
+        }
+        if (MISSING_WRITERS.add(format.toLowerCase())) {
+            log.warn("没有{}格式的图片编码器，跳过该格式的衍生图", format);
+        }
+        return false;
+    }
+
+    /**
+     * 按指定格式编码图片，jpg等不支持透明的格式以白色填充透明区域
+     * @param image     图片
+     * @param format    格式，如jpg、png、webp
+     * @param quality   有损格式的压缩质量，0~1，小于0时使用编码器的默认质量
+     * @author wenxiaopeng
+     * @date 2026/10/19 20:10
+     * @return 编码后的内容，没有对应编码器时为null
+     **/
+    public static byte[] encode(BufferedImage image, String format, float quality) throws IOException {
+        if (!canEncode(format)) {
+            return null;
+        }
+        BufferedImage output = image;
+        if (image.getColorModel().hasAlpha() && !FORMATS_ALPHA.contains(format.toLowerCase())) {
+            // 只在编码期间使用，可以借用画布
+            output = ImageCodec.borrowCanvas(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = output.createGraphics();
+            graphics.drawImage(image, 0, 0, Color.WHITE, null);
+            graphics.dispose();
+        }
+        try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
+            ImageCodec.write(output, format, FORMATS_LOSSY.contains(format.toLowerCase()) ? quality : -1, os);
+            return os.toByteArray();
+        }
+    }
+
     /**
      * 
      * <添加文件后缀>
@@ -170,18 +419,68 @@ public class ImageUtil {
      * @return boolean
      **/
     public static boolean isImage(File file) {
-        Tika tika = new Tika();
-        // 检测内容类型
-        String detectedType;
+        return isImageMediaType(detectMediaType(file));
+    }
+
+    /**
+     * 检测文件的媒体类型
+     * @param file   file
+     * @author wenxiaopeng
+     * @date 2026/10/19 10:40
+     * @return 媒体类型，检测失败时为null
+     **/
+    public static String detectMediaType(File file) {
+        try {
+            return TIKA.detect(file);
+        } catch (Exception e) {
+            log.error("detect image error: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 以流的开头部分检测媒体类型，流需支持mark，检测后回到原位置
+     * @param stream    文件流
+     * @param name      文件名，辅助检测
+     * @author wenxiaopeng
+     * @date 2026/10/19 19:30
+     * @return 媒体类型，检测失败时为null
+     **/
+    public static String detectMediaType(InputStream stream, String name) {
         try {
-            detectedType = tika.detect(file);
+            return TIKA.detect(stream, name);
         } catch (Exception e) {
             log.error("detect image error: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 是否是缩略图（文件名以"-thumbnail"结尾）
+     * @param key   文件路径
+     * @author wenxiaopeng
+     * @date 2026/10/19 19:30
+     * @return boolean
+     **/
+    public static boolean isThumbnail(String key) {
+        String name = key.substring(key.lastIndexOf('/') + 1);
+        int indexOfDot = name.lastIndexOf('.');
+        return (indexOfDot == -1 ? name : name.substring(0, indexOfDot)).endsWith(SUFFIX_THUMBNAIL);
+    }
+
+    /**
+     * 判断媒体类型是否是图片
+     * @param mediaType   媒体类型，如image/png
+     * @author wenxiaopeng
+     * @date 2026/10/19 10:40
+     * @return boolean
+     **/
+    public static boolean isImageMediaType(String mediaType) {
+        if (StringUtils.isBlank(mediaType)) {
             return false;
         }
-        // 判断是否为图片
-        MediaType mediaType = MediaType.parse(detectedType);
-        return mediaType.getType().equals("image");
+        MediaType parsed = MediaType.parse(mediaType);
+        return null != parsed && "image".equals(parsed.getType());
     }
 
     /**
@@ -193,11 +492,25 @@ public class ImageUtil {
      * @return java.awt.image.BufferedImage 旋转后图片
      **/
     public static BufferedImage rotateImage(BufferedImage originImage, int degree){
+        return rotateImage(originImage, degree, false);
+    }
+
+    /**
+     * 旋转图片
+     * @param borrowed  结果使用借用的画布（见 {@link ImageCodec#borrowCanvas(int, int, int)}），仅用于旋转后立即编码的场景
+     **/
+    static BufferedImage rotateImage(BufferedImage originImage, int degree, boolean borrowed){
+        int normalized = (degree % 360 + 360) % 360;
+        if (normalized % 90 == 0) {
+            // 整90度直接搬移像素，无需插值及计算旋转后尺寸
+            return orient(originImage, ORIENTATION_BY_QUARTER[normalized / 90], borrowed);
+        }
         int width = originImage.getWidth(null);
         int height = originImage.getHeight(null);
         int type = originImage.getColorModel().getTransparency();
         Rectangle rectangle = calcRotatedSize(new Rectangle(new Dimension(width, height)), degree);
-        BufferedImage bi = new BufferedImage(rectangle.width, rectangle.height, type);
+        BufferedImage bi = borrowed ? ImageCodec.borrowCanvas(rectangle.width, rectangle.height, type)
+                : new BufferedImage(rectangle.width, rectangle.height, type);
         Graphics2D g2 = bi.createGraphics();
         g2.translate((rectangle.width - width) / 2d, (rectangle.height - height) / 2d);
         g2.rotate(Math.toRadians(degree), width / 2d, height / 2d);
@@ -244,45 +557,53 @@ enum ImageType {
     /**
      * JPEG
      */
-    JPEG("FFD8FF", "jpg"),
+    JPEG(FileSignature.JPEG, "jpg"),
 
     /**
      * PNG
      */
-    PNG("89504E47", "png"),
+    PNG(FileSignature.PNG, "png"),
 
     /**
      * GIF
      */
-    GIF("47494638", "gif"),
+    GIF(FileSignature.GIF, "gif"),
 
     /**
      * TIFF
      */
-    TIFF("49492A00", "tiff"),
+    TIFF(FileSignature.TIFF, "tiff"),
 
     /**
      * Adobe photoshop
      */
-    PSD("38425053"),
+    PSD(FileSignature.PSD),
 
     /**
      * Windows bitmap
      */
-    BMP("424D", "bmp");
+    BMP(FileSignature.BMP, "bmp");
 
-    private String value = "";
-    private String ext = "";
+    private final FileSignature signature;
+    private final String ext;
 
-    ImageType(String value) {
-        this.value = value;
+    ImageType(FileSignature signature) {
+        this(signature, "");
     }
 
-    ImageType(String value, String ext) {
-        this(value);
+    ImageType(FileSignature signature, String ext) {
+        this.signature = signature;
         this.ext = ext;
     }
 
+    /**
+     * @deprecated 文件签名改由 {@link FileSignature} 匹配，此处返回其签名
+     **/
+    @Deprecated
+    public String getValue() {
+        return signature.getValue();
+    }
+
 }
 
 /**
@@ -290,163 +611,165 @@ enum ImageType {
  *
  * @author wupanhua
  * @date 2020-03-03 10:47
+ * @deprecated 由 {@link FileSignature} 代替，签名及匹配均以其为准，下个版本移除
  *
  * <pre>
  *              www.cloudscope.cn
  *      Copyright (c) 2019. All Rights Reserved.
  * </pre>
  */
+@Deprecated
 enum FileType {
 
     /**
      * JPEG
      */
-    JPEG("FFD8FF", "jpg"),
+    JPEG(FileSignature.JPEG, "jpg"),
 
     /**
      * PNG
      */
-    PNG("89504E47", "png"),
+    PNG(FileSignature.PNG, "png"),
 
     /**
      * GIF
      */
-    GIF("47494638", "gif"),
+    GIF(FileSignature.GIF, "gif"),
 
     /**
      * TIFF
      */
-    TIFF("49492A00"),
+    TIFF(FileSignature.TIFF),
 
     /**
      * Windows bitmap
      */
-    BMP("424D"),
+    BMP(FileSignature.BMP),
 
     /**
      * CAD
      */
-    DWG("41433130"),
+    DWG(FileSignature.DWG),
 
     /**
      * Adobe photoshop
      */
-    PSD("38425053"),
+    PSD(FileSignature.PSD),
 
     /**
      * Rich Text Format
      */
-    RTF("7B5C727466"),
+    RTF(FileSignature.RTF),
 
     /**
      * XML
      */
-    XML("3C3F786D6C"),
+    XML(FileSignature.XML),
 
     /**
      * HTML
      */
-    HTML("68746D6C3E"),
+    HTML(FileSignature.HTML),
 
     /**
      * Outlook Express
      */
-    DBX("CFAD12FEC5FD746F "),
+    DBX(FileSignature.DBX),
 
     /**
      * Outlook
      */
-    PST("2142444E"),
+    PST(FileSignature.PST),
 
     /**
      * doc;xls;dot;ppt;xla;ppa;pps;pot;msi;sdw;db
      */
-    OLE2("0xD0CF11E0A1B11AE1"),
+    OLE2(FileSignature.OLE2),
 
     /**
      * Microsoft Word/Excel
      */
-    XLS_DOC("D0CF11E0"),
+    XLS_DOC(FileSignature.OLE2),
 
     /**
      * Microsoft Access
      */
-    MDB("5374616E64617264204A"),
+    MDB(FileSignature.MDB),
 
     /**
      * Word Perfect
      */
-    WPB("FF575043"),
+    WPB(FileSignature.WPD),
 
     /**
      * Postscript
      */
-    EPS_PS("252150532D41646F6265"),
+    EPS_PS(FileSignature.EPS),
 
     /**
      * Adobe Acrobat
      */
-    PDF("255044462D312E"),
+    PDF(FileSignature.PDF),
 
     /**
      * Windows Password
      */
-    PWL("E3828596"),
+    PWL(FileSignature.PWL),
 
     /**
      * ZIP Archive
      */
-    ZIP("504B0304"),
+    ZIP(FileSignature.ZIP),
 
     /**
      * ARAR Archive
      */
-    RAR("52617221"),
+    RAR(FileSignature.RAR),
 
     /**
      * WAVE
      */
-    WAV("57415645"),
+    WAV(FileSignature.WAV),
 
     /**
      * AVI
      */
-    AVI("41564920"),
+    AVI(FileSignature.AVI),
 
     /**
      * Real Audio
      */
-    RAM("2E7261FD"),
+    RAM(FileSignature.RAM),
 
     /**
      * Real Media
      */
-    RM("2E524D46"),
+    RM(FileSignature.RM),
 
     /**
      * Quicktime
      */
-    MOV("6D6F6F76"),
+    MOV(FileSignature.MOV),
 
     /**
      * Windows Media
      */
-    ASF("3026B2758E66CF11"),
+    ASF(FileSignature.ASF),
 
     /**
      * MIDI
      */
-    MID("4D546864");
+    MID(FileSignature.MID);
 
-    private String value = "";
-    private String ext = "";
+    private final FileSignature signature;
+    private final String ext;
 
-    FileType(String value) {
-        this.value = value;
+    FileType(FileSignature signature) {
+        this(signature, "");
     }
 
-    FileType(String value, String ext) {
-        this(value);
+    FileType(FileSignature signature, String ext) {
+        this.signature = signature;
         this.ext = ext;
     }
 
@@ -455,7 +778,11 @@ enum FileType {
     }
 
     public String getValue() {
-        return value;
+        return signature.getValue();
+    }
+
+    public FileSignature getSignature() {
+        return signature;
     }
 
 }
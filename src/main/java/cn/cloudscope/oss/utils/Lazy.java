@@ -0,0 +1,50 @@
+package cn.cloudscope.oss.utils;
+
+import java.util.function.Supplier;
+
+/**
+ *  延迟创建的对象，首次get时创建；创建失败时不缓存，下次调用重试
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 16:40
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+public final class Lazy<T> implements Supplier<T> {
+
+    private final Supplier<T> factory;
+
+    private volatile T value;
+
+    private Lazy(Supplier<T> factory) {
+        this.factory = factory;
+    }
+
+    public static <T> Lazy<T> of(Supplier<T> factory) {
+        return new Lazy<>(factory);
+    }
+
+    @Override
+    public T get() {
+        T current = value;
+        if (null == current) {
+            synchronized (this) {
+                current = value;
+                if (null == current) {
+                    value = current = factory.get();
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * @return 已创建的对象，尚未创建时为null，不会触发创建
+     **/
+    public T getIfCreated() {
+        return value;
+    }
+}
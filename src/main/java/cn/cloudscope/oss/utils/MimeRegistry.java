@@ -0,0 +1,213 @@
+package cn.cloudscope.oss.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.metadata.TikaCoreProperties;
+import org.apache.tika.mime.MediaType;
+import org.apache.tika.mime.MediaTypeRegistry;
+import org.apache.tika.mime.MimeType;
+import org.apache.tika.mime.MimeTypeException;
+import org.apache.tika.mime.MimeTypes;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ *  文件后缀与Content-Type的双向映射：启动时由Tika的MIME库一次构建，之后只读，两个方向都是一次哈希查找。
+ *  后缀不区分大小写；Content-Type忽略大小写及参数（如charset），Tika登记的别名与标准类型返回相同后缀
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 23:40
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@Slf4j
+public final class MimeRegistry {
+
+    /** 未知后缀的Content-Type */
+    public static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    /** 内置的后缀映射，优先于Tika，保持与此前一致 */
+    private static final String[][] BUILT_IN_TYPES = {
+            {"markdown", "text/markdown"},
+            {"md", "text/markdown"},
+    };
+
+    /** Tika首选后缀不常用的类型 */
+    private static final String[][] PREFERRED_SUFFIXES = {
+            {"video/quicktime", "mov"},
+            {"audio/mp4", "m4a"},
+            {"text/markdown", "md"},
+            {"text/x-web-markdown", "md"},
+    };
+
+    private final Map<String, String> typeBySuffix;
+
+    private final Map<String, String> suffixByType;
+
+    private MimeRegistry(Map<String, String> typeBySuffix, Map<String, String> suffixByType) {
+        this.typeBySuffix = Collections.unmodifiableMap(typeBySuffix);
+        this.suffixByType = Collections.unmodifiableMap(suffixByType);
+    }
+
+    /**
+     * @return 由Tika的MIME库构建的映射
+     **/
+    public static MimeRegistry getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * 在默认映射上追加自定义映射
+     * @param overrides 后缀:Content-Type，后缀已存在时覆盖；Content-Type没有后缀时以此作为它的后缀
+     * @author wenxiaopeng
+     * @date 2026/10/19 23:40
+     * @return 没有自定义映射时为默认映射
+     **/
+    public static MimeRegistry withOverrides(Map<String, String> overrides) {
+        MimeRegistry base = getDefault();
+        if (null == overrides || overrides.isEmpty()) {
+            return base;
+        }
+        Map<String, String> typeBySuffix = new HashMap<>(base.typeBySuffix);
+        Map<String, String> suffixByType = new HashMap<>(base.suffixByType);
+        overrides.forEach((suffix, type) -> put(typeBySuffix, suffixByType, suffix, type));
+        return new MimeRegistry(typeBySuffix, suffixByType);
+    }
+
+    /**
+     * 按后缀取Content-Type
+     * @param suffix    后缀，不含"."，不区分大小写
+     * @author wenxiaopeng
+     * @date 2026/10/19 23:40
+     * @return 未知后缀为null
+     **/
+    public String contentType(String suffix) {
+        return null == suffix ? null : typeBySuffix.get(suffix.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * 按文件名取Content-Type
+     * @param fileName  文件名或路径
+     * @author wenxiaopeng
+     * @date 2026/10/19 23:40
+     * @return 未知后缀为application/octet-stream
+     **/
+    public String contentTypeByFileName(String fileName) {
+        String type = contentType(FileUtil.getFileSuffix(fileName));
+        return null == type ? DEFAULT_CONTENT_TYPE : type;
+    }
+
+    /**
+     * 按Content-Type取后缀
+     * @param contentType   Content-Type，可带参数，如text/plain; charset=UTF-8
+     * @author wenxiaopeng
+     * @date 2026/10/19 23:40
+     * @return 不含"."的后缀，未知类型为null
+     **/
+    public String suffix(String contentType) {
+        if (null == contentType) {
+            return null;
+        }
+        int parameters = contentType.indexOf(';');
+        String type = parameters < 0 ? contentType : contentType.substring(0, parameters);
+        return suffixByType.get(type.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * @return 后缀与Content-Type的只读映射，后缀为小写
+     **/
+    public Map<String, String> asMap() {
+        return typeBySuffix;
+    }
+
+    /**
+     * @return 已知的后缀数
+     **/
+    public int size() {
+        return typeBySuffix.size();
+    }
+
+    private static MimeRegistry load() {
+        long start = System.nanoTime();
+        MimeTypes mimeTypes = MimeTypes.getDefaultMimeTypes();
+        MediaTypeRegistry registry = mimeTypes.getMediaTypeRegistry();
+        Map<String, String> typeBySuffix = new HashMap<>();
+        Map<String, String> suffixByType = new HashMap<>();
+        // 同一后缀可能出现在多个类型中，以Tika按文件名识别的结果为准
+        TreeSet<String> suffixes = new TreeSet<>();
+        for (MediaType type : registry.getTypes()) {
+            MimeType mimeType = forName(mimeTypes, type);
+            if (null == mimeType) {
+                continue;
+            }
+            for (String extension : mimeType.getExtensions()) {
+                suffixes.add(StringUtils.removeStart(extension, ".").toLowerCase(Locale.ROOT));
+            }
+            String preferred = StringUtils.removeStart(mimeType.getExtension(), ".");
+            if (StringUtils.isNotEmpty(preferred)) {
+                suffixByType.put(type.toString(), preferred.toLowerCase(Locale.ROOT));
+                for (MediaType alias : registry.getAliases(type)) {
+                    suffixByType.putIfAbsent(alias.toString(), preferred.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        for (String suffix : suffixes) {
+            String type = detect(mimeTypes, suffix);
+            if (null != type) {
+                typeBySuffix.put(suffix, type);
+            }
+        }
+        for (String[] builtIn : BUILT_IN_TYPES) {
+            put(typeBySuffix, suffixByType, builtIn[0], builtIn[1]);
+        }
+        for (String[] preferred : PREFERRED_SUFFIXES) {
+            suffixByType.put(preferred[0], preferred[1]);
+        }
+        log.debug("MIME映射已加载: {}个后缀，{}个类型，耗时{}ms", typeBySuffix.size(), suffixByType.size(),
+                (System.nanoTime() - start) / 1000000);
+        return new MimeRegistry(typeBySuffix, suffixByType);
+    }
+
+    private static void put(Map<String, String> typeBySuffix, Map<String, String> suffixByType, String suffix, String type) {
+        if (StringUtils.isAnyBlank(suffix, type)) {
+            return;
+        }
+        String normalizedSuffix = StringUtils.removeStart(suffix.trim(), ".").toLowerCase(Locale.ROOT);
+        String normalizedType = type.trim().toLowerCase(Locale.ROOT);
+        typeBySuffix.put(normalizedSuffix, normalizedType);
+        suffixByType.putIfAbsent(normalizedType, normalizedSuffix);
+    }
+
+    private static MimeType forName(MimeTypes mimeTypes, MediaType type) {
+        try {
+            return mimeTypes.forName(type.toString());
+        } catch (MimeTypeException e) {
+            return null;
+        }
+    }
+
+    private static String detect(MimeTypes mimeTypes, String suffix) {
+        Metadata metadata = new Metadata();
+        metadata.set(TikaCoreProperties.RESOURCE_NAME_KEY, "file." + suffix);
+        try {
+            MediaType type = mimeTypes.detect(null, metadata);
+            return MediaType.OCTET_STREAM.equals(type) ? null : type.toString();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static class DefaultHolder {
+
+        private static final MimeRegistry INSTANCE = load();
+    }
+}
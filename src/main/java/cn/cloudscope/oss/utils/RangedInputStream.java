@@ -0,0 +1,206 @@
+package cn.cloudscope.oss.utils;
+
+import org.apache.commons.io.IOUtils;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ *  按范围读取的可定位输入流：按窗口大小分段打开范围读取（如Range请求），只读取实际访问到的部分。
+ *  skip及reset只移动位置，下次读取时从新位置打开，适合视频解码器等需要随机读取的场景，无需下载整个文件
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 22:10
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+public class RangedInputStream extends InputStream {
+
+    /** 默认每次打开的范围 */
+    public static final int DEFAULT_WINDOW = 1024 * 1024;
+
+    /** 向前跳过不超过该长度时继续读取当前范围，不重新打开 */
+    private static final int READ_THROUGH = 64 * 1024;
+
+    private final long size;
+
+    private final int window;
+
+    private final Opener opener;
+
+    private InputStream current;
+
+    /** 当前范围已读到的位置 */
+    private long currentPosition;
+
+    /** 当前范围的结束位置（不含） */
+    private long currentEnd;
+
+    private long position;
+
+    private long mark;
+
+    private long bytesRead;
+
+    /** 关闭后不再打开新的范围，可由其他线程关闭以中止卡住的读取 */
+    private volatile boolean closed;
+
+    /**
+     * @param size      文件大小
+     * @param opener    范围读取
+     **/
+    public RangedInputStream(long size, Opener opener) {
+        this(size, DEFAULT_WINDOW, opener);
+    }
+
+    /**
+     * @param size      文件大小
+     * @param window    每次打开的范围
+     * @param opener    范围读取
+     **/
+    public RangedInputStream(long size, int window, Opener opener) {
+        this.size = size;
+        this.window = window;
+        this.opener = opener;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (position >= size) {
+            return -1;
+        }
+        seekCurrent();
+        InputStream in = current;
+        if (null == in) {
+            throw new IOException("流已关闭");
+        }
+        int count = in.read(b, off, (int) Math.min(len, currentEnd - position));
+        if (count < 0) {
+            closeCurrent();
+            throw new EOFException("范围读取提前结束: " + position + "/" + size);
+        }
+        position += count;
+        currentPosition = position;
+        bytesRead += count;
+        if (position >= currentEnd) {
+            // 读完的范围及时关闭，连接可以复用
+            closeCurrent();
+        }
+        return count;
+    }
+
+    @Override
+    public long skip(long n) {
+        long skipped = Math.max(0, Math.min(n, size - position));
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return null != current && currentPosition == position ? (int) Math.min(Integer.MAX_VALUE, currentEnd - position) : 0;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    /**
+     * 位置移动不受限制，readLimit无效
+     **/
+    @Override
+    public void mark(int readLimit) {
+        mark = position;
+    }
+
+    @Override
+    public void reset() {
+        position = mark;
+    }
+
+    /**
+     * 可由读取线程以外的线程调用，正在进行的读取随之失败
+     **/
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        closeCurrent();
+    }
+
+    /**
+     * @return 文件大小
+     **/
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return 实际读取的字节数
+     **/
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * 当前范围与读取位置不一致时，短距离向前直接读过，否则重新打开
+     **/
+    private void seekCurrent() throws IOException {
+        if (closed) {
+            throw new IOException("流已关闭");
+        }
+        if (null != current && position > currentPosition && position < currentEnd
+                && position - currentPosition <= READ_THROUGH) {
+            IOUtils.skipFully(current, position - currentPosition);
+            bytesRead += position - currentPosition;
+            currentPosition = position;
+        }
+        if (null == current || currentPosition != position) {
+            closeCurrent();
+            long length = Math.min(window, size - position);
+            current = opener.open(position, length);
+            currentPosition = position;
+            currentEnd = position + length;
+            if (closed) {
+                closeCurrent();
+                throw new IOException("流已关闭");
+            }
+        }
+    }
+
+    private void closeCurrent() throws IOException {
+        if (null != current) {
+            InputStream stream = current;
+            current = null;
+            stream.close();
+        }
+    }
+
+    /**
+     * 范围读取
+     **/
+    @FunctionalInterface
+    public interface Opener {
+
+        /**
+         * 打开指定范围
+         * @param offset    起始位置
+         * @param length    长度
+         * @return java.io.InputStream
+         **/
+        InputStream open(long offset, long length) throws IOException;
+    }
+}
@@ -1,9 +1,13 @@
 package cn.cloudscope.oss.utils;
 
-import java.util.UUID;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- *  无法补充
+ *  32位小写十六进制（无"-"）的UUID。
+ *  随机数取自每个线程自己的SecureRandom（SHA1PRNG，由系统熵源播种），按批读取后逐个取用，
+ *  不再争用UUID.randomUUID共享的SecureRandom；结果直接编码到字符数组，不经过toString及replace
  *
  * @author wupanhua
  * @date 2019/8/6 15:28
@@ -15,12 +19,102 @@ import java.util.UUID;
  */
 public class UUIDUtil {
 
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /** 每次从SecureRandom读取的字节数，可生成16个UUID */
+    private static final int RANDOM_BATCH = 256;
+
+    /** 只用于为各线程的SecureRandom播种 */
+    private static final SecureRandom SEED = new SecureRandom();
+
+    private static final ThreadLocal<RandomBuffer> RANDOM = ThreadLocal.withInitial(RandomBuffer::new);
+
+    /** 上一个版本7 UUID的毫秒时间戳（高位）及同一毫秒内的12位计数（低12位） */
+    private static final AtomicLong LAST_TIMESTAMP = new AtomicLong();
+
     private UUIDUtil() {
         // make constructor private
     }
 
+    /**
+     * 随机UUID（版本4）
+     * @author wupanhua
+     * @date 2019/8/6 15:28
+     * @return 32位十六进制
+     **/
     public static String buildUuid() {
-        return UUID.randomUUID().toString().replace("-", "");
+        RandomBuffer random = RANDOM.get();
+        long msb = (random.nextLong() & ~0xF000L) | 0x4000L;
+        return format(msb, variant(random.nextLong()));
+    }
+
+    /**
+     * 按时间排序的UUID（版本7）：前12位为毫秒时间戳，版本位后的12位为同一毫秒内的计数（RFC 9562的方法1），其余为随机数。
+     * 本进程内按字符串排序即为生成顺序，同一毫秒内也严格递增；计数用尽或时钟回拨时时间戳顺延1毫秒。
+     * 用作文件名时同一时间段的文件在列举结果中相邻
+     * @author wenxiaopeng
+     * @date 2026/10/19 00:40
+     * @return 32位十六进制
+     **/
+    public static String buildTimeOrderedUuid() {
+        long now = System.currentTimeMillis() << 12;
+        long timestamp = LAST_TIMESTAMP.updateAndGet(last -> Math.max(now, last + 1));
+        long msb = ((timestamp >>> 12) << 16) | 0x7000L | (timestamp & 0xFFFL);
+        return format(msb, variant(RANDOM.get().nextLong()));
+    }
+
+    private static long variant(long lsb) {
+        return (lsb & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
     }
 
+    private static String format(long msb, long lsb) {
+        char[] chars = new char[32];
+        for (int i = 15; i >= 0; i--) {
+            chars[i] = HEX_DIGITS[(int) (msb & 0xF)];
+            msb >>>= 4;
+        }
+        for (int i = 31; i >= 16; i--) {
+            chars[i] = HEX_DIGITS[(int) (lsb & 0xF)];
+            lsb >>>= 4;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 线程内的随机字节缓冲
+     **/
+    private static final class RandomBuffer {
+
+        private final SecureRandom random;
+
+        private final byte[] bytes = new byte[RANDOM_BATCH];
+
+        private int position = RANDOM_BATCH;
+
+        private RandomBuffer() {
+            SecureRandom prng;
+            try {
+                prng = SecureRandom.getInstance("SHA1PRNG");
+                // 首次取数前设置种子，SHA1PRNG不再自行读取熵源；种子取自nextBytes（urandom），generateSeed可能阻塞
+                byte[] seed = new byte[32];
+                SEED.nextBytes(seed);
+                prng.setSeed(seed);
+            } catch (NoSuchAlgorithmException e) {
+                prng = new SecureRandom();
+            }
+            this.random = prng;
+        }
+
+        private long nextLong() {
+            if (position > RANDOM_BATCH - Long.BYTES) {
+                random.nextBytes(bytes);
+                position = 0;
+            }
+            long value = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                value = (value << 8) | (bytes[position++] & 0xFF);
+            }
+            return value;
+        }
+    }
 }
@@ -1,22 +1,55 @@
 package cn.cloudscope.oss.utils;
 
 import lombok.Data;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.tika.mime.MediaType;
+import org.bytedeco.ffmpeg.avformat.AVFormatContext;
+import org.bytedeco.javacpp.Pointer;
 import org.bytedeco.javacv.FFmpegFrameGrabber;
 import org.bytedeco.javacv.Frame;
+import org.bytedeco.javacv.FrameGrabber;
 import org.bytedeco.javacv.Java2DFrameConverter;
 
-import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToLongFunction;
+
+import static org.bytedeco.ffmpeg.global.avformat.AVSEEK_FLAG_BACKWARD;
+import static org.bytedeco.ffmpeg.global.avformat.avformat_seek_file;
+import static org.bytedeco.ffmpeg.global.avutil.AV_NOPTS_VALUE;
+import static org.bytedeco.ffmpeg.global.avutil.AV_TIME_BASE;
 
 /**
  *  视频工具
@@ -34,22 +67,45 @@ public class VideoUtil {
 
     public static final Double STAND_FRAME_RATE = 56d;
 
-    /**
-     * <a href="https://filesignatures.net/index.php?page=all">视频类文件签名列表</a>
-     * @date 2022/7/26 17:49
-     **/
-    private static final String[] SIGNATURE_VIDEO = new String[]{
-            // 3gp
-            "0000001466747970", "0000002066747970", "0000001866747970",
-            // 4xm
-            "52494646",
-            // mov
-            "6D6F6F76", "66726565", "6D646174", "77696465", "706E6F74", "736B6970",
-            // rmvb
-            "2E524D46",
-            // wmv
-            "3026B2758E66CF11",
-    };
+    /** 视频封面默认截取的帧 */
+    public static final int POSTER_FRAME_NO = 20;
+
+    /** 用户元数据：视频宽度 */
+    public static final String USER_META_WIDTH = "video-width";
+
+    /** 用户元数据：视频高度 */
+    public static final String USER_META_HEIGHT = "video-height";
+
+    /** 用户元数据：帧率 */
+    public static final String USER_META_FRAME_RATE = "video-frame-rate";
+
+    /** 用户元数据：时长，秒 */
+    public static final String USER_META_DURATION = "video-duration";
+
+    /** 用户元数据：旋转角度 */
+    public static final String USER_META_ROTATE = "video-rotate";
+
+    /** 封面评分取样的网格边长 */
+    private static final int SCORE_GRID = 32;
+
+    /** 平均亮度低于该值视为过暗 */
+    private static final int SCORE_DARK = 32;
+
+    /** 平均亮度高于该值视为过亮 */
+    private static final int SCORE_BRIGHT = 224;
+
+    /** 过暗或过亮画面的评分系数 */
+    private static final double SCORE_PENALTY = 0.25;
+
+    /** 同时在编码的帧数上限，限制复制出的帧占用的内存 */
+    private static final int MAX_FRAMES_IN_FLIGHT = Runtime.getRuntime().availableProcessors() * 2;
+
+    /** 帧转换器复用内部缓冲，每个线程一个 */
+    private static final ThreadLocal<Java2DFrameConverter> CONVERTERS = ThreadLocal.withInitial(Java2DFrameConverter::new);
+
+    /** 生成预览时执行抓帧的线程，调用方按截止时间等待，解码卡住时不会被拖住；未指定线程池时使用 */
+    private static final Lazy<ExecutorService> PREVIEW_EXECUTOR = Lazy.of(() ->
+            newPreviewExecutor(Runtime.getRuntime().availableProcessors()));
 
     /**
      * 是否是视频文件
@@ -59,13 +115,13 @@ public class VideoUtil {
      * @return boolean
      **/
     public static boolean isVideo(InputStream fileStream) {
-        String fileSignature = FileUtil.getFileSignature(fileStream);
-        if(null != fileSignature) {
-            for (String signature : SIGNATURE_VIDEO) {
-                if(fileSignature.startsWith(signature)) {
-                    return true;
-                }
-            }
+        try {
+            FileSignature signature = FileSignature.detect(fileStream);
+            return null != signature && signature.getCategory() == FileSignature.Category.VIDEO;
+        } catch (IOException e) {
+            log.error("获取文件签名异常：{}", e.getMessage());
+        } finally {
+            IOUtils.closeQuietly(fileStream);
         }
         return false;
     }
@@ -95,39 +151,155 @@ public class VideoUtil {
      * @return java.io.InputStream
      **/
     public static InputStream captureFrame(File video, int frameNo) {
+        try (FFmpegFrameGrabber frameGrabber = new FFmpegFrameGrabber(video)) {
+            return captureFrame(frameGrabber, true, grabber -> frameTimestamp(grabber, frameNo));
+        } catch (Exception e) {
+            log.error("无法截取视频帧：{}", e.getMessage());
+        }
+        return null;
+    }
 
-        try(ByteArrayOutputStream os = new ByteArrayOutputStream();
-            FFmpegFrameGrabber frameGrabber = new FFmpegFrameGrabber(video)) {
+    /**
+     * 截取不晚于指定时间的关键帧
+     * @param video     视频文件
+     * @param at        时间点
+     * @author wenxiaopeng
+     * @date 2026/10/19 22:10
+     * @return jpg图片流，无法截取时为null
+     **/
+    public static InputStream captureFrame(File video, Duration at) {
+        try (FFmpegFrameGrabber frameGrabber = new FFmpegFrameGrabber(video)) {
+            return captureFrame(frameGrabber, true, grabber -> at.toNanos() / 1000);
+        } catch (Exception e) {
+            log.error("无法截取视频帧：{}", e.getMessage());
+        }
+        return null;
+    }
 
-            frameGrabber.start();
-            frameGrabber.setFrameNumber(frameNo);
-            Frame frame = frameGrabber.grabImage();
-            BufferedImage bufferedImage = frameToBufferedImage(frame);
-            //视频旋转角度，可能是null
-            String rotate = frameGrabber.getVideoMetadata("rotate");
-            if(StringUtils.isNotBlank(rotate)){
-                int rotateNum = Integer.parseInt(rotate);
-                bufferedImage = ImageUtil.rotateImage(bufferedImage, rotateNum);
-            }
-            ImageIO.write(bufferedImage, "jpg", os);
-            return new ByteArrayInputStream(os.toByteArray());
+    /**
+     * 从视频流截帧，不落盘。{@link RangedInputStream} 可随机读取，直接定位到关键帧，只读取文件头及该帧所在的范围；
+     * 其他流只能顺序读取，读到指定位置后的第一个关键帧为止（MP4的moov在文件末尾时无法顺序读取）。
+     * 不关闭传入的流
+     * @param video     视频流
+     * @param frameNo   帧数
+     * @author wenxiaopeng
+     * @date 2026/10/19 22:10
+     * @return jpg图片流，无法截取时为null
+     **/
+    public static InputStream captureFrame(InputStream video, int frameNo) {
+        return captureFrame(video, grabber -> frameTimestamp(grabber, frameNo));
+    }
+
+    /**
+     * 从视频流截取指定时间的关键帧，不落盘，见 {@link #captureFrame(InputStream, int)}
+     * @param video     视频流
+     * @param at        时间点
+     * @author wenxiaopeng
+     * @date 2026/10/19 22:10
+     * @return jpg图片流，无法截取时为null
+     **/
+    public static InputStream captureFrame(InputStream video, Duration at) {
+        return captureFrame(video, grabber -> at.toNanos() / 1000);
+    }
+
+    private static InputStream captureFrame(InputStream video, ToLongFunction<FFmpegFrameGrabber> timestamp) {
+        boolean seekable = video instanceof RangedInputStream;
+        // 不可定位的流不保留回退缓冲，避免整个视频缓存在内存中
+        FFmpegFrameGrabber frameGrabber = new FFmpegFrameGrabber(video, seekable ? Integer.MAX_VALUE : 0);
+        try {
+            return captureFrame(frameGrabber, seekable, timestamp);
         } catch (Exception e) {
             log.error("无法截取视频帧：{}", e.getMessage());
+        } finally {
+            try {
+                frameGrabber.release();
+            } catch (FrameGrabber.Exception e) {
+                // 释放时会将流回退到起点，顺序读取的流无法回退，不影响截帧结果
+                log.debug("释放视频流: {}", e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private static InputStream captureFrame(FFmpegFrameGrabber frameGrabber, boolean seekable,
+                                            ToLongFunction<FFmpegFrameGrabber> timestamp) throws IOException {
+        frameGrabber.start();
+        Frame frame = grabKeyFrame(frameGrabber, timestamp.applyAsLong(frameGrabber), seekable);
+        if (null == frame) {
+            return null;
+        }
+        BufferedImage bufferedImage = frameToBufferedImage(frame);
+        //视频旋转角度，可能是null
+        String rotate = frameGrabber.getVideoMetadata("rotate");
+        if(StringUtils.isNotBlank(rotate)){
+            int rotateNum = Integer.parseInt(rotate);
+            bufferedImage = ImageUtil.rotateImage(bufferedImage, rotateNum, true);
+        }
+        try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
+            ImageCodec.write(bufferedImage, "jpg", -1, os);
+            return new ByteArrayInputStream(os.toByteArray());
+        }
+    }
+
+    /**
+     * 取不晚于指定时间的关键帧，只解码关键帧。可定位时由容器索引直接定位（越界时取最后一个关键帧），
+     * 否则顺序读取，取到达指定时间后的第一个关键帧
+     * @param timestamp     时间，微秒
+     **/
+    private static Frame grabKeyFrame(FFmpegFrameGrabber grabber, long timestamp, boolean seekable) throws FrameGrabber.Exception {
+        long length = grabber.getLengthInTime();
+        long target = Math.max(0, length > 0 ? Math.min(timestamp, length) : timestamp);
+        if (target == 0) {
+            return grabber.grabKeyFrame();
+        }
+        if (seekable) {
+            // 尚未解码，直接定位容器即可，不必像setTimestamp那样逐帧解码到精确位置
+            AVFormatContext context = grabber.getFormatContext();
+            long position = target * AV_TIME_BASE / 1000000L
+                    + (context.start_time() == AV_NOPTS_VALUE ? 0 : context.start_time());
+            if (avformat_seek_file(context, -1, Long.MIN_VALUE, position, position, AVSEEK_FLAG_BACKWARD) < 0) {
+                log.debug("无法定位到{}微秒，从头截取", target);
+            }
+            return grabber.grabKeyFrame();
+        }
+        Frame frame;
+        while (null != (frame = grabber.grabKeyFrame())) {
+            if (null != frame.image && frame.timestamp >= target) {
+                return frame;
+            }
         }
         return null;
     }
 
+    private static long frameTimestamp(FFmpegFrameGrabber grabber, int frameNo) {
+        double frameRate = grabber.getFrameRate();
+        return frameRate > 0 ? (long) (frameNo * 1000000L / frameRate) : 0;
+    }
+
     /**
-     * 帧转BufferedImage
+     * 帧转BufferedImage。每个线程复用同一转换器，返回的图片在当前线程下次转换前有效
      * @param frame     视频帧
      * @author wenxiaopeng
      * @date 2022/7/26 18:39
      * @return java.awt.image.BufferedImage
      **/
     public static BufferedImage frameToBufferedImage(Frame frame) {
-        //创建BufferedImage对象
-        Java2DFrameConverter converter = new Java2DFrameConverter();
-        return converter.getBufferedImage(frame);
+        return CONVERTERS.get().getBufferedImage(frame);
+    }
+
+    /**
+     * 释放 {@link Frame#clone()} 分配的堆外缓冲。此版本的Frame没有close，副本的缓冲记录在opaque中，
+     * 不释放时要等GC回收Pointer才归还，连续抽帧时堆外内存会先于堆耗尽
+     * @param copy  clone得到的帧，释放后不可再读取图像
+     **/
+    private static void release(Frame copy) {
+        if (copy.opaque instanceof Pointer[]) {
+            for (Pointer pointer : (Pointer[]) copy.opaque) {
+                if (null != pointer) {
+                    pointer.deallocate();
+                }
+            }
+        }
     }
 
     /**
@@ -140,49 +312,10 @@ public class VideoUtil {
     public static VideoInfo grabberVideoFramer(File video, File imagesFolder, boolean deleteVideo){
 
         //最后获取到的视频的图片的路径
-        try(FFmpegFrameGrabber frameGrabber = new FFmpegFrameGrabber(video)) {
+        try {
             imagesFolder.mkdir();
-            frameGrabber.start();
-            Double frameRate = frameGrabber.getFrameRate();
-            VideoInfo videoInfo = new VideoInfo();
-            // 若帧数小于56帧，每帧取一张，否则每两帧取一张
-//            int step = (int) (frameRate / (STAND_FRAME_RATE / 2));
-            videoInfo.setHeight(frameGrabber.getImageHeight());
-            videoInfo.setWidth(frameGrabber.getImageWidth());
-            videoInfo.setFrameRateOrigin(frameRate);
-            // 视频时长 微秒转秒
-            videoInfo.setDuration((double) (frameGrabber.getLengthInTime() / 1000000));
-            videoInfo.setRotate(frameGrabber.getVideoMetadata("rotate"));
-            //获取视频总帧数
-            int ftp = frameGrabber.getLengthInFrames();
-            log.info("视频基本信息: {}", videoInfo);
-            int totalFrame = 0;
-            int rotate = 0;
-            // 从第二秒开始
-            try {
-                rotate = Integer.parseInt(videoInfo.getRotate());
-            } catch (Exception ignored) {
-            }
-            for(int i=0; i<ftp; i+=1) {
-                //滚动获取 滚动的时候时间戳一直是变得
-                Frame frame = frameGrabber.grabImage();
-                if (frame != null) {
-                    totalFrame++;
-                    //文件绝对路径+名字
-                    File image = new File(imagesFolder, String.format("%08d.jpg", i));
-                    BufferedImage bufferedImage = frameToBufferedImage(frame);
-                    // 抽帧完图片信息意思丢失，需要转到合适角度
-                    if(rotate > 0) {
-                        bufferedImage = ImageUtil.rotateImage(bufferedImage, rotate);
-                    }
-                    ImageIO.write(bufferedImage, "jpg", image);
-                }
-            }
-//            videoInfo.setFrameRateAdjust(totalFrame / videoInfo.getDuration());
-            return videoInfo;
-        } catch (Exception e) {
-            log.error("视频抽帧异常：{}", e.getMessage());
-            throw new RuntimeException(e.getMessage());
+            return extractFrames(video, FrameSampling.all(), ForkJoinPool.commonPool(), (index, timestamp, jpg) ->
+                    Files.write(new File(imagesFolder, String.format("%08d.jpg", index)).toPath(), jpg));
         } finally {
             if(deleteVideo) {
                 try {
@@ -194,10 +327,452 @@ public class VideoUtil {
         }
     }
 
+    /**
+     * 按采样规则抽帧：解码在当前线程顺序进行，未选中的帧只解码不转换；选中的帧复制后交给线程池旋转并编码为jpg，
+     * 同时处理的帧数有上限，编码跟不上时解码等待
+     * @param video     视频文件
+     * @param sampling  采样规则
+     * @param executor  编码线程池
+     * @param sink      抽出的帧，在线程池中调用
+     * @author wenxiaopeng
+     * @date 2026/10/19 22:40
+     * @return 视频信息
+     **/
+    public static VideoInfo extractFrames(File video, FrameSampling sampling, Executor executor, FrameSink sink) {
+        try (FFmpegFrameGrabber frameGrabber = new FFmpegFrameGrabber(video)) {
+            return extractFrames(frameGrabber, sampling, executor, sink);
+        } catch (IOException e) {
+            log.error("视频抽帧异常：{}", e.getMessage());
+            throw new RuntimeException(e.getMessage());
+        }
+    }
+
+    /**
+     * 从视频流按采样规则抽帧，顺序读取，不落盘，不关闭传入的流。见 {@link #extractFrames(File, FrameSampling, Executor, FrameSink)}
+     * @param video     视频流
+     * @param sampling  采样规则
+     * @param executor  编码线程池
+     * @param sink      抽出的帧，在线程池中调用
+     * @author wenxiaopeng
+     * @date 2026/10/19 22:40
+     * @return 视频信息
+     **/
+    public static VideoInfo extractFrames(InputStream video, FrameSampling sampling, Executor executor, FrameSink sink) {
+        FFmpegFrameGrabber frameGrabber = new FFmpegFrameGrabber(video, video instanceof RangedInputStream ? Integer.MAX_VALUE : 0);
+        try {
+            return extractFrames(frameGrabber, sampling, executor, sink);
+        } catch (IOException e) {
+            log.error("视频抽帧异常：{}", e.getMessage());
+            throw new RuntimeException(e.getMessage());
+        } finally {
+            try {
+                frameGrabber.release();
+            } catch (FrameGrabber.Exception e) {
+                log.debug("释放视频流: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static VideoInfo extractFrames(FFmpegFrameGrabber frameGrabber, FrameSampling sampling, Executor executor,
+                                           FrameSink sink) throws IOException {
+        frameGrabber.start();
+        VideoInfo videoInfo = videoInfo(frameGrabber);
+        log.info("视频基本信息: {}", videoInfo);
+        // 抽帧完图片信息意思丢失，需要转到合适角度
+        int rotate = NumberUtils.toInt(videoInfo.getRotate());
+        // 按帧率估算下一帧的时间，决定是否转换该帧
+        long frameDuration = frameGrabber.getFrameRate() > 0 ? (long) (1000000 / frameGrabber.getFrameRate()) : 0;
+        long step = sampling.getFps() > 0 ? (long) (1000000 / sampling.getFps()) : 0;
+        Semaphore inFlight = new Semaphore(MAX_FRAMES_IN_FLIGHT);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        int index = 0;
+        int extracted = 0;
+        long nextSample = 0;
+        long lastTimestamp = -1;
+        try {
+            while (null == failure.get()) {
+                long expected = lastTimestamp < 0 ? 0 : lastTimestamp + frameDuration;
+                boolean selected = step > 0 ? expected >= nextSample : index % sampling.getInterval() == 0;
+                Frame frame = frameGrabber.grabFrame(false, true, selected, false);
+                if (null == frame) {
+                    break;
+                }
+                lastTimestamp = frame.timestamp;
+                if (selected && null != frame.image) {
+                    if (step > 0) {
+                        nextSample = (frame.timestamp / step + 1) * step;
+                    }
+                    // 解码器会复用帧的缓冲，交给线程池前复制
+                    Frame copy = frame.clone();
+                    int frameIndex = index;
+                    inFlight.acquire();
+                    Runnable task = () -> {
+                        try {
+                            BufferedImage bufferedImage;
+                            try {
+                                bufferedImage = frameToBufferedImage(copy);
+                            } finally {
+                                release(copy);
+                            }
+                            if (rotate != 0) {
+                                bufferedImage = ImageUtil.rotateImage(bufferedImage, rotate, true);
+                            }
+                            try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
+                                ImageCodec.write(bufferedImage, "jpg", -1, os);
+                                sink.accept(frameIndex, copy.timestamp, os.toByteArray());
+                            }
+                        } catch (Exception e) {
+                            failure.compareAndSet(null, e);
+                        } finally {
+                            inFlight.release();
+                        }
+                    };
+                    try {
+                        executor.execute(task);
+                    } catch (RejectedExecutionException e) {
+                        task.run();
+                    }
+                    extracted++;
+                }
+                index++;
+            }
+            // 等待已提交的帧处理完
+            inFlight.acquire(MAX_FRAMES_IN_FLIGHT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("视频抽帧被中断", e);
+        }
+        if (null != failure.get()) {
+            throw new IOException(failure.get().getMessage(), failure.get());
+        }
+        videoInfo.setExtracted(extracted);
+        return videoInfo;
+    }
+
+    /**
+     * 生成视频预览：在视频时长内均匀取若干关键帧，按亮度的均值及方差评分，选出画面最丰富的一帧作为封面（避开黑场、白场及纯色画面），
+     * 按配置将这些帧缩小拼为雪碧图，用于进度条预览。每帧只解码一次，解码器线程数、处理时长及视频分辨率受 {@link PreviewSpec} 限制
+     * @param video     视频文件
+     * @param spec      预览配置
+     * @author wenxiaopeng
+     * @date 2026/10/19 23:20
+     * @return 无法处理或超出分辨率限制时为null
+     **/
+    public static Preview buildPreview(File video, PreviewSpec spec) {
+        try {
+            return buildPreview(new FFmpegFrameGrabber(video), null, true, spec, PREVIEW_EXECUTOR.get());
+        } catch (Exception e) {
+            log.error("无法生成视频预览：{}", e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * 从视频流生成预览，除超时外不关闭传入的流。{@link RangedInputStream} 直接定位到各关键帧，只读取文件头及这些帧所在的范围；
+     * 其他流顺序读取。见 {@link #buildPreview(File, PreviewSpec)}
+     * @param video     视频流
+     * @param spec      预览配置
+     * @author wenxiaopeng
+     * @date 2026/10/19 23:20
+     * @return 无法处理或超出分辨率限制时为null
+     **/
+    public static Preview buildPreview(InputStream video, PreviewSpec spec) {
+        return buildPreview(video, spec, PREVIEW_EXECUTOR.get());
+    }
+
+    /**
+     * 从视频流生成预览，抓帧在指定的线程池中执行，见 {@link #buildPreview(InputStream, PreviewSpec)}。
+     * 超时时关闭传入的流，使卡住的读取尽快结束
+     * @param video     视频流
+     * @param spec      预览配置
+     * @param executor  执行抓帧的线程池，应有界（见 {@link #newPreviewExecutor(int)}），已满时跳过预览
+     * @author wenxiaopeng
+     * @date 2026/10/19 23:20
+     * @return 无法处理、超出分辨率限制或线程池已满时为null
+     **/
+    public static Preview buildPreview(InputStream video, PreviewSpec spec, ExecutorService executor) {
+        boolean seekable = video instanceof RangedInputStream;
+        try {
+            return buildPreview(new FFmpegFrameGrabber(video, seekable ? Integer.MAX_VALUE : 0), video, seekable, spec, executor);
+        } catch (Exception e) {
+            log.error("无法生成视频预览：{}", e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * 创建抓帧线程池：线程数固定上限，不排队，线程都被占用（包括超时后仍卡在解码中的抓帧）时拒绝，预览随之跳过
+     * @param threads   线程数，通常与处理预览的线程数相同
+     * @author wenxiaopeng
+     * @date 2026/10/19 23:20
+     * @return 使用后需关闭
+     **/
+    public static ExecutorService newPreviewExecutor(int threads) {
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "oss-video-preview-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * 打开及每次抓帧都在线程池中执行，最多等到截止时间，超时时以已取到的帧生成预览。
+     * 超时的抓帧会被中断，并关闭视频源使读取失败；抓取器在其结束后才释放
+     **/
+    private static Preview buildPreview(FFmpegFrameGrabber frameGrabber, Closeable source, boolean seekable, PreviewSpec spec,
+                                        ExecutorService executor) throws IOException {
+        DeadlineGrabber grabber = new DeadlineGrabber(frameGrabber, source, executor,
+                System.nanoTime() + spec.getTimeout().toNanos());
+        try {
+            return buildPreview(grabber, seekable, spec);
+        } catch (TimeoutException e) {
+            log.warn("打开视频超时：{}", spec.getTimeout());
+            return null;
+        } catch (RejectedExecutionException e) {
+            log.warn("视频预览线程已满，跳过");
+            return null;
+        } finally {
+            grabber.release();
+        }
+    }
+
+    private static Preview buildPreview(DeadlineGrabber grabber, boolean seekable, PreviewSpec spec) throws IOException, TimeoutException {
+        FFmpegFrameGrabber frameGrabber = grabber.grabber;
+        frameGrabber.setVideoOption("threads", String.valueOf(spec.getDecoderThreads()));
+        grabber.call(g -> {
+            g.start();
+            return g;
+        });
+        long pixels = (long) frameGrabber.getImageWidth() * frameGrabber.getImageHeight();
+        if (pixels <= 0 || pixels > spec.getMaxPixels()) {
+            log.warn("视频分辨率{}x{}超出预览限制，跳过", frameGrabber.getImageWidth(), frameGrabber.getImageHeight());
+            return null;
+        }
+        int rotate = NumberUtils.toInt(frameGrabber.getVideoMetadata("rotate"));
+        boolean transposed = Math.abs(rotate) % 180 == 90;
+        int tiles = Math.max(0, spec.getSpriteColumns()) * Math.max(0, spec.getSpriteRows());
+        // 生成雪碧图时雪碧图的各帧即为封面的候选
+        int samples = tiles > 0 ? tiles : Math.max(1, spec.getPosterCandidates());
+        long length = Math.max(0, frameGrabber.getLengthInTime());
+
+        BufferedImage sprite = null;
+        int tileWidth = 0;
+        int tileHeight = 0;
+        if (tiles > 0) {
+            int displayWidth = transposed ? frameGrabber.getImageHeight() : frameGrabber.getImageWidth();
+            int displayHeight = transposed ? frameGrabber.getImageWidth() : frameGrabber.getImageHeight();
+            tileWidth = spec.getTileWidth();
+            tileHeight = Math.max(1, (int) Math.round((double) tileWidth * displayHeight / displayWidth));
+            sprite = new BufferedImage(tileWidth * spec.getSpriteColumns(), tileHeight * spec.getSpriteRows(),
+                    BufferedImage.TYPE_INT_RGB);
+        }
+        Graphics2D spriteGraphics = null == sprite ? null : sprite.createGraphics();
+        Frame poster = null;
+        Frame last = null;
+        BufferedImage lastTile = null;
+        boolean ended = false;
+        double posterScore = -1;
+        int sampled = 0;
+        try {
+            for (int i = 0; i < samples; i++) {
+                if (System.nanoTime() > grabber.deadline) {
+                    log.warn("视频预览超时，已取{}/{}帧", sampled, samples);
+                    break;
+                }
+                // 取各区间的中点，避开片头片尾
+                long timestamp = length * (2L * i + 1) / (2L * samples);
+                BufferedImage tile = lastTile;
+                // 关键帧间隔大于取样间隔时，上一帧已越过该时间，直接复用，顺序读取时不会错过后面的区间
+                if (!ended && (null == last || last.timestamp < timestamp)) {
+                    Frame frame;
+                    try {
+                        frame = grabber.call(g -> grabKeyFrame(g, timestamp, seekable));
+                    } catch (TimeoutException e) {
+                        log.warn("视频预览超时，已取{}/{}帧", sampled, samples);
+                        break;
+                    } catch (RejectedExecutionException e) {
+                        log.warn("视频预览线程已满，已取{}/{}帧", sampled, samples);
+                        break;
+                    }
+                    if (null == frame || null == frame.image) {
+                        // 最后一个关键帧之后的区间沿用最后一帧，解码器的帧已不可用
+                        ended = true;
+                        last = null;
+                    } else {
+                        BufferedImage image = frameToBufferedImage(frame);
+                        double score = posterScore(image);
+                        if (score > posterScore) {
+                            // 转换器及解码器都会复用缓冲，保留帧的副本
+                            if (null != poster) {
+                                release(poster);
+                            }
+                            poster = frame.clone();
+                            posterScore = score;
+                        }
+                        tile = null == sprite ? null : tile(image, transposed ? tileHeight : tileWidth,
+                                transposed ? tileWidth : tileHeight, rotate);
+                        last = frame;
+                    }
+                }
+                if (null == poster) {
+                    break;
+                }
+                if (null != tile) {
+                    spriteGraphics.drawImage(tile, i % spec.getSpriteColumns() * tileWidth,
+                            i / spec.getSpriteColumns() * tileHeight, null);
+                }
+                lastTile = tile;
+                sampled++;
+            }
+        } finally {
+            if (null != spriteGraphics) {
+                spriteGraphics.dispose();
+            }
+        }
+        if (null == poster) {
+            return null;
+        }
+        Preview preview = new Preview();
+        preview.setPosterTimestamp(poster.timestamp);
+        preview.setSampled(sampled);
+        BufferedImage posterImage;
+        try {
+            posterImage = frameToBufferedImage(poster);
+        } finally {
+            release(poster);
+        }
+        if (rotate != 0) {
+            posterImage = ImageUtil.rotateImage(posterImage, rotate, true);
+        }
+        try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
+            ImageCodec.write(posterImage, "jpg", -1, os);
+            preview.setPoster(os.toByteArray());
+        }
+        if (null != sprite) {
+            if (sampled < samples) {
+                log.warn("视频预览未取到全部帧，不生成雪碧图");
+            } else {
+                try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
+                    ImageCodec.write(sprite, "jpg", spec.getSpriteQuality(), os);
+                    preview.setSprite(os.toByteArray());
+                }
+            }
+        }
+        return preview;
+    }
+
+    /**
+     * 缩小为雪碧图中的一帧，按视频角度旋转
+     **/
+    private static BufferedImage tile(BufferedImage image, int width, int height, int rotate) {
+        BufferedImage tile = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = tile.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(image, 0, 0, width, height, null);
+        graphics.dispose();
+        return rotate != 0 ? ImageUtil.rotateImage(tile, rotate) : tile;
+    }
+
+    /**
+     * 封面评分：在网格上取样计算亮度的标准差，画面内容越丰富越高；整体过暗或过亮（黑场、白场、淡入淡出）时降低评分
+     **/
+    private static double posterScore(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int count = 0;
+        long sum = 0;
+        long sumOfSquares = 0;
+        for (int y = 0; y < SCORE_GRID; y++) {
+            int py = (int) ((y + 0.5) * height / SCORE_GRID);
+            for (int x = 0; x < SCORE_GRID; x++) {
+                int rgb = image.getRGB((int) ((x + 0.5) * width / SCORE_GRID), py);
+                int luma = (((rgb >> 16) & 0xFF) * 299 + ((rgb >> 8) & 0xFF) * 587 + (rgb & 0xFF) * 114) / 1000;
+                sum += luma;
+                sumOfSquares += luma * luma;
+                count++;
+            }
+        }
+        double mean = (double) sum / count;
+        double deviation = Math.sqrt(Math.max(0, (double) sumOfSquares / count - mean * mean));
+        return mean < SCORE_DARK || mean > SCORE_BRIGHT ? deviation * SCORE_PENALTY : deviation;
+    }
+
+    /**
+     * 读取视频信息（宽高、帧率、时长、角度），只读取容器头及识别编码所需的少量数据，不逐帧解码
+     * @param video     视频文件
+     * @author wenxiaopeng
+     * @date 2026/10/19 23:00
+     * @return 无法识别时为null
+     **/
+    public static VideoInfo probe(File video) {
+        try (FFmpegFrameGrabber frameGrabber = new FFmpegFrameGrabber(video)) {
+            frameGrabber.start();
+            return videoInfo(frameGrabber);
+        } catch (Exception e) {
+            log.error("无法读取视频信息：{}", e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * 从视频流读取视频信息，不关闭传入的流。{@link RangedInputStream} 只读取容器头所在的范围（MP4的moov在文件末尾时直接定位到末尾），
+     * 其他流顺序读取，MP4的moov在文件末尾时无法读取
+     * @param video     视频流
+     * @author wenxiaopeng
+     * @date 2026/10/19 23:00
+     * @return 无法识别时为null
+     **/
+    public static VideoInfo probe(InputStream video) {
+        FFmpegFrameGrabber frameGrabber = new FFmpegFrameGrabber(video, video instanceof RangedInputStream ? Integer.MAX_VALUE : 0);
+        try {
+            frameGrabber.start();
+            return videoInfo(frameGrabber);
+        } catch (Exception e) {
+            log.error("无法读取视频信息：{}", e.getMessage());
+        } finally {
+            try {
+                frameGrabber.release();
+            } catch (FrameGrabber.Exception e) {
+                log.debug("释放视频流: {}", e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private static VideoInfo videoInfo(FFmpegFrameGrabber frameGrabber) {
+        VideoInfo videoInfo = new VideoInfo();
+        videoInfo.setHeight(frameGrabber.getImageHeight());
+        videoInfo.setWidth(frameGrabber.getImageWidth());
+        videoInfo.setFrameRateOrigin(frameGrabber.getFrameRate());
+        // 视频时长 微秒转秒
+        videoInfo.setDuration((double) (frameGrabber.getLengthInTime() / 1000000));
+        videoInfo.setRotate(frameGrabber.getVideoMetadata("rotate"));
+        return videoInfo;
+    }
+
     public static boolean isVideo(String key) {
         return key.endsWith("mp4") || key.endsWith("mov");
     }
 
+    /**
+     * 判断媒体类型是否是视频
+     * @param mediaType   媒体类型，如video/mp4
+     * @author wenxiaopeng
+     * @date 2026/10/19 19:30
+     * @return boolean
+     **/
+    public static boolean isVideoMediaType(String mediaType) {
+        if (StringUtils.isBlank(mediaType)) {
+            return false;
+        }
+        MediaType parsed = MediaType.parse(mediaType);
+        return null != parsed && "video".equals(parsed.getType());
+    }
+
     /**
      * 视频信息
      * @author wenxiaopeng
@@ -220,6 +795,285 @@ public class VideoUtil {
         private Double duration;
         /** 角度，AI平台支持90°视频传入 */
         private String rotate;
+
+        /** 抽取的帧数 */
+        private Integer extracted;
+
+        /**
+         * 转为对象的用户元数据，上传时随文件保存
+         * @author wenxiaopeng
+         * @date 2026/10/19 23:00
+         * @return java.util.Map
+         **/
+        public Map<String, String> toUserMetadata() {
+            Map<String, String> metadata = new HashMap<>();
+            putIfNotNull(metadata, USER_META_WIDTH, width);
+            putIfNotNull(metadata, USER_META_HEIGHT, height);
+            putIfNotNull(metadata, USER_META_FRAME_RATE, frameRateOrigin);
+            putIfNotNull(metadata, USER_META_DURATION, duration);
+            putIfNotNull(metadata, USER_META_ROTATE, rotate);
+            return metadata;
+        }
+
+        /**
+         * 从对象的用户元数据读取视频信息
+         * @param metadata  用户元数据
+         * @author wenxiaopeng
+         * @date 2026/10/19 23:00
+         * @return 上传时未保存视频信息则为null
+         **/
+        public static VideoInfo fromUserMetadata(Map<String, String> metadata) {
+            if (null == metadata || !metadata.containsKey(USER_META_WIDTH)) {
+                return null;
+            }
+            VideoInfo videoInfo = new VideoInfo();
+            videoInfo.setWidth(NumberUtils.createInteger(metadata.get(USER_META_WIDTH)));
+            videoInfo.setHeight(NumberUtils.createInteger(metadata.get(USER_META_HEIGHT)));
+            videoInfo.setFrameRateOrigin(NumberUtils.createDouble(metadata.get(USER_META_FRAME_RATE)));
+            videoInfo.setDuration(NumberUtils.createDouble(metadata.get(USER_META_DURATION)));
+            videoInfo.setRotate(metadata.get(USER_META_ROTATE));
+            return videoInfo;
+        }
+
+        private static void putIfNotNull(Map<String, String> metadata, String key, Object value) {
+            if (null != value) {
+                metadata.put(key, String.valueOf(value));
+            }
+        }
+    }
+
+    /**
+     * 视频预览配置
+     * @author wenxiaopeng
+     * @date 2026/10/19 23:20
+     **/
+    @Data
+    public static class PreviewSpec {
+
+        /** 封面候选关键帧数，在视频时长内均匀选取；生成雪碧图时以雪碧图的各帧为候选 */
+        private int posterCandidates = 5;
+
+        /** 雪碧图列数，为0时不生成雪碧图 */
+        private int spriteColumns = 0;
+
+        /** 雪碧图行数，为0时不生成雪碧图 */
+        private int spriteRows = 0;
+
+        /** 雪碧图中每帧的宽度（像素），高度按比例 */
+        private int tileWidth = 160;
+
+        /** 雪碧图的压缩质量，0~1 */
+        private float spriteQuality = 0.7f;
+
+        /** 单个视频的处理时长上限，超时后以已取到的帧选出封面，不生成雪碧图 */
+        private Duration timeout = Duration.ofSeconds(30);
+
+        /** 解码器线程数，限制单个视频占用的CPU */
+        private int decoderThreads = 1;
+
+        /** 视频分辨率（宽×高）上限，超过时不生成预览，限制单个视频解码占用的内存 */
+        private long maxPixels = 3840L * 2160;
+    }
+
+    /**
+     * 视频预览
+     * @author wenxiaopeng
+     * @date 2026/10/19 23:20
+     **/
+    @Data
+    public static class Preview {
+
+        /** 封面，jpg */
+        private byte[] poster;
+
+        /** 封面所在时间，微秒 */
+        private long posterTimestamp;
+
+        /** 雪碧图，jpg，按行排列，各帧间隔为时长/帧数；未配置或未取到全部帧时为null */
+        private byte[] sprite;
+
+        /** 实际取到的帧数 */
+        private int sampled;
+    }
+
+    /**
+     * 抽帧采样规则
+     * @author wenxiaopeng
+     * @date 2026/10/19 22:40
+     **/
+    @Getter
+    public static class FrameSampling {
+
+        /** 每秒抽取的帧数，大于0时按时间采样 */
+        private final double fps;
+
+        /** 每隔多少帧抽取一帧 */
+        private final int interval;
+
+        private FrameSampling(double fps, int interval) {
+            this.fps = fps;
+            this.interval = interval;
+        }
+
+        /**
+         * @return 抽取每一帧
+         **/
+        public static FrameSampling all() {
+            return new FrameSampling(0, 1);
+        }
+
+        /**
+         * @param fps   每秒抽取的帧数，取每个时间间隔内的第一帧
+         * @return 按时间采样
+         **/
+        public static FrameSampling fps(double fps) {
+            if (fps <= 0) {
+                throw new IllegalArgumentException("fps must be positive: " + fps);
+            }
+            return new FrameSampling(fps, 1);
+        }
+
+        /**
+         * @param frames    间隔帧数，从第0帧开始
+         * @return 按帧间隔采样
+         **/
+        public static FrameSampling interval(int frames) {
+            if (frames <= 0) {
+                throw new IllegalArgumentException("interval must be positive: " + frames);
+            }
+            return new FrameSampling(0, frames);
+        }
+    }
+
+    /**
+     * 在线程池中操作抓取器，调用方最多等到截止时间，超时时中断执行的线程并关闭视频源。
+     * 同一时刻只有一个操作，放弃等待的操作结束前不释放抓取器，避免释放正在解码的本地资源
+     **/
+    private static final class DeadlineGrabber {
+
+        private final FFmpegFrameGrabber grabber;
+
+        /** 视频源，超时时关闭，可为null（如本地文件） */
+        private final Closeable source;
+
+        private final ExecutorService executor;
+
+        /** 截止时间（System.nanoTime） */
+        private final long deadline;
+
+        /** 正在执行操作的线程，仅在持有自身的锁时读写 */
+        private final AtomicReference<Thread> runner = new AtomicReference<>();
+
+        /** 已放弃等待但仍在执行的操作 */
+        private CompletableFuture<?> abandoned;
+
+        private DeadlineGrabber(FFmpegFrameGrabber grabber, Closeable source, ExecutorService executor, long deadline) {
+            this.grabber = grabber;
+            this.source = source;
+            this.executor = executor;
+            this.deadline = deadline;
+        }
+
+        <T> T call(GrabAction<T> action) throws IOException, TimeoutException {
+            CompletableFuture<T> future = new CompletableFuture<>();
+            executor.execute(() -> {
+                synchronized (runner) {
+                    runner.set(Thread.currentThread());
+                }
+                try {
+                    future.complete(action.apply(grabber));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    synchronized (runner) {
+                        runner.set(null);
+                        // 清除可能的中断标记，线程复用时不影响下一个任务
+                        Thread.interrupted();
+                    }
+                }
+            });
+            try {
+                return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                abandon(future);
+                throw e;
+            } catch (InterruptedException e) {
+                abandon(future);
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("视频预览被中断");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IOException(cause);
+            }
+        }
+
+        /**
+         * 放弃等待：中断执行的线程，关闭视频源使卡在读取中的解码尽快失败，线程随之归还
+         **/
+        private void abandon(CompletableFuture<?> future) {
+            abandoned = future;
+            synchronized (runner) {
+                Thread thread = runner.get();
+                if (null != thread) {
+                    thread.interrupt();
+                }
+            }
+            if (null != source) {
+                try {
+                    source.close();
+                } catch (IOException e) {
+                    log.debug("关闭视频流: {}", e.getMessage());
+                }
+            }
+        }
+
+        void release() {
+            if (null == abandoned) {
+                releaseQuietly();
+            } else {
+                abandoned.whenComplete((result, e) -> releaseQuietly());
+            }
+        }
+
+        private void releaseQuietly() {
+            try {
+                grabber.release();
+            } catch (FrameGrabber.Exception e) {
+                log.debug("释放视频流: {}", e.getMessage());
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface GrabAction<T> {
+
+        T apply(FFmpegFrameGrabber grabber) throws IOException;
+    }
+
+    /**
+     * 抽出的帧
+     * @author wenxiaopeng
+     * @date 2026/10/19 22:40
+     **/
+    @FunctionalInterface
+    public interface FrameSink {
+
+        /**
+         * 处理抽出的帧，在线程池中并发调用
+         * @param index     帧序号，从0开始
+         * @param timestamp 时间，微秒
+         * @param jpg       jpg图片内容
+         **/
+        void accept(int index, long timestamp, byte[] jpg) throws IOException;
     }
 
 }
@@ -0,0 +1,59 @@
+package cn.cloudscope.oss.checksum;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Checksum;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ *  CRC32C与CRC64的标准校验值（check value），输入均为"123456789"
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 14:40
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+class CRCTest {
+
+    private static final byte[] CHECK = "123456789".getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    void crc32c() {
+        assertEquals(0xE3069283L, checksum(new CRC32C()));
+    }
+
+    @Test
+    void crc64() {
+        assertEquals(0x995DC9BBDF1939FAL, checksum(new CRC64()));
+    }
+
+    @Test
+    void singleByteUpdateMatchesBlockUpdate() {
+        Checksum crc32c = new CRC32C();
+        Checksum crc64 = new CRC64();
+        for (byte b : CHECK) {
+            crc32c.update(b);
+            crc64.update(b);
+        }
+        assertEquals(0xE3069283L, crc32c.getValue());
+        assertEquals(0x995DC9BBDF1939FAL, crc64.getValue());
+    }
+
+    @Test
+    void resetRestoresInitialValue() {
+        Checksum crc64 = new CRC64();
+        crc64.update(new byte[]{1, 2, 3}, 0, 3);
+        crc64.reset();
+        assertEquals(0x995DC9BBDF1939FAL, checksum(crc64));
+    }
+
+    private static long checksum(Checksum checksum) {
+        checksum.update(CHECK, 0, CHECK.length);
+        return checksum.getValue();
+    }
+}
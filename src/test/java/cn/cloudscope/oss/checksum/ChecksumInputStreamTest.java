@@ -0,0 +1,84 @@
+package cn.cloudscope.oss.checksum;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ *  读取时的校验：内容不一致时在读到末尾时抛出异常，此前读出的内容不受影响
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 15:40
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+class ChecksumInputStreamTest {
+
+    private static final byte[] DATA = "The quick brown fox jumps over the lazy dog".getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    void matchingChecksumReadsThrough() throws IOException {
+        try (InputStream in = new ChecksumInputStream(new ByteArrayInputStream(DATA), ChecksumAlgorithm.MD5, DigestUtils.md5Hex(DATA))) {
+            assertArrayEquals(DATA, IOUtils.toByteArray(in));
+            assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    void expectedValueIsCaseInsensitive() throws IOException {
+        String expected = DigestUtils.md5Hex(DATA).toUpperCase();
+        try (InputStream in = new ChecksumInputStream(new ByteArrayInputStream(DATA), ChecksumAlgorithm.MD5, expected)) {
+            assertArrayEquals(DATA, IOUtils.toByteArray(in));
+        }
+    }
+
+    @Test
+    void mismatchIsReportedAtEof() throws IOException {
+        try (InputStream in = new ChecksumInputStream(new ByteArrayInputStream(DATA), ChecksumAlgorithm.CRC32C, "00000000")) {
+            byte[] buffer = new byte[DATA.length];
+            assertEquals(DATA.length, IOUtils.read(in, buffer));
+            assertArrayEquals(DATA, buffer);
+            assertThrows(ChecksumMismatchException.class, in::read);
+        }
+    }
+
+    @Test
+    void mismatchIsReportedAtEofOfBulkRead() throws IOException {
+        try (InputStream in = new ChecksumInputStream(new ByteArrayInputStream(DATA), ChecksumAlgorithm.MD5, DigestUtils.md5Hex("other"))) {
+            assertThrows(ChecksumMismatchException.class, () -> IOUtils.toByteArray(in));
+        }
+    }
+
+    @Test
+    void skippedContentIsVerified() throws IOException {
+        try (InputStream in = new ChecksumInputStream(new ByteArrayInputStream(DATA), ChecksumAlgorithm.MD5, DigestUtils.md5Hex(DATA))) {
+            assertEquals(10, in.skip(10));
+            byte[] rest = IOUtils.toByteArray(in);
+            assertEquals(DATA.length - 10, rest.length);
+        }
+        try (InputStream in = new ChecksumInputStream(new ByteArrayInputStream(DATA), ChecksumAlgorithm.MD5, DigestUtils.md5Hex("other"))) {
+            // 跳过到末尾同样校验
+            assertThrows(ChecksumMismatchException.class, () -> in.skip(DATA.length + 10L));
+        }
+    }
+
+    @Test
+    void truncatedContentIsReported() throws IOException {
+        InputStream truncated = new ByteArrayInputStream(DATA, 0, DATA.length - 1);
+        try (InputStream in = new ChecksumInputStream(truncated, ChecksumAlgorithm.MD5, DigestUtils.md5Hex(DATA))) {
+            assertThrows(ChecksumMismatchException.class, () -> IOUtils.toByteArray(in));
+        }
+    }
+}
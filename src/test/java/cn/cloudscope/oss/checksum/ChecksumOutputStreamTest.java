@@ -0,0 +1,126 @@
+package cn.cloudscope.oss.checksum;
+
+import cn.cloudscope.oss.bean.ObjectMeta;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ *  落盘时计算的校验值，以及分片ETag在分片边界上的计算
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 15:40
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+class ChecksumOutputStreamTest {
+
+    private static final int PART_SIZE = 4;
+
+    @Test
+    void computesAllAlgorithms() throws IOException {
+        byte[] data = "123456789".getBytes(StandardCharsets.US_ASCII);
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        ObjectMeta meta = write(target, data, EnumSet.allOf(ChecksumAlgorithm.class), 0, data.length);
+
+        assertArrayEquals(data, target.toByteArray());
+        assertEquals(9, meta.getSize());
+        assertEquals(DigestUtils.md5Hex(data), meta.getMd5());
+        assertEquals(DigestUtils.sha256Hex(data), meta.getSha256());
+        assertEquals("e3069283", meta.getCrc32c());
+        assertEquals(Long.toUnsignedString(0x995DC9BBDF1939FAL), meta.getCrc64());
+        assertEquals("4waSgw==", meta.getCrc32cBase64());
+        assertNull(meta.getMultipartEtag());
+    }
+
+    @Test
+    void singlePartHasNoMultipartEtag() throws IOException {
+        byte[] data = bytes(PART_SIZE);
+        ObjectMeta meta = write(new ByteArrayOutputStream(), data, EnumSet.of(ChecksumAlgorithm.MD5), PART_SIZE, data.length);
+        assertNull(meta.getMultipartEtag());
+        assertEquals(PART_SIZE, meta.getPartSize());
+        assertEquals(meta.getMd5(), meta.getExpectedEtag());
+    }
+
+    @Test
+    void multipartEtagAtPartBoundaries() throws IOException {
+        for (int size : new int[]{PART_SIZE + 1, 2 * PART_SIZE, 2 * PART_SIZE + 1, 3 * PART_SIZE - 1, 3 * PART_SIZE}) {
+            byte[] data = bytes(size);
+            for (int chunk : new int[]{1, 3, PART_SIZE, PART_SIZE + 1, size}) {
+                ObjectMeta meta = write(new ByteArrayOutputStream(), data, EnumSet.of(ChecksumAlgorithm.MD5), PART_SIZE, chunk);
+                assertEquals(multipartEtag(data, PART_SIZE), meta.getMultipartEtag(), "size " + size + ", chunk " + chunk);
+                assertEquals(meta.getMultipartEtag(), meta.getExpectedEtag());
+                assertEquals(DigestUtils.md5Hex(data), meta.getMd5());
+            }
+        }
+    }
+
+    @Test
+    void singleByteWritesMatchBlockWrites() throws IOException {
+        byte[] data = bytes(2 * PART_SIZE + 3);
+        ChecksumOutputStream out = new ChecksumOutputStream(new ByteArrayOutputStream(),
+                EnumSet.of(ChecksumAlgorithm.MD5, ChecksumAlgorithm.CRC32C), PART_SIZE);
+        for (byte b : data) {
+            out.write(b);
+        }
+        ObjectMeta meta = out.toMeta();
+        ObjectMeta expected = write(new ByteArrayOutputStream(), data,
+                EnumSet.of(ChecksumAlgorithm.MD5, ChecksumAlgorithm.CRC32C), PART_SIZE, data.length);
+        assertEquals(expected.getMd5(), meta.getMd5());
+        assertEquals(expected.getCrc32c(), meta.getCrc32c());
+        assertEquals(expected.getMultipartEtag(), meta.getMultipartEtag());
+    }
+
+    @Test
+    void emptyContent() throws IOException {
+        ObjectMeta meta = write(new ByteArrayOutputStream(), new byte[0], EnumSet.of(ChecksumAlgorithm.MD5), PART_SIZE, 1);
+        assertEquals(0, meta.getSize());
+        assertEquals(DigestUtils.md5Hex(new byte[0]), meta.getMd5());
+        assertNull(meta.getMultipartEtag());
+    }
+
+    private static ObjectMeta write(ByteArrayOutputStream target, byte[] data, EnumSet<ChecksumAlgorithm> algorithms,
+                                    long partSize, int chunk) throws IOException {
+        try (ChecksumOutputStream out = new ChecksumOutputStream(target, algorithms, partSize)) {
+            for (int off = 0; off < data.length; off += chunk) {
+                out.write(data, off, Math.min(chunk, data.length - off));
+            }
+            return out.toMeta();
+        }
+    }
+
+    /**
+     * S3的分片ETag：各分片MD5拼接后再取MD5，加上分片数
+     **/
+    private static String multipartEtag(byte[] data, int partSize) {
+        MessageDigest parts = DigestUtils.getMd5Digest();
+        int count = 0;
+        for (int off = 0; off < data.length; off += partSize) {
+            parts.update(DigestUtils.md5(Arrays.copyOfRange(data, off, Math.min(off + partSize, data.length))));
+            count++;
+        }
+        return Hex.encodeHexString(parts.digest()) + "-" + count;
+    }
+
+    private static byte[] bytes(int size) {
+        byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) (i * 31 + 7);
+        }
+        return data;
+    }
+}
@@ -0,0 +1,76 @@
+package cn.cloudscope.oss.service.dedup;
+
+import cn.cloudscope.oss.bean.UploadResult;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ *  内容索引的引用计数，包括相同内容并发上传时的登记冲突
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 15:20
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+class InMemoryContentIndexTest {
+
+    private static final String BUCKET = "bucket";
+
+    private static final String SHA256 = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+    private final InMemoryContentIndex index = new InMemoryContentIndex();
+
+    @Test
+    void acquireCountsReferences() {
+        assertNull(index.acquire(BUCKET, SHA256));
+        assertNull(index.register(BUCKET, SHA256, UploadResult.createResult("a.txt", "a.txt")));
+
+        UploadResult existing = index.acquire(BUCKET, SHA256);
+        assertNotNull(existing);
+        assertEquals("a.txt", existing.getPhyPath());
+
+        assertFalse(index.release(BUCKET, "a.txt"));
+        assertTrue(index.release(BUCKET, "a.txt"));
+        assertFalse(index.isRegistered(BUCKET, "a.txt"));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void registerCollisionReturnsWinner() {
+        // 两次上传都未命中，先登记的文件生效，后登记的成为一次引用
+        assertNull(index.acquire(BUCKET, SHA256));
+        assertNull(index.acquire(BUCKET, SHA256));
+        assertNull(index.register(BUCKET, SHA256, UploadResult.createResult("a.txt", "a.txt")));
+
+        UploadResult winner = index.register(BUCKET, SHA256, UploadResult.createResult("b.txt", "b.txt"));
+        assertNotNull(winner);
+        assertEquals("a.txt", winner.getPhyPath());
+        assertFalse(index.isRegistered(BUCKET, "b.txt"));
+        assertEquals(1, index.size());
+
+        assertFalse(index.release(BUCKET, "a.txt"));
+        assertTrue(index.release(BUCKET, "a.txt"));
+    }
+
+    @Test
+    void releaseUnknownPathIsRefused() {
+        assertFalse(index.isRegistered(BUCKET, "missing.txt"));
+        assertFalse(index.release(BUCKET, "missing.txt"));
+    }
+
+    @Test
+    void bucketsAreIndependent() {
+        assertNull(index.register(BUCKET, SHA256, UploadResult.createResult("a.txt", "a.txt")));
+        assertNull(index.acquire("public", SHA256));
+        assertNull(index.register("public", SHA256, UploadResult.createResult("a.txt", "a.txt")));
+        assertEquals(2, index.size());
+    }
+}
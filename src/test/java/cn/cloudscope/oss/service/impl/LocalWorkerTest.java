@@ -0,0 +1,92 @@
+package cn.cloudscope.oss.service.impl;
+
+import cn.cloudscope.oss.bean.DocumentReturnCodeEnum;
+import cn.cloudscope.oss.config.properties.LocalProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ *  本地存储的访问链接编码与签名，以及写出到文件通道
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 16:50
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+class LocalWorkerTest {
+
+    private static final String ENDPOINT = "http://localhost:8080/files";
+
+    @TempDir
+    Path dir;
+
+    private LocalWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        LocalProperties localProperties = new LocalProperties();
+        localProperties.setRoot(dir.resolve("data").toString());
+        localProperties.setSigningSecret("local-worker-test");
+        localProperties.setEndPoint(ENDPOINT);
+        worker = new LocalWorker(localProperties);
+    }
+
+    @Test
+    void expireUrlEncodesPathSegments() {
+        String path = "2026/10/19/年度 报告#1+2.pdf";
+        String url = worker.crateFileExpireUrl(path, 60);
+        String encoded = "2026/10/19/%E5%B9%B4%E5%BA%A6%20%E6%8A%A5%E5%91%8A%231%2B2.pdf";
+        assertTrue(url.startsWith(ENDPOINT + "/basic/" + encoded + "?" + LocalWorker.PARAM_EXPIRES + "="), url);
+
+        // 签名以原始路径计算，访问接口应以解码后的路径校验
+        String query = url.substring(url.indexOf('?') + 1);
+        long expires = Long.parseLong(query.substring(query.indexOf('=') + 1, query.indexOf('&')));
+        String signature = query.substring(query.indexOf(LocalWorker.PARAM_SIGNATURE + "=") + LocalWorker.PARAM_SIGNATURE.length() + 1);
+        assertTrue(worker.verifySignature("basic", path, expires, signature));
+        assertFalse(worker.verifySignature("basic", encoded, expires, signature));
+        assertFalse(worker.verifySignature("basic", path, expires - 3600, signature));
+    }
+
+    @Test
+    void downloadToChannel() throws IOException {
+        byte[] content = new byte[300 * 1024];
+        new Random(7).nextBytes(content);
+        worker.doUpload(new ByteArrayInputStream(content), "basic", "2026/10/19/a.bin", "a.bin");
+
+        Path copy = dir.resolve("copy.bin");
+        try (FileChannel channel = FileChannel.open(copy, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            worker.download("2026/10/19/a.bin", channel);
+        }
+        assertArrayEquals(content, Files.readAllBytes(copy));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        worker.download("2026/10/19/a.bin", out);
+        assertArrayEquals(content, out.toByteArray());
+    }
+
+    @Test
+    void downloadMissingFile() {
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> worker.download("missing.bin", new ByteArrayOutputStream()));
+        assertEquals(DocumentReturnCodeEnum.NOT_FOUND.getMsg(), e.getMessage());
+    }
+}
@@ -0,0 +1,197 @@
+package cn.cloudscope.oss.service.impl;
+
+import cn.cloudscope.oss.bean.DocumentReturnCodeEnum;
+import cn.cloudscope.oss.bean.ObjectMeta;
+import cn.cloudscope.oss.config.properties.MemoryProperties;
+import cn.cloudscope.oss.config.properties.MemoryProperties.Fault;
+import cn.cloudscope.oss.config.properties.MemoryProperties.Operation;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ *  内存存储：分块保存的内容读写、复制及删除的用量统计，按操作注入的错误、延迟及带宽限制
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 18:30
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+class MemoryWorkerTest {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private MemoryProperties properties;
+
+    private MemoryWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        properties = new MemoryProperties();
+        properties.setChunkSize(CHUNK_SIZE);
+        worker = new MemoryWorker(properties);
+    }
+
+    @Test
+    void chunkedContent() throws IOException {
+        byte[] content = content(10 * CHUNK_SIZE + 500);
+        assertEquals("a/b.bin", worker.doUpload(new ByteArrayInputStream(content), "basic", "a/b.bin", "b.bin"));
+        assertEquals(content.length, worker.getUsedBytes());
+        assertEquals(content.length, worker.stat("a/b.bin", false).getSize());
+        assertArrayEquals(content, download("a/b.bin"));
+
+        // 逐字节读取及跨块跳过
+        try (InputStream in = worker.download("a/b.bin")) {
+            assertEquals(content[0] & 0xFF, in.read());
+            assertEquals(CHUNK_SIZE - 1, in.available());
+            assertEquals(2L * CHUNK_SIZE + 10, in.skip(2L * CHUNK_SIZE + 10));
+            assertEquals(content[2 * CHUNK_SIZE + 11] & 0xFF, in.read());
+            assertEquals(content.length - 2L * CHUNK_SIZE - 12, in.skip(Long.MAX_VALUE));
+            assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    void offHeapChunks() throws IOException {
+        properties.setOffHeap(true);
+        byte[] content = content(3 * CHUNK_SIZE);
+        worker.doUpload(new ByteArrayInputStream(content), "basic", "off-heap.bin", null);
+        assertArrayEquals(content, download("off-heap.bin"));
+    }
+
+    @Test
+    void emptyContent() throws IOException {
+        worker.doUpload(new ByteArrayInputStream(new byte[0]), "basic", "empty.txt", null);
+        assertTrue(worker.exists("empty.txt", false));
+        assertEquals(0, download("empty.txt").length);
+    }
+
+    @Test
+    void metadataAndContentType() {
+        ObjectMeta meta = new ObjectMeta();
+        meta.getUserMetadata().put("owner", "test");
+        worker.doUpload(new ByteArrayInputStream(content(10)), "basic", "a.bin", null, meta);
+        worker.doUpload(new ByteArrayInputStream(content(10)), "basic", "b.pdf", "b.pdf");
+
+        ObjectMeta stat = worker.stat("a.bin", false);
+        assertEquals("test", stat.getUserMetadata().get("owner"));
+        assertEquals("application/pdf", worker.getContentType("basic", "b.pdf"));
+        assertNull(worker.stat("missing.bin", false));
+    }
+
+    @Test
+    void usedBytesFollowCopyOverwriteAndDelete() throws IOException {
+        worker.doUpload(new ByteArrayInputStream(content(2500)), "basic", "a.bin", null);
+        assertEquals("b.bin", worker.copyObject("a.bin", "b.bin", false));
+        assertEquals(2, worker.getObjectCount());
+        assertEquals(5000, worker.getUsedBytes());
+        assertArrayEquals(download("a.bin"), download("b.bin"));
+
+        worker.doUpload(new ByteArrayInputStream(content(100)), "basic", "b.bin", null);
+        assertEquals(2600, worker.getUsedBytes());
+
+        assertTrue(worker.deleteObject("basic", "a.bin"));
+        assertFalse(worker.contains("basic", "a.bin"));
+        assertEquals(100, worker.getUsedBytes());
+        assertNull(worker.copyObject("a.bin", "c.bin", false));
+
+        worker.clear();
+        assertEquals(0, worker.getObjectCount());
+        assertEquals(0, worker.getUsedBytes());
+    }
+
+    @Test
+    void bucketsAreSeparate() {
+        worker.doUpload(new ByteArrayInputStream(content(10)), worker.getBucket(true), "a.bin", null);
+        assertTrue(worker.exists("a.bin", true));
+        assertFalse(worker.exists("a.bin", false));
+        RuntimeException e = assertThrows(RuntimeException.class, () -> worker.download("a.bin"));
+        assertEquals(DocumentReturnCodeEnum.NOT_FOUND.getMsg(), e.getMessage());
+    }
+
+    @Test
+    void injectedErrors() {
+        properties.getFaults().put(Operation.upload, fault(1));
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> worker.doUpload(new ByteArrayInputStream(content(10)), "basic", "a.bin", null));
+        assertEquals(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg(), e.getMessage());
+        assertEquals(0, worker.getObjectCount());
+
+        // 只影响指定的操作
+        properties.getFaults().clear();
+        properties.getFaults().put(Operation.download, fault(1));
+        worker.doUpload(new ByteArrayInputStream(content(10)), "basic", "a.bin", null);
+        assertTrue(worker.exists("a.bin", false));
+        assertThrows(RuntimeException.class, () -> worker.download("a.bin"));
+
+        properties.getFaults().put(Operation.head, fault(1));
+        assertThrows(RuntimeException.class, worker::verifyBucket);
+        properties.getFaults().put(Operation.delete, fault(1));
+        assertThrows(RuntimeException.class, () -> worker.deleteObject("basic", "a.bin"));
+        assertTrue(worker.contains("basic", "a.bin"));
+    }
+
+    @Test
+    void injectedLatency() {
+        Fault fault = new Fault();
+        fault.setLatency(Duration.ofMillis(50));
+        properties.getFaults().put(Operation.head, fault);
+        long start = System.nanoTime();
+        worker.verifyBucket();
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(50).toNanos());
+    }
+
+    @Test
+    void bandwidthLimit() throws IOException {
+        Fault fault = new Fault();
+        fault.setBandwidth(100 * 1024);
+        properties.getFaults().put(Operation.upload, fault);
+        properties.getFaults().put(Operation.download, fault);
+        byte[] content = content(20 * 1024);
+
+        long start = System.nanoTime();
+        worker.doUpload(new ByteArrayInputStream(content), "basic", "a.bin", null);
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(190).toNanos());
+
+        start = System.nanoTime();
+        assertArrayEquals(content, download("a.bin"));
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(190).toNanos());
+    }
+
+    private byte[] download(String key) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = worker.download(key)) {
+            IOUtils.copy(in, out);
+        }
+        return out.toByteArray();
+    }
+
+    private static Fault fault(double errorRate) {
+        Fault fault = new Fault();
+        fault.setErrorRate(errorRate);
+        return fault;
+    }
+
+    private static byte[] content(int length) {
+        byte[] content = new byte[length];
+        new Random(length).nextBytes(content);
+        return content;
+    }
+}
@@ -0,0 +1,70 @@
+package cn.cloudscope.oss.service.key;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ *  hash前缀路径：前缀长度、取值范围及分布
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 17:30
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+class HashPrefixKeyStrategyTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-10-19T08:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    void knownAnswers() {
+        // KeyStrategy.hash("a.jpg") = 0xb7f9d813，前缀取高位
+        assertEquals("b/202610/a.jpg", new HashPrefixKeyStrategy(1, CLOCK).generate("a.jpg"));
+        assertEquals("b7f9/202610/a.jpg", new HashPrefixKeyStrategy(4, CLOCK).generate("a.jpg"));
+        assertEquals("b7f9d813/202610/a.jpg", new HashPrefixKeyStrategy(8, CLOCK).generate("a.jpg"));
+    }
+
+    @Test
+    void prefixLength() {
+        for (int prefixLength = 1; prefixLength <= 8; prefixLength++) {
+            KeyStrategy strategy = new HashPrefixKeyStrategy(prefixLength, CLOCK);
+            for (int i = 0; i < 100; i++) {
+                String fileName = "file-" + i + ".jpg";
+                String key = strategy.generate(fileName);
+                assertTrue(key.matches("[0-9a-f]{" + prefixLength + "}/202610/" + fileName.replace(".", "\\.")), key);
+            }
+        }
+    }
+
+    @Test
+    void prefixLengthBounds() {
+        assertThrows(IllegalArgumentException.class, () -> new HashPrefixKeyStrategy(0, CLOCK));
+        assertThrows(IllegalArgumentException.class, () -> new HashPrefixKeyStrategy(9, CLOCK));
+    }
+
+    @Test
+    void sequentialNamesSpreadEvenly() {
+        KeyStrategy strategy = new HashPrefixKeyStrategy(2, CLOCK);
+        Map<String, Integer> counts = new HashMap<>();
+        int total = 256 * 100;
+        for (int i = 0; i < total; i++) {
+            counts.merge(strategy.generate("img" + i + ".jpg").substring(0, 2), 1, Integer::sum);
+        }
+        // 递增编号的文件名也应落到全部256个前缀，且每个前缀的数量接近平均值100
+        assertEquals(256, counts.size());
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            assertTrue(entry.getValue() > 50 && entry.getValue() < 150, entry.toString());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package cn.cloudscope.oss.service.key;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ *  默认路径规则须与此前StorageWorker.generatePath的结果完全一致，否则已有文件的路径规则会变化
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 17:30
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+class LegacyKeyStrategyTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Shanghai");
+
+    @Test
+    void knownAnswers() {
+        KeyStrategy strategy = new LegacyKeyStrategy(Clock.fixed(Instant.parse("2026-10-19T08:00:00Z"), ZONE));
+        assertEquals("202610/4/13/a.jpg", strategy.generate("a.jpg"));
+        assertEquals("202610/5/5/0b7e2a4c9d1f4e3a8c6b5d4e3f2a1b0c.png", strategy.generate("0b7e2a4c9d1f4e3a8c6b5d4e3f2a1b0c.png"));
+    }
+
+    @Test
+    void monthFollowsClockZone() {
+        // UTC 10月31日16:30为东八区11月1日
+        KeyStrategy strategy = new LegacyKeyStrategy(Clock.fixed(Instant.parse("2026-10-31T16:30:00Z"), ZONE));
+        assertEquals("202611/4/13/a.jpg", strategy.generate("a.jpg"));
+    }
+
+    @Test
+    void matchesFormerGeneratePath() {
+        Clock clock = Clock.fixed(Instant.parse("2026-10-19T08:00:00Z"), ZONE);
+        KeyStrategy strategy = new LegacyKeyStrategy(clock);
+        for (int i = 0; i < 1000; i++) {
+            String fileName = Integer.toHexString(i * 0x9E3779B1) + (i % 2 == 0 ? ".jpg" : ".pdf");
+            assertEquals(formerGeneratePath(clock, fileName), strategy.generate(fileName), fileName);
+        }
+        assertEquals(formerGeneratePath(clock, "中文.txt"), strategy.generate("中文.txt"));
+    }
+
+    /**
+     * 此前StorageWorker.generatePath(String)与PathUtil.generatePath(String)的实现
+     **/
+    private static String formerGeneratePath(Clock clock, String fileName) {
+        int hashCode = fileName.hashCode();
+        int dir1 = hashCode & 0xF;
+        int dir2 = (hashCode >> 4) & 0xF;
+        return LocalDate.now(clock).format(DateTimeFormatter.ofPattern("yyyyMM")) + "/" + dir1 + "/" + dir2 + "/" + fileName;
+    }
+}
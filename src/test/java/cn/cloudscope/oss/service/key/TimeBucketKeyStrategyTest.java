@@ -0,0 +1,76 @@
+package cn.cloudscope.oss.service.key;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ *  时间分桶路径：桶编号的位数、取值范围及分布
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 17:30
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+class TimeBucketKeyStrategyTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-10-19T08:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    void knownAnswers() {
+        // KeyStrategy.hash("a.jpg") = 0xb7f9d813，桶编号为hash * fanOut的高32位
+        assertEquals("20261019/47/a.jpg", new TimeBucketKeyStrategy("yyyyMMdd", 100, CLOCK).generate("a.jpg"));
+        assertEquals("202610/b7f/a.jpg", new TimeBucketKeyStrategy("yyyyMM", 4096, CLOCK).generate("a.jpg"));
+        assertEquals("202610/0/a.jpg", new TimeBucketKeyStrategy("yyyyMM", 1, CLOCK).generate("a.jpg"));
+    }
+
+    @Test
+    void bucketWidth() {
+        assertWidth(1, 1);
+        assertWidth(16, 1);
+        assertWidth(17, 2);
+        assertWidth(256, 2);
+        assertWidth(257, 3);
+        assertWidth(4096, 3);
+        assertWidth(4097, 4);
+    }
+
+    @Test
+    void fanOutBounds() {
+        assertThrows(IllegalArgumentException.class, () -> new TimeBucketKeyStrategy("yyyyMM", 0, CLOCK));
+        assertThrows(IllegalArgumentException.class, () -> new TimeBucketKeyStrategy("yyyyMM", -1, CLOCK));
+    }
+
+    @Test
+    void bucketsCoverFanOut() {
+        // 非2的幂时桶编号也在0~fanOut-1内且全部用到
+        for (int fanOut : new int[]{3, 10, 100, 256, 1000}) {
+            KeyStrategy strategy = new TimeBucketKeyStrategy("yyyyMM", fanOut, CLOCK);
+            int[] counts = new int[fanOut];
+            int total = fanOut * 50;
+            for (int i = 0; i < total; i++) {
+                String key = strategy.generate("img" + i + ".jpg");
+                int bucket = Integer.parseInt(key.substring(7, key.lastIndexOf('/')), 16);
+                assertTrue(bucket < fanOut, key);
+                counts[bucket]++;
+            }
+            for (int bucket = 0; bucket < fanOut; bucket++) {
+                assertTrue(counts[bucket] > 15 && counts[bucket] < 100, fanOut + ": " + bucket + "=" + counts[bucket]);
+            }
+        }
+    }
+
+    private static void assertWidth(int fanOut, int width) {
+        String key = new TimeBucketKeyStrategy("yyyyMM", fanOut, CLOCK).generate("a.jpg");
+        assertEquals(width, key.lastIndexOf('/') - key.indexOf('/') - 1, key);
+    }
+}
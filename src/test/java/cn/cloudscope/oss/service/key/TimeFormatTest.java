@@ -0,0 +1,79 @@
+package cn.cloudscope.oss.service.key;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ *  按秒缓存的时间格式化，跨秒、跨日及1970年以前的时间
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 17:30
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+class TimeFormatTest {
+
+    @Test
+    void followsClock() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-10-31T23:59:59.500Z"));
+        TimeFormat format = new TimeFormat("yyyyMMddHHmmss", clock);
+        assertEquals("20261031235959", format.current());
+        clock.millis += 400;
+        assertEquals("20261031235959", format.current());
+        clock.millis += 200;
+        assertEquals("20261101000000", format.current());
+        clock.millis -= 1000;
+        assertEquals("20261031235959", format.current());
+    }
+
+    @Test
+    void beforeEpoch() {
+        // 1969-12-31T23:59:59.500Z，按秒向下取整不能得到1970-01-01
+        TimeFormat format = new TimeFormat("yyyyMMddHHmmss", new MutableClock(Instant.ofEpochMilli(-500)));
+        assertEquals("19691231235959", format.current());
+    }
+
+    @Test
+    void usesClockZone() {
+        Clock clock = Clock.fixed(Instant.parse("2026-10-31T16:30:00Z"), ZoneId.of("Asia/Shanghai"));
+        assertEquals("20261101", new TimeFormat("yyyyMMdd", clock).current());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private long millis;
+
+        private MutableClock(Instant instant) {
+            this.millis = instant.toEpochMilli();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+}
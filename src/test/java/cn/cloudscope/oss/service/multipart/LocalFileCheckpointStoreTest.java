@@ -0,0 +1,105 @@
+package cn.cloudscope.oss.service.multipart;
+
+import cn.cloudscope.oss.bean.UploadPart;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ *  断点文件的保存、读取与删除，读取结果应与保存时一致
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 16:10
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+class LocalFileCheckpointStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void saveAndLoad() {
+        LocalFileCheckpointStore store = new LocalFileCheckpointStore(dir.resolve("checkpoints"));
+        store.save(checkpoint("a"));
+
+        UploadCheckpoint loaded = store.load("a");
+        assertEquals("basic", loaded.getBucket());
+        assertEquals("2026/10/19/a.bin", loaded.getPath());
+        assertEquals("upload-a", loaded.getUploadId());
+        assertEquals("a.bin", loaded.getFileName());
+        assertEquals(12L * 1024 * 1024, loaded.getSize());
+        assertEquals(5L * 1024 * 1024, loaded.getPartSize());
+        assertEquals(3, loaded.getPartCount());
+        assertEquals(2, loaded.getParts().size());
+        UploadPart part = loaded.getParts().get(2);
+        assertEquals("0cc175b9c0f1b6a831c399e269772661", part.getEtag());
+        assertEquals(5L * 1024 * 1024, part.getSize());
+    }
+
+    @Test
+    void missingCheckpointIsNull() {
+        LocalFileCheckpointStore store = new LocalFileCheckpointStore(dir.resolve("checkpoints"));
+        assertNull(store.load("missing"));
+        assertTrue(store.list().isEmpty());
+    }
+
+    @Test
+    void saveReplacesAndRemoveDeletes() {
+        LocalFileCheckpointStore store = new LocalFileCheckpointStore(dir);
+        UploadCheckpoint checkpoint = checkpoint("a");
+        store.save(checkpoint);
+        checkpoint.getParts().put(3, new UploadPart(3, "92eb5ffee6ae2fec3ad71c777531578f", 2L * 1024 * 1024));
+        store.save(checkpoint);
+        store.save(checkpoint("b"));
+
+        assertEquals(3, store.load("a").getParts().size());
+        assertEquals(2, store.list().size());
+
+        store.remove("a");
+        assertNull(store.load("a"));
+        List<UploadCheckpoint> remaining = store.list();
+        assertEquals(1, remaining.size());
+        assertEquals("b", remaining.get(0).getId());
+    }
+
+    @Test
+    void listSkipsUnreadableCheckpoints() throws IOException {
+        LocalFileCheckpointStore store = new LocalFileCheckpointStore(dir);
+        store.save(checkpoint("a"));
+        Files.write(dir.resolve("broken.checkpoint"), "size=x".getBytes(StandardCharsets.ISO_8859_1));
+
+        List<UploadCheckpoint> checkpoints = store.list();
+        assertEquals(1, checkpoints.size());
+        assertEquals("a", checkpoints.get(0).getId());
+    }
+
+    private static UploadCheckpoint checkpoint(String id) {
+        UploadCheckpoint checkpoint = new UploadCheckpoint();
+        checkpoint.setId(id);
+        checkpoint.setBucket("basic");
+        checkpoint.setPath("2026/10/19/" + id + ".bin");
+        checkpoint.setUploadId("upload-" + id);
+        checkpoint.setFileName(id + ".bin");
+        checkpoint.setSource("/data/" + id + ".bin");
+        checkpoint.setSize(12L * 1024 * 1024);
+        checkpoint.setPartSize(5L * 1024 * 1024);
+        checkpoint.setCreated(1000L);
+        checkpoint.setUpdated(2000L);
+        checkpoint.getParts().put(1, new UploadPart(1, "d41d8cd98f00b204e9800998ecf8427e", 5L * 1024 * 1024));
+        checkpoint.getParts().put(2, new UploadPart(2, "0cc175b9c0f1b6a831c399e269772661", 5L * 1024 * 1024));
+        return checkpoint;
+    }
+}
@@ -0,0 +1,153 @@
+package cn.cloudscope.oss.service.multipart;
+
+import cn.cloudscope.oss.bean.DocumentReturnCodeEnum;
+import cn.cloudscope.oss.bean.UploadPart;
+import cn.cloudscope.oss.bean.UploadResult;
+import cn.cloudscope.oss.config.properties.LocalProperties;
+import cn.cloudscope.oss.config.properties.MultipartProperties;
+import cn.cloudscope.oss.service.StorageWorker;
+import cn.cloudscope.oss.service.impl.LocalWorker;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ *  断点续传：第N个分片失败后保存断点，再次上传时只上传剩余分片；过期断点由清理任务取消
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 16:10
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+class ResumableUploaderTest {
+
+    private static final long PART_SIZE = StorageWorker.MIN_PART_SIZE;
+
+    @TempDir
+    Path dir;
+
+    private FlakyWorker worker;
+
+    private LocalFileCheckpointStore checkpointStore;
+
+    private MultipartProperties properties;
+
+    private byte[] content;
+
+    private File file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        LocalProperties localProperties = new LocalProperties();
+        localProperties.setRoot(dir.resolve("data").toString());
+        localProperties.setSigningSecret("resumable-uploader-test");
+        worker = new FlakyWorker(localProperties);
+        checkpointStore = new LocalFileCheckpointStore(dir.resolve("checkpoints"));
+        properties = new MultipartProperties();
+        properties.setPartSize(DataSize.ofBytes(PART_SIZE));
+        properties.setPartRetries(0);
+        content = new byte[(int) (PART_SIZE * 2 + 1024)];
+        new Random(42).nextBytes(content);
+        file = dir.resolve("source.bin").toFile();
+        Files.write(file.toPath(), content);
+    }
+
+    @Test
+    void resumesFromFailedPart() throws IOException {
+        worker.failAt = 2;
+        assertThrows(RuntimeException.class, () -> new ResumableUploader(worker, checkpointStore, properties).upload(file, null));
+        assertEquals(Arrays.asList(1, 2), worker.uploaded);
+
+        List<UploadCheckpoint> checkpoints = checkpointStore.list();
+        assertEquals(1, checkpoints.size());
+        UploadCheckpoint checkpoint = checkpoints.get(0);
+        assertEquals(3, checkpoint.getPartCount());
+        assertEquals(Collections.singleton(1), checkpoint.getParts().keySet());
+
+        // 模拟进程重启：新的上传器从断点文件继续
+        worker.failAt = 0;
+        worker.uploaded.clear();
+        UploadResult result = new ResumableUploader(worker, checkpointStore, properties).upload(file, null);
+        assertEquals(Arrays.asList(2, 3), worker.uploaded);
+        assertEquals(checkpoint.getPath(), result.getPhyPath());
+        assertEquals("source.bin", result.getFileName());
+        assertTrue(checkpointStore.list().isEmpty());
+        try (InputStream in = worker.download(result.getPhyPath())) {
+            assertArrayEquals(content, IOUtils.toByteArray(in));
+        }
+    }
+
+    @Test
+    void etagMismatchFailsPart() {
+        worker.corruptAt = 2;
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> new ResumableUploader(worker, checkpointStore, properties).upload(file, null));
+        assertEquals(DocumentReturnCodeEnum.CHECKSUM_MISMATCH.getMsg(), e.getMessage());
+        assertEquals(Collections.singleton(1), checkpointStore.list().get(0).getParts().keySet());
+    }
+
+    @Test
+    void sweeperAbortsStaleUpload() throws InterruptedException {
+        worker.failAt = 2;
+        assertThrows(RuntimeException.class, () -> new ResumableUploader(worker, checkpointStore, properties).upload(file, null));
+        assertEquals(1, worker.listMultipartUploads(worker.getBucket(false)).size());
+
+        Thread.sleep(10);
+        try (MultipartSweeper sweeper = new MultipartSweeper(worker, checkpointStore, Duration.ZERO, Duration.ofHours(1))) {
+            assertEquals(1, sweeper.sweep());
+        }
+        assertTrue(checkpointStore.list().isEmpty());
+        assertTrue(worker.listMultipartUploads(worker.getBucket(false)).isEmpty());
+    }
+
+    /**
+     * 指定分片上传失败或返回错误ETag的本地存储
+     **/
+    private static class FlakyWorker extends LocalWorker {
+
+        private final List<Integer> uploaded = new ArrayList<>();
+
+        private int failAt;
+
+        private int corruptAt;
+
+        FlakyWorker(LocalProperties localProperties) {
+            super(localProperties);
+        }
+
+        @Override
+        public UploadPart uploadPart(String bucket, String path, String uploadId, int partNumber, InputStream stream, long size) {
+            uploaded.add(partNumber);
+            if (partNumber == failAt) {
+                throw new RuntimeException(DocumentReturnCodeEnum.SERVER_UNAVAILABLE.getMsg());
+            }
+            UploadPart part = super.uploadPart(bucket, path, uploadId, partNumber, stream, size);
+            if (partNumber == corruptAt) {
+                part.setEtag("00000000000000000000000000000000");
+            }
+            return part;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package cn.cloudscope.oss.service.replication;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ *  复制队列的执行顺序、失败重试、死信及重启后恢复
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 16:40
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+class ReplicationQueueTest {
+
+    private static final Duration RETRY_INTERVAL = Duration.ofMillis(10);
+
+    @TempDir
+    Path dir;
+
+    private final List<String> replicated = new CopyOnWriteArrayList<>();
+
+    @Test
+    void tasksRunInOfferOrder() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> expected = new ArrayList<>();
+        try (ReplicationQueue queue = new ReplicationQueue("test", dir, RETRY_INTERVAL, 3, task -> {
+            if ("first".equals(task.getKey())) {
+                started.countDown();
+                release.await();
+            }
+            replicated.add(task.getKey());
+        })) {
+            queue.offer(task("first", 0L));
+            expected.add("first");
+            started.await();
+            // 创建时间相同或倒序时仍按入队顺序执行
+            for (int i = 0; i < 100; i++) {
+                String key = "file-" + i;
+                queue.offer(task(key, 1000L - i));
+                expected.add(key);
+            }
+            assertEquals(101, queue.size());
+            release.countDown();
+            await(() -> 0 == queue.size());
+        }
+        assertEquals(expected, replicated);
+    }
+
+    @Test
+    void failedTaskIsRetriedBeforeLaterTasks() throws Exception {
+        int[] failures = {2};
+        try (ReplicationQueue queue = new ReplicationQueue("test", dir, RETRY_INTERVAL, 5, task -> {
+            replicated.add(task.getKey());
+            if ("a".equals(task.getKey()) && failures[0]-- > 0) {
+                throw new IOException("replica unavailable");
+            }
+        })) {
+            queue.offer(task("a", 1L));
+            queue.offer(task("b", 2L));
+            assertTrue(queue.isPending("b"));
+            await(() -> !queue.isPending("a") && !queue.isPending("b"));
+            assertEquals(0, queue.size());
+            assertEquals(0, queue.getDeadLetterCount());
+        }
+        assertEquals(Arrays.asList("a", "a", "a", "b"), replicated);
+        assertEquals(0, taskFiles(dir).size());
+    }
+
+    @Test
+    void exhaustedTaskMovesToDeadLetter() throws Exception {
+        try (ReplicationQueue queue = new ReplicationQueue("test", dir, RETRY_INTERVAL, 2, task -> {
+            replicated.add(task.getKey());
+            if ("a".equals(task.getKey())) {
+                throw new IOException("replica unavailable");
+            }
+        })) {
+            queue.offer(task("a", 1L));
+            queue.offer(task("b", 2L));
+            await(() -> 0 == queue.size());
+            assertEquals(1, queue.getDeadLetterCount());
+        }
+        assertEquals(Arrays.asList("a", "a", "b"), replicated);
+        assertEquals(0, taskFiles(dir).size());
+        List<Path> deadLetters = taskFiles(dir.resolve("dead-letter"));
+        assertEquals(1, deadLetters.size());
+        Properties properties = read(deadLetters.get(0));
+        assertEquals("a", properties.getProperty("key"));
+        assertEquals("2", properties.getProperty("attempts"));
+
+        // 重启后新任务的ID不能与死信任务重复
+        List<String> ids = new CopyOnWriteArrayList<>();
+        try (ReplicationQueue queue = new ReplicationQueue("test", dir, RETRY_INTERVAL, 2, task -> ids.add(task.getId()))) {
+            queue.offer(task("c", 3L));
+            await(() -> 0 == queue.size());
+        }
+        String deadLetterName = deadLetters.get(0).getFileName().toString();
+        assertTrue(ids.get(0).compareTo(deadLetterName.substring(0, deadLetterName.indexOf('.'))) > 0);
+    }
+
+    @Test
+    void pendingTasksReloadOnRestart() throws Exception {
+        try (ReplicationQueue queue = new ReplicationQueue("test", dir, Duration.ofHours(1), 10, task -> {
+            throw new IOException("replica unavailable");
+        })) {
+            queue.offer(task("a", 3L));
+            queue.offer(task("b", 2L));
+            queue.offer(task("c", 1L));
+            // 等待首个任务失败并记录失败次数，重试间隔内不会再执行
+            await(() -> taskFiles(dir).stream().anyMatch(file -> "1".equals(read(file).getProperty("attempts"))));
+        }
+
+        List<ReplicationTask> tasks = new CopyOnWriteArrayList<>();
+        try (ReplicationQueue queue = new ReplicationQueue("test", dir, RETRY_INTERVAL, 10, tasks::add)) {
+            await(() -> 3 == tasks.size());
+            queue.offer(task("d", 0L));
+            await(() -> 0 == queue.size());
+        }
+        assertEquals(4, tasks.size());
+        assertEquals("a", tasks.get(0).getKey());
+        assertEquals(1, tasks.get(0).getAttempts());
+        assertEquals("b", tasks.get(1).getKey());
+        assertEquals("c", tasks.get(2).getKey());
+        assertEquals("d", tasks.get(3).getKey());
+        assertTrue(tasks.get(3).getId().compareTo(tasks.get(2).getId()) > 0);
+        assertEquals(0, taskFiles(dir).size());
+    }
+
+    private static ReplicationTask task(String key, long created) {
+        ReplicationTask task = ReplicationTask.of(ReplicationTask.Operation.PUT, key, false);
+        task.setCreated(created);
+        return task;
+    }
+
+    private static List<Path> taskFiles(Path dir) {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*.task")) {
+            stream.forEach(files::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return files;
+    }
+
+    private static Properties read(Path file) {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        } catch (IOException e) {
+            // 任务文件正在被替换
+        }
+        return properties;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("等待超时");
+            }
+            Thread.sleep(5);
+        }
+    }
+}
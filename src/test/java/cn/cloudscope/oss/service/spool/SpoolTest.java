@@ -0,0 +1,235 @@
+package cn.cloudscope.oss.service.spool;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ *  上传暂存：内存与磁盘的切换、内存块归还、磁盘配额及遗留文件清理
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 18:10
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+class SpoolTest {
+
+    private static final int CHUNK = SpoolManager.CHUNK_SIZE;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void smallContentStaysInMemory() throws IOException {
+        SpoolManager manager = new SpoolManager(dir, 1024 * 1024, 4L * 1024 * 1024, 0, null);
+        byte[] content = content(CHUNK + 100);
+        try (Spool spool = manager.create("jpg")) {
+            write(spool, content, 1000);
+            assertTrue(spool.inMemory());
+            assertEquals(content.length, spool.size());
+            assertEquals("spool.jpg", spool.getName());
+            assertEquals(2L * CHUNK, manager.getMemoryUsed());
+            assertEquals(0, manager.getDiskUsed());
+            assertArrayEquals(content, read(spool));
+            assertArrayEquals(content, read(spool));
+            try (InputStream in = spool.openStream()) {
+                assertTrue(in.markSupported());
+                in.mark(0);
+                assertEquals(CHUNK + 1L, in.skip(CHUNK + 1L));
+                assertEquals(content[CHUNK + 1] & 0xFF, in.read());
+                in.reset();
+                assertEquals(content[0] & 0xFF, in.read());
+            }
+        }
+        // 关闭后内存块归还
+        assertEquals(0, manager.getMemoryUsed());
+        assertEquals(0, spoolFiles().size());
+    }
+
+    @Test
+    void spillsAboveThreshold() throws IOException {
+        SpoolManager manager = new SpoolManager(dir, 100 * 1024, 4L * 1024 * 1024, 0, null);
+        byte[] content = content(300 * 1024);
+        Path file;
+        try (Spool spool = manager.create("mp4")) {
+            write(spool, content, 10 * 1024);
+            assertFalse(spool.inMemory());
+            assertEquals(0, manager.getMemoryUsed());
+            assertEquals(content.length, manager.getDiskUsed());
+            List<Path> files = spoolFiles();
+            assertEquals(1, files.size());
+            file = files.get(0);
+            assertTrue(file.getFileName().toString().endsWith(".mp4"));
+            assertEquals(file.toFile(), spool.toFile());
+            assertArrayEquals(content, read(spool));
+            assertArrayEquals(content, Files.readAllBytes(file));
+        }
+        assertFalse(Files.exists(file));
+        assertEquals(0, manager.getDiskUsed());
+    }
+
+    @Test
+    void spillsWhenMemoryLimitReached() throws IOException {
+        SpoolManager manager = new SpoolManager(dir, 1024 * 1024, 2L * CHUNK, 0, null);
+        byte[] content = content(3 * CHUNK);
+        try (Spool first = manager.create(null); Spool second = manager.create(null)) {
+            write(first, content, CHUNK / 2);
+            assertFalse(first.inMemory());
+            assertEquals(0, manager.getMemoryUsed());
+            assertArrayEquals(content, read(first));
+
+            write(second, content(CHUNK), CHUNK);
+            assertTrue(second.inMemory());
+            assertEquals(CHUNK, manager.getMemoryUsed());
+        }
+        assertEquals(0, manager.getMemoryUsed());
+        assertEquals(0, manager.getDiskUsed());
+    }
+
+    @Test
+    void diskQuotaExceeded() throws IOException {
+        SpoolManager manager = new SpoolManager(dir, 0, 0, 100 * 1024, null);
+        Spool spool = manager.create("bin");
+        OutputStream out = spool.getOutputStream();
+        out.write(content(80 * 1024));
+        IOException e = assertThrows(IOException.class, () -> out.write(content(30 * 1024)));
+        assertTrue(e.getMessage().contains("配额"), e.getMessage());
+        assertEquals(80 * 1024, manager.getDiskUsed());
+        spool.close();
+        assertEquals(0, manager.getDiskUsed());
+        assertEquals(0, spoolFiles().size());
+
+        // 配额释放后可再次写入
+        try (Spool next = manager.create("bin")) {
+            write(next, content(100 * 1024), 8192);
+            assertEquals(100 * 1024, manager.getDiskUsed());
+        }
+    }
+
+    @Test
+    void toFileWritesMemoryContent() throws IOException {
+        SpoolManager manager = new SpoolManager(dir, 1024 * 1024, 4L * 1024 * 1024, 0, null);
+        byte[] content = content(1000);
+        File file;
+        try (Spool spool = manager.create("txt")) {
+            write(spool, content, 100);
+            file = spool.toFile();
+            assertFalse(spool.inMemory());
+            assertEquals(0, manager.getMemoryUsed());
+            assertEquals(content.length, manager.getDiskUsed());
+            assertArrayEquals(content, Files.readAllBytes(file.toPath()));
+            assertArrayEquals(content, read(spool));
+        }
+        assertFalse(file.exists());
+        assertEquals(0, manager.getDiskUsed());
+    }
+
+    @Test
+    void chunksArePooled() {
+        SpoolManager manager = new SpoolManager(dir, CHUNK, 2L * CHUNK, 0, null);
+        byte[] first = manager.borrowChunk();
+        byte[] second = manager.borrowChunk();
+        assertNull(manager.borrowChunk());
+        manager.returnChunk(first);
+        assertSame(first, manager.borrowChunk());
+        manager.returnChunk(first);
+        manager.returnChunk(second);
+        assertEquals(0, manager.getMemoryUsed());
+    }
+
+    @Test
+    void readAndWriteState() throws IOException {
+        SpoolManager manager = new SpoolManager(dir, 1024, 1024L * 1024, 0, null);
+        Spool spool = manager.create("txt");
+        spool.getOutputStream().write(1);
+        assertThrows(IOException.class, spool::openStream);
+        spool.getOutputStream().close();
+        assertThrows(IOException.class, () -> spool.getOutputStream().write(2));
+        assertEquals(1, read(spool).length);
+        spool.close();
+        spool.close();
+        assertThrows(IOException.class, spool::openStream);
+        assertEquals(0, manager.getMemoryUsed());
+    }
+
+    @Test
+    void existingFileIsKept() throws IOException {
+        Path file = dir.resolve("source.pdf");
+        Files.write(file, content(100));
+        try (Spool spool = Spool.of(file.toFile())) {
+            assertFalse(spool.inMemory());
+            assertEquals("pdf", spool.getSuffix());
+            assertEquals(100, read(spool).length);
+        }
+        assertTrue(Files.exists(file));
+    }
+
+    @Test
+    void cleanOrphans() throws IOException {
+        Path orphan = Files.write(dir.resolve(SpoolManager.FILE_PREFIX + "old.jpg"), new byte[1]);
+        Path recent = Files.write(dir.resolve(SpoolManager.FILE_PREFIX + "new.jpg"), new byte[1]);
+        Path other = Files.write(dir.resolve("other.jpg"), new byte[1]);
+        FileTime old = FileTime.fromMillis(System.currentTimeMillis() - Duration.ofHours(2).toMillis());
+        Files.setLastModifiedTime(orphan, old);
+        Files.setLastModifiedTime(other, old);
+
+        new SpoolManager(dir, 0, 0, 0, Duration.ofHours(1));
+        assertFalse(Files.exists(orphan));
+        assertTrue(Files.exists(recent));
+        assertTrue(Files.exists(other));
+    }
+
+    private List<Path> spoolFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (Files.isDirectory(dir)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, SpoolManager.FILE_PREFIX + "*")) {
+                stream.forEach(files::add);
+            }
+        }
+        return files;
+    }
+
+    private static void write(Spool spool, byte[] content, int step) throws IOException {
+        try (OutputStream out = spool.getOutputStream()) {
+            for (int offset = 0; offset < content.length; offset += step) {
+                out.write(content, offset, Math.min(step, content.length - offset));
+            }
+        }
+    }
+
+    private static byte[] read(Spool spool) throws IOException {
+        try (InputStream in = spool.openStream()) {
+            return IOUtils.toByteArray(in);
+        }
+    }
+
+    private static byte[] content(int length) {
+        byte[] content = new byte[length];
+        new Random(length).nextBytes(content);
+        return content;
+    }
+}
@@ -0,0 +1,190 @@
+package cn.cloudscope.oss.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ *  文件签名识别：原ImageType、FileType中每个签名对应的真实文件头，ftyp品牌及MOV的判定规则，过短的文件头
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 17:10
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+@SuppressWarnings("deprecation")
+class FileSignatureTest {
+
+    /** 原FileType各项对应的真实文件头，原签名有误的（WAV、AVI、MOV不在文件开头，OLE2带0x前缀，DBX带空格）按真实格式给出 */
+    private static final Map<FileType, String> LEGACY_HEADERS = new EnumMap<>(FileType.class);
+
+    static {
+        LEGACY_HEADERS.put(FileType.JPEG, "FFD8FFE000104A4649460001");
+        LEGACY_HEADERS.put(FileType.PNG, "89504E470D0A1A0A0000000D49484452");
+        LEGACY_HEADERS.put(FileType.GIF, "474946383961");
+        LEGACY_HEADERS.put(FileType.TIFF, "49492A0008000000");
+        LEGACY_HEADERS.put(FileType.BMP, "424D3A000000");
+        LEGACY_HEADERS.put(FileType.DWG, "414331303135");
+        LEGACY_HEADERS.put(FileType.PSD, "3842505300010000");
+        LEGACY_HEADERS.put(FileType.RTF, "7B5C727466315C616E7369");
+        LEGACY_HEADERS.put(FileType.XML, "3C3F786D6C2076657273696F6E");
+        LEGACY_HEADERS.put(FileType.HTML, "68746D6C3E0A3C68656164");
+        LEGACY_HEADERS.put(FileType.DBX, "CFAD12FEC5FD746F66E3D111");
+        LEGACY_HEADERS.put(FileType.PST, "2142444E4210");
+        LEGACY_HEADERS.put(FileType.OLE2, "D0CF11E0A1B11AE100000000");
+        LEGACY_HEADERS.put(FileType.XLS_DOC, "D0CF11E0A1B11AE10000000000000000");
+        LEGACY_HEADERS.put(FileType.MDB, "5374616E64617264204A6574204442");
+        LEGACY_HEADERS.put(FileType.WPB, "FF575043100000000104");
+        LEGACY_HEADERS.put(FileType.EPS_PS, "252150532D41646F62652D332E30");
+        LEGACY_HEADERS.put(FileType.PDF, "255044462D312E370A");
+        LEGACY_HEADERS.put(FileType.PWL, "E382859696");
+        LEGACY_HEADERS.put(FileType.ZIP, "504B030414000600");
+        LEGACY_HEADERS.put(FileType.RAR, "526172211A0700");
+        LEGACY_HEADERS.put(FileType.WAV, "524946462408000057415645666D7420");
+        LEGACY_HEADERS.put(FileType.AVI, "52494646D0A70300415649204C495354");
+        LEGACY_HEADERS.put(FileType.RAM, "2E7261FD0004");
+        LEGACY_HEADERS.put(FileType.RM, "2E524D4600000012");
+        LEGACY_HEADERS.put(FileType.MOV, "0000006C6D6F6F760000006C6D766864");
+        LEGACY_HEADERS.put(FileType.ASF, "3026B2758E66CF11A6D900AA0062CE6C");
+        LEGACY_HEADERS.put(FileType.MID, "4D54686400000006");
+    }
+
+    @Test
+    void legacyFileTypes() {
+        for (FileType fileType : FileType.values()) {
+            String header = LEGACY_HEADERS.get(fileType);
+            assertNotNull(header, fileType.name());
+            assertEquals(fileType.getSignature(), detect(header), fileType.name());
+        }
+    }
+
+    @Test
+    void legacyImageTypes() {
+        assertEquals(FileSignature.JPEG, detect(LEGACY_HEADERS.get(FileType.JPEG)));
+        assertEquals(FileSignature.PNG, detect(LEGACY_HEADERS.get(FileType.PNG)));
+        assertEquals(FileSignature.GIF, detect(LEGACY_HEADERS.get(FileType.GIF)));
+        assertEquals(FileSignature.TIFF, detect("4D4D002A00000008"));
+        assertEquals(FileSignature.PSD, detect(LEGACY_HEADERS.get(FileType.PSD)));
+        assertEquals(FileSignature.BMP, detect(LEGACY_HEADERS.get(FileType.BMP)));
+        for (ImageType imageType : ImageType.values()) {
+            assertEquals(imageType.getSignature().getValue(), imageType.getValue());
+        }
+    }
+
+    @Test
+    void legacyVideoSignatures() {
+        // 原VideoUtil中的3gp、4xm、rmvb、wmv签名
+        assertEquals(FileSignature.MP4, detect("000000146674797033677035"));
+        assertEquals(FileSignature.MP4, detect("000000206674797033677034"));
+        assertEquals(FileSignature.MP4, detect("000000186674797033677036"));
+        assertEquals(FileSignature.FOUR_XM, detect("524946460001000034584D56"));
+        assertEquals(FileSignature.RM, detect("2E524D4600000012"));
+        assertEquals(FileSignature.ASF, detect("3026B2758E66CF11A6D900AA0062CE6C"));
+    }
+
+    @Test
+    void otherSignatures() {
+        assertEquals(FileSignature.WEBP, detect("524946462400000057454250565038"));
+        assertEquals(FileSignature.MKV, detect("1A45DFA39F4286810142F7"));
+        assertEquals(FileSignature.FLV, detect("464C560105000000"));
+        assertEquals(FileSignature.MPEG, detect("000001BA44000400"));
+        assertEquals(FileSignature.MPEG, detect("000001B31400F0"));
+        assertEquals(FileSignature.MP3, detect("4944330400000000"));
+        assertEquals(FileSignature.FLAC, detect("664C614300000022"));
+        assertEquals(FileSignature.OGG, detect("4F67675300020000"));
+        assertEquals(FileSignature.GZIP, detect("1F8B0800000000000003"));
+        assertEquals(FileSignature.SEVEN_ZIP, detect("377ABCAF271C0004"));
+    }
+
+    @Test
+    void ftypBrandAtOffsetFour() {
+        assertEquals(FileSignature.MP4, detect("000000206674797069736F6D00000200"));
+        assertEquals(FileSignature.MP4, detect("000000186674797033677035"));
+        assertEquals(FileSignature.MOV, detect("000000146674797071742020"));
+        assertEquals(FileSignature.HEIC, detect("000000186674797068656963"));
+        assertEquals(FileSignature.HEIC, detect("00000018667479706D696631"));
+        assertEquals(FileSignature.AVIF, detect("0000001C6674797061766966"));
+        assertEquals(FileSignature.M4A, detect("00000020667479704D344120"));
+        // ftyp必须在第4字节
+        assertNull(detect("667479706D703432"));
+    }
+
+    @Test
+    void movWithoutFtyp() {
+        assertEquals(FileSignature.MOV, detect("0000006C6D6F6F76"));
+        assertEquals(FileSignature.MOV, detect("00A1B2C36D646174"));
+        assertEquals(FileSignature.MOV, detect("00000008776964650012B4C06D646174"));
+        assertEquals(FileSignature.MOV, detect("00000008667265650000006C6D6F6F76"));
+        assertEquals(FileSignature.MOV, detect("00000008736B69700012B4C06D646174"));
+        // 占位原子后不是moov、mdat，或占位原子不是8字节，均不能判定为MOV
+        assertNull(detect("000000086672656500000010736B6970"));
+        assertNull(detect("0000001066726565000000006D646174"));
+        assertNull(detect("12345678736B6970"));
+        assertNull(detect("00000008706E6F740000006C6D6F6F76"));
+    }
+
+    @Test
+    void riffFormType() {
+        assertEquals(FileSignature.WAV, detect("524946462408000057415645"));
+        assertEquals(FileSignature.AVI, detect("52494646D0A7030041564920"));
+        assertNull(detect("524946462408000041434F4E"));
+        assertNull(detect("5249464624080000"));
+    }
+
+    @Test
+    void truncatedHeader() {
+        assertNull(FileSignature.detect(new byte[0], 0));
+        byte[] jpeg = hex("FFD8FFE0");
+        assertNull(FileSignature.detect(jpeg, 2));
+        assertEquals(FileSignature.JPEG, FileSignature.detect(jpeg, 3));
+        assertEquals(FileSignature.JPEG, FileSignature.detect(jpeg, 100));
+        // 原FileType只比较前4字节，现在PNG需要完整的8字节签名
+        assertNull(detect("89504E47"));
+        assertNull(detect("D0CF11E0"));
+
+        byte[] heic = hex("000000186674797068656963");
+        assertNull(FileSignature.detect(heic, 7));
+        assertEquals(FileSignature.MP4, FileSignature.detect(heic, 8));
+        assertEquals(FileSignature.HEIC, FileSignature.detect(heic, 12));
+        byte[] wide = hex("00000008776964650012B4C06D646174");
+        assertNull(FileSignature.detect(wide, 15));
+        assertEquals(FileSignature.MOV, FileSignature.detect(wide, 16));
+    }
+
+    @Test
+    void detectStream() throws IOException {
+        byte[] png = hex("89504E470D0A1A0A0000000D49484452");
+        InputStream stream = new BufferedInputStream(new ByteArrayInputStream(png));
+        assertEquals(FileSignature.PNG, FileSignature.detect(stream));
+        assertEquals(0x89, stream.read());
+
+        assertNull(FileSignature.detect(new ByteArrayInputStream(hex("FFD8"))));
+        assertEquals(FileSignature.JPEG, FileSignature.detect(new ByteArrayInputStream(hex("FFD8FF"))));
+        assertNull(FileSignature.detect(new ByteArrayInputStream(new byte[0])));
+    }
+
+    private static FileSignature detect(String header) {
+        byte[] bytes = hex(header);
+        return FileSignature.detect(bytes, bytes.length);
+    }
+
+    private static byte[] hex(String hex) {
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(i * 2, i * 2 + 2), 16);
+        }
+        return bytes;
+    }
+}
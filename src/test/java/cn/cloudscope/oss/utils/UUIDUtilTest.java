@@ -0,0 +1,117 @@
+package cn.cloudscope.oss.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ *  UUID的格式、版本及变体位，版本7按时间排序且同一毫秒内递增
+ *
+ * @author wenxiaopeng
+ * @date 2026/10/19 17:50
+ *
+ * <pre>
+ *              www.cloudscope.cn
+ *      Copyright (c) 2021. All Rights Reserved.
+ * </pre>
+ */
+class UUIDUtilTest {
+
+    private static final int COUNT = 10000;
+
+    @Test
+    void randomUuid() {
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < COUNT; i++) {
+            String id = UUIDUtil.buildUuid();
+            assertFormat(id, '4');
+            ids.add(id);
+        }
+        assertEquals(COUNT, ids.size());
+    }
+
+    @Test
+    void timeOrderedUuid() {
+        long before = System.currentTimeMillis();
+        String id = UUIDUtil.buildTimeOrderedUuid();
+        long after = System.currentTimeMillis();
+        assertFormat(id, '7');
+        // 其他用例可能已将时间戳顺延，此处只要求不早于生成前的时间
+        assertTrue(timestamp(id) >= before, id);
+        assertTrue(timestamp(id) <= after + 1000, id);
+    }
+
+    @Test
+    void monotonicWithinMillisecond() {
+        String previous = UUIDUtil.buildTimeOrderedUuid();
+        int sameMillisecond = 0;
+        for (int i = 0; i < COUNT; i++) {
+            String id = UUIDUtil.buildTimeOrderedUuid();
+            assertFormat(id, '7');
+            assertTrue(id.compareTo(previous) > 0, previous + " >= " + id);
+            if (timestamp(id) == timestamp(previous)) {
+                sameMillisecond++;
+                assertEquals(counter(previous) + 1, counter(id), previous + ", " + id);
+            }
+            previous = id;
+        }
+        assertTrue(sameMillisecond > 0);
+    }
+
+    @Test
+    void monotonicAcrossThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    List<String> ids = new ArrayList<>(COUNT);
+                    for (int i = 0; i < COUNT; i++) {
+                        ids.add(UUIDUtil.buildTimeOrderedUuid());
+                    }
+                    return ids;
+                }));
+            }
+            Set<String> all = new HashSet<>();
+            Set<String> prefixes = new HashSet<>();
+            for (Future<List<String>> future : futures) {
+                List<String> ids = future.get();
+                for (int i = 1; i < ids.size(); i++) {
+                    assertTrue(ids.get(i).compareTo(ids.get(i - 1)) > 0);
+                }
+                for (String id : ids) {
+                    all.add(id);
+                    // 时间戳及计数在进程内唯一
+                    prefixes.add(id.substring(0, 16));
+                }
+            }
+            assertEquals(4 * COUNT, all.size());
+            assertEquals(4 * COUNT, prefixes.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void assertFormat(String id, char version) {
+        assertTrue(id.matches("[0-9a-f]{32}"), id);
+        assertEquals(version, id.charAt(12), id);
+        assertTrue("89ab".indexOf(id.charAt(16)) >= 0, id);
+    }
+
+    private static long timestamp(String id) {
+        return Long.parseLong(id.substring(0, 12), 16);
+    }
+
+    private static int counter(String id) {
+        return Integer.parseInt(id.substring(13, 16), 16);
+    }
+}